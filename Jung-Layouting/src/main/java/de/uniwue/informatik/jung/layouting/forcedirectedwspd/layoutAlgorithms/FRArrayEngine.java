@@ -0,0 +1,392 @@
+package de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms;
+
+import de.uniwue.informatik.jung.layouting.forcedirectedwspd.util.EdgeTriple;
+import de.uniwue.informatik.jung.layouting.forcedirectedwspd.util.VertexTriple;
+import de.uniwue.informatik.jung.layouting.forcedirectedwspd.util.jungmodify.FRLayout.FRVertexData;
+
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Structure-of-arrays storage of one drawing for {@link FRLayoutNoMaps} and the classes inheriting from it.
+ * <p>
+ * Instead of one {@link Point2D} and one {@link FRVertexData} per {@link VertexTriple}
+ * the locations and the displacements of all vertices are kept in the four arrays x, y, dx and dy
+ * and every edge is kept as two vertex indices.
+ * The vertices of the connected component c have the indices {@link FRArrayEngine#getComponentStart(int)}
+ * (inclusive) to {@link FRArrayEngine#getComponentEnd(int)} (exclusive), in the order of the lists passed.
+ * <p>
+ * An iteration on these arrays allocates nothing and walks memory linearly.
+ * The {@link VertexTriple}s are not touched while computing. The locations are copied from them via
+ * {@link FRArrayEngine#loadFromTriples()} and copied back via {@link FRArrayEngine#writeLocationsToTriples()}.
+ * <br>
+ * The force computations are the same as in the classes using {@link VertexTriple}s (same formulas,
+ * same order of summation), so the drawings do not change.
+ */
+public class FRArrayEngine<V> {
+
+	/**
+	 * Ranges with fewer elements per chunk are not worth being split, see {@link FRArrayEngine#runInChunks}
+	 */
+	private static final int MIN_CHUNK_SIZE = 256;
+
+	private final VertexTriple<V>[] triples;
+	private final int[] componentStart;
+	private final double[] x;
+	private final double[] y;
+	private final double[] dx;
+	private final double[] dy;
+	private final int[] edgeA;
+	private final int[] edgeB;
+	/**
+	 * Attractive force of every edge, only used when computing the attraction concurrently
+	 */
+	private double[] edgeForceX;
+	private double[] edgeForceY;
+
+
+	/**
+	 *
+	 * @param components
+	 * 		The vertices of every connected component. If there is no division into components
+	 * 		pass an array of length 1.
+	 * @param edges
+	 * 		Every edge must connect two vertices contained in components
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public FRArrayEngine(List<VertexTriple<V>>[] components, List<? extends EdgeTriple<V, ?>> edges) {
+		int n = 0;
+		for(List<VertexTriple<V>> component: components){
+			n += component.size();
+		}
+		triples = new VertexTriple[n];
+		componentStart = new int[components.length + 1];
+		Map<VertexTriple<V>, Integer> index = new IdentityHashMap<VertexTriple<V>, Integer>(n);
+		int i = 0;
+		for(int c=0; c<components.length; c++){
+			componentStart[c] = i;
+			for(VertexTriple<V> t: components[c]){
+				triples[i] = t;
+				index.put(t, i);
+				i++;
+			}
+		}
+		componentStart[components.length] = n;
+
+		x = new double[n];
+		y = new double[n];
+		dx = new double[n];
+		dy = new double[n];
+
+		edgeA = new int[edges.size()];
+		edgeB = new int[edges.size()];
+		int j = 0;
+		for(EdgeTriple<V, ?> e: edges){
+			edgeA[j] = index.get(e.getVertexA());
+			edgeB[j] = index.get(e.getVertexB());
+			j++;
+		}
+	}
+
+
+	/*
+	 * Getters
+	 */
+
+	public int getVertexCount(){
+		return triples.length;
+	}
+
+	public int getEdgeCount(){
+		return edgeA.length;
+	}
+
+	public int getComponentCount(){
+		return componentStart.length - 1;
+	}
+
+	public int getComponentStart(int component){
+		return componentStart[component];
+	}
+
+	public int getComponentEnd(int component){
+		return componentStart[component + 1];
+	}
+
+	public VertexTriple<V> getTriple(int vertex){
+		return triples[vertex];
+	}
+
+	/**
+	 * The arrays are returned (not copied) so that computations can work on them directly.
+	 */
+	public double[] getX(){
+		return x;
+	}
+
+	public double[] getY(){
+		return y;
+	}
+
+	public double[] getDx(){
+		return dx;
+	}
+
+	public double[] getDy(){
+		return dy;
+	}
+
+	public int[] getEdgeA(){
+		return edgeA;
+	}
+
+	public int[] getEdgeB(){
+		return edgeB;
+	}
+
+
+	/*
+	 * Exchange with the VertexTriples
+	 */
+
+	/**
+	 * Copies location and displacement of every {@link VertexTriple} into the arrays.
+	 */
+	public void loadFromTriples(){
+		for(int i=0; i<triples.length; i++){
+			Point2D p = triples[i].get2();
+			FRVertexData fvd = triples[i].get3();
+			x[i] = p.getX();
+			y[i] = p.getY();
+			dx[i] = fvd.getX();
+			dy[i] = fvd.getY();
+		}
+	}
+
+	/**
+	 * Copies the location of every vertex back into its {@link VertexTriple}.
+	 */
+	public void writeLocationsToTriples(){
+		for(int i=0; i<triples.length; i++){
+			triples[i].get2().setLocation(x[i], y[i]);
+		}
+	}
+
+	/**
+	 * Overwrites the displacement of every vertex by the one stored in its {@link VertexTriple}.
+	 * Used by algorithms that still compute (some of) the forces on {@link VertexTriple}s.
+	 */
+	public void readDisplacementsFromTriples(){
+		for(int i=0; i<triples.length; i++){
+			FRVertexData fvd = triples[i].get3();
+			dx[i] = fvd.getX();
+			dy[i] = fvd.getY();
+		}
+	}
+
+
+	/*
+	 * Force computations
+	 */
+
+	/**
+	 * Sets the displacement of every vertex of the passed component to the sum
+	 * of the repulsive forces of all other vertices of that component.
+	 * Quadratic in the size of the component.
+	 */
+	public void calcRepulsionAllPairs(int component, double repulsionConstant, double epsilon){
+		int start = componentStart[component];
+		int end = componentStart[component + 1];
+		double repulsionConstantSquared = repulsionConstant * repulsionConstant;
+		for(int i=start; i<end; i++){
+			double xi = x[i];
+			double yi = y[i];
+			double sumX = 0;
+			double sumY = 0;
+			for(int j=start; j<end; j++){
+				if(i == j) continue;
+				double xDelta = xi - x[j];
+				double yDelta = yi - y[j];
+				double deltaLength = Math.max(epsilon, Math.sqrt((xDelta * xDelta) + (yDelta * yDelta)));
+				double force = repulsionConstantSquared / deltaLength;
+
+				if (Double.isNaN(force)) { throw new RuntimeException(
+						"Unexpected mathematical result in FRLayout:calcPositions [repulsion]"); }
+
+				sumX += (xDelta / deltaLength) * force;
+				sumY += (yDelta / deltaLength) * force;
+			}
+			dx[i] = sumX;
+			dy[i] = sumY;
+		}
+	}
+
+	/**
+	 * Adds the attractive force of every edge to the displacement of both its end vertices.
+	 */
+	public void calcAttraction(double attractionConstant, double epsilon){
+		for(int e=0; e<edgeA.length; e++){
+			int a = edgeA[e];
+			int b = edgeB[e];
+			double xDelta = x[a] - x[b];
+			double yDelta = y[a] - y[b];
+			double deltaLength = Math.max(epsilon, Math.sqrt((xDelta * xDelta) + (yDelta * yDelta)));
+			double force = (deltaLength * deltaLength) / attractionConstant;
+
+			if (Double.isNaN(force)) { force = 1; }
+			if (Double.isInfinite(force)) { force = 1; }
+
+			double xOffset = (xDelta / deltaLength) * force;
+			double yOffset = (yDelta / deltaLength) * force;
+			dx[a] -= xOffset;
+			dy[a] -= yOffset;
+			dx[b] += xOffset;
+			dy[b] += yOffset;
+		}
+	}
+
+	/**
+	 * Same as {@link FRArrayEngine#calcAttraction(double, double)}, but the forces of the edges are computed
+	 * concurrently in the passed pool.
+	 * They are added to the displacements afterwards in the order of the edges, so the result is exactly the same.
+	 *
+	 * @param pool
+	 * 		if null it is computed sequentially
+	 */
+	public void calcAttraction(double attractionConstant, double epsilon, ForkJoinPool pool){
+		if(pool == null){
+			calcAttraction(attractionConstant, epsilon);
+			return;
+		}
+		if(edgeForceX == null){
+			edgeForceX = new double[edgeA.length];
+			edgeForceY = new double[edgeA.length];
+		}
+		runInChunks(pool, edgeA.length, (from, to) -> {
+			for(int e=from; e<to; e++){
+				double xDelta = x[edgeA[e]] - x[edgeB[e]];
+				double yDelta = y[edgeA[e]] - y[edgeB[e]];
+				double deltaLength = Math.max(epsilon, Math.sqrt((xDelta * xDelta) + (yDelta * yDelta)));
+				double force = (deltaLength * deltaLength) / attractionConstant;
+
+				if (Double.isNaN(force)) { force = 1; }
+				if (Double.isInfinite(force)) { force = 1; }
+
+				edgeForceX[e] = (xDelta / deltaLength) * force;
+				edgeForceY[e] = (yDelta / deltaLength) * force;
+			}
+		});
+		for(int e=0; e<edgeA.length; e++){
+			dx[edgeA[e]] -= edgeForceX[e];
+			dy[edgeA[e]] -= edgeForceY[e];
+			dx[edgeB[e]] += edgeForceX[e];
+			dy[edgeB[e]] += edgeForceY[e];
+		}
+	}
+
+	/**
+	 * Moves every vertex by its displacement limited by the temperature (no frame).
+	 *
+	 * @return
+	 * 		true iff no vertex was moved by more than threshold
+	 */
+	public boolean calcPositions(double temperature, double threshold, double epsilon){
+		boolean converged = true;
+		double thresholdSquared = threshold * threshold;
+		for(int i=0; i<x.length; i++){
+			double deltaLength = Math.max(epsilon, Math.sqrt(dx[i] * dx[i] + dy[i] * dy[i]));
+			double newXDisp = dx[i] / deltaLength * Math.min(deltaLength, temperature);
+
+			if (Double.isNaN(newXDisp)) {
+				throw new IllegalArgumentException(
+						"Unexpected mathematical result in FRLayout:calcPositions [xdisp]"); }
+
+			double newYDisp = dy[i] / deltaLength * Math.min(deltaLength, temperature);
+
+			x[i] += newXDisp;
+			y[i] += newYDisp;
+			if (newXDisp*newXDisp + newYDisp*newYDisp > thresholdSquared) {
+				converged = false;
+			}
+		}
+		return converged;
+	}
+
+	/**
+	 * Moves every vertex by its displacement limited by the temperature and keeps it inside
+	 * the frame [0,width]x[0,height] as in {@link FRLayoutNoMaps#calcPositions(VertexTriple)}.
+	 * Vertices leaving the frame are placed back randomly near the border using the passed random source.
+	 */
+	public void calcPositionsInFrame(double temperature, double width, double height, double epsilon,
+			Random random){
+		double borderWidth = width / 50.0;
+		for(int i=0; i<x.length; i++){
+			double deltaLength = Math.max(epsilon, Math.sqrt(dx[i] * dx[i] + dy[i] * dy[i]));
+			double newXDisp = dx[i] / deltaLength * Math.min(deltaLength, temperature);
+
+			if (Double.isNaN(newXDisp)) {
+				throw new IllegalArgumentException(
+						"Unexpected mathematical result in FRLayout:calcPositions [xdisp]"); }
+
+			double newYDisp = dy[i] / deltaLength * Math.min(deltaLength, temperature);
+
+			double newXPos = x[i] + newXDisp;
+			if (newXPos < borderWidth) {
+				newXPos = borderWidth + random.nextDouble() * borderWidth * 2.0;
+			} else if (newXPos > (width - borderWidth)) {
+				newXPos = width - borderWidth - random.nextDouble() * borderWidth * 2.0;
+			}
+
+			double newYPos = y[i] + newYDisp;
+			if (newYPos < borderWidth) {
+				newYPos = borderWidth + random.nextDouble() * borderWidth * 2.0;
+			} else if (newYPos > (height - borderWidth)) {
+				newYPos = height - borderWidth - random.nextDouble() * borderWidth * 2.0;
+			}
+
+			x[i] = newXPos;
+			y[i] = newYPos;
+		}
+	}
+
+
+	/*
+	 * Concurrency
+	 */
+
+	/**
+	 * Work on the index range [from, to)
+	 */
+	public interface ChunkAction {
+		void run(int from, int to);
+	}
+
+	/**
+	 * Splits [0, size) into some chunks (a few per thread of the pool), runs action on every chunk
+	 * in the pool and returns when all chunks are done.
+	 * Small ranges are run in the calling thread.
+	 * The action must only write to entries belonging to its chunk.
+	 */
+	public static void runInChunks(ForkJoinPool pool, int size, ChunkAction action){
+		int numberOfChunks = Math.min(4 * pool.getParallelism(), size / MIN_CHUNK_SIZE);
+		if(numberOfChunks < 2){
+			action.run(0, size);
+			return;
+		}
+		List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>(numberOfChunks);
+		for(int c=0; c<numberOfChunks; c++){
+			int from = (int) ((long) size * c / numberOfChunks);
+			int to = (int) ((long) size * (c + 1) / numberOfChunks);
+			tasks.add(pool.submit(() -> action.run(from, to)));
+		}
+		for(ForkJoinTask<?> task: tasks){
+			task.join();
+		}
+	}
+}
@@ -6,6 +6,7 @@ import de.uniwue.informatik.jung.layouting.forcedirectedwspd.util.VertexTriple;
 
 import java.awt.*;
 import java.awt.geom.Point2D;
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.LinkedList;
 import java.util.List;
@@ -40,6 +41,23 @@ public class FRGrid<V,E> extends FRLayoutNoMapsNoFrame<V,E> {
 	 */
 	private List<VertexTriple<V>>[][][] grid;
 	
+	/*
+	 * The same grid when working on the FRArrayEngine:
+	 * For every connected component the vertices (indices in the FRArrayEngine) are sorted by their grid-square
+	 * into gridVertices[indexConnectedComponent]. The grid-square with number xIndex*gridRows[indexConnectedComponent]+yIndex
+	 * holds the entries gridSquareStart[indexConnectedComponent][number] (inclusive) to
+	 * gridSquareStart[indexConnectedComponent][number+1] (exclusive).
+	 * The arrays are reused over the iterations.
+	 */
+	private int[] gridColumns;
+	private int[] gridRows;
+	private int[][] gridSquareStart;
+	private int[][] gridVertices;
+	/**
+	 * Number of the grid-square of every vertex (index in the FRArrayEngine)
+	 */
+	private int[] gridSquareOfVertex;
+	
 	
 	/*
      * Constructors
@@ -66,7 +84,104 @@ public class FRGrid<V,E> extends FRLayoutNoMapsNoFrame<V,E> {
 	protected void calcPositions() {
 		super.calcPositions();
 		
-		computeGrid();
+		if(isArrayEngineActive()){
+			computeGridOnArrays();
+		}
+		else{
+			computeGrid();
+		}
+	}
+	
+	@Override
+	protected void arrayEngineLoaded() {
+		computeGridOnArrays();
+	}
+	
+	/**
+	 * Same as {@link FRGrid#computeGrid()} but on the arrays of the {@link FRArrayEngine}.
+	 * The vertices are sorted into the grid-squares by counting sort.
+	 */
+	protected void computeGridOnArrays(){
+		double[] x = arrayEngine.getX();
+		double[] y = arrayEngine.getY();
+		if(gridRows == null){
+			gridColumns = new int[vertices.length];
+			gridRows = new int[vertices.length];
+			gridSquareStart = new int[vertices.length][];
+			gridVertices = new int[vertices.length][];
+			gridSquareOfVertex = new int[arrayEngine.getVertexCount()];
+		}
+		for(int i=0; i<vertices.length; i++){
+			int start = arrayEngine.getComponentStart(i);
+			int end = arrayEngine.getComponentEnd(i);
+			double xMin = Double.POSITIVE_INFINITY;
+			double xMax = Double.NEGATIVE_INFINITY;
+			double yMin = Double.POSITIVE_INFINITY;
+			double yMax = Double.NEGATIVE_INFINITY;
+			for(int v=start; v<end; v++){
+				if(x[v]<xMin){
+					xMin = x[v];
+				}
+				if(x[v]>xMax){
+					xMax = x[v];
+				}
+				if(y[v]<yMin){
+					yMin = y[v];
+				}
+				if(y[v]>yMax){
+					yMax = y[v];
+				}
+			}
+			double width = xMax - xMin;
+			double height = yMax - yMin;
+			
+			//see computeGrid()
+			if(width==0){
+				width = Math.max(1, minDistanceToTheDrawingAreaOfTheNextComponent/2);
+			}
+			if(height==0){
+				height = Math.max(1, minDistanceToTheDrawingAreaOfTheNextComponent/2);
+			}
+			
+			k[i] = Math.sqrt(width*height/(double)numberOfVertices);
+			
+			int columns = (int)Math.floor(width/(2*k[i])) + 1;
+			int rows = (int)Math.floor(height/(2*k[i])) + 1;
+			int numberOfSquares = columns * rows;
+			gridColumns[i] = columns;
+			gridRows[i] = rows;
+			if(gridSquareStart[i] == null || gridSquareStart[i].length < numberOfSquares + 1){
+				gridSquareStart[i] = new int[numberOfSquares + 1];
+			}
+			else{
+				Arrays.fill(gridSquareStart[i], 0, numberOfSquares + 1, 0);
+			}
+			if(gridVertices[i] == null){
+				gridVertices[i] = new int[end - start];
+			}
+			int[] squareStart = gridSquareStart[i];
+			
+			//count vertices per grid-square
+			for(int v=start; v<end; v++){
+				int xIndex = (int) Math.floor((x[v]-xMin)/(2*k[i]));
+				int yIndex = (int) Math.floor((y[v]-yMin)/(2*k[i]));
+				int square = xIndex*rows + yIndex;
+				gridSquareOfVertex[v] = square;
+				squareStart[square + 1]++;
+			}
+			for(int square=0; square<numberOfSquares; square++){
+				squareStart[square + 1] += squareStart[square];
+			}
+			//place them (stable, so within a grid-square they keep the order of the component)
+			for(int v=start; v<end; v++){
+				gridVertices[i][squareStart[gridSquareOfVertex[v]]++] = v;
+			}
+			//the starts were moved by one grid-square while placing
+			for(int square=numberOfSquares; square>0; square--){
+				squareStart[square] = squareStart[square - 1];
+			}
+			squareStart[0] = 0;
+		}
 	}
 	
 	protected void computeGrid(){
@@ -132,6 +247,12 @@ public class FRGrid<V,E> extends FRLayoutNoMapsNoFrame<V,E> {
 	@Override
 	protected void calcRepulsion() {
 		if(currentIteration%intervalForLeavingOutCalculationOfRepulsiveForces!=0){ //In some iteartions no repulsive forces are computed
+			if(isArrayEngineActive()){
+				for(int i=0; i<vertices.length; i++){
+					calcRepulsionOnArrays(i);
+				}
+				return;
+			}
 			//Individually done for every component, see calcRepulsion(t)
 	        for(int i=0; i<vertices.length; i++){
 //	        	if(converged[i]==true) continue;
@@ -203,4 +324,57 @@ public class FRGrid<V,E> extends FRLayoutNoMapsNoFrame<V,E> {
             calcRepulsion(v1);
         }
     }
-}
\ No newline at end of file
+	
+	/**
+	 * Same as {@link FRGrid#calcRepulsion(VertexTriple, int, int, int)} for every vertex of the passed component,
+	 * but on the arrays of the {@link FRArrayEngine}.
+	 * 
+	 * @param indexConnectedComponent
+	 */
+	protected void calcRepulsionOnArrays(int indexConnectedComponent) {
+		double[] x = arrayEngine.getX();
+		double[] y = arrayEngine.getY();
+		double[] dx = arrayEngine.getDx();
+		double[] dy = arrayEngine.getDy();
+		int[] squareStart = gridSquareStart[indexConnectedComponent];
+		int[] squareVertices = gridVertices[indexConnectedComponent];
+		int rows = gridRows[indexConnectedComponent];
+		int columns = gridColumns[indexConnectedComponent];
+		double maxDistance = 2*k[indexConnectedComponent];
+		double repulsionConstantSquared = repulsion_constant * repulsion_constant;
+		
+		for(int v1=arrayEngine.getComponentStart(indexConnectedComponent);
+				v1<arrayEngine.getComponentEnd(indexConnectedComponent); v1++){
+			int xGridIndex = gridSquareOfVertex[v1] / rows;
+			int yGridIndex = gridSquareOfVertex[v1] % rows;
+			double sumX = 0;
+			double sumY = 0;
+			//same grid-squares as in calcRepulsion(VertexTriple, int, int, int)
+			for(int i=xGridIndex-1; i<xGridIndex+1; i++){
+				for(int j=yGridIndex-1; j<yGridIndex+1; j++){
+					if(i<0 || j<0 || i>=columns || j>=rows) continue;
+					int square = i*rows + j;
+					for(int s=squareStart[square]; s<squareStart[square + 1]; s++){
+						int v2 = squareVertices[s];
+						if(v1 == v2) continue;
+						double xDelta = x[v1] - x[v2];
+						double yDelta = y[v1] - y[v2];
+						double distance = Math.sqrt((xDelta * xDelta) + (yDelta * yDelta));
+						if(distance > maxDistance) continue;
+						
+						double deltaLength = Math.max(EPSILON, distance);
+						double force = repulsionConstantSquared / deltaLength;
+						
+						if (Double.isNaN(force)) { throw new RuntimeException(
+						"Unexpected mathematical result in FRLayout:calcPositions [repulsion]"); }
+						
+						sumX += (xDelta / deltaLength) * force;
+						sumY += (yDelta / deltaLength) * force;
+					}
+				}
+			}
+			dx[v1] = sumX;
+			dy[v1] = sumY;
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms;
 
+import de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms.wspd.FRWSPDb_b;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.util.jungmodify.FRLayout;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.util.*;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.util.jungmodify.UndirectedSparseGraph;
@@ -11,6 +12,7 @@ import java.awt.*;
 import java.awt.geom.Point2D;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * {@link FRLayout} is based essentially on {@link Map}s, especially the locatians as map V->points
@@ -42,6 +44,32 @@ public class FRLayoutNoMaps<V, E> extends FRLayout<VertexTriple<V>, EdgeTriple<V
 	 */
 	protected Map<V, VertexTriple<V>> vertexData2VertexTriple;
 	
+	/**
+	 * If true (default) the iterations are computed on an {@link FRArrayEngine} instead of on the
+	 * {@link VertexTriple}s. The engine is filled from the {@link VertexTriple}s in the first iteration
+	 * and the locations are written back to them only when {@link FRLayoutNoMaps#done()}
+	 * (or in every iteration if {@link FRLayoutNoMaps#writeBackEveryIteration} is set).
+	 */
+	protected boolean useArrayEngine = true;
+	/**
+	 * If true the locations are written back to the {@link VertexTriple}s after every iteration,
+	 * e.g. to watch the drawing evolve. Default is false.
+	 */
+	protected boolean writeBackEveryIteration = false;
+	/**
+	 * Created in the first iteration and reused afterwards
+	 */
+	protected FRArrayEngine<V> arrayEngine;
+	/**
+	 * If set (and the array engine is used) the forces are computed concurrently in this pool
+	 * where supported. Default is null (sequential).
+	 */
+	protected ForkJoinPool forcePool;
+	/**
+	 * True iff the current locations are in {@link FRLayoutNoMaps#arrayEngine} and not in the {@link VertexTriple}s
+	 */
+	private boolean arrayEngineLoaded = false;
+	
 	/*
      * Constructors
 	 */
@@ -79,6 +107,7 @@ public class FRLayoutNoMaps<V, E> extends FRLayout<VertexTriple<V>, EdgeTriple<V
 		//<Replace that call in AbstractLayout  (= line "super(g, new RandomLocationTransformer<V>(d), d);" in FRLayout)>
 		//The new created graph is then saved at this.graph
 		super(new UndirectedSparseGraph<VertexTriple<V>, EdgeTriple<V,E>>());
+		random = new Random(seed);
 		
 		//Read graph. This is the only step that works with the JUNG-graph-structure
 		vertexData2VertexTriple = new LinkedHashMap<V, VertexTriple<V>>(graph.getVertexCount());
@@ -130,6 +159,131 @@ public class FRLayoutNoMaps<V, E> extends FRLayout<VertexTriple<V>, EdgeTriple<V
 		return numberOfVertices;
 	}
 	
+	public boolean isUseArrayEngine() {
+		return useArrayEngine;
+	}
+	
+	/**
+	 * Default is true.
+	 * See {@link FRLayoutNoMaps#useArrayEngine}.
+	 * 
+	 * @param useArrayEngine
+	 */
+	public void setUseArrayEngine(boolean useArrayEngine) {
+		synchronizeLocations();
+		this.useArrayEngine = useArrayEngine;
+	}
+	
+	public ForkJoinPool getForcePool() {
+		return forcePool;
+	}
+	
+	/**
+	 * If a pool is set, the attractive forces and, in {@link FRWSPDb_b}, the repulsive forces of the
+	 * well-separated pairs are computed concurrently in this pool.
+	 * The forces are summed up in the same order as without a pool, so the drawing is exactly the same.
+	 * Only has an effect if the array engine is used (see {@link FRLayoutNoMaps#setUseArrayEngine(boolean)}).
+	 * 
+	 * @param forcePool
+	 * 		null for computing everything in the calling thread (default)
+	 */
+	public void setForcePool(ForkJoinPool forcePool) {
+		this.forcePool = forcePool;
+	}
+	
+	public boolean isWriteBackEveryIteration() {
+		return writeBackEveryIteration;
+	}
+	
+	/**
+	 * Default is false.
+	 * See {@link FRLayoutNoMaps#writeBackEveryIteration}.
+	 * 
+	 * @param writeBackEveryIteration
+	 */
+	public void setWriteBackEveryIteration(boolean writeBackEveryIteration) {
+		this.writeBackEveryIteration = writeBackEveryIteration;
+	}
+	
+	
+	/*
+	 * Handling of the array engine
+	 */
+	
+	/**
+	 * Called once in the first iteration if {@link FRLayoutNoMaps#useArrayEngine} is set.
+	 * Here all vertices form one component.
+	 * 
+	 * @return
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	protected FRArrayEngine<V> createArrayEngine(){
+		return new FRArrayEngine<V>(new List[]{vertices}, edges);
+	}
+	
+	/**
+	 * Copies the current locations from the {@link VertexTriple}s into the {@link FRArrayEngine}
+	 * if the array engine is used and does not hold them already.
+	 * To be called at the beginning of an iteration.
+	 */
+	protected void loadArrayEngine(){
+		if(!useArrayEngine || arrayEngineLoaded){
+			return;
+		}
+		if(arrayEngine == null){
+			arrayEngine = createArrayEngine();
+		}
+		arrayEngine.loadFromTriples();
+		arrayEngineLoaded = true;
+		arrayEngineLoaded();
+	}
+	
+	/**
+	 * Hook called right after the locations were copied into {@link FRLayoutNoMaps#arrayEngine}.
+	 * Empty here.
+	 */
+	protected void arrayEngineLoaded(){
+	}
+	
+	/**
+	 * True iff the current iteration is computed on {@link FRLayoutNoMaps#arrayEngine}
+	 * 
+	 * @return
+	 */
+	protected boolean isArrayEngineActive(){
+		return arrayEngineLoaded;
+	}
+	
+	/**
+	 * To be called at the end of an iteration.
+	 * Writes the locations back if done or if {@link FRLayoutNoMaps#writeBackEveryIteration} is set.
+	 * When done the {@link VertexTriple}s hold the locations again afterwards.
+	 */
+	protected void finishArrayEngineIteration(){
+		if(!arrayEngineLoaded){
+			return;
+		}
+		if(done()){
+			synchronizeLocations();
+		}
+		else if(writeBackEveryIteration){
+			arrayEngine.writeLocationsToTriples();
+		}
+	}
+	
+	/**
+	 * Writes the locations from the {@link FRArrayEngine} back to the {@link VertexTriple}s.
+	 * Afterwards the {@link VertexTriple}s are the only storage of the locations again until the next iteration.
+	 * Call this before reading locations if the iterations were stopped before {@link FRLayoutNoMaps#done()}.
+	 */
+	public synchronized void synchronizeLocations(){
+		if(!arrayEngineLoaded){
+			return;
+		}
+		arrayEngine.writeLocationsToTriples();
+		arrayEngineLoaded = false;
+	}
+	
 	
 	/**
 	 * Creates from the saved vertex- and edge-lists again a JUNG-{@link Graph}.
@@ -227,22 +381,26 @@ public class FRLayoutNoMaps<V, E> extends FRLayout<VertexTriple<V>, EdgeTriple<V
 	}
 	@Override
 	protected void offsetVertex(VertexTriple<V> t, double xOffset, double yOffset) {
+		synchronizeLocations();
 		Point2D c = getCoordinates(t);
         c.setLocation(c.getX()+xOffset, c.getY()+yOffset);
 		setLocation(t, c);
 	}
 	@Override
 	public void setLocation(VertexTriple<V> picked, double x, double y) {
+		synchronizeLocations();
 		Point2D coord = getCoordinates(picked);
 		coord.setLocation(x, y);
 	}
 	@Override
 	public void setLocation(VertexTriple<V> picked, Point2D p) {
+		synchronizeLocations();
 		Point2D coord = getCoordinates(picked);
 		coord.setLocation(p);
 	}
 	@Override
 	public void initialize() {
+		synchronizeLocations();
     	doInit();
     }
     private void doInit() {
@@ -324,6 +482,17 @@ public class FRLayoutNoMaps<V, E> extends FRLayout<VertexTriple<V>, EdgeTriple<V
     public synchronized void step() {
         currentIteration++;
 
+        loadArrayEngine();
+        if(isArrayEngineActive()){
+        	arrayEngine.calcRepulsionAllPairs(0, repulsion_constant, EPSILON);
+        	arrayEngine.calcAttraction(attraction_constant, EPSILON);
+        	arrayEngine.calcPositionsInFrame(temperature, getSize().getWidth(), getSize().getHeight(), EPSILON,
+        			random);
+        	cool();
+        	finishArrayEngineIteration();
+        	return;
+        }
+
         /**
          * Calculate repulsion
          */
@@ -384,18 +553,18 @@ public class FRLayoutNoMaps<V, E> extends FRLayout<VertexTriple<V>, EdgeTriple<V
         double borderWidth = getSize().getWidth() / 50.0;
         double newXPos = xyd.getX();
         if (newXPos < borderWidth) {
-            newXPos = borderWidth + Randomness.random.nextDouble() * borderWidth * 2.0;
+            newXPos = borderWidth + random.nextDouble() * borderWidth * 2.0;
         } else if (newXPos > (getSize().getWidth() - borderWidth)) {
-            newXPos = getSize().getWidth() - borderWidth - Randomness.random.nextDouble()
+            newXPos = getSize().getWidth() - borderWidth - random.nextDouble()
                     * borderWidth * 2.0;
         }
 
         double newYPos = xyd.getY();
         if (newYPos < borderWidth) {
-            newYPos = borderWidth + Randomness.random.nextDouble() * borderWidth * 2.0;
+            newYPos = borderWidth + random.nextDouble() * borderWidth * 2.0;
         } else if (newYPos > (getSize().getHeight() - borderWidth)) {
             newYPos = getSize().getHeight() - borderWidth
-                    - Randomness.random.nextDouble() * borderWidth * 2.0;
+                    - random.nextDouble() * borderWidth * 2.0;
         }
 
         xyd.setLocation(newXPos, newYPos);
@@ -161,6 +161,7 @@ public class FRLayoutNoMapsNoFrame<V, E> extends FRLayoutNoMaps<V, E> implements
 		//<Replace that call in AbstractLayout  (= line "super(g, new RandomLocationTransformer<V>(d), d);" in FRLayout)>
 		//The new created graph is then saved at this.graph
 		super();
+		random = new Random(seed);
 		
 		
 		//Find connected components
@@ -257,6 +258,15 @@ public class FRLayoutNoMapsNoFrame<V, E> extends FRLayoutNoMaps<V, E> implements
 			boolean scaleToDrawingAreaAtTheEnd) {
 		this.scaleToDrawingAreaAtTheEnd = scaleToDrawingAreaAtTheEnd;
 	}
+	
+	/**
+	 * One component of the {@link FRArrayEngine} for every connected component
+	 * (same indices as in {@link FRLayoutNoMapsNoFrame#vertices})
+	 */
+	@Override
+	protected FRArrayEngine<V> createArrayEngine() {
+		return new FRArrayEngine<V>(vertices, edges);
+	}
 
 	
 	
@@ -266,6 +276,7 @@ public class FRLayoutNoMapsNoFrame<V, E> extends FRLayoutNoMaps<V, E> implements
 	@Override
     public synchronized void step() {
         currentIteration++;
+        loadArrayEngine();
 
         /**
          * Calculate repulsion
@@ -278,15 +289,7 @@ public class FRLayoutNoMapsNoFrame<V, E> extends FRLayoutNoMaps<V, E> implements
         /**
          * Calculate attraction
          */
-        while(true) {
-            try {
-                for(EdgeTriple<V,E> e : edges) {
-
-                    calcAttraction(e);
-                }
-                break;
-            } catch(ConcurrentModificationException cme) {}
-        }
+        calcAttraction();
 
         /**
          * Calculate positions
@@ -296,6 +299,8 @@ public class FRLayoutNoMapsNoFrame<V, E> extends FRLayoutNoMaps<V, E> implements
         
         cool();
         
+        finishArrayEngineIteration();
+        
         /*
          * Newly inserted step to scale back to the assigned space/area
          */
@@ -308,6 +313,7 @@ public class FRLayoutNoMapsNoFrame<V, E> extends FRLayoutNoMaps<V, E> implements
 	@Override
 	public synchronized long stepMeasureRepulsiveTime() {
         currentIteration++;
+        loadArrayEngine();
 
         /**
          * Calculate repulsion
@@ -321,15 +327,7 @@ public class FRLayoutNoMapsNoFrame<V, E> extends FRLayoutNoMaps<V, E> implements
         /**
          * Calculate attraction
          */
-        while(true) {
-            try {
-                for(EdgeTriple<V,E> e : edges) {
-
-                    calcAttraction(e);
-                }
-                break;
-            } catch(ConcurrentModificationException cme) {}
-        }
+        calcAttraction();
         
 
         /**
@@ -340,6 +338,8 @@ public class FRLayoutNoMapsNoFrame<V, E> extends FRLayoutNoMaps<V, E> implements
         
         cool();
         
+        finishArrayEngineIteration();
+        
         /*
          * Newly inserted step to scale back to the assigned space/area
          */
@@ -356,6 +356,12 @@ public class FRLayoutNoMapsNoFrame<V, E> extends FRLayoutNoMaps<V, E> implements
 	 */
 	protected void calcRepulsion(){
 		if(currentIteration%intervalForLeavingOutCalculationOfRepulsiveForces!=0){ //In some iteartions no repulsive forces are computed
+			if(isArrayEngineActive()){
+				for(int i=0; i<vertices.length; i++){
+					arrayEngine.calcRepulsionAllPairs(i, repulsion_constant, EPSILON);
+				}
+				return;
+			}
 			//Individually done for every component, see calcRepulsion(t)
 	        for(int i=0; i<vertices.length; i++){
 //	        	if(converged[i]==true) continue;
@@ -372,11 +378,34 @@ public class FRLayoutNoMapsNoFrame<V, E> extends FRLayoutNoMaps<V, E> implements
 	}
 	
 	
+	/**
+	 * Outtaken from the step()-method.
+	 * So that it can be overwritten easier.
+	 */
+	protected void calcAttraction(){
+		if(isArrayEngineActive()){
+			arrayEngine.calcAttraction(attraction_constant, EPSILON, forcePool);
+			return;
+		}
+		while(true) {
+			try {
+				for(EdgeTriple<V,E> e : edges) {
+					calcAttraction(e);
+				}
+				break;
+			} catch(ConcurrentModificationException cme) {}
+		}
+	}
+	
 	/**
 	 * Outtaken from the step()-method.
 	 * So that it can be overwritten easier.
 	 */
 	protected void calcPositions(){
+		if(isArrayEngineActive()){
+			converged = arrayEngine.calcPositions(temperature, threshold, EPSILON);
+			return;
+		}
 		converged = true;
         for(int i=0; i<vertices.length; i++){
 //        	if(converged[i]==true) continue;
@@ -559,6 +588,7 @@ public class FRLayoutNoMapsNoFrame<V, E> extends FRLayoutNoMaps<V, E> implements
 	
 	@Override
 	public void initialize() {
+		synchronizeLocations();
     	doInit();
     }
     private void doInit() {
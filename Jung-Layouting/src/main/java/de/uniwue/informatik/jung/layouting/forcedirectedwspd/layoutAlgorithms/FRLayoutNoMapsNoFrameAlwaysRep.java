@@ -24,6 +24,12 @@ public class FRLayoutNoMapsNoFrameAlwaysRep<V, E> extends FRLayoutNoMapsNoFrame<
 	 */
 	@Override
 	protected void calcRepulsion(){
+		if(isArrayEngineActive()){
+			for(int i=0; i<vertices.length; i++){
+				arrayEngine.calcRepulsionAllPairs(i, repulsion_constant, EPSILON);
+			}
+			return;
+		}
 		//Individually done for every component, see calcRepulsion(t)
         for(int i=0; i<vertices.length; i++){
 //        	if(converged[i]==true) continue;
@@ -52,8 +52,12 @@ public abstract class FRWSPDMultiLevel<V, E> extends MultiLevelLayout<V, E> impl
 	public SplitTree<V>[] getSplitTree() {
 		SplitTree<V>[] splitTrees = new SplitTree[super.singleComponentMLLayouts.size()];
 		for(int i=0; i<super.singleComponentMLLayouts.size(); i++){
+			SplitTree<V>[] splitTreesOfComponent = ((LayoutWithWSPD)singleComponentMLLayouts.get(i).currentLayoutingAlgorithm).getSplitTree();
+			if(splitTreesOfComponent == null){
+				return null; //not built yet
+			}
 			//only [0] because it is only one component
-			splitTrees[i] = ((LayoutWithWSPD)singleComponentMLLayouts.get(i).currentLayoutingAlgorithm).getSplitTree()[0];
+			splitTrees[i] = splitTreesOfComponent[0];
 		}
 		return splitTrees;
 	}
@@ -63,8 +67,12 @@ public abstract class FRWSPDMultiLevel<V, E> extends MultiLevelLayout<V, E> impl
 	public WellSeparatedPairDecomposition<V>[] getWSPD() {
 		WellSeparatedPairDecomposition<V>[] wspds = new WellSeparatedPairDecomposition[super.singleComponentMLLayouts.size()];
 		for(int i=0; i<super.singleComponentMLLayouts.size(); i++){
+			WellSeparatedPairDecomposition<V>[] wspdsOfComponent = ((LayoutWithWSPD)singleComponentMLLayouts.get(i).currentLayoutingAlgorithm).getWSPD();
+			if(wspdsOfComponent == null){
+				return null; //not built yet
+			}
 			//only [0] because it is only one component
-			wspds[i] = ((LayoutWithWSPD)singleComponentMLLayouts.get(i).currentLayoutingAlgorithm).getWSPD()[0];
+			wspds[i] = wspdsOfComponent[0];
 		}
 		return wspds;
 	}
@@ -93,6 +101,56 @@ public abstract class FRWSPDMultiLevel<V, E> extends MultiLevelLayout<V, E> impl
 		}
 	}
 
+	@SuppressWarnings("rawtypes")
+	@Override
+	public int repairWSPD(int maximalNumberOfNewPairs) {
+		int numberOfRepairedPairs = 0;
+		for(int i=0; i<super.singleComponentMLLayouts.size(); i++){
+			LayoutWithWSPD layoutOfComponent = (LayoutWithWSPD)singleComponentMLLayouts.get(i).currentLayoutingAlgorithm;
+			int numberOfPairsBefore = layoutOfComponent.getNumberOfWellSeparatedPairs();
+			int numberOfRepairedPairsInComponent = layoutOfComponent.repairWSPD(maximalNumberOfNewPairs);
+			if(numberOfRepairedPairsInComponent < 0){
+				return -1;
+			}
+			numberOfRepairedPairs += numberOfRepairedPairsInComponent;
+			maximalNumberOfNewPairs -= layoutOfComponent.getNumberOfWellSeparatedPairs() - numberOfPairsBefore;
+		}
+		return numberOfRepairedPairs;
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public int getNumberOfWellSeparatedPairs() {
+		int numberOfPairs = 0;
+		for(int i=0; i<super.singleComponentMLLayouts.size(); i++){
+			numberOfPairs += ((LayoutWithWSPD)singleComponentMLLayouts.get(i).currentLayoutingAlgorithm)
+					.getNumberOfWellSeparatedPairs();
+		}
+		return numberOfPairs;
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public boolean areAllPairsWellSeparated(double s) {
+		for(int i=0; i<super.singleComponentMLLayouts.size(); i++){
+			if(!((LayoutWithWSPD)singleComponentMLLayouts.get(i).currentLayoutingAlgorithm).areAllPairsWellSeparated(s)){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public double getMaximalMovementKeepingAllPairsWellSeparated() {
+		double maximalMovement = Double.POSITIVE_INFINITY;
+		for(int i=0; i<super.singleComponentMLLayouts.size(); i++){
+			maximalMovement = Math.min(maximalMovement, ((LayoutWithWSPD)singleComponentMLLayouts.get(i)
+					.currentLayoutingAlgorithm).getMaximalMovementKeepingAllPairsWellSeparated());
+		}
+		return maximalMovement;
+	}
+
 	@Override
 	public double getSForTheWSPD() {
 		return sOrTheta;
@@ -119,4 +177,18 @@ public abstract class FRWSPDMultiLevel<V, E> extends MultiLevelLayout<V, E> impl
 		}
 		return -1; //must return something, so return -1 what makes no real sense
 	}
+
+	/**
+	 * Maximum over all components
+	 */
+	@SuppressWarnings("rawtypes")
+	@Override
+	public double getMovementBoundSinceTheBoundingRectanglesWereComputed() {
+		double movementBound = 0;
+		for(int i=0; i<super.singleComponentMLLayouts.size(); i++){
+			movementBound = Math.max(movementBound, ((LayoutWithWSPD)singleComponentMLLayouts.get(i)
+					.currentLayoutingAlgorithm).getMovementBoundSinceTheBoundingRectanglesWereComputed());
+		}
+		return movementBound;
+	}
 }
\ No newline at end of file
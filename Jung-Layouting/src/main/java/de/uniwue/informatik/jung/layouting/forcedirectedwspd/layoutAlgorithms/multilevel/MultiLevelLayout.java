@@ -1,7 +1,6 @@
 package de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms.multilevel;
 
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.util.Constants;
-import de.uniwue.informatik.jung.layouting.forcedirectedwspd.util.Randomness;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.util.Tuple;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.util.jungmodify.UndirectedSparseGraph;
 import edu.uci.ics.jung.algorithms.cluster.WeakComponentClusterer;
@@ -23,6 +22,7 @@ import java.awt.*;
 import java.awt.geom.Point2D;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * This Java implementation follows in many points regarding the multi level treatment
@@ -71,6 +71,11 @@ public class MultiLevelLayout<V,E> extends AbstractLayout<V, E> implements Itera
 	protected int currentIteration = 0;
 	protected RecomputationOfSplitTreeAndWSPDFunction recomputationFunction;
 	
+	/**
+	 * see {@link FRLayoutNoMaps#setForcePool(ForkJoinPool)}
+	 */
+	protected ForkJoinPool forcePool;
+	
 	/**
 	 * 
 	 * @param graph
@@ -112,6 +117,9 @@ public class MultiLevelLayout<V,E> extends AbstractLayout<V, E> implements Itera
 				SingleComponentMultiLevelLayout>(numberOfComponents);
 		
 		//a own algo for each connected component (this is taken from FRLayoutNoMapsNoFrame, similar code there)
+		//every component gets its own seed derived from the seed of this layout, so the components do not share
+		//a random source and their drawings do not depend on each other or on other layouts running at the same time
+		Random seedsForComponents = new Random(seed);
 		int i=0; //countindex
 		int offset=0; //offsetindex
 		double stripeWidthPerVertex = size.getWidth()/(double)graph.getVertexCount();
@@ -135,7 +143,8 @@ public class MultiLevelLayout<V,E> extends AbstractLayout<V, E> implements Itera
 				}
 				
 			}
-			singleComponentMLLayouts.add(i, new SingleComponentMultiLevelLayout(graphOfThisComponent, subsize.get(i)));
+			singleComponentMLLayouts.add(i, new SingleComponentMultiLevelLayout(graphOfThisComponent, subsize.get(i),
+					seedsForComponents.nextLong()));
 			//init locations
 			RandomLocationTransformer<V> randomLocationTransformer = new RandomLocationTransformer<V>(subsize.get(i),
 					seed);
@@ -148,6 +157,22 @@ public class MultiLevelLayout<V,E> extends AbstractLayout<V, E> implements Itera
 		}
 	}
 	
+	public ForkJoinPool getForcePool() {
+		return forcePool;
+	}
+	
+	/**
+	 * Passed to the layouting algorithm of every level if it is an {@link FRLayoutNoMaps}.
+	 * See {@link FRLayoutNoMaps#setForcePool(ForkJoinPool)}.
+	 * Must be set before {@link MultiLevelLayout#initialize()}.
+	 * 
+	 * @param forcePool
+	 * 		null for computing everything in the calling thread (default)
+	 */
+	public void setForcePool(ForkJoinPool forcePool) {
+		this.forcePool = forcePool;
+	}
+	
 	@Override
 	public void initialize() {
 		for(SingleComponentMultiLevelLayout componentLayout: singleComponentMLLayouts){
@@ -320,6 +345,17 @@ public class MultiLevelLayout<V,E> extends AbstractLayout<V, E> implements Itera
 		private int coarsestLevelNumber;
 		private int totalNrOfLevels;
 		
+		/**
+		 * Seed of this component, {@link SingleComponentMultiLevelLayout#random} is created from it
+		 * in {@link SingleComponentMultiLevelLayout#initialize()}
+		 */
+		private final long seedOfThisComponent;
+		/**
+		 * Source of all random decisions for this component (building the levels and placing the vertices
+		 * of the next finer level)
+		 */
+		private Random random;
+		
 		
 		
 		/**
@@ -327,11 +363,11 @@ public class MultiLevelLayout<V,E> extends AbstractLayout<V, E> implements Itera
 		 * @param graph
 		 * @param size
 		 * @param layoutingAlgorithmType
-		 * @param sOrTheta
-		 * 		May be arbitrary value if not needed for {@link AlgorithmReference#getNewInstance(Graph, Dimension, double)}
+		 * @param seedOfThisComponent
 		 */
-		protected SingleComponentMultiLevelLayout(Graph<V,E> graph, Dimension size) {
+		protected SingleComponentMultiLevelLayout(Graph<V,E> graph, Dimension size, long seedOfThisComponent) {
 			super(graph,size);
+			this.seedOfThisComponent = seedOfThisComponent;
 		}
 	
 		
@@ -342,6 +378,7 @@ public class MultiLevelLayout<V,E> extends AbstractLayout<V, E> implements Itera
 	
 		@Override
 		public void initialize() {
+			random = new Random(seedOfThisComponent);
 			createMultiLevelGraphs();
 			switchToNextLayoutingLevelAlgorithm(true); //init layoutingAlgorithm for coarsest level (==current level at the beginning)
 			super.initialized = true;
@@ -355,7 +392,7 @@ public class MultiLevelLayout<V,E> extends AbstractLayout<V, E> implements Itera
 			currentLevelNumber = 0;
 			totalNrOfLevels = 1;
 			
-			GalaxyMultiLevelBuilder<V, E> builder = new GalaxyMultiLevelBuilder<V, E>();
+			GalaxyMultiLevelBuilder<V, E> builder = new GalaxyMultiLevelBuilder<V, E>(random);
 			
 			while(currentLevel.graph.getVertexCount() > multiLevelNumNodesBound){
 				Tuple<GalaxyMultiLevel<V, E>, Tuple<List<LevelNodeInfo<V>>, List<LevelEdgeInfo<V, E>>>> newLevelPlusLevelInfos =
@@ -473,9 +510,9 @@ public class MultiLevelLayout<V,E> extends AbstractLayout<V, E> implements Itera
 						parentLocation = prevLayoutingAlgorithm.apply(relevantLevelNodeInfo.parentRelevantLevelNodeInfo.vertex);
 					}
 					double newX = (parentLocation.getX()
-							+ (Randomness.random.nextDouble()-0.5)*multiLevelRandomPlacingSpan) * multiLevelScaleFactor;
+							+ (random.nextDouble()-0.5)*multiLevelRandomPlacingSpan) * multiLevelScaleFactor;
 					double newY = (parentLocation.getY()
-							+ (Randomness.random.nextDouble()-0.5)*multiLevelRandomPlacingSpan) * multiLevelScaleFactor;
+							+ (random.nextDouble()-0.5)*multiLevelRandomPlacingSpan) * multiLevelScaleFactor;
 					
 					Point2D childLocation;
 					//check cases!
@@ -493,10 +530,13 @@ public class MultiLevelLayout<V,E> extends AbstractLayout<V, E> implements Itera
 		private void switchToNextLayoutingLevelAlgorithm(boolean applyVertexLocationsFromThisMultiLevelLayoutToLayoutingAlgorithm){
 			this.prevLayoutingAlgorithm = this.currentLayoutingAlgorithm;
 			this.currentLayoutingAlgorithm = layoutingAlgorithmType.getNewInstance(currentLevel.graph, size, sOrTheta
-					, seed);
+					, random.nextLong());
 			if(currentLayoutingAlgorithm instanceof LayoutWithWSPD){
 				((LayoutWithWSPD<?>) currentLayoutingAlgorithm).setRecomputationOfSplitTreeAndWSPDFunction(recomputationFunction);
 			}
+			if(currentLayoutingAlgorithm instanceof FRLayoutNoMaps){
+				((FRLayoutNoMaps<?, ?>) currentLayoutingAlgorithm).setForcePool(forcePool);
+			}
 			if(applyVertexLocationsFromThisMultiLevelLayoutToLayoutingAlgorithm){
 				applyVertexLocationsFromThisMultiLevelLayoutToLayoutingAlgorithm();
 			}
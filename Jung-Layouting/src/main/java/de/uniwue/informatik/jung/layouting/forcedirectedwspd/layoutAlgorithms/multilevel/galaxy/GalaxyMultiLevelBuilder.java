@@ -1,6 +1,5 @@
 package de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms.multilevel.galaxy;
 
-import de.uniwue.informatik.jung.layouting.forcedirectedwspd.util.Randomness;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.util.jungmodify.UndirectedSparseGraph;
 import edu.uci.ics.jung.graph.Graph;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.util.Tuple;
@@ -9,6 +8,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
 
 /**
  * GalaxyMultiLevelBuilder as Java implementation of
@@ -28,6 +28,16 @@ public class GalaxyMultiLevelBuilder<V,E> {
 	private List<LevelEdgeInfo<V,E>> prevEdgeInfos;
 	private List<LevelNodeState<V, E>> nodeStates;
 	
+	/**
+	 * Used to shuffle the nodes before sorting them by their system mass
+	 */
+	private final Random random;
+	
+	
+	public GalaxyMultiLevelBuilder(Random random) {
+		this.random = random;
+	}
+	
 	
 	public Tuple<GalaxyMultiLevel<V,E>,  Tuple<List<LevelNodeInfo<V>>, List<LevelEdgeInfo<V,E>>>> build(
 			GalaxyMultiLevel<V,E> prevMultiLevel, Tuple<List<LevelNodeInfo<V>>, List<LevelEdgeInfo<V,E>>> prevLevelInfos){
@@ -76,7 +86,7 @@ public class GalaxyMultiLevelBuilder<V,E> {
 		 * which may not be random but depend on the not random order of nodes
 		 * in the graph source file.
 		 */
-		Collections.shuffle(nodeStates, Randomness.random);
+		Collections.shuffle(nodeStates, random);
 		Collections.sort(nodeStates);
 	}
 
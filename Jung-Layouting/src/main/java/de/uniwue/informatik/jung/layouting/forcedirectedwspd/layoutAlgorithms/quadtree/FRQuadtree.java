@@ -2,7 +2,9 @@ package de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms.q
 
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.util.jungmodify.FRLayout;
 import edu.uci.ics.jung.graph.Graph;
+import de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms.FRArrayEngine;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms.FRLayoutNoMapsNoFrame;
+import de.uniwue.informatik.jung.layouting.forcedirectedwspd.quadtree.ArrayQuadTree;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.quadtree.QuadTree;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.quadtree.QuadTreeNode;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.util.VertexTriple;
@@ -25,6 +27,10 @@ public class FRQuadtree<V, E> extends FRLayoutNoMapsNoFrame<V, E> {
 	
     private double theta;
     protected QuadTree<V>[] quadtree;
+    /**
+     * Used instead of {@link FRQuadtree#quadtree} when working on the {@link FRArrayEngine}
+     */
+    protected ArrayQuadTree[] arrayQuadtree;
 	
 	
 	
@@ -83,11 +89,102 @@ public class FRQuadtree<V, E> extends FRLayoutNoMapsNoFrame<V, E> {
      */
 	@Override
 	protected void calcRepulsion() {
+		if(isArrayEngineActive()){
+			calcRepulsionOnArrays();
+			return;
+		}
 		recomputeQuadtree();
 		
 		super.calcRepulsion();
     }
 	
+	/**
+	 * Same as {@link FRQuadtree#calcRepulsion()} but on the arrays of the {@link FRArrayEngine}
+	 * with an {@link ArrayQuadTree} for every component.
+	 * The {@link ArrayQuadTree}s are kept and built again in every iteration.
+	 * If {@link FRQuadtree#getForcePool()} is set, the vertices are handled concurrently
+	 * (each vertex only writes its own displacement, so the result is the same).
+	 */
+	private void calcRepulsionOnArrays() {
+		if(currentIteration%intervalForLeavingOutCalculationOfRepulsiveForces==0){ //In some iteartions no repulsive forces are computed
+			return;
+		}
+		if(arrayQuadtree == null || arrayQuadtree.length != vertices.length){
+			arrayQuadtree = new ArrayQuadTree[vertices.length];
+			for(int i=0; i<vertices.length; i++){
+				arrayQuadtree[i] = new ArrayQuadTree();
+			}
+		}
+		for(int i=0; i<vertices.length; i++){
+			int start = arrayEngine.getComponentStart(i);
+			int end = arrayEngine.getComponentEnd(i);
+			ArrayQuadTree tree = arrayQuadtree[i];
+			tree.build(arrayEngine.getX(), arrayEngine.getY(), start, end);
+			if(forcePool != null){
+				FRArrayEngine.runInChunks(forcePool, end - start,
+						(from, to) -> calcRepulsionOnArrays(tree, start + from, start + to));
+			}
+			else{
+				calcRepulsionOnArrays(tree, start, end);
+			}
+		}
+	}
+	
+	/**
+	 * Same as {@link FRQuadtree#calcRepulsion(VertexTriple, int)} for the vertices fromVertex (inclusive) to
+	 * toVertex (exclusive), but on the arrays of the {@link FRArrayEngine}.
+	 * The tree is traversed with an explicit stack instead of recursion.
+	 * 
+	 * @param tree
+	 * {@link ArrayQuadTree} of the component of these vertices
+	 * @param fromVertex
+	 * @param toVertex
+	 */
+	protected void calcRepulsionOnArrays(ArrayQuadTree tree, int fromVertex, int toVertex) {
+		double[] x = arrayEngine.getX();
+		double[] y = arrayEngine.getY();
+		double[] dx = arrayEngine.getDx();
+		double[] dy = arrayEngine.getDy();
+		double repulsionConstantSquared = repulsion_constant * repulsion_constant;
+		//at most 3 pending siblings per level + the children of the current node
+		int[] stack = new int[4 * (ArrayQuadTree.MAXIMAL_DEPTH + 2)];
+		
+		for(int v=fromVertex; v<toVertex; v++){
+			double sumX = 0;
+			double sumY = 0;
+			int stackSize = 0;
+			stack[stackSize++] = tree.getRoot();
+			while(stackSize > 0){
+				int u = stack[--stackSize];
+				double xDelta = x[v] - tree.getBarycenterX(u);
+				double yDelta = y[v] - tree.getBarycenterY(u);
+				double d = Math.sqrt((xDelta * xDelta) + (yDelta * yDelta)); //distance barycenter(u)<->v
+				
+				//if this is true then calc force between v and the barycenter
+				if(tree.isLeaf(u) || tree.getSideLength(u)/d < theta){
+					double deltaLength = Math.max(EPSILON, d);
+					
+					double force = repulsionConstantSquared / deltaLength;
+					
+					if (Double.isNaN(force)) { throw new RuntimeException(
+					"Unexpected mathematical result in FRLayout:calcPositions [repulsion]"); }
+					
+					sumX += (xDelta / deltaLength) * force * tree.getSize(u);
+					sumY += (yDelta / deltaLength) * force * tree.getSize(u);
+				}
+				//otherwise calc force between v and the children of u
+				else{
+					for(int child=tree.getFirstChild(u)+tree.getNumberOfChildren(u)-1; child>=tree.getFirstChild(u);
+							child--){
+						stack[stackSize++] = child;
+					}
+				}
+			}
+			dx[v] = sumX;
+			dy[v] = sumY;
+		}
+	}
+	
 	@Override
 	protected void calcRepulsion(VertexTriple<V> t, int indexConnectedComponent) {
 		FRVertexData fvd = getFRData(t);
@@ -122,7 +219,8 @@ public class FRQuadtree<V, E> extends FRLayoutNoMapsNoFrame<V, E> {
             double d = Point2D.distance(t.get2().getX(), t.get2().getY(), barycenter.getX(), barycenter.getY()); //distance barycenter(qtn)<->pV
             
             //if this is true then calc force between pV and the barycenter
-            if(l/d < theta){
+            //(for a leaf as well, it has no children to go on with; if it contains t the force is 0)
+            if(l/d < theta || quadTreeOfItsComponent.isLeaf(qtn)){
             
 	            double xDelta = t.get2().getX() - barycenter.getX();
 	            double yDelta = t.get2().getY() - barycenter.getY();
@@ -0,0 +1,144 @@
+package de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms.wspd;
+
+import de.uniwue.informatik.jung.layouting.forcedirectedwspd.wspd.SplitTree;
+import de.uniwue.informatik.jung.layouting.forcedirectedwspd.wspd.WellSeparatedPairDecomposition;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * {@link RecomputationOfSplitTreeAndWSPDFunction} that builds {@link SplitTree} and {@link WellSeparatedPairDecomposition}
+ * only new when the pairs are not well-separated any more in too many cases.
+ * <p>
+ * How it works:
+ * The displacement of every vertex in one iteration is limited by the temperature.
+ * So the {@link LayoutWithWSPD} knows how far every vertex may have moved at most since the bounding rectangles
+ * were computed last time ({@link LayoutWithWSPD#getMovementBoundSinceTheBoundingRectanglesWereComputed()}).
+ * When the bounding rectangles are computed it is also determined how far the vertices may move until a pair
+ * may not be well-separated any more ({@link WellSeparatedPairDecomposition#getMaximalMovementKeepingAllPairsWellSeparated()}).
+ * <ul>
+ * <li>As long as the vertices cannot have moved further, {@link SplitTree} and {@link WellSeparatedPairDecomposition}
+ * are kept and only the barycenters are updated.</li>
+ * <li>Otherwise the bounding rectangles are updated (via {@link SplitTree#recalculateAllBoundingRectangles()})
+ * and the pairs that are not well-separated any more are repaired (see {@link LayoutWithWSPD#repairWSPD(int)}).
+ * If more than {@link AdaptiveRecomputationOfSplitTreeAndWSPDFunction#getMaximalPortionOfRepairedPairs()}
+ * of all pairs had to be repaired (or would be added by repairing),
+ * {@link SplitTree} and {@link WellSeparatedPairDecomposition} are built new.</li>
+ * </ul>
+ * So every pair that is used is well-separated with respect to s in every iteration.
+ * <p>
+ * One instance can be used for several {@link LayoutWithWSPD}s, e.g. for all levels and components in a
+ * {@link de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms.multilevel.MultiLevelLayout},
+ * as the information is stored for every {@link LayoutWithWSPD} separately.
+ */
+public class AdaptiveRecomputationOfSplitTreeAndWSPDFunction extends RecomputationOfSplitTreeAndWSPDFunction {
+
+	private double maximalPortionOfRepairedPairs = 0.1;
+
+	/**
+	 * For every {@link LayoutWithWSPD} the iteration of the last check, the iteration in which the
+	 * {@link SplitTree} was built at that time and how far the vertices may have moved since the bounding rectangles
+	 * were computed (at that time) such that all pairs are still well-separated
+	 */
+	private final Map<LayoutWithWSPD<?>, CheckedState> checkedStates =
+			Collections.synchronizedMap(new WeakHashMap<LayoutWithWSPD<?>, CheckedState>());
+
+
+	/*
+	 * Constructors
+	 */
+
+	/**
+	 * Warning. No name added by this constructor.
+	 * Can be done afterwards via {@link RecomputationOfSplitTreeAndWSPDFunction#setName(String)}
+	 */
+	public AdaptiveRecomputationOfSplitTreeAndWSPDFunction() {
+		super();
+	}
+
+	public AdaptiveRecomputationOfSplitTreeAndWSPDFunction(String name) {
+		super(name);
+	}
+
+	/**
+	 * @param name
+	 * @param maximalPortionOfRepairedPairs
+	 * 		see {@link AdaptiveRecomputationOfSplitTreeAndWSPDFunction#setMaximalPortionOfRepairedPairs(double)}
+	 */
+	public AdaptiveRecomputationOfSplitTreeAndWSPDFunction(String name, double maximalPortionOfRepairedPairs) {
+		super(name);
+		this.maximalPortionOfRepairedPairs = maximalPortionOfRepairedPairs;
+	}
+
+
+	/*
+	 * Getters and Setters
+	 */
+
+	public double getMaximalPortionOfRepairedPairs() {
+		return maximalPortionOfRepairedPairs;
+	}
+
+	/**
+	 * If more than this portion of all well-separated pairs are not well-separated any more
+	 * (or if repairing them would add more than this portion of new pairs),
+	 * {@link SplitTree} and {@link WellSeparatedPairDecomposition} are built new instead of repairing the pairs.
+	 * Default is 0.1.
+	 *
+	 * @param maximalPortionOfRepairedPairs
+	 */
+	public void setMaximalPortionOfRepairedPairs(double maximalPortionOfRepairedPairs) {
+		this.maximalPortionOfRepairedPairs = maximalPortionOfRepairedPairs;
+	}
+
+
+	/*
+	 * apply()
+	 */
+
+	@Override
+	public Boolean apply(LayoutWithWSPD<?> layout) {
+		CheckedState checkedState = checkedStates.get(layout);
+		//1. vertices cannot have moved that far that a pair may not be well-separated -> keep everything
+		if(checkedState != null && checkedState.isStateOf(layout)
+				&& layout.getMovementBoundSinceTheBoundingRectanglesWereComputed() <= checkedState.maximalMovement){
+			layout.updateBarycenters();
+			return false;
+		}
+		//2. update bounding rectangles and repair the pairs not being well-separated any more
+		int numberOfPairs = layout.getNumberOfWellSeparatedPairs();
+		layout.updateBoundingRectangles();
+		int maximalNumberOfRepairedPairs = (int) (maximalPortionOfRepairedPairs*numberOfPairs);
+		int numberOfRepairedPairs = layout.repairWSPD(maximalNumberOfRepairedPairs);
+		if(numberOfRepairedPairs < 0 || numberOfRepairedPairs > maximalNumberOfRepairedPairs){
+			checkedStates.remove(layout);
+			return true;
+		}
+		checkedStates.put(layout, new CheckedState(layout, layout.getMaximalMovementKeepingAllPairsWellSeparated()));
+		layout.updateBarycenters();
+		return false;
+	}
+
+
+	private static class CheckedState {
+		private final int iterationOfTheCheck;
+		private final int iterationInWhichTheSplitTreeWasBuild;
+		private final double maximalMovement;
+
+		private CheckedState(LayoutWithWSPD<?> layout, double maximalMovement) {
+			this.iterationOfTheCheck = layout.getCurrentIteration();
+			this.iterationInWhichTheSplitTreeWasBuild = layout.getIterationInWhichTheSplitTreeWasBuildNewLastTime();
+			this.maximalMovement = maximalMovement;
+		}
+
+		/**
+		 * false if {@link SplitTree} and {@link WellSeparatedPairDecomposition} were computed new in the meantime
+		 * or if the layout was started again
+		 */
+		private boolean isStateOf(LayoutWithWSPD<?> layout) {
+			return layout.getCurrentIteration() > iterationOfTheCheck
+					&& layout.getIterationInWhichTheSplitTreeWasBuildNewLastTime() == iterationInWhichTheSplitTreeWasBuild;
+		}
+	}
+}
@@ -2,14 +2,18 @@ package de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms.w
 
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.util.jungmodify.FRLayout;
 import edu.uci.ics.jung.graph.Graph;
+import de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms.FRArrayEngine;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms.FRLayoutNoMapsNoFrame;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.util.VertexTriple;
+import de.uniwue.informatik.jung.layouting.forcedirectedwspd.wspd.ArraySplitTree;
+import de.uniwue.informatik.jung.layouting.forcedirectedwspd.wspd.ArrayWellSeparatedPairDecomposition;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.wspd.SplitTree;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.wspd.SplitTreeNode;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.wspd.WellSeparatedPairDecomposition;
 
 import java.awt.*;
 import java.awt.geom.Point2D;
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 
 /**
@@ -28,6 +32,11 @@ import java.util.ConcurrentModificationException;
  * The 2 available implementations of it are the ones in
  * {@link FRWSPDb_b} and {@link FRWSPDp_b}.
  * See there for more information.
+ * <p>
+ * When working on the {@link FRArrayEngine} an {@link ArraySplitTree} and an {@link ArrayWellSeparatedPairDecomposition}
+ * are used instead of {@link SplitTree} and {@link WellSeparatedPairDecomposition} (see
+ * {@link FRWSPD#setUseArraySplitTree(boolean)}). They work directly on the coordinates of the {@link FRArrayEngine}
+ * and are reused over the iterations.
  */
 public abstract class FRWSPD<V, E> extends FRLayoutNoMapsNoFrame<V, E> implements LayoutWithWSPD<V> {
 	
@@ -46,8 +55,42 @@ public abstract class FRWSPD<V, E> extends FRLayoutNoMapsNoFrame<V, E> implement
 	 * (Get via its getter)
 	 */
 	private int iterationInWhichTheSplitTreeWasBuildNewLastTime = 1;
+	/**
+	 * can be used for {@link RecomputationOfSplitTreeAndWSPDFunction}.
+	 * Sum of the temperatures of all iterations since the bounding rectangles were computed last time.
+	 * No vertex can have moved further than that since then.
+	 * (Get via its getter)
+	 */
+	private double movementBoundSinceTheBoundingRectanglesWereComputed = 0;
 	private RecomputationOfSplitTreeAndWSPDFunction recomputationOfSplitTreeAndWSPDFunction =
 			new RecomputationOfSplitTreeAndWSPDFunction(); //init with default recomp-function
+	/**
+	 * Only used when computing the repulsive forces concurrently:
+	 * For every connected component the well-separated pairs as array and for the current component
+	 * the force of every pair (x and y alternating). Both are reused over the iterations.
+	 */
+	private SplitTreeNode<V>[][][] wellSeparatedPairs;
+	private double[] pairForces;
+	/**
+	 * If true (default) and the {@link FRArrayEngine} is used, {@link FRWSPD#arraySplitTree} and
+	 * {@link FRWSPD#arrayWSPD} are used instead of {@link FRWSPD#splitTree} and {@link FRWSPD#wspd}.
+	 */
+	private boolean useArraySplitTree = true;
+	/**
+	 * For every connected graph-component one {@link ArraySplitTree} and one {@link ArrayWellSeparatedPairDecomposition}.
+	 * Kept over the iterations to reuse their arrays.
+	 */
+	protected ArraySplitTree[] arraySplitTree;
+	private ArrayWellSeparatedPairDecomposition[] arrayWSPD;
+	/**
+	 * true if the current split trees and WSPDs are {@link FRWSPD#arraySplitTree} and {@link FRWSPD#arrayWSPD}
+	 */
+	private boolean arraySplitTreeBuilt = false;
+	/**
+	 * Only used while {@link FRWSPD#arraySplitTreeBuilt} is true: iteration in which {@link FRWSPD#splitTree} and
+	 * {@link FRWSPD#wspd} were built for {@link FRWSPD#getSplitTree()} and {@link FRWSPD#getWSPD()}
+	 */
+	private int iterationInWhichTheObjectsWereBuiltOnDemand = -1;
 	
 	
 	
@@ -82,20 +125,82 @@ public abstract class FRWSPD<V, E> extends FRLayoutNoMapsNoFrame<V, E> implement
     	return sForTheWSPD;
     }
     
+	/**
+	 * If {@link ArrayWellSeparatedPairDecomposition}s are used (see {@link FRWSPD#setUseArraySplitTree(boolean)}),
+	 * {@link WellSeparatedPairDecomposition}s are built on demand, see {@link FRWSPD#getSplitTree()}.
+	 */
 	@Override
 	public WellSeparatedPairDecomposition<V>[] getWSPD(){
+		buildSplitTreeAndWSPDObjectsOnDemand();
 		return wspd;
 	}
 	
+	/**
+	 * If {@link ArraySplitTree}s are used (see {@link FRWSPD#setUseArraySplitTree(boolean)}),
+	 * {@link SplitTree}s and {@link WellSeparatedPairDecomposition}s are built on demand from the current locations
+	 * (at most once per iteration). Then they are copies: changing them does not change the layout.
+	 */
 	@Override
 	public SplitTree<V>[] getSplitTree(){
+		buildSplitTreeAndWSPDObjectsOnDemand();
 		return splitTree;
 	}
 	
+	private void buildSplitTreeAndWSPDObjectsOnDemand(){
+		if(!arraySplitTreeBuilt
+				|| (splitTree != null && iterationInWhichTheObjectsWereBuiltOnDemand == currentIteration)){
+			return;
+		}
+		if(isArrayEngineActive()){
+			arrayEngine.writeLocationsToTriples();
+		}
+		buildSplitTreeAndWSPDObjects();
+		iterationInWhichTheObjectsWereBuiltOnDemand = currentIteration;
+	}
+	
+	/**
+	 * null if {@link SplitTree}s are used, see {@link FRWSPD#setUseArraySplitTree(boolean)}
+	 */
+	public ArraySplitTree[] getArraySplitTree(){
+		return arraySplitTreeBuilt ? arraySplitTree : null;
+	}
+	
+	/**
+	 * null if {@link WellSeparatedPairDecomposition}s are used, see {@link FRWSPD#setUseArraySplitTree(boolean)}
+	 */
+	public ArrayWellSeparatedPairDecomposition[] getArrayWSPD(){
+		return arraySplitTreeBuilt ? arrayWSPD : null;
+	}
+	
+	public boolean isUseArraySplitTree() {
+		return useArraySplitTree;
+	}
+	
+	/**
+	 * If true (default), {@link ArraySplitTree}s and {@link ArrayWellSeparatedPairDecomposition}s are used
+	 * while the {@link FRArrayEngine} is used (see {@link FRWSPD#setUseArrayEngine(boolean)}).
+	 * Then {@link FRWSPD#getSplitTree()} and {@link FRWSPD#getWSPD()} build the objects on demand.
+	 * If false, {@link SplitTree}s and {@link WellSeparatedPairDecomposition}s are used in any case.
+	 * 
+	 * @param useArraySplitTree
+	 */
+	public void setUseArraySplitTree(boolean useArraySplitTree) {
+		this.useArraySplitTree = useArraySplitTree;
+	}
+	
+	protected boolean isArraySplitTreeActive(){
+		return useArraySplitTree && isArrayEngineActive();
+	}
+	
 	@Override
 	public int getIterationInWhichTheSplitTreeWasBuildNewLastTime(){
 		return iterationInWhichTheSplitTreeWasBuildNewLastTime;
 	}
+	
+	@Override
+	public double getMovementBoundSinceTheBoundingRectanglesWereComputed(){
+		return movementBoundSinceTheBoundingRectanglesWereComputed;
+	}
     
 	@Override
 	public void setRecomputationOfSplitTreeAndWSPDFunction(RecomputationOfSplitTreeAndWSPDFunction function) {
@@ -114,19 +219,56 @@ public abstract class FRWSPD<V, E> extends FRLayoutNoMapsNoFrame<V, E> implement
 	
 
 	protected void recomputeSplitTreeAndWSPD(){
+		if(isArraySplitTreeActive()){
+			recomputeArraySplitTreeAndWSPD();
+			return;
+		}
+		buildSplitTreeAndWSPDObjects();
+        iterationInWhichTheSplitTreeWasBuildNewLastTime = currentIteration;
+        movementBoundSinceTheBoundingRectanglesWereComputed = 0;
+		arraySplitTreeBuilt = false;
+	}
+	
+	private void buildSplitTreeAndWSPDObjects(){
 		splitTree = new SplitTree[vertices.length];
 		for(int i=0; i<vertices.length; i++){
 			splitTree[i] = new SplitTree<V>(vertices[i]);
 		}
-        iterationInWhichTheSplitTreeWasBuildNewLastTime = currentIteration;
         wspd = new WellSeparatedPairDecomposition[vertices.length];
 		for(int i=0; i<vertices.length; i++){
 			wspd[i] = new WellSeparatedPairDecomposition<V>(splitTree[i], sForTheWSPD);
 		}
 	}
 	
+	private void recomputeArraySplitTreeAndWSPD(){
+		if(arraySplitTree == null || arraySplitTree.length != vertices.length){
+			arraySplitTree = new ArraySplitTree[vertices.length];
+			arrayWSPD = new ArrayWellSeparatedPairDecomposition[vertices.length];
+			for(int i=0; i<vertices.length; i++){
+				arraySplitTree[i] = new ArraySplitTree();
+				arrayWSPD[i] = new ArrayWellSeparatedPairDecomposition();
+			}
+		}
+		for(int i=0; i<vertices.length; i++){
+			arraySplitTree[i].build(arrayEngine.getX(), arrayEngine.getY(),
+					arrayEngine.getComponentStart(i), arrayEngine.getComponentEnd(i));
+			arrayWSPD[i].compute(arraySplitTree[i], sForTheWSPD);
+		}
+        iterationInWhichTheSplitTreeWasBuildNewLastTime = currentIteration;
+        movementBoundSinceTheBoundingRectanglesWereComputed = 0;
+		splitTree = null;
+		wspd = null;
+		arraySplitTreeBuilt = true;
+	}
+	
 	@Override
 	public void updateBarycenters() {
+		if(arraySplitTreeBuilt){
+			for(ArraySplitTree st: arraySplitTree){
+				st.recalculateAllBarycenters();
+			}
+			return;
+		}
 		for(SplitTree<V> st: splitTree){
 			st.recalculateAllBarycenters();
 		}
@@ -134,23 +276,115 @@ public abstract class FRWSPD<V, E> extends FRLayoutNoMapsNoFrame<V, E> implement
 	
 	@Override
 	public void updateBoundingRectangles() {
-		for(SplitTree<V> st: splitTree){
-			st.recalculateAllBoundingRectangles();
+		if(arraySplitTreeBuilt){
+			for(ArraySplitTree st: arraySplitTree){
+				st.recalculateAllBoundingRectangles();
+			}
+		}
+		else{
+			for(SplitTree<V> st: splitTree){
+				st.recalculateAllBoundingRectangles();
+			}
 		}
+		movementBoundSinceTheBoundingRectanglesWereComputed = 0;
 	};
 	
 	@Override
 	public void recomputeWSPD(){
 		//frist update bounding rectangles
-		for(SplitTree<V> st: splitTree){
-			st.recalculateAllBoundingRectangles();
-		}
+		updateBoundingRectangles();
 		//then new wspd
+		if(arraySplitTreeBuilt){
+			for(int i=0; i<arrayWSPD.length; i++){
+				arrayWSPD[i].compute(arraySplitTree[i], sForTheWSPD);
+			}
+			return;
+		}
 		for(int i=0; i<wspd.length; i++){
 			wspd[i] = new WellSeparatedPairDecomposition<V>(splitTree[i], sForTheWSPD);
 		}
 	}
 	
+	@Override
+	public int repairWSPD(int maximalNumberOfNewPairs){
+		int numberOfRepairedPairs = 0;
+		if(arraySplitTreeBuilt){
+			for(ArrayWellSeparatedPairDecomposition wspdOfComponent: arrayWSPD){
+				int numberOfPairsBefore = wspdOfComponent.getNumberOfPairs();
+				int numberOfRepairedPairsInComponent =
+						wspdOfComponent.repairPairsThatAreNotWellSeparated(maximalNumberOfNewPairs);
+				if(numberOfRepairedPairsInComponent < 0){
+					return -1;
+				}
+				numberOfRepairedPairs += numberOfRepairedPairsInComponent;
+				maximalNumberOfNewPairs -= wspdOfComponent.getNumberOfPairs() - numberOfPairsBefore;
+			}
+			return numberOfRepairedPairs;
+		}
+		for(WellSeparatedPairDecomposition<V> wspdOfComponent: wspd){
+			int numberOfPairsBefore = wspdOfComponent.getWellSeparatedPairs().size();
+			int numberOfRepairedPairsInComponent =
+					wspdOfComponent.repairPairsThatAreNotWellSeparated(maximalNumberOfNewPairs);
+			if(numberOfRepairedPairsInComponent < 0){
+				return -1;
+			}
+			numberOfRepairedPairs += numberOfRepairedPairsInComponent;
+			maximalNumberOfNewPairs -= wspdOfComponent.getWellSeparatedPairs().size() - numberOfPairsBefore;
+		}
+		return numberOfRepairedPairs;
+	}
+	
+	@Override
+	public int getNumberOfWellSeparatedPairs(){
+		int numberOfPairs = 0;
+		if(arraySplitTreeBuilt){
+			for(ArrayWellSeparatedPairDecomposition wspdOfComponent: arrayWSPD){
+				numberOfPairs += wspdOfComponent.getNumberOfPairs();
+			}
+			return numberOfPairs;
+		}
+		for(WellSeparatedPairDecomposition<V> wspdOfComponent: wspd){
+			numberOfPairs += wspdOfComponent.getWellSeparatedPairs().size();
+		}
+		return numberOfPairs;
+	}
+	
+	@Override
+	public boolean areAllPairsWellSeparated(double s){
+		if(arraySplitTreeBuilt){
+			for(ArrayWellSeparatedPairDecomposition wspdOfComponent: arrayWSPD){
+				if(!wspdOfComponent.areAllPairsWellSeparated(s)){
+					return false;
+				}
+			}
+			return true;
+		}
+		for(WellSeparatedPairDecomposition<V> wspdOfComponent: wspd){
+			for(SplitTreeNode<V>[] pair: wspdOfComponent.getWellSeparatedPairs()){
+				if(!WellSeparatedPairDecomposition.isWellSeparated(pair[0], pair[1], s)){
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+	
+	@Override
+	public double getMaximalMovementKeepingAllPairsWellSeparated(){
+		double maximalMovement = Double.POSITIVE_INFINITY;
+		if(arraySplitTreeBuilt){
+			for(ArrayWellSeparatedPairDecomposition wspdOfComponent: arrayWSPD){
+				maximalMovement = Math.min(maximalMovement,
+						wspdOfComponent.getMaximalMovementKeepingAllPairsWellSeparated());
+			}
+			return maximalMovement;
+		}
+		for(WellSeparatedPairDecomposition<V> wspdOfComponent: wspd){
+			maximalMovement = Math.min(maximalMovement, wspdOfComponent.getMaximalMovementKeepingAllPairsWellSeparated());
+		}
+		return maximalMovement;
+	}
+	
 	
 	
 	
@@ -169,6 +403,25 @@ public abstract class FRWSPD<V, E> extends FRLayoutNoMapsNoFrame<V, E> implement
      */
 	@Override
 	protected void calcRepulsion() {
+		/*
+		 * SplitTree and WSPD are built on VertexTriples.
+		 * So when working on the FRArrayEngine without ArraySplitTree the current locations are written to the
+		 * VertexTriples before and the computed repulsive forces are read from them afterwards.
+		 */
+		if(isArraySplitTreeActive()){
+			calcRepulsionOnArrays();
+			return;
+		}
+		if(isArrayEngineActive()){
+			arrayEngine.writeLocationsToTriples();
+			calcRepulsionOnTriples();
+			arrayEngine.readDisplacementsFromTriples();
+			return;
+		}
+		calcRepulsionOnTriples();
+	}
+	
+	private void calcRepulsionOnTriples() {
         /*
          * At first all fvd-values must be reset.
          * In the original alg. this is done in "step()" and there in "Calculate repulsion".
@@ -189,7 +442,7 @@ public abstract class FRWSPD<V, E> extends FRLayoutNoMapsNoFrame<V, E> implement
          * Calculate repulsion via WSPD
          */
         //1. calculate splitTree and WSPD if this is the 1st iteration or the function returns true
-    	if(currentIteration==1 || recomputationOfSplitTreeAndWSPDFunction.apply(this)){
+    	if(currentIteration==1 || arraySplitTreeBuilt || recomputationOfSplitTreeAndWSPDFunction.apply(this)){
     		recomputeSplitTreeAndWSPD();
     	}
     	else{
@@ -199,7 +452,10 @@ public abstract class FRWSPD<V, E> extends FRLayoutNoMapsNoFrame<V, E> implement
     	}
 		if(currentIteration%intervalForLeavingOutCalculationOfRepulsiveForces!=0){ //In some iteartions no repulsive forces are computed
 			//2. Calc repulsive forces by going throug all WSPD-pairs
-	        while(true) {
+			if(forcePool != null && isArrayEngineActive() && this instanceof SeparablePairForce){
+				calcAndRecordRepulsiveForcesConcurrently();
+			}
+			else while(true) {
 	            try {
 	            	for(int i=0; i<wspd.length; i++){
 		                for(SplitTreeNode<V>[] paar: wspd[i].getWellSeparatedPairs()) {
@@ -219,6 +475,66 @@ public abstract class FRWSPD<V, E> extends FRLayoutNoMapsNoFrame<V, E> implement
 		}
 	}
 	
+	/**
+	 * Same as {@link FRWSPD#calcRepulsionOnTriples()} but with {@link ArraySplitTree}s and
+	 * {@link ArrayWellSeparatedPairDecomposition}s on the coordinates of the {@link FRArrayEngine}.
+	 */
+	private void calcRepulsionOnArrays() {
+		double[] dx = arrayEngine.getDx();
+		double[] dy = arrayEngine.getDy();
+		Arrays.fill(dx, 0, arrayEngine.getVertexCount(), 0);
+		Arrays.fill(dy, 0, arrayEngine.getVertexCount(), 0);
+        //1. calculate splitTree and WSPD if this is the 1st iteration or the function returns true
+		if(currentIteration==1 || !arraySplitTreeBuilt || recomputationOfSplitTreeAndWSPDFunction.apply(this)){
+			recomputeArraySplitTreeAndWSPD();
+		}
+		if(currentIteration%intervalForLeavingOutCalculationOfRepulsiveForces==0){ //In some iteartions no repulsive forces are computed
+			return;
+		}
+		for(int i=0; i<arraySplitTree.length; i++){
+			ArraySplitTree tree = arraySplitTree[i];
+			ArrayWellSeparatedPairDecomposition wspdOfComponent = arrayWSPD[i];
+			int numberOfPairs = wspdOfComponent.getNumberOfPairs();
+			//2. Calc repulsive forces by going throug all WSPD-pairs
+			if(forcePool != null && this instanceof SeparablePairForce){
+				SeparablePairForce<?> pairForce = (SeparablePairForce<?>) this;
+				if(pairForces == null || pairForces.length < 2*numberOfPairs){
+					pairForces = new double[2*numberOfPairs];
+				}
+				double[] forces = pairForces;
+				FRArrayEngine.runInChunks(forcePool, numberOfPairs, (from, to) -> {
+					for(int p=from; p<to; p++){
+						pairForce.calcRepulsiveForceOfPairOnArrays(tree, wspdOfComponent.getFirstNodeOfPair(p),
+								wspdOfComponent.getSecondNodeOfPair(p), forces, 2*p);
+					}
+				});
+				for(int p=0; p<numberOfPairs; p++){
+					pairForce.recordRepulsiveForceOfPairOnArrays(tree, wspdOfComponent.getFirstNodeOfPair(p),
+							wspdOfComponent.getSecondNodeOfPair(p), forces[2*p], forces[2*p+1]);
+				}
+			}
+			else{
+				for(int p=0; p<numberOfPairs; p++){
+					calcAndRecordRepulsiveForcesOnArrays(tree, wspdOfComponent.getFirstNodeOfPair(p),
+							wspdOfComponent.getSecondNodeOfPair(p));
+				}
+			}
+			//3. recored the calculated forces
+			tree.addRepulsiveForcesToPoints(dx, dy);
+		}
+	}
+	
+	/*
+	 * Change:
+	 * Track how far the vertices may have moved, see getMovementBoundSinceTheBoundingRectanglesWereComputed().
+	 * The displacement of every vertex is limited by the temperature.
+	 */
+	@Override
+	protected void calcPositions() {
+		movementBoundSinceTheBoundingRectanglesWereComputed += temperature;
+		super.calcPositions();
+	}
+	
 	/**
 	 * This method has to be implemented by every non-abstract class inheriting from this class.
 	 * For all points of the two pair-parts (a pair is passed via SpliTreeNode[] wsPair) the repulsive force
@@ -233,6 +549,57 @@ public abstract class FRWSPD<V, E> extends FRLayoutNoMapsNoFrame<V, E> implement
 	 */
 	protected abstract void calcAndRecordRepulsiveForces(SplitTreeNode<V>[] wsPair, int indexConnectedComponent);
 	
+	/**
+	 * Same as {@link FRWSPD#calcAndRecordRepulsiveForces(SplitTreeNode[], int)} for the pair (node0, node1) of an
+	 * {@link ArrayWellSeparatedPairDecomposition}.
+	 * The result has either to be recorded via {@link ArraySplitTree#addRepulsiveForce(int, double, double)}
+	 * (it is propagated to the points afterwards) or to be added directly to {@link FRArrayEngine#getDx()} and
+	 * {@link FRArrayEngine#getDy()} of the points.
+	 * 
+	 * @param tree
+	 * @param node0
+	 * @param node1
+	 */
+	protected abstract void calcAndRecordRepulsiveForcesOnArrays(ArraySplitTree tree, int node0, int node1);
+	
+	/**
+	 * Same as calling {@link FRWSPD#calcAndRecordRepulsiveForces(SplitTreeNode[], int)} for all well-separated pairs,
+	 * but the forces of the pairs are computed concurrently in {@link FRWSPD#forcePool} via
+	 * {@link SeparablePairForce#calcRepulsiveForceOfPair(SplitTreeNode[], int, double[], int)}.
+	 * They are recorded afterwards in the order of the pairs, so the result is exactly the same.
+	 * Only called if this is a {@link SeparablePairForce}.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private void calcAndRecordRepulsiveForcesConcurrently(){
+		SeparablePairForce<V> pairForce = (SeparablePairForce<V>) this;
+		if(wellSeparatedPairs == null){
+			wellSeparatedPairs = new SplitTreeNode[wspd.length][][];
+		}
+		for(int i=0; i<wspd.length; i++){
+			wellSeparatedPairs[i] = wspd[i].getWellSeparatedPairs().toArray(
+					wellSeparatedPairs[i] == null ? new SplitTreeNode[0][] : wellSeparatedPairs[i]);
+			SplitTreeNode<V>[][] pairs = wellSeparatedPairs[i];
+			int numberOfPairs = wspd[i].getWellSeparatedPairs().size();
+			if(pairForces == null || pairForces.length < 2*numberOfPairs){
+				pairForces = new double[2*numberOfPairs];
+			}
+			double[] forces = pairForces;
+			int indexConnectedComponent = i;
+			
+			//barycenters and sizes are computed lazily -> compute all of them before reading them concurrently
+			splitTree[i].getBarycenter(splitTree[i].getRoot());
+			
+			FRArrayEngine.runInChunks(forcePool, numberOfPairs, (from, to) -> {
+				for(int p=from; p<to; p++){
+					pairForce.calcRepulsiveForceOfPair(pairs[p], indexConnectedComponent, forces, 2*p);
+				}
+			});
+			for(int p=0; p<numberOfPairs; p++){
+				pairForce.recordRepulsiveForceOfPair(pairs[p], i, forces[2*p], forces[2*p+1]);
+			}
+		}
+	}
+	
 	/**
 	 * This method has to be implemented by every non-abstract class inheriting from this class.
 	 * It can be left empty there.
@@ -1,6 +1,7 @@
 package de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms.wspd;
 
 import edu.uci.ics.jung.graph.Graph;
+import de.uniwue.informatik.jung.layouting.forcedirectedwspd.wspd.ArraySplitTree;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.wspd.SplitTreeNode;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.wspd.WellSeparatedPairDecomposition;
 
@@ -25,7 +26,7 @@ import java.awt.geom.Point2D;
  * The time needed in {@link FRWSPDp_b} is in Theta(n^2) like in the original FR-algorithm (but it is still faster in practice).
  * The published FR+WSPD version is based on {@link FRWSPDb_b}.
  */
-public class FRWSPDb_b<V, E> extends FRWSPD<V, E> {
+public class FRWSPDb_b<V, E> extends FRWSPD<V, E> implements SeparablePairForce<V> {
 	
 	public FRWSPDb_b(Graph<V, E> g, double sFuerDieWSPD, Dimension d) {
 		super(g, sFuerDieWSPD, d);
@@ -36,34 +37,78 @@ public class FRWSPDb_b<V, E> extends FRWSPD<V, E> {
 	}
 	
 	
+	/**
+	 * Buffer for the sequential case
+	 */
+	private final double[] pairForce = new double[2];
+	
+	
 	@Override
 	protected void calcAndRecordRepulsiveForces(SplitTreeNode<V>[] wsPair, int indexConnectedComponent){
-		Point2D[] barycenter = new Point2D[2];
-    	int[] sizeOfThePointSet = new int[2];
-    	for(int i=0; i<wsPair.length; i++){
-        	barycenter[i] = splitTree[indexConnectedComponent].getBarycenter(wsPair[i]);
-        	sizeOfThePointSet[i] = splitTree[indexConnectedComponent].getSizeOfTheTripleSetInTheSubtreeBelow(wsPair[i]);
-    	}
+		calcRepulsiveForceOfPair(wsPair, indexConnectedComponent, pairForce, 0);
+		recordRepulsiveForceOfPair(wsPair, indexConnectedComponent, pairForce[0], pairForce[1]);
+	}
+	
+	@Override
+	public void calcRepulsiveForceOfPair(SplitTreeNode<V>[] wsPair, int indexConnectedComponent,
+			double[] force, int offset) {
+		Point2D barycenter0 = splitTree[indexConnectedComponent].getBarycenter(wsPair[0]);
+		Point2D barycenter1 = splitTree[indexConnectedComponent].getBarycenter(wsPair[1]);
+		calcRepulsiveForceBetweenBarycenters(barycenter0.getX(), barycenter0.getY(), barycenter1.getX(), barycenter1.getY(),
+				force, offset);
+	}
+	
+	private void calcRepulsiveForceBetweenBarycenters(double barycenter0X, double barycenter0Y,
+			double barycenter1X, double barycenter1Y, double[] force, int offset) {
 		//deltaX and deltaY as distance between the 2 barycenters in x- and y-dimension
-    	double xDelta = barycenter[0].getX() - barycenter[1].getX();
-    	double yDelta = barycenter[0].getY() - barycenter[1].getY();
+    	double xDelta = barycenter0X - barycenter1X;
+    	double yDelta = barycenter0Y - barycenter1Y;
 
-    	double distance = Point2D.distance(barycenter[0].getX(), barycenter[0].getY(), barycenter[1].getX(), barycenter[1].getY());
+    	double distance = Point2D.distance(barycenter0X, barycenter0Y, barycenter1X, barycenter1Y);
         double deltaLength = Math.max(EPSILON, distance);
         
-        double force = (repulsion_constant * repulsion_constant) / deltaLength;                	
+        double repulsiveForce = (repulsion_constant * repulsion_constant) / deltaLength;
     	
-        if (Double.isNaN(force)) { throw new RuntimeException(
+        if (Double.isNaN(repulsiveForce)) { throw new RuntimeException(
                 "Unexpected mathematical result in FRLayout:calcPositions [repulsion]"); }
         
-    	for(int i=0; i<wsPair.length; i++){
-    		double xOffset = (xDelta / deltaLength) * force * sizeOfThePointSet[1-i];
-    		double yOffset = (yDelta / deltaLength) * force * sizeOfThePointSet[1-i];
-    		splitTree[indexConnectedComponent].addRepulsiveForce(wsPair[i], xOffset, yOffset);
-    		
-        	xDelta = -xDelta; //xDelta and yDelta must be multiplied by -1 when i=1 (2nd pair-part)
-        	yDelta = -yDelta; //in order to switch signs (both forces acting away from the other, thus opposite direction)
-        }
+        force[offset] = (xDelta / deltaLength) * repulsiveForce;
+        force[offset+1] = (yDelta / deltaLength) * repulsiveForce;
+	}
+	
+	@Override
+	public void recordRepulsiveForceOfPair(SplitTreeNode<V>[] wsPair, int indexConnectedComponent,
+			double xForce, double yForce) {
+		int sizeOfThePointSet0 = splitTree[indexConnectedComponent].getSizeOfTheTripleSetInTheSubtreeBelow(wsPair[0]);
+		int sizeOfThePointSet1 = splitTree[indexConnectedComponent].getSizeOfTheTripleSetInTheSubtreeBelow(wsPair[1]);
+		//both forces act away from the other pair-part, thus in opposite directions
+		splitTree[indexConnectedComponent].addRepulsiveForce(wsPair[0],
+				xForce * sizeOfThePointSet1, yForce * sizeOfThePointSet1);
+		splitTree[indexConnectedComponent].addRepulsiveForce(wsPair[1],
+				-xForce * sizeOfThePointSet0, -yForce * sizeOfThePointSet0);
+	}
+
+	@Override
+	protected void calcAndRecordRepulsiveForcesOnArrays(ArraySplitTree tree, int node0, int node1) {
+		calcRepulsiveForceOfPairOnArrays(tree, node0, node1, pairForce, 0);
+		recordRepulsiveForceOfPairOnArrays(tree, node0, node1, pairForce[0], pairForce[1]);
+	}
+	
+	@Override
+	public void calcRepulsiveForceOfPairOnArrays(ArraySplitTree tree, int node0, int node1,
+			double[] force, int offset) {
+		calcRepulsiveForceBetweenBarycenters(tree.getBarycenterX(node0), tree.getBarycenterY(node0),
+				tree.getBarycenterX(node1), tree.getBarycenterY(node1), force, offset);
+	}
+	
+	@Override
+	public void recordRepulsiveForceOfPairOnArrays(ArraySplitTree tree, int node0, int node1,
+			double xForce, double yForce) {
+		int sizeOfThePointSet0 = tree.getSize(node0);
+		int sizeOfThePointSet1 = tree.getSize(node1);
+		//both forces act away from the other pair-part, thus in opposite directions
+		tree.addRepulsiveForce(node0, xForce * sizeOfThePointSet1, yForce * sizeOfThePointSet1);
+		tree.addRepulsiveForce(node1, -xForce * sizeOfThePointSet0, -yForce * sizeOfThePointSet0);
 	}
 
 	@Override
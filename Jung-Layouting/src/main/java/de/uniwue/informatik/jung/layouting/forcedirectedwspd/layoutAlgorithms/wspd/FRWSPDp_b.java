@@ -2,6 +2,7 @@ package de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms.w
 
 import edu.uci.ics.jung.graph.Graph;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.util.VertexTriple;
+import de.uniwue.informatik.jung.layouting.forcedirectedwspd.wspd.ArraySplitTree;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.wspd.SplitTreeNode;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.wspd.WellSeparatedPairDecomposition;
 
@@ -71,6 +72,38 @@ public class FRWSPDp_b<V, E> extends FRWSPD<V, E> {
         }
 	}
 
+	@Override
+	protected void calcAndRecordRepulsiveForcesOnArrays(ArraySplitTree tree, int node0, int node1){
+		double[] x = arrayEngine.getX();
+		double[] y = arrayEngine.getY();
+		double[] dx = arrayEngine.getDx();
+		double[] dy = arrayEngine.getDy();
+		for(int i=0; i<2; i++){
+			int node = i==0 ? node0 : node1;
+			int otherNode = i==0 ? node1 : node0;
+			double barycenterX = tree.getBarycenterX(otherNode);
+			double barycenterY = tree.getBarycenterY(otherNode);
+			int sizeOfThePointSet = tree.getSize(otherNode);
+			for(int j=tree.getStart(node); j<tree.getEnd(node); j++){
+				int point = tree.getPoint(j);
+				//deltaX and deltaY as distance between point and barycenter of the other pair-part in x- and y-dimension
+				double xDelta = x[point] - barycenterX;
+				double yDelta = y[point] - barycenterY;
+
+				double distance = Point2D.distance(x[point], y[point], barycenterX, barycenterY);
+				double deltaLength = Math.max(EPSILON, distance);
+
+				double force = (repulsion_constant * repulsion_constant) / deltaLength;
+
+				if (Double.isNaN(force)) { throw new RuntimeException(
+						"Unexpected mathematical result in FRLayout:calcPositions [repulsion]"); }
+
+				dx[point] += (xDelta / deltaLength) * force * sizeOfThePointSet;
+				dy[point] += (yDelta / deltaLength) * force * sizeOfThePointSet;
+			}
+		}
+	}
+
 	@Override
 	protected void propagateRepulsiveForcesToLeaves() {
 		//do nothing; forces to every point were already recorded/stored after their computation
@@ -30,9 +30,48 @@ public interface LayoutWithWSPD<V> {
 	 */
 	public RecomputationOfSplitTreeAndWSPDFunction getRecomputationOfSplitTreeAndWSPDFunction();
 	
+	/**
+	 * If the {@link SplitTree}s are not stored as objects (see {@link FRWSPD#setUseArraySplitTree(boolean)}),
+	 * they are built on demand and are only copies.
+	 * Prefer the other methods of this interface to work with them.
+	 * 
+	 * @return
+	 */
 	public SplitTree<V>[] getSplitTree();
 	
+	/**
+	 * If the {@link WellSeparatedPairDecomposition}s are not stored as objects (see {@link FRWSPD#setUseArraySplitTree(boolean)}),
+	 * they are built on demand and are only copies.
+	 * Prefer the other methods of this interface to work with them.
+	 * 
+	 * @return
+	 */
 	public WellSeparatedPairDecomposition<V>[] getWSPD();
+	
+	/**
+	 * Number of well-separated pairs of all {@link WellSeparatedPairDecomposition}s currently in use
+	 * 
+	 * @return
+	 */
+	public int getNumberOfWellSeparatedPairs();
+	
+	/**
+	 * Checks with the bounding rectangles currently saved in the {@link SplitTree}s
+	 * (see {@link LayoutWithWSPD#updateBoundingRectangles()})
+	 * if every pair is well-separated with respect to the passed s.
+	 * 
+	 * @param s
+	 * @return
+	 */
+	public boolean areAllPairsWellSeparated(double s);
+	
+	/**
+	 * See {@link WellSeparatedPairDecomposition#getMaximalMovementKeepingAllPairsWellSeparated()}.
+	 * Minimum over all {@link WellSeparatedPairDecomposition}s currently in use.
+	 * 
+	 * @return
+	 */
+	public double getMaximalMovementKeepingAllPairsWellSeparated();
 		
 	/**
 	 * Updates all barycenters in every {@link SplitTreeNode} in the {@link SplitTree}
@@ -66,7 +105,37 @@ public interface LayoutWithWSPD<V> {
 	 */
 	public void recomputeWSPD();
 	
+	/**
+	 * Replaces every well-separated pair of the {@link WellSeparatedPairDecomposition}s currently in use
+	 * that is not well-separated any more by well-separated pairs of its subtrees,
+	 * see {@link WellSeparatedPairDecomposition#repairPairsThatAreNotWellSeparated()}.
+	 * The {@link SplitTree}s are kept.
+	 * <p>
+	 * The bounding rectangles must have been updated before,
+	 * see {@link LayoutWithWSPD#updateBoundingRectangles()}.
+	 * 
+	 * @param maximalNumberOfNewPairs
+	 * 		maximal number of pairs that may be added (additionally to the number of removed pairs)
+	 * @return
+	 * 		the number of pairs that were not well-separated any more
+	 * 		or -1 if more new pairs would have been needed.
+	 * 		In the latter case the {@link WellSeparatedPairDecomposition}s are incomplete and must be computed new
+	 * 		(e.g. by returning true in the {@link RecomputationOfSplitTreeAndWSPDFunction}).
+	 */
+	public int repairWSPD(int maximalNumberOfNewPairs);
+	
 	public double getSForTheWSPD();
 	
 	public int getIterationInWhichTheSplitTreeWasBuildNewLastTime();
+	
+	/**
+	 * Upper bound for the distance every vertex may have moved since the bounding rectangles
+	 * in the {@link SplitTree}s were computed last time (when building the {@link SplitTree}s or by
+	 * {@link LayoutWithWSPD#updateBoundingRectangles()}).
+	 * It is the sum of the temperatures of the iterations since then.
+	 * Locations set from outside the layout (e.g. via setLocation()) are not taken into account.
+	 * 
+	 * @return
+	 */
+	public double getMovementBoundSinceTheBoundingRectanglesWereComputed();
 }
@@ -0,0 +1,72 @@
+package de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms.wspd;
+
+import de.uniwue.informatik.jung.layouting.forcedirectedwspd.wspd.ArraySplitTree;
+import de.uniwue.informatik.jung.layouting.forcedirectedwspd.wspd.ArrayWellSeparatedPairDecomposition;
+import de.uniwue.informatik.jung.layouting.forcedirectedwspd.wspd.SplitTreeNode;
+
+/**
+ * Implemented by an {@link FRWSPD} whose repulsive force of a well-separated pair can be computed independently of
+ * all other pairs and recorded afterwards.
+ * {@link FRWSPD#calcAndRecordRepulsiveForces(SplitTreeNode[], int)} is then split into
+ * {@link SeparablePairForce#calcRepulsiveForceOfPair(SplitTreeNode[], int, double[], int)} and
+ * {@link SeparablePairForce#recordRepulsiveForceOfPair(SplitTreeNode[], int, double, double)}
+ * and the well-separated pairs are processed concurrently if a force pool is set
+ * (see {@link FRWSPD#setForcePool(java.util.concurrent.ForkJoinPool)}).
+ * The same holds for {@link FRWSPD#calcAndRecordRepulsiveForcesOnArrays(ArraySplitTree, int, int)} and the
+ * methods ending with "OnArrays".
+ */
+public interface SeparablePairForce<V> {
+
+	/**
+	 * First half of {@link FRWSPD#calcAndRecordRepulsiveForces(SplitTreeNode[], int)}:
+	 * Computes the repulsive force acting on the first part of wsPair (per point of the second part)
+	 * and stores it in force[offset] (x) and force[offset+1] (y).
+	 * Must not change anything else as it may be called concurrently for different pairs.
+	 *
+	 * @param wsPair
+	 * @param indexConnectedComponent
+	 * @param force
+	 * @param offset
+	 */
+	public void calcRepulsiveForceOfPair(SplitTreeNode<V>[] wsPair, int indexConnectedComponent,
+			double[] force, int offset);
+
+	/**
+	 * Second half of {@link FRWSPD#calcAndRecordRepulsiveForces(SplitTreeNode[], int)}:
+	 * Records the force computed by
+	 * {@link SeparablePairForce#calcRepulsiveForceOfPair(SplitTreeNode[], int, double[], int)}.
+	 *
+	 * @param wsPair
+	 * @param indexConnectedComponent
+	 * @param xForce
+	 * @param yForce
+	 */
+	public void recordRepulsiveForceOfPair(SplitTreeNode<V>[] wsPair, int indexConnectedComponent,
+			double xForce, double yForce);
+
+	/**
+	 * Same as {@link SeparablePairForce#calcRepulsiveForceOfPair(SplitTreeNode[], int, double[], int)} for the pair
+	 * (node0, node1) of an {@link ArrayWellSeparatedPairDecomposition}.
+	 *
+	 * @param tree
+	 * @param node0
+	 * @param node1
+	 * @param force
+	 * @param offset
+	 */
+	public void calcRepulsiveForceOfPairOnArrays(ArraySplitTree tree, int node0, int node1,
+			double[] force, int offset);
+
+	/**
+	 * Same as {@link SeparablePairForce#recordRepulsiveForceOfPair(SplitTreeNode[], int, double, double)} for the
+	 * pair (node0, node1) of an {@link ArrayWellSeparatedPairDecomposition}.
+	 *
+	 * @param tree
+	 * @param node0
+	 * @param node1
+	 * @param xForce
+	 * @param yForce
+	 */
+	public void recordRepulsiveForceOfPairOnArrays(ArraySplitTree tree, int node0, int node1,
+			double xForce, double yForce);
+}
@@ -54,6 +54,8 @@ public class DemonstrationLayout<V,E> implements Layout<V,E>, IterativeContext,
 	public DemonstrationLayout(FRLayoutNoMapsNoFrame<V, E> referencedLayout, Graph<V,E> graphToReferencedLayout,
 			int indexOfTheAlgorithmInDemonstrationOfGraphDrawing) {
 		this.referencedLayout = referencedLayout;
+		//the locations of every iteration are read from the VertexTriples
+		this.referencedLayout.setWriteBackEveryIteration(true);
 		this.graphToReferencedLayout = graphToReferencedLayout;
 		this.indexOfTheAlgorithmInDemonstrationOfGraphDrawing = indexOfTheAlgorithmInDemonstrationOfGraphDrawing;
 	}
@@ -1,10 +1,10 @@
 package de.uniwue.informatik.jung.layouting.forcedirectedwspd.main.objectManager;
 
+import de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms.wspd.AdaptiveRecomputationOfSplitTreeAndWSPDFunction;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms.wspd.LayoutWithWSPD;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms.wspd.RecomputationOfSplitTreeAndWSPDFunction;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.util.Tuple;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.wspd.SplitTree;
-import de.uniwue.informatik.jung.layouting.forcedirectedwspd.wspd.SplitTreeNode;
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.wspd.WellSeparatedPairDecomposition;
 
 /**
@@ -98,12 +98,8 @@ public class RecomputationOfSplitTreeAndWSPDFunctionManager extends Manager<Reco
 							double sMin = layout.getSForTheWSPD()*cFinal;
 							layout.updateBoundingRectangles();
 							//check all distances
-							for(WellSeparatedPairDecomposition<?> wspd: layout.getWSPD()){
-								for(SplitTreeNode<?>[] pair: wspd.getWellSeparatedPairs()){
-									if(!WellSeparatedPairDecomposition.isWellSeparated(pair[0], pair[1], sMin)){
-										return true;
-									}
-								}
+							if(!layout.areAllPairsWellSeparated(sMin)){
+								return true;
 							}
 							return false;
 						}
@@ -118,12 +114,8 @@ public class RecomputationOfSplitTreeAndWSPDFunctionManager extends Manager<Reco
 							double sMin = layout.getSForTheWSPD()*cFinal;
 							layout.updateBoundingRectangles();
 							//check all distances
-							for(WellSeparatedPairDecomposition<?> wspd: layout.getWSPD()){
-								for(SplitTreeNode<?>[] pair: wspd.getWellSeparatedPairs()){
-									if(!WellSeparatedPairDecomposition.isWellSeparated(pair[0], pair[1], sMin)){
-										return true;
-									}
-								}
+							if(!layout.areAllPairsWellSeparated(sMin)){
+								return true;
 							}
 							layout.updateBarycenters();
 							return false;
@@ -131,6 +123,16 @@ public class RecomputationOfSplitTreeAndWSPDFunctionManager extends Manager<Reco
 					}, "When 1 ws-pair not well-sparated w.r. to s*"+c+" new, else update barycenters");
 		}
 		
+		/*
+		 * Adaptive: Keep as long as the pairs can still be well-separated according to the temperatures,
+		 * else update bounding rectangles and repair the pairs that are not well-separated any more.
+		 * New when more than the portion p of all pairs had to be repaired.
+		 */
+		for(double p=0.05; p<=0.2; p=p*2){
+			super.addToObjectList(new AdaptiveRecomputationOfSplitTreeAndWSPDFunction(null, p),
+					"Adaptive: When more than "+p+" of the ws-pairs must be repaired new");
+		}
+		
 		
 		
 		
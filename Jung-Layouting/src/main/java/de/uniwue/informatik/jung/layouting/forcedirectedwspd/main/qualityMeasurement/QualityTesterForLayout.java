@@ -5,8 +5,12 @@ import edu.uci.ics.jung.algorithms.shortestpath.DijkstraDistance;
 import edu.uci.ics.jung.graph.util.Pair;
 
 import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.LinkedList;
+import java.util.List;
 
 /**
  * Passed {@link Layout} is interpreted as a straight-line drawing.
@@ -315,66 +319,168 @@ public class QualityTesterForLayout<V, E> {
 	}
 	
 	
+	/**
+	 * Counts the number of pairs of crossing edges.
+	 * The edges are sorted by their left end and swept from left to right, so only pairs of edges whose bounding
+	 * boxes overlap are tested for crossing.
+	 * The active edges are kept in a max-segment-tree over the edges sorted by their lower end that stores the upper
+	 * end of every active edge. So only the active edges whose y-range overlaps the one of the current edge are
+	 * visited and the running time is in O((m + k) log m) with m being the number of edges and k being the number of
+	 * pairs of edges whose bounding boxes overlap.
+	 * The worst case is still quadratic (if k is), but it yields the same number as testing all pairs.
+	 */
 	public void calculateNumberOfEdgeCrossings(){
 		numberOfCrossings = 0; //to count correct set from -1 to 0
-		//1. find all crossings between pairs of edges (indices i and j to not consider the same pair again or itsself as pair)
+		//1. collect the edges with their end points and bounding boxes (index i is the position in getEdges())
+		int m = layout.getGraph().getEdgeCount();
+		List<V> firstEndpoints = new ArrayList<V>(m);
+		List<V> secondEndpoints = new ArrayList<V>(m);
+		Point2D[] firstPoints = new Point2D[m];
+		Point2D[] secondPoints = new Point2D[m];
+		double[] minX = new double[m];
+		double[] maxX = new double[m];
+		double[] minY = new double[m];
+		double[] maxY = new double[m];
 		int i = 0;
-		for(E e1: layout.getGraph().getEdges()){
-			V v1_1 = layout.getGraph().getEndpoints(e1).getFirst();
-			V v1_2 = layout.getGraph().getEndpoints(e1).getSecond();
-			Point2D p1_1 = layout.apply(v1_1);
-			Point2D p1_2 = layout.apply(v1_2);
-			
-			int j=0;
-			for(E e2: layout.getGraph().getEdges()){
-				
-				if(j>i){
-					V v2_1 = layout.getGraph().getEndpoints(e2).getFirst();
-					V v2_2 = layout.getGraph().getEndpoints(e2).getSecond();
-					
-					Point2D p2_1 = layout.apply(v2_1);
-					Point2D p2_2 = layout.apply(v2_2);
-					
-					/*
-					 * if the two edges have a common endpoint and do not lie on each other
-					 * then skip (no crossing being considered) -> catch that case.
-					 * But if those two neigboured edges are lying on each other (one is contained completely by the other)
-					 * then all 4 points lie on the same line.
-					 * But then also check that these points go in the same direction from the common endpoint,
-					 * otherwise there is no crossing counted
-					 */
-					if(		   v1_1==v2_1 && ( ccw(p1_1, p1_2, p2_2)!=0
-								|| ( Math.signum(p1_2.getX()-p1_1.getX())-Math.signum(p2_2.getX()-p1_1.getX())==0
-								  && Math.signum(p1_2.getY()-p1_1.getY())-Math.signum(p2_2.getY()-p1_1.getY())==0 ) )
-								  
-							|| v1_1==v2_2 && ( ccw(p1_1, p1_2, p2_1)!=0
-								|| ( Math.signum(p1_2.getX()-p1_1.getX())-Math.signum(p2_1.getX()-p1_1.getX())==0
-								  && Math.signum(p1_2.getY()-p1_1.getY())-Math.signum(p2_1.getY()-p1_1.getY())==0 ) )
-								  
-							|| v1_2==v2_1 && ( ccw(p1_1, p1_2, p2_2)!=0
-								|| ( Math.signum(p1_1.getX()-p1_2.getX())-Math.signum(p2_2.getX()-p1_2.getX())==0
-								  && Math.signum(p1_1.getY()-p1_2.getY())-Math.signum(p2_2.getY()-p1_2.getY())==0 ) )
-								  
-							|| v1_2==v2_2 && ( ccw(p1_1, p1_2, p2_1)!=0
-								|| ( Math.signum(p1_1.getX()-p1_2.getX())-Math.signum(p2_1.getX()-p1_2.getX())==0
-								  && Math.signum(p1_1.getY()-p1_2.getY())-Math.signum(p2_1.getY()-p1_2.getY())==0 ) )
-							){
-						continue;
-					}
-					
-					/*
-					 * That way it is checked if 2 line segments intersect.
-					 * This method is taken from
-					 * http://www.imn.htwk-leipzig.de/~medocpro/buecher/sedge1/k24t3.html
-					 */
-					if(ccw(p1_1,p1_2,p2_1)*ccw(p1_1,p1_2,p2_2)<=0 && (ccw(p2_1,p2_2,p1_1)*ccw(p2_1,p2_2,p1_2)<=0)){
-						numberOfCrossings++;
-					}
+		for(E e: layout.getGraph().getEdges()){
+			Pair<V> endpoints = layout.getGraph().getEndpoints(e);
+			firstEndpoints.add(endpoints.getFirst());
+			secondEndpoints.add(endpoints.getSecond());
+			firstPoints[i] = layout.apply(endpoints.getFirst());
+			secondPoints[i] = layout.apply(endpoints.getSecond());
+			minX[i] = Math.min(firstPoints[i].getX(), secondPoints[i].getX());
+			maxX[i] = Math.max(firstPoints[i].getX(), secondPoints[i].getX());
+			minY[i] = Math.min(firstPoints[i].getY(), secondPoints[i].getY());
+			maxY[i] = Math.max(firstPoints[i].getY(), secondPoints[i].getY());
+			i++;
+		}
+		Integer[] sortedByMinX = new Integer[m];
+		Integer[] sortedByMaxX = new Integer[m];
+		Integer[] sortedByMinY = new Integer[m];
+		for(i=0; i<m; i++){
+			sortedByMinX[i] = i;
+			sortedByMaxX[i] = i;
+			sortedByMinY[i] = i;
+		}
+		Arrays.sort(sortedByMinX, Comparator.comparingDouble(index -> minX[index]));
+		Arrays.sort(sortedByMaxX, Comparator.comparingDouble(index -> maxX[index]));
+		Arrays.sort(sortedByMinY, Comparator.comparingDouble(index -> minY[index]));
+		int[] leafOf = new int[m];
+		double[] sortedMinY = new double[m];
+		for(i=0; i<m; i++){
+			leafOf[sortedByMinY[i]] = i;
+			sortedMinY[i] = minY[sortedByMinY[i]];
+		}
+
+		//2. sweep from left to right; active are the edges whose x-range contains the current x-coordinate.
+		//The leaves of the segment tree are the edges sorted by minY; an active edge has its maxY there,
+		//all other leaves have -infinity. Every inner node has the maximum of its two children.
+		int numberOfLeaves = 1;
+		while(numberOfLeaves < m){
+			numberOfLeaves *= 2;
+		}
+		double[] maxYOfActive = new double[2 * numberOfLeaves];
+		Arrays.fill(maxYOfActive, Double.NEGATIVE_INFINITY);
+		int[] stack = new int[2 * (Integer.numberOfTrailingZeros(numberOfLeaves) + 1)];
+		int numberOfExpired = 0;
+		for(int current: sortedByMinX){
+			//remove the edges that end left of the current one, they were added before as they also start left of it
+			while(numberOfExpired < m && maxX[sortedByMaxX[numberOfExpired]] < minX[current]){
+				setMaxYOfActive(maxYOfActive, numberOfLeaves + leafOf[sortedByMaxX[numberOfExpired++]],
+						Double.NEGATIVE_INFINITY);
+			}
+
+			//visit the active edges with minY <= maxY[current] (a prefix of the leaves) and maxY >= minY[current]
+			int endOfPrefix = firstIndexWithLargerValue(sortedMinY, maxY[current]);
+			int stackSize = 0;
+			stack[stackSize++] = 1;
+			while(stackSize > 0){
+				int node = stack[--stackSize];
+				int level = 31 - Integer.numberOfLeadingZeros(node);
+				int firstLeaf = (node - (1 << level)) * (numberOfLeaves >> level);
+				if(maxYOfActive[node] < minY[current] || firstLeaf >= endOfPrefix){
+					continue; //no active edge with overlapping bounding box below
+				}
+				if(node < numberOfLeaves){
+					stack[stackSize++] = 2 * node + 1;
+					stack[stackSize++] = 2 * node;
+					continue;
+				}
+				int other = sortedByMinY[node - numberOfLeaves];
+				//test in the same orientation as if iterating over all pairs i < j
+				int first = Math.min(current, other);
+				int second = Math.max(current, other);
+				if(areCrossing(firstEndpoints.get(first), secondEndpoints.get(first), firstPoints[first],
+						secondPoints[first], firstEndpoints.get(second), secondEndpoints.get(second),
+						firstPoints[second], secondPoints[second])){
+					numberOfCrossings++;
 				}
-				j++;
 			}
-			i++;
+
+			setMaxYOfActive(maxYOfActive, numberOfLeaves + leafOf[current], maxY[current]);
+		}
+	}
+
+	private static void setMaxYOfActive(double[] maxYOfActive, int leaf, double value){
+		maxYOfActive[leaf] = value;
+		for(int node = leaf / 2; node > 0; node /= 2){
+			maxYOfActive[node] = Math.max(maxYOfActive[2 * node], maxYOfActive[2 * node + 1]);
+		}
+	}
+
+	/**
+	 * Binary search in the ascending sortedValues
+	 */
+	private static int firstIndexWithLargerValue(double[] sortedValues, double value){
+		int low = 0;
+		int high = sortedValues.length;
+		while(low < high){
+			int mid = (low + high) >>> 1;
+			if(sortedValues[mid] <= value){
+				low = mid + 1;
+			}
+			else{
+				high = mid;
+			}
 		}
+		return low;
+	}
+
+	private boolean areCrossing(V v1_1, V v1_2, Point2D p1_1, Point2D p1_2, V v2_1, V v2_2, Point2D p2_1,
+								Point2D p2_2){
+		/*
+		 * if the two edges have a common endpoint and do not lie on each other
+		 * then skip (no crossing being considered) -> catch that case.
+		 * But if those two neigboured edges are lying on each other (one is contained completely by the other)
+		 * then all 4 points lie on the same line.
+		 * But then also check that these points go in the same direction from the common endpoint,
+		 * otherwise there is no crossing counted
+		 */
+		if(		   v1_1==v2_1 && ( ccw(p1_1, p1_2, p2_2)!=0
+					|| ( Math.signum(p1_2.getX()-p1_1.getX())-Math.signum(p2_2.getX()-p1_1.getX())==0
+					  && Math.signum(p1_2.getY()-p1_1.getY())-Math.signum(p2_2.getY()-p1_1.getY())==0 ) )
+
+				|| v1_1==v2_2 && ( ccw(p1_1, p1_2, p2_1)!=0
+					|| ( Math.signum(p1_2.getX()-p1_1.getX())-Math.signum(p2_1.getX()-p1_1.getX())==0
+					  && Math.signum(p1_2.getY()-p1_1.getY())-Math.signum(p2_1.getY()-p1_1.getY())==0 ) )
+
+				|| v1_2==v2_1 && ( ccw(p1_1, p1_2, p2_2)!=0
+					|| ( Math.signum(p1_1.getX()-p1_2.getX())-Math.signum(p2_2.getX()-p1_2.getX())==0
+					  && Math.signum(p1_1.getY()-p1_2.getY())-Math.signum(p2_2.getY()-p1_2.getY())==0 ) )
+
+				|| v1_2==v2_2 && ( ccw(p1_1, p1_2, p2_1)!=0
+					|| ( Math.signum(p1_1.getX()-p1_2.getX())-Math.signum(p2_1.getX()-p1_2.getX())==0
+					  && Math.signum(p1_1.getY()-p1_2.getY())-Math.signum(p2_1.getY()-p1_2.getY())==0 ) )
+				){
+			return false;
+		}
+
+		/*
+		 * That way it is checked if 2 line segments intersect.
+		 * This method is taken from
+		 * http://www.imn.htwk-leipzig.de/~medocpro/buecher/sedge1/k24t3.html
+		 */
+		return ccw(p1_1,p1_2,p2_1)*ccw(p1_1,p1_2,p2_2)<=0 && (ccw(p2_1,p2_2,p1_1)*ccw(p2_1,p2_2,p1_2)<=0);
 	}
 	
 	/**
@@ -0,0 +1,352 @@
+package de.uniwue.informatik.jung.layouting.forcedirectedwspd.quadtree;
+
+import de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms.FRArrayEngine;
+
+import java.util.Arrays;
+
+/**
+ * Quadtree like {@link QuadTree}, but stored in arrays instead of {@link QuadTreeNode}-objects.
+ * <p>
+ * The points are not {@link de.uniwue.informatik.jung.layouting.forcedirectedwspd.util.VertexTriple}s but indices
+ * into two coordinate arrays x and y (e.g. those of a {@link FRArrayEngine}).
+ * A node is an int in [0, {@link ArrayQuadTree#getNumberOfNodes()}), the root is 0.
+ * The children of an inner node u are {@link ArrayQuadTree#getFirstChild(int)} up to that value +
+ * {@link ArrayQuadTree#getNumberOfChildren(int)} - 1, children always have a higher index than their parent.
+ * Only children containing points are created.
+ * <p>
+ * The tree is built in bulk:
+ * The outer square is the same as in {@link QuadTree}. Every point gets the Morton code (bit-interleaved x- and
+ * y-cell index) of its cell in the grid of the finest level ({@link ArrayQuadTree#MAXIMAL_DEPTH}) and the points are
+ * sorted by it (radix sort).
+ * The cell indices are found by halving the square with the same arithmetic and the same tie rule as in
+ * {@link QuadTree} (a point on the center line of a square goes to the left/bottom child).
+ * So up to depth {@link ArrayQuadTree#MAXIMAL_DEPTH} the subdivision is the same as in {@link QuadTree}. Then the points of every node are consecutive entries
+ * [{@link ArrayQuadTree#getStart(int)}, {@link ArrayQuadTree#getEnd(int)}) of {@link ArrayQuadTree#getPoint(int)}
+ * and the children of a node are found by binary search.
+ * A node is a leaf if all its points lie in the same cell of the finest level (usually it has only one point).
+ * <p>
+ * All arrays are kept and reused when the tree is built again.
+ */
+public class ArrayQuadTree {
+
+	/**
+	 * Maximal depth of a node; 2 bits per level of the Morton codes
+	 */
+	public static final int MAXIMAL_DEPTH = 30;
+
+	private static final int BITS_PER_RADIX_DIGIT = 8;
+
+	private double[] x;
+	private double[] y;
+
+	private int numberOfPoints = 0;
+	private int numberOfNodes = 0;
+
+	/**
+	 * Point indices sorted by their Morton codes
+	 */
+	private int[] points = new int[0];
+	private long[] codes = new long[0];
+	/*
+	 * Buffers for the radix sort
+	 */
+	private int[] pointsBuffer = new int[0];
+	private long[] codesBuffer = new long[0];
+	private final int[] radixCounts = new int[1 << BITS_PER_RADIX_DIGIT];
+
+	/*
+	 * For every node
+	 */
+	private int[] start = new int[0];
+	private int[] end = new int[0];
+	private int[] depth = new int[0];
+	private int[] firstChild = new int[0];
+	private int[] numberOfChildren = new int[0];
+	private double[] sideLength = new double[0];
+	private double[] barycenterX = new double[0];
+	private double[] barycenterY = new double[0];
+
+	private int[] stack = new int[4 * (MAXIMAL_DEPTH + 2)];
+
+
+	/**
+	 * Builds the quadtree for the points from (inclusive) to to (exclusive)
+	 * with the coordinates x[i] and y[i] for point i.
+	 *
+	 * @param x
+	 * @param y
+	 * @param from
+	 * @param to
+	 */
+	public void build(double[] x, double[] y, int from, int to){
+		this.x = x;
+		this.y = y;
+		numberOfPoints = to - from;
+		numberOfNodes = 0;
+		if(numberOfPoints == 0){
+			return;
+		}
+		ensurePointCapacity(numberOfPoints);
+
+		//outer square (same as in QuadTree)
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		for(int i=from; i<to; i++){
+			minX = Math.min(minX, x[i]);
+			minY = Math.min(minY, y[i]);
+			maxX = Math.max(maxX, x[i]);
+			maxY = Math.max(maxY, y[i]);
+		}
+		double side = Math.max(maxX-minX, maxY-minY);
+		double squareX = (minX+(maxX-minX)/2) - side/2 - side*0.005;
+		double squareY = (minY+(maxY-minY)/2) - side/2 - side*0.005;
+		double squareSideLength = side + 0.01*side;
+
+		//Morton codes
+		for(int i=0; i<numberOfPoints; i++){
+			int point = from + i;
+			long xCell = cellIndex(x[point], squareX, squareSideLength);
+			long yCell = cellIndex(y[point], squareY, squareSideLength);
+			points[i] = point;
+			codes[i] = spreadBits(xCell) | (spreadBits(yCell) << 1);
+		}
+		sortByCodes();
+
+		//nodes
+		ensureNodeCapacity(1);
+		numberOfNodes = 1;
+		start[0] = 0;
+		end[0] = numberOfPoints;
+		depth[0] = 0;
+		sideLength[0] = squareSideLength;
+		int stackSize = 0;
+		stack[stackSize++] = 0;
+		while(stackSize > 0){
+			int u = stack[--stackSize];
+			firstChild[u] = numberOfNodes;
+			numberOfChildren[u] = 0;
+			if(codes[start[u]] == codes[end[u]-1]){
+				continue; //leaf, all points in the same cell of the finest level
+			}
+			int shift = 2 * (MAXIMAL_DEPTH - 1 - depth[u]);
+			ensureNodeCapacity(numberOfNodes + 4);
+			int startOfChild = start[u];
+			while(startOfChild < end[u]){
+				long quadrant = (codes[startOfChild] >>> shift) & 3;
+				int endOfChild = firstIndexWithLargerQuadrant(startOfChild, end[u], shift, quadrant);
+				int v = numberOfNodes++;
+				start[v] = startOfChild;
+				end[v] = endOfChild;
+				depth[v] = depth[u] + 1;
+				sideLength[v] = sideLength[u] / 2;
+				numberOfChildren[u]++;
+				startOfChild = endOfChild;
+			}
+			//the order in which the children are processed does not matter
+			for(int v=firstChild[u]; v<firstChild[u]+numberOfChildren[u]; v++){
+				stack[stackSize++] = v;
+			}
+		}
+
+		//barycenters bottom-up
+		for(int u=numberOfNodes-1; u>=0; u--){
+			double sumX = 0;
+			double sumY = 0;
+			if(numberOfChildren[u] == 0){
+				for(int i=start[u]; i<end[u]; i++){
+					sumX += x[points[i]];
+					sumY += y[points[i]];
+				}
+			}
+			else{
+				for(int v=firstChild[u]; v<firstChild[u]+numberOfChildren[u]; v++){
+					sumX += barycenterX[v] * getSize(v);
+					sumY += barycenterY[v] * getSize(v);
+				}
+			}
+			barycenterX[u] = sumX / getSize(u);
+			barycenterY[u] = sumY / getSize(u);
+		}
+	}
+
+	/**
+	 * Index of the cell of coordinate (in one dimension) in the grid of the finest level.
+	 * The interval is halved {@link ArrayQuadTree#MAXIMAL_DEPTH} times exactly as the squares in {@link QuadTree},
+	 * where a coordinate on the center goes to the lower half.
+	 * So the same rounding happens as there.
+	 */
+	private static long cellIndex(double coordinate, double min, double sideLength){
+		long cell = 0;
+		for(int level=0; level<MAXIMAL_DEPTH; level++){
+			cell <<= 1;
+			if(coordinate > min + sideLength/2){
+				cell |= 1;
+				min = min + sideLength/2;
+			}
+			sideLength = sideLength/2;
+		}
+		return cell;
+	}
+
+	/**
+	 * Spreads the lower 32 bits of value to the even bits of the result
+	 */
+	private static long spreadBits(long value){
+		value &= 0xFFFFFFFFL;
+		value = (value | (value << 16)) & 0x0000FFFF0000FFFFL;
+		value = (value | (value << 8)) & 0x00FF00FF00FF00FFL;
+		value = (value | (value << 4)) & 0x0F0F0F0F0F0F0F0FL;
+		value = (value | (value << 2)) & 0x3333333333333333L;
+		value = (value | (value << 1)) & 0x5555555555555555L;
+		return value;
+	}
+
+	/**
+	 * LSD radix sort of points by codes. Digits in which all codes are equal are skipped.
+	 */
+	private void sortByCodes(){
+		int radix = 1 << BITS_PER_RADIX_DIGIT;
+		for(int shift=0; shift<2*MAXIMAL_DEPTH; shift+=BITS_PER_RADIX_DIGIT){
+			Arrays.fill(radixCounts, 0);
+			for(int i=0; i<numberOfPoints; i++){
+				radixCounts[(int) ((codes[i] >>> shift) & (radix - 1))]++;
+			}
+			if(radixCounts[(int) ((codes[0] >>> shift) & (radix - 1))] == numberOfPoints){
+				continue;
+			}
+			int sum = 0;
+			for(int digit=0; digit<radix; digit++){
+				int count = radixCounts[digit];
+				radixCounts[digit] = sum;
+				sum += count;
+			}
+			for(int i=0; i<numberOfPoints; i++){
+				int target = radixCounts[(int) ((codes[i] >>> shift) & (radix - 1))]++;
+				codesBuffer[target] = codes[i];
+				pointsBuffer[target] = points[i];
+			}
+			long[] swapCodes = codes;
+			codes = codesBuffer;
+			codesBuffer = swapCodes;
+			int[] swapPoints = points;
+			points = pointsBuffer;
+			pointsBuffer = swapPoints;
+		}
+	}
+
+	/**
+	 * Binary search in the sorted codes [from, to) that all have the same bits above shift+2
+	 */
+	private int firstIndexWithLargerQuadrant(int from, int to, int shift, long quadrant){
+		int low = from;
+		int high = to;
+		while(low < high){
+			int mid = (low + high) >>> 1;
+			if(((codes[mid] >>> shift) & 3) <= quadrant){
+				low = mid + 1;
+			}
+			else{
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private void ensurePointCapacity(int numberOfPoints){
+		if(points.length < numberOfPoints){
+			points = new int[numberOfPoints];
+			codes = new long[numberOfPoints];
+			pointsBuffer = new int[numberOfPoints];
+			codesBuffer = new long[numberOfPoints];
+		}
+	}
+
+	private void ensureNodeCapacity(int numberOfNodes){
+		if(start.length >= numberOfNodes){
+			return;
+		}
+		int capacity = Math.max(numberOfNodes, Math.max(2 * start.length, 2 * numberOfPoints));
+		start = Arrays.copyOf(start, capacity);
+		end = Arrays.copyOf(end, capacity);
+		depth = Arrays.copyOf(depth, capacity);
+		firstChild = Arrays.copyOf(firstChild, capacity);
+		numberOfChildren = Arrays.copyOf(numberOfChildren, capacity);
+		sideLength = Arrays.copyOf(sideLength, capacity);
+		barycenterX = Arrays.copyOf(barycenterX, capacity);
+		barycenterY = Arrays.copyOf(barycenterY, capacity);
+	}
+
+
+	/*
+	 * Getters
+	 */
+
+	public int getNumberOfPoints(){
+		return numberOfPoints;
+	}
+
+	public int getNumberOfNodes(){
+		return numberOfNodes;
+	}
+
+	public int getRoot(){
+		return 0;
+	}
+
+	public boolean isLeaf(int u){
+		return numberOfChildren[u] == 0;
+	}
+
+	public int getFirstChild(int u){
+		return firstChild[u];
+	}
+
+	/**
+	 * 0 for leaves, else 1 to 4
+	 */
+	public int getNumberOfChildren(int u){
+		return numberOfChildren[u];
+	}
+
+	public int getStart(int u){
+		return start[u];
+	}
+
+	public int getEnd(int u){
+		return end[u];
+	}
+
+	/**
+	 * Number of points of node u
+	 */
+	public int getSize(int u){
+		return end[u] - start[u];
+	}
+
+	/**
+	 * @param i
+	 * 		index in [{@link ArrayQuadTree#getStart(int)}, {@link ArrayQuadTree#getEnd(int)}) of some node
+	 * @return
+	 * 		index of the point, i.e. its coordinates are x[index], y[index]
+	 */
+	public int getPoint(int i){
+		return points[i];
+	}
+
+	/**
+	 * Side length of the square of node u
+	 */
+	public double getSideLength(int u){
+		return sideLength[u];
+	}
+
+	public double getBarycenterX(int u){
+		return barycenterX[u];
+	}
+
+	public double getBarycenterY(int u){
+		return barycenterY[u];
+	}
+}
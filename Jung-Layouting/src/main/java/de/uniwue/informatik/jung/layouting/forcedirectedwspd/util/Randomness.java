@@ -2,6 +2,11 @@ package de.uniwue.informatik.jung.layouting.forcedirectedwspd.util;
 
 import java.util.Random;
 
+/**
+ * Shared random source.
+ * Layouts constructed with a seed do not use it but their own random source created from that seed,
+ * so only layouts without a seed depend on what else was computed before in the same JVM.
+ */
 public class Randomness {
 
     public static final long SEED = 123l;
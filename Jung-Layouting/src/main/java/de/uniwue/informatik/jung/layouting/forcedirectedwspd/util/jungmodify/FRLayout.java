@@ -10,6 +10,7 @@ package de.uniwue.informatik.jung.layouting.forcedirectedwspd.util.jungmodify;
 import java.awt.Dimension;
 import java.awt.geom.Point2D;
 import java.util.ConcurrentModificationException;
+import java.util.Random;
 
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
@@ -102,6 +103,12 @@ public class FRLayout<V, E> extends AbstractLayout<V, E> implements IterativeCon
 
     protected double max_dimension;
 
+    /**
+     * Source of the random decisions while laying out (placing vertices back into the frame).
+     * Created from the seed if one is passed to the constructor, otherwise the shared {@link Randomness#random}.
+     */
+    protected Random random = Randomness.random;
+
     /**
      * Creates an instance for the specified graph.
      */
@@ -120,6 +127,7 @@ public class FRLayout<V, E> extends AbstractLayout<V, E> implements IterativeCon
 
     public FRLayout(Graph<V, E> g, Dimension d, long seed) {
         super(g, new RandomLocationTransformer<V>(d, seed), d);
+        random = new Random(seed);
         initialize();
         max_dimension = Math.max(d.height, d.width);
     }
@@ -245,18 +253,18 @@ public class FRLayout<V, E> extends AbstractLayout<V, E> implements IterativeCon
         double borderWidth = getSize().getWidth() / 50.0;
         double newXPos = xyd.getX();
         if (newXPos < borderWidth) {
-            newXPos = borderWidth + Randomness.random.nextDouble() * borderWidth * 2.0;
+            newXPos = borderWidth + random.nextDouble() * borderWidth * 2.0;
         } else if (newXPos > (getSize().getWidth() - borderWidth)) {
-            newXPos = getSize().getWidth() - borderWidth - Randomness.random.nextDouble()
+            newXPos = getSize().getWidth() - borderWidth - random.nextDouble()
                     * borderWidth * 2.0;
         }
 
         double newYPos = xyd.getY();
         if (newYPos < borderWidth) {
-            newYPos = borderWidth + Randomness.random.nextDouble() * borderWidth * 2.0;
+            newYPos = borderWidth + random.nextDouble() * borderWidth * 2.0;
         } else if (newYPos > (getSize().getHeight() - borderWidth)) {
             newYPos = getSize().getHeight() - borderWidth
-                    - Randomness.random.nextDouble() * borderWidth * 2.0;
+                    - random.nextDouble() * borderWidth * 2.0;
         }
 
         xyd.setLocation(newXPos, newYPos);
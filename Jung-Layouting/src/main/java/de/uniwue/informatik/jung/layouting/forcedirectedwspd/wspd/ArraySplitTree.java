@@ -0,0 +1,509 @@
+package de.uniwue.informatik.jung.layouting.forcedirectedwspd.wspd;
+
+import de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms.FRArrayEngine;
+
+import java.util.Arrays;
+
+/**
+ * Split tree like {@link SplitTree}, but stored in arrays instead of {@link SplitTreeNode}-objects.
+ * <p>
+ * The points are not {@link de.uniwue.informatik.jung.layouting.forcedirectedwspd.util.VertexTriple}s but indices
+ * into two coordinate arrays x and y (e.g. those of a {@link FRArrayEngine}).
+ * A node is an int in [0, {@link ArraySplitTree#getNumberOfNodes()}), the root is 0.
+ * The two children of an inner node u are {@link ArraySplitTree#getFirstChild(int)} and that value +1,
+ * children always have a higher index than their parent.
+ * <p>
+ * The points of every node are the consecutive entries
+ * [{@link ArraySplitTree#getStart(int)}, {@link ArraySplitTree#getEnd(int)}) of {@link ArraySplitTree#getPoint(int)}.
+ * <p>
+ * It is built with the same algorithm as {@link SplitTree} (partial split trees on lists sorted by x and by y,
+ * see the book referenced there), so it is the same tree in O(n log n) time for distinct points.
+ * The sorted lists are doubly linked lists in int arrays over the points.
+ * For every partial split tree the points of its leaves are consecutive in both sorted orders afterwards, so the
+ * order by x is the permutation of the points in the end.
+ * <p>
+ * All arrays are kept and reused when the tree is built again for the same number of points or less.
+ */
+public class ArraySplitTree {
+
+	private double[] x;
+	private double[] y;
+
+	private int numberOfPoints = 0;
+	private int numberOfNodes = 0;
+
+	/**
+	 * Permutation of the point indices, see {@link ArraySplitTree}
+	 */
+	private int[] points = new int[0];
+
+	/*
+	 * Only used while building; points are numbered 0, ..., n-1 (point index - from) here.
+	 * For dimension 0 (x) and 1 (y): the points sorted by that coordinate (the points of every node that is still
+	 * to be split are consecutive, as in points) and the doubly linked list of a partial split tree in that order.
+	 */
+	private final int[][] sorted = {new int[0], new int[0]};
+	private final int[][] next = {new int[0], new int[0]};
+	private final int[][] previous = {new int[0], new int[0]};
+	private final int[] head = new int[2];
+	private final int[] tail = new int[2];
+	/**
+	 * Leaf of the current partial split tree containing the point
+	 */
+	private int[] leafOfPoint = new int[0];
+	private int[] buffer = new int[0];
+	/**
+	 * For every leaf of the current partial split tree the next free entry when distributing the sorted points
+	 */
+	private int[] cursor = new int[0];
+
+	/*
+	 * For every node
+	 */
+	private int[] start = new int[0];
+	private int[] end = new int[0];
+	/**
+	 * -1 for leaves
+	 */
+	private int[] firstChild = new int[0];
+	private double[] minX = new double[0];
+	private double[] minY = new double[0];
+	private double[] maxX = new double[0];
+	private double[] maxY = new double[0];
+	private double[] barycenterX = new double[0];
+	private double[] barycenterY = new double[0];
+	private double[] repulsiveForceX = new double[0];
+	private double[] repulsiveForceY = new double[0];
+
+	/**
+	 * Roots of the partial split trees that are still to be built
+	 */
+	private int[] stack = new int[16];
+	private int stackSize = 0;
+
+
+	/*
+	 * Building
+	 */
+
+	/**
+	 * Builds the split tree for the points from (inclusive) to to (exclusive)
+	 * with the coordinates x[i] and y[i] for point i.
+	 * The coordinate arrays are kept (not copied), so later changes of the locations are seen by
+	 * {@link ArraySplitTree#recalculateAllBoundingRectangles()} and {@link ArraySplitTree#recalculateAllBarycenters()}.
+	 * Afterwards bounding rectangles and barycenters are up to date and all repulsive forces are 0.
+	 *
+	 * @param x
+	 * @param y
+	 * @param from
+	 * @param to
+	 */
+	public void build(double[] x, double[] y, int from, int to){
+		this.x = x;
+		this.y = y;
+		numberOfPoints = to - from;
+		ensureCapacity(numberOfPoints);
+		if(numberOfPoints == 0){
+			numberOfNodes = 0;
+			return;
+		}
+		for(int d=0; d<2; d++){
+			for(int i=0; i<numberOfPoints; i++){
+				sorted[d][i] = i;
+			}
+			sortByCoordinate(sorted[d], d == 0 ? x : y, from);
+		}
+
+		numberOfNodes = 1;
+		start[0] = 0;
+		end[0] = numberOfPoints;
+		stackSize = 0;
+		push(0);
+		while(stackSize > 0){
+			buildPartialSplitTree(stack[--stackSize], from);
+		}
+		for(int i=0; i<numberOfPoints; i++){
+			points[i] = from + sorted[0][i];
+		}
+		recalculateAllBarycenters();
+		Arrays.fill(repulsiveForceX, 0, numberOfNodes, 0);
+		Arrays.fill(repulsiveForceY, 0, numberOfNodes, 0);
+	}
+
+	/**
+	 * Step 1 to 6 of PartialSplitTree (see {@link SplitTree}) for the points of u, which are
+	 * sorted[d][{@link ArraySplitTree#start}[u]], ..., sorted[d][{@link ArraySplitTree#end}[u] - 1] for d = 0, 1.
+	 * All leaves of the partial split tree with more than one point are pushed to {@link ArraySplitTree#stack}.
+	 */
+	private void buildPartialSplitTree(int u, int from){
+		int n = getSize(u);
+		if(n == 1){
+			firstChild[u] = -1;
+			int point = from + sorted[0][start[u]];
+			minX[u] = maxX[u] = x[point];
+			minY[u] = maxY[u] = y[point];
+			return;
+		}
+		//step 1: linked lists in both dimensions
+		for(int d=0; d<2; d++){
+			int[] sortedInD = sorted[d];
+			head[d] = sortedInD[start[u]];
+			tail[d] = sortedInD[end[u]-1];
+			for(int i=start[u]; i<end[u]; i++){
+				previous[d][sortedInD[i]] = i > start[u] ? sortedInD[i-1] : -1;
+				next[d][sortedInD[i]] = i < end[u]-1 ? sortedInD[i+1] : -1;
+			}
+		}
+		int startOfPartialSplitTree = start[u];
+		int endOfPartialSplitTree = end[u];
+		int lo = start[u];
+		int hi = end[u];
+		int size = n;
+		//step 2
+		while(size > n/2){
+			//step 3: bounding box, separating line h and the scan from both ends of the list of the longer side
+			minX[u] = x[from + head[0]];
+			maxX[u] = x[from + tail[0]];
+			minY[u] = y[from + head[1]];
+			maxY[u] = y[from + tail[1]];
+			int index = maxX[u] - minX[u] > maxY[u] - minY[u] ? 0 : 1;
+			double[] coordinates = index == 0 ? x : y;
+			double startpoint = coordinates[from + head[index]];
+			double h = startpoint + (coordinates[from + tail[index]] - startpoint) * 0.5;
+			int[] nextInIndex = next[index];
+			int[] previousInIndex = previous[index];
+			int pPrime = nextInIndex[head[index]];
+			int qPrime = previousInIndex[tail[index]];
+			int sizePrime = 1;
+			while(coordinates[from + pPrime] <= h && coordinates[from + qPrime] >= h && nextInIndex[pPrime] >= 0){
+				pPrime = nextInIndex[pPrime];
+				qPrime = previousInIndex[qPrime];
+				sizePrime++;
+			}
+			int v = numberOfNodes;
+			numberOfNodes += 2;
+			firstChild[u] = v;
+			int leaf;
+			if(coordinates[from + pPrime] > h){
+				//step 4: the first sizePrime points form the left child v, continue with the right child
+				start[v] = lo;
+				end[v] = lo + sizePrime;
+				lo += sizePrime;
+				start[v+1] = lo;
+				end[v+1] = hi;
+				leaf = v;
+				u = v+1;
+			}
+			else{
+				//step 5: the last sizePrime points form the right child, continue with the left child v
+				start[v+1] = hi - sizePrime;
+				end[v+1] = hi;
+				hi -= sizePrime;
+				start[v] = lo;
+				end[v] = hi;
+				leaf = v+1;
+				u = v;
+			}
+			removeFromLists(index, leaf == v, sizePrime, leaf);
+			size -= sizePrime;
+		}
+		for(int point=head[0]; point>=0; point=next[0][point]){
+			leafOfPoint[point] = u;
+		}
+		addLeafOfPartialSplitTree(u);
+		//step 6: distribute the sorted points to the leaves (forwards in x and backwards in y, then no reset is needed)
+		for(int i=startOfPartialSplitTree; i<endOfPartialSplitTree; i++){
+			int point = sorted[0][i];
+			buffer[cursor[leafOfPoint[point]]++] = point;
+		}
+		System.arraycopy(buffer, startOfPartialSplitTree, sorted[0], startOfPartialSplitTree, n);
+		for(int i=endOfPartialSplitTree-1; i>=startOfPartialSplitTree; i--){
+			int point = sorted[1][i];
+			buffer[--cursor[leafOfPoint[point]]] = point;
+		}
+		System.arraycopy(buffer, startOfPartialSplitTree, sorted[1], startOfPartialSplitTree, n);
+	}
+
+	/**
+	 * Removes numberOfPoints points from the front (if fromFront) or from the back of the list in dimension index and
+	 * the same points from the list in the other dimension. They become the points of leaf.
+	 */
+	private void removeFromLists(int index, boolean fromFront, int numberOfPoints, int leaf){
+		int otherIndex = 1 - index;
+		int[] nextInOther = next[otherIndex];
+		int[] previousInOther = previous[otherIndex];
+		int point = fromFront ? head[index] : tail[index];
+		for(int k=0; k<numberOfPoints; k++){
+			leafOfPoint[point] = leaf;
+			int previousPoint = previousInOther[point];
+			int nextPoint = nextInOther[point];
+			if(previousPoint >= 0) nextInOther[previousPoint] = nextPoint; else head[otherIndex] = nextPoint;
+			if(nextPoint >= 0) previousInOther[nextPoint] = previousPoint; else tail[otherIndex] = previousPoint;
+			point = fromFront ? next[index][point] : previous[index][point];
+		}
+		if(fromFront){
+			head[index] = point;
+			previous[index][point] = -1;
+		}
+		else{
+			tail[index] = point;
+			next[index][point] = -1;
+		}
+		addLeafOfPartialSplitTree(leaf);
+	}
+
+	private void addLeafOfPartialSplitTree(int leaf){
+		cursor[leaf] = start[leaf];
+		push(leaf);
+	}
+
+	private void push(int u){
+		if(stackSize == stack.length){
+			stack = Arrays.copyOf(stack, 2 * stack.length);
+		}
+		stack[stackSize++] = u;
+	}
+
+	/**
+	 * Stable merge sort of the points (numbered from 0) by coordinates[from + point]
+	 * (same order as {@link java.util.Collections#sort(java.util.List)} in {@link SplitTree})
+	 */
+	private void sortByCoordinate(int[] pointsToSort, double[] coordinates, int from){
+		int[] source = pointsToSort;
+		int[] target = buffer;
+		for(int width=1; width<numberOfPoints; width*=2){
+			for(int left=0; left<numberOfPoints; left+=2*width){
+				int mid = Math.min(left + width, numberOfPoints);
+				int right = Math.min(left + 2*width, numberOfPoints);
+				int i = left;
+				int j = mid;
+				int k = left;
+				while(i < mid && j < right){
+					if(Double.compare(coordinates[from + source[j]], coordinates[from + source[i]]) < 0){
+						target[k++] = source[j++];
+					}
+					else{
+						target[k++] = source[i++];
+					}
+				}
+				while(i < mid){
+					target[k++] = source[i++];
+				}
+				while(j < right){
+					target[k++] = source[j++];
+				}
+			}
+			int[] swap = source;
+			source = target;
+			target = swap;
+		}
+		if(source != pointsToSort){
+			System.arraycopy(source, 0, pointsToSort, 0, numberOfPoints);
+		}
+	}
+
+	private void ensureCapacity(int numberOfPoints){
+		if(points.length < numberOfPoints){
+			points = new int[numberOfPoints];
+			for(int d=0; d<2; d++){
+				sorted[d] = new int[numberOfPoints];
+				next[d] = new int[numberOfPoints];
+				previous[d] = new int[numberOfPoints];
+			}
+			leafOfPoint = new int[numberOfPoints];
+			buffer = new int[numberOfPoints];
+		}
+		int maximalNumberOfNodes = Math.max(0, 2 * numberOfPoints - 1);
+		if(start.length < maximalNumberOfNodes){
+			start = new int[maximalNumberOfNodes];
+			end = new int[maximalNumberOfNodes];
+			firstChild = new int[maximalNumberOfNodes];
+			minX = new double[maximalNumberOfNodes];
+			minY = new double[maximalNumberOfNodes];
+			maxX = new double[maximalNumberOfNodes];
+			maxY = new double[maximalNumberOfNodes];
+			barycenterX = new double[maximalNumberOfNodes];
+			barycenterY = new double[maximalNumberOfNodes];
+			repulsiveForceX = new double[maximalNumberOfNodes];
+			repulsiveForceY = new double[maximalNumberOfNodes];
+			cursor = new int[maximalNumberOfNodes];
+		}
+	}
+
+
+	/*
+	 * Updates after the points have moved
+	 */
+
+	/**
+	 * Recomputes the bounding rectangles of all nodes bottom-up in O(n).
+	 * The tree itself is not changed, so it may not fulfill the properties of a split tree any more afterwards.
+	 */
+	public void recalculateAllBoundingRectangles(){
+		for(int u=numberOfNodes-1; u>=0; u--){
+			int v = firstChild[u];
+			if(v < 0){
+				int point = points[start[u]];
+				minX[u] = maxX[u] = x[point];
+				minY[u] = maxY[u] = y[point];
+			}
+			else{
+				minX[u] = Math.min(minX[v], minX[v+1]);
+				minY[u] = Math.min(minY[v], minY[v+1]);
+				maxX[u] = Math.max(maxX[v], maxX[v+1]);
+				maxY[u] = Math.max(maxY[v], maxY[v+1]);
+			}
+		}
+	}
+
+	/**
+	 * Recomputes the barycenters of all nodes bottom-up in O(n)
+	 * (same computation as in {@link SplitTree#getBarycenter(SplitTreeNode)}).
+	 */
+	public void recalculateAllBarycenters(){
+		for(int u=numberOfNodes-1; u>=0; u--){
+			int v = firstChild[u];
+			if(v < 0){
+				int point = points[start[u]];
+				barycenterX[u] = x[point];
+				barycenterY[u] = y[point];
+			}
+			else{
+				int sizeOfV = getSize(v);
+				int sizeOfW = getSize(v+1);
+				barycenterX[u] = (barycenterX[v] * sizeOfV + barycenterX[v+1] * sizeOfW) / (double) getSize(u);
+				barycenterY[u] = (barycenterY[v] * sizeOfV + barycenterY[v+1] * sizeOfW) / (double) getSize(u);
+			}
+		}
+	}
+
+
+	/*
+	 * Repulsive forces
+	 */
+
+	/**
+	 * Records a repulsive force acting on every point of node u.
+	 * See {@link ArraySplitTree#addRepulsiveForcesToPoints(double[], double[])}.
+	 */
+	public void addRepulsiveForce(int u, double xOffset, double yOffset){
+		repulsiveForceX[u] += xOffset;
+		repulsiveForceY[u] += yOffset;
+	}
+
+	/**
+	 * Adds for every point the repulsive forces recorded in all nodes containing it
+	 * (via {@link ArraySplitTree#addRepulsiveForce(int, double, double)}) to dx and dy of this point
+	 * and resets the recorded forces to 0.
+	 *
+	 * @param dx
+	 * @param dy
+	 */
+	public void addRepulsiveForcesToPoints(double[] dx, double[] dy){
+		//top-down as children have higher indices than their parents
+		for(int u=0; u<numberOfNodes; u++){
+			int v = firstChild[u];
+			if(v < 0){
+				int point = points[start[u]];
+				dx[point] += repulsiveForceX[u];
+				dy[point] += repulsiveForceY[u];
+			}
+			else{
+				repulsiveForceX[v] += repulsiveForceX[u];
+				repulsiveForceY[v] += repulsiveForceY[u];
+				repulsiveForceX[v+1] += repulsiveForceX[u];
+				repulsiveForceY[v+1] += repulsiveForceY[u];
+			}
+			repulsiveForceX[u] = 0;
+			repulsiveForceY[u] = 0;
+		}
+	}
+
+
+	/*
+	 * Getters
+	 */
+
+	public int getNumberOfPoints(){
+		return numberOfPoints;
+	}
+
+	public int getNumberOfNodes(){
+		return numberOfNodes;
+	}
+
+	public int getRoot(){
+		return 0;
+	}
+
+	public boolean isLeaf(int u){
+		return firstChild[u] < 0;
+	}
+
+	/**
+	 * The second child is this value +1.
+	 *
+	 * @param u
+	 * @return
+	 * 		-1 if u is a leaf
+	 */
+	public int getFirstChild(int u){
+		return firstChild[u];
+	}
+
+	public int getStart(int u){
+		return start[u];
+	}
+
+	public int getEnd(int u){
+		return end[u];
+	}
+
+	/**
+	 * Number of points of node u
+	 */
+	public int getSize(int u){
+		return end[u] - start[u];
+	}
+
+	/**
+	 * @param i
+	 * 		index in [{@link ArraySplitTree#getStart(int)}, {@link ArraySplitTree#getEnd(int)}) of some node
+	 * @return
+	 * 		index of the point, i.e. its coordinates are x[index], y[index]
+	 */
+	public int getPoint(int i){
+		return points[i];
+	}
+
+	public double getBarycenterX(int u){
+		return barycenterX[u];
+	}
+
+	public double getBarycenterY(int u){
+		return barycenterY[u];
+	}
+
+	public double getMinX(int u){
+		return minX[u];
+	}
+
+	public double getMinY(int u){
+		return minY[u];
+	}
+
+	public double getMaxX(int u){
+		return maxX[u];
+	}
+
+	public double getMaxY(int u){
+		return maxY[u];
+	}
+
+	/**
+	 * Like {@link Rectangle#getLengthOfTheLongerSide()} for the bounding rectangle of u
+	 */
+	public double getLengthOfTheLongerSide(int u){
+		return Math.max(maxX[u] - minX[u], maxY[u] - minY[u]);
+	}
+}
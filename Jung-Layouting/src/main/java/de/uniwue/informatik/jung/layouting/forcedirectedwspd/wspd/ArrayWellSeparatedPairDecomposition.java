@@ -0,0 +1,231 @@
+package de.uniwue.informatik.jung.layouting.forcedirectedwspd.wspd;
+
+import java.util.Arrays;
+
+/**
+ * {@link WellSeparatedPairDecomposition} for an {@link ArraySplitTree}.
+ * The pairs are stored in one flat int-array (the two nodes of pair p at index 2p and 2p+1)
+ * instead of a list of {@link SplitTreeNode}-arrays.
+ * The algorithm is the same (FindPairs from the book referenced in {@link WellSeparatedPairDecomposition}),
+ * but without recursion, so also very deep split trees can be handled.
+ * <p>
+ * All arrays are kept and reused when the decomposition is computed again.
+ */
+public class ArrayWellSeparatedPairDecomposition {
+
+	private ArraySplitTree t;
+
+	private double s;
+
+	private int[] pairs = new int[32];
+
+	private int numberOfPairs = 0;
+
+	/**
+	 * Pairs of nodes that still have to be handled in
+	 * {@link ArrayWellSeparatedPairDecomposition#findPairs(int, int, int)}
+	 */
+	private int[] stack = new int[32];
+
+	/**
+	 * Only used while repairing
+	 */
+	private int[] pairsNotWellSeparated = new int[0];
+
+
+	/**
+	 * Computes the well-separated pairs for the passed {@link ArraySplitTree} t and the passed
+	 * minimum-distance-factor s.
+	 * Previous pairs are discarded.
+	 *
+	 * @param t
+	 * @param s
+	 */
+	public void compute(ArraySplitTree t, double s){
+		this.t = t;
+		this.s = s;
+		numberOfPairs = 0;
+		for(int u=0; u<t.getNumberOfNodes(); u++){
+			if(!t.isLeaf(u)){
+				findPairs(t.getFirstChild(u), t.getFirstChild(u)+1, Integer.MAX_VALUE);
+			}
+		}
+	}
+
+	/**
+	 * Adds the well-separated pairs of v and w as FindPairs(v, w) does, but at most until
+	 * maximalNumberOfPairs pairs are stored.
+	 */
+	private void findPairs(int v, int w, int maximalNumberOfPairs){
+		int stackSize = 0;
+		stack[stackSize++] = v;
+		stack[stackSize++] = w;
+		while(stackSize > 0 && numberOfPairs < maximalNumberOfPairs){
+			w = stack[--stackSize];
+			v = stack[--stackSize];
+			if(isWellSeparated(v, w)){
+				if(2 * numberOfPairs + 2 > pairs.length){
+					pairs = Arrays.copyOf(pairs, 2 * pairs.length);
+				}
+				pairs[2 * numberOfPairs] = v;
+				pairs[2 * numberOfPairs + 1] = w;
+				numberOfPairs++;
+				continue;
+			}
+			if(stackSize + 4 > stack.length){
+				stack = Arrays.copyOf(stack, 2 * stack.length);
+			}
+			//pushed in reverse order, so the pairs are found in the same order as by the recursion in the book
+			if(t.getLengthOfTheLongerSide(v) <= t.getLengthOfTheLongerSide(w)){
+				int childOfW = t.getFirstChild(w);
+				stack[stackSize++] = v;
+				stack[stackSize++] = childOfW + 1;
+				stack[stackSize++] = v;
+				stack[stackSize++] = childOfW;
+			}
+			else{
+				int childOfV = t.getFirstChild(v);
+				stack[stackSize++] = childOfV + 1;
+				stack[stackSize++] = w;
+				stack[stackSize++] = childOfV;
+				stack[stackSize++] = w;
+			}
+		}
+	}
+
+	/**
+	 * Same as {@link WellSeparatedPairDecomposition#repairPairsThatAreNotWellSeparated(int)}.
+	 * The order of the remaining pairs is kept, the new pairs are appended.
+	 *
+	 * @param maximalNumberOfNewPairs
+	 * @return
+	 * 		the number of pairs that were not well-separated any more
+	 * 		or -1 if more new pairs would have been needed.
+	 * 		In the latter case this {@link ArrayWellSeparatedPairDecomposition} is incomplete and must be computed new!
+	 */
+	public int repairPairsThatAreNotWellSeparated(int maximalNumberOfNewPairs){
+		int numberOfPairsNotWellSeparated = 0;
+		int numberOfRemainingPairs = 0;
+		for(int p=0; p<numberOfPairs; p++){
+			int v = pairs[2 * p];
+			int w = pairs[2 * p + 1];
+			if(isWellSeparated(v, w)){
+				pairs[2 * numberOfRemainingPairs] = v;
+				pairs[2 * numberOfRemainingPairs + 1] = w;
+				numberOfRemainingPairs++;
+			}
+			else{
+				if(2 * numberOfPairsNotWellSeparated + 2 > pairsNotWellSeparated.length){
+					pairsNotWellSeparated = Arrays.copyOf(pairsNotWellSeparated,
+							Math.max(32, 2 * pairsNotWellSeparated.length));
+				}
+				pairsNotWellSeparated[2 * numberOfPairsNotWellSeparated] = v;
+				pairsNotWellSeparated[2 * numberOfPairsNotWellSeparated + 1] = w;
+				numberOfPairsNotWellSeparated++;
+			}
+		}
+		int maximalNumberOfPairs = (int) Math.min(Integer.MAX_VALUE,
+				(long) numberOfPairs + maximalNumberOfNewPairs + 1);
+		numberOfPairs = numberOfRemainingPairs;
+		for(int p=0; p<numberOfPairsNotWellSeparated && numberOfPairs < maximalNumberOfPairs; p++){
+			findPairs(pairsNotWellSeparated[2 * p], pairsNotWellSeparated[2 * p + 1], maximalNumberOfPairs);
+		}
+		if(numberOfPairs >= maximalNumberOfPairs){
+			return -1;
+		}
+		return numberOfPairsNotWellSeparated;
+	}
+
+	/**
+	 * Same as {@link WellSeparatedPairDecomposition#getMaximalMovementKeepingAllPairsWellSeparated()}
+	 */
+	public double getMaximalMovementKeepingAllPairsWellSeparated(){
+		double minSlack = Double.POSITIVE_INFINITY;
+		for(int p=0; p<numberOfPairs; p++){
+			int v = pairs[2 * p];
+			int w = pairs[2 * p + 1];
+			double slack = getDistanceOfTheCenters(v, w) - (s+2) * Math.max(getRadius(v), getRadius(w));
+			if(slack < minSlack){
+				minSlack = slack;
+			}
+		}
+		if(!(minSlack > 0)){
+			return 0;
+		}
+		return minSlack / (Math.sqrt(2) * (s+4));
+	}
+
+	/**
+	 * @param s
+	 * @return
+	 * 		true if every pair is well-separated with respect to the passed s
+	 * 		(and the current bounding rectangles of the {@link ArraySplitTree})
+	 */
+	public boolean areAllPairsWellSeparated(double s){
+		for(int p=0; p<numberOfPairs; p++){
+			if(!isWellSeparated(pairs[2 * p], pairs[2 * p + 1], s)){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Same as {@link WellSeparatedPairDecomposition#isWellSeparated(SplitTreeNode, SplitTreeNode)}
+	 * for two nodes of the {@link ArraySplitTree}
+	 */
+	public boolean isWellSeparated(int v, int w){
+		return isWellSeparated(v, w, this.s);
+	}
+
+	/**
+	 * Same as {@link WellSeparatedPairDecomposition#isWellSeparated(SplitTreeNode, SplitTreeNode, double)}
+	 * for two nodes of the {@link ArraySplitTree}
+	 */
+	public boolean isWellSeparated(int v, int w, double s){
+		return getDistanceOfTheCenters(v, w) >= (s+2) * Math.max(getRadius(v), getRadius(w));
+	}
+
+	/**
+	 * Distance of the centers of the bounding rectangles
+	 */
+	private double getDistanceOfTheCenters(int v, int w){
+		double xDelta = (t.getMinX(v) + t.getMaxX(v)) / 2 - (t.getMinX(w) + t.getMaxX(w)) / 2;
+		double yDelta = (t.getMinY(v) + t.getMaxY(v)) / 2 - (t.getMinY(w) + t.getMaxY(w)) / 2;
+		return Math.sqrt(xDelta * xDelta + yDelta * yDelta);
+	}
+
+	/**
+	 * Half of the diagonal of the bounding rectangle
+	 */
+	private double getRadius(int u){
+		double width = t.getMaxX(u) - t.getMinX(u);
+		double height = t.getMaxY(u) - t.getMinY(u);
+		return Math.sqrt(width * width + height * height) / 2;
+	}
+
+
+	/*
+	 * Getters
+	 */
+
+	public ArraySplitTree getSplitTree(){
+		return t;
+	}
+
+	public double getS(){
+		return s;
+	}
+
+	public int getNumberOfPairs(){
+		return numberOfPairs;
+	}
+
+	public int getFirstNodeOfPair(int p){
+		return pairs[2 * p];
+	}
+
+	public int getSecondNodeOfPair(int p){
+		return pairs[2 * p + 1];
+	}
+}
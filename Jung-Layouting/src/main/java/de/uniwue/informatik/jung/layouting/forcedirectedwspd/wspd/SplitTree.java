@@ -159,10 +159,10 @@ public class SplitTree<V>{
 				double maxX = Double.NEGATIVE_INFINITY;
 				double maxY = Double.NEGATIVE_INFINITY;
 				for(SplitTreeNode<V> child: getChildren(stn)){
-					if(minX<getBoundingRectangle(child).getX()){
+					if(minX>getBoundingRectangle(child).getX()){
 						minX = getBoundingRectangle(child).getX();
 					}
-					if(minY<getBoundingRectangle(child).getY()){
+					if(minY>getBoundingRectangle(child).getY()){
 						minY = getBoundingRectangle(child).getY();
 					}
 					if(maxX<getBoundingRectangle(child).getX()+getBoundingRectangle(child).getWidth()){
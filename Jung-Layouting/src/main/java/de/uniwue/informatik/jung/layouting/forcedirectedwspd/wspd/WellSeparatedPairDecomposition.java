@@ -42,6 +42,13 @@ public class WellSeparatedPairDecomposition<V> {
 	 */
 	private double s;
 	
+	/**
+	 * {@link WellSeparatedPairDecomposition#findPairs(SplitTreeNode, SplitTreeNode)} does not add pairs
+	 * when {@link WellSeparatedPairDecomposition#wellSeparatedPairs} has reached this size.
+	 * Only limited while repairing.
+	 */
+	private int maximalNumberOfPairs = Integer.MAX_VALUE;
+	
 	/**
 	 * Computes for the passed {@link SplitTree} t and the passed minimum-distance-factor s
 	 * a {@link WellSeparatedPairDecomposition} (WSPD).
@@ -125,6 +132,9 @@ public class WellSeparatedPairDecomposition<V> {
 	 * @param w
 	 */
 	private void findPairs(SplitTreeNode<V> v, SplitTreeNode<V> w) {
+		if(wellSeparatedPairs.size() >= maximalNumberOfPairs){
+			return;
+		}
 		if(isWellSeparated(v, w)){
 			SplitTreeNode[] newWellSeparatedPair = {v,w};
 			wellSeparatedPairs.add(newWellSeparatedPair);
@@ -145,6 +155,86 @@ public class WellSeparatedPairDecomposition<V> {
 		}
 	}
 
+	/**
+	 * Repairs this {@link WellSeparatedPairDecomposition} after the points have moved:
+	 * Every pair that is not well-separated with respect to s any more is removed and
+	 * {@link WellSeparatedPairDecomposition#findPairs(SplitTreeNode, SplitTreeNode)} is called for it again.
+	 * That splits it into well-separated pairs of the subtrees below its two parts.
+	 * So afterwards every pair of points is still covered by exactly one well-separated pair.
+	 * The {@link SplitTree} itself is not changed.
+	 * <p>
+	 * If the points have moved much, the parts of a pair may overlap a lot and splitting them may lead to very many
+	 * new pairs. Therefore the number of new pairs is limited.
+	 * <p>
+	 * The bounding rectangles of the {@link SplitTree} must be up to date,
+	 * see {@link SplitTree#recalculateAllBoundingRectangles()}.
+	 * 
+	 * @param maximalNumberOfNewPairs
+	 * 		maximal number of pairs that may be added (additionally to the number of removed pairs)
+	 * @return
+	 * 		the number of pairs that were not well-separated any more
+	 * 		or -1 if more new pairs would have been needed.
+	 * 		In the latter case this {@link WellSeparatedPairDecomposition} is incomplete and must be computed new!
+	 */
+	public int repairPairsThatAreNotWellSeparated(int maximalNumberOfNewPairs){
+		LinkedList<SplitTreeNode<V>[]> pairsNotWellSeparated = new LinkedList<SplitTreeNode<V>[]>();
+		Iterator<SplitTreeNode<V>[]> i = wellSeparatedPairs.iterator();
+		while(i.hasNext()){
+			SplitTreeNode<V>[] pair = i.next();
+			if(!isWellSeparated(pair[0], pair[1])){
+				pairsNotWellSeparated.add(pair);
+				i.remove();
+			}
+		}
+		maximalNumberOfPairs = (int) Math.min(Integer.MAX_VALUE,
+				(long) wellSeparatedPairs.size() + pairsNotWellSeparated.size() + maximalNumberOfNewPairs + 1);
+		for(SplitTreeNode<V>[] pair: pairsNotWellSeparated){
+			findPairs(pair[0], pair[1]);
+		}
+		boolean limitReached = wellSeparatedPairs.size() >= maximalNumberOfPairs;
+		maximalNumberOfPairs = Integer.MAX_VALUE;
+		if(limitReached){
+			return -1;
+		}
+		return pairsNotWellSeparated.size();
+	}
+	
+	/**
+	 * Returns how far every point may move at most such that all pairs are still well-separated
+	 * with respect to s (without recomputing or repairing anything).
+	 * <p>
+	 * If every point moves by at most delta, the bounding rectangle of a point set grows by at most delta
+	 * on every side. So its center moves by at most sqrt(2)*delta and half of its diagonal (the radius used in
+	 * {@link WellSeparatedPairDecomposition#isWellSeparated(SplitTreeNode, SplitTreeNode, double)})
+	 * grows by at most sqrt(2)*delta.
+	 * With D being the distance of the centers and r the larger radius a pair stays well-separated if
+	 * D - 2*sqrt(2)*delta &gt;= (s+2)*(r + sqrt(2)*delta), i.e. if delta &lt;= (D - (s+2)*r) / (sqrt(2)*(s+4)).
+	 * The minimum over all pairs is returned.
+	 * <p>
+	 * The bounding rectangles of the {@link SplitTree} must be up to date,
+	 * see {@link SplitTree#recalculateAllBoundingRectangles()}.
+	 * 
+	 * @return
+	 * 		0 if some pair is not well-separated already
+	 */
+	public double getMaximalMovementKeepingAllPairsWellSeparated(){
+		double minSlack = Double.POSITIVE_INFINITY;
+		for(SplitTreeNode<V>[] pair: wellSeparatedPairs){
+			Point2D centerV = pair[0].r.getCenter();
+			Point2D centerW = pair[1].r.getCenter();
+			double radius = Math.max(pair[0].r.getLengthOfTheDiagonal()/2, pair[1].r.getLengthOfTheDiagonal()/2);
+			double slack = Point2D.distance(centerV.getX(), centerV.getY(), centerW.getX(), centerW.getY())
+					- (s+2)*radius;
+			if(slack < minSlack){
+				minSlack = slack;
+			}
+		}
+		if(!(minSlack > 0)){
+			return 0;
+		}
+		return minSlack / (Math.sqrt(2) * (s+4));
+	}
+	
 	/**
 	 * Checks if the two point sets, each represented by one {@link SplitTreeNode},
 	 * are well-separated with respect to s.
@@ -0,0 +1,34 @@
+package de.uniwue.informatik.praline.benchmarks;
+
+import de.uniwue.informatik.praline.layouting.layered.algorithm.SugiyamaLayouter;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.crossingreduction.CrossingMinimization;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class CrossingMinimizationBenchmark {
+
+    private SugiyamaLayouter sugy;
+
+    //the layer sweep changes the port structure of the graph, so we need a fresh one for each invocation
+    @Setup(Level.Invocation)
+    public void setUp(GraphParameters parameters) {
+        sugy = LayeredPipeline.upToCrossingMinimization(parameters.createGraph());
+    }
+
+    @Benchmark
+    public Object layerSweepWithBarycenterHeuristic() {
+        CrossingMinimization cm = new CrossingMinimization(sugy, new Random(GraphParameters.SEED));
+        return cm.layerSweepWithBarycenterHeuristic(SugiyamaLayouter.DEFAULT_CROSSING_MINIMIZATION_METHOD,
+                sugy.getOrders(), true, CrossingMinimization.DEFAULT_MOVE_PORTS_ADJ_TO_TURNING_DUMMIES_TO_THE_OUTSIDE,
+                CrossingMinimization.DEFAULT_PLACE_TURNING_DUMMIES_NEXT_TO_THEIR_VERTEX, false,
+                CrossingMinimization.DEFAULT_HANDLING_DEAD_ENDS);
+    }
+}
@@ -0,0 +1,32 @@
+package de.uniwue.informatik.praline.benchmarks;
+
+import de.uniwue.informatik.praline.datastructure.graphs.Graph;
+import de.uniwue.informatik.praline.io.output.util.DrawingInformation;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.SugiyamaLayouter;
+import de.uniwue.informatik.praline.layouting.layered.main.util.CrossingsCounting;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class CrossingsCountingBenchmark {
+
+    private Graph drawnGraph;
+
+    //counting does not change the drawing, so we lay out the graph only once
+    @Setup(Level.Trial)
+    public void setUp(GraphParameters parameters) {
+        drawnGraph = parameters.createGraph();
+        new SugiyamaLayouter(drawnGraph, new DrawingInformation(), GraphParameters.SEED).computeLayout();
+    }
+
+    @Benchmark
+    public int countNumberOfCrossings() {
+        return CrossingsCounting.countNumberOfCrossings(drawnGraph);
+    }
+}
@@ -0,0 +1,30 @@
+package de.uniwue.informatik.praline.benchmarks;
+
+import de.uniwue.informatik.praline.layouting.layered.algorithm.SugiyamaLayouter;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.edgerouting.EdgeRouting;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class EdgeRoutingBenchmark {
+
+    private SugiyamaLayouter sugy;
+
+    //edge routing adds paths and moves vertices, so we need a fresh layouter for each invocation
+    @Setup(Level.Invocation)
+    public void setUp(GraphParameters parameters) {
+        sugy = LayeredPipeline.upToEdgeRouting(parameters.createGraph());
+    }
+
+    @Benchmark
+    public SugiyamaLayouter routeEdges() {
+        new EdgeRouting(sugy, sugy.getOrders(), sugy.getDrawingInformation()).routeEdges();
+        return sugy;
+    }
+}
@@ -0,0 +1,45 @@
+package de.uniwue.informatik.praline.benchmarks;
+
+import de.uniwue.informatik.praline.datastructure.graphs.Graph;
+import de.uniwue.informatik.praline.datastructure.utils.SyntheticGraphGenerator;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Parameters of the synthetic graphs (see {@link SyntheticGraphGenerator}) the benchmarks run on; override them on
+ * the command line, e.g. {@code -p vertices=100,1000,10000 -p hyperedgeRatio=0.2}.
+ */
+@State(Scope.Benchmark)
+public class GraphParameters {
+
+    public static final long SEED = 1L;
+
+    @Param({"100", "1000", "5000"})
+    public int vertices;
+
+    @Param({"1.5"})
+    public double edgesPerVertex;
+
+    @Param({"0.0", "0.3"})
+    public double portGroupRatio;
+
+    @Param({"0.0", "0.1"})
+    public double vertexGroupRatio;
+
+    @Param({"0.0", "0.05"})
+    public double hyperedgeRatio;
+
+    @Param({"0.0"})
+    public double edgeBundleRatio;
+
+    public Graph createGraph() {
+        SyntheticGraphGenerator generator = new SyntheticGraphGenerator(SEED);
+        generator.setEdgesPerVertex(edgesPerVertex);
+        generator.setPortGroupRatio(portGroupRatio);
+        generator.setVertexGroupRatio(vertexGroupRatio);
+        generator.setHyperedgeRatio(hyperedgeRatio);
+        generator.setEdgeBundleRatio(edgeBundleRatio);
+        return generator.generate(vertices);
+    }
+}
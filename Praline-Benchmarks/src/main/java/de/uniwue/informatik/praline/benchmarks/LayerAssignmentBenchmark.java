@@ -0,0 +1,29 @@
+package de.uniwue.informatik.praline.benchmarks;
+
+import de.uniwue.informatik.praline.layouting.layered.algorithm.SugiyamaLayouter;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.layerassignment.LayerAssignmentNetworkSimplex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class LayerAssignmentBenchmark {
+
+    private SugiyamaLayouter sugy;
+
+    //the layer assignment changes the layouter, so we need a fresh one for each invocation
+    @Setup(Level.Invocation)
+    public void setUp(GraphParameters parameters) {
+        sugy = LayeredPipeline.upToLayerAssignment(parameters.createGraph());
+    }
+
+    @Benchmark
+    public Object networkSimplex() {
+        return new LayerAssignmentNetworkSimplex(sugy, null).assignLayers();
+    }
+}
@@ -0,0 +1,53 @@
+package de.uniwue.informatik.praline.benchmarks;
+
+import de.uniwue.informatik.praline.datastructure.graphs.Graph;
+import de.uniwue.informatik.praline.io.output.util.DrawingInformation;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.SugiyamaLayouter;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.preprocessing.DummyNodeCreation;
+
+/**
+ * Runs the phases of a {@link SugiyamaLayouter} with its default settings up to (excluding) the phase to be
+ * measured.
+ * The synthetic graphs are connected, so the layouters have a single component and the phase classes can be used
+ * directly.
+ */
+public class LayeredPipeline {
+
+    public static SugiyamaLayouter upToLayerAssignment(Graph graph) {
+        SugiyamaLayouter sugy = new SugiyamaLayouter(graph, new DrawingInformation(), GraphParameters.SEED);
+        sugy.construct();
+        sugy.assignDirections(SugiyamaLayouter.DEFAULT_CYCLE_BREAKING_METHOD,
+                SugiyamaLayouter.DEFAULT_DIRECTION_METHOD, SugiyamaLayouter.DEFAULT_NUMBER_OF_FD_ITERATIONS);
+        return sugy;
+    }
+
+    /**
+     * Afterwards the dummy nodes of the first crossing minimization phase exist (with all ports on the side of their
+     * edge direction).
+     */
+    public static SugiyamaLayouter upToCrossingMinimization(Graph graph) {
+        SugiyamaLayouter sugy = upToLayerAssignment(graph);
+        sugy.assignLayers(SugiyamaLayouter.DEFAULT_LAYER_ASSIGNMENT_METHOD,
+                SugiyamaLayouter.DEFAULT_DIRECTION_METHOD);
+        DummyNodeCreation dnc = new DummyNodeCreation(sugy);
+        dnc.assignWrongSidePortsTemporaryToOtherSide();
+        dnc.createDummyNodesForEdges();
+        return sugy;
+    }
+
+    public static SugiyamaLayouter upToNodePlacement(Graph graph) {
+        SugiyamaLayouter sugy = upToLayerAssignment(graph);
+        sugy.assignLayers(SugiyamaLayouter.DEFAULT_LAYER_ASSIGNMENT_METHOD,
+                SugiyamaLayouter.DEFAULT_DIRECTION_METHOD);
+        sugy.createDummyNodesAndDoCrossingMinimization(SugiyamaLayouter.DEFAULT_CROSSING_MINIMIZATION_METHOD,
+                SugiyamaLayouter.DEFAULT_NUMBER_OF_CM_ITERATIONS);
+        return sugy;
+    }
+
+    public static SugiyamaLayouter upToEdgeRouting(Graph graph) {
+        SugiyamaLayouter sugy = upToNodePlacement(graph);
+        sugy.nodePositioning(SugiyamaLayouter.DEFAULT_ALIGNMENT_METHOD,
+                SugiyamaLayouter.DEFAULT_ALIGNMENT_PREFERENCE);
+        return sugy;
+    }
+}
@@ -0,0 +1,31 @@
+package de.uniwue.informatik.praline.benchmarks;
+
+import de.uniwue.informatik.praline.layouting.layered.algorithm.SugiyamaLayouter;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.nodeplacement.NodePlacement;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class NodePlacementBenchmark {
+
+    private SugiyamaLayouter sugy;
+
+    //node placement adds dummy ports to the graph, so we need a fresh one for each invocation
+    @Setup(Level.Invocation)
+    public void setUp(GraphParameters parameters) {
+        sugy = LayeredPipeline.upToNodePlacement(parameters.createGraph());
+    }
+
+    @Benchmark
+    public Object placeNodes() {
+        NodePlacement np = new NodePlacement(sugy, sugy.getOrders(), sugy.getDrawingInformation());
+        return np.placeNodes(SugiyamaLayouter.DEFAULT_DETERMINE_SIDE_LENGTHS_OF_NODES,
+                SugiyamaLayouter.DEFAULT_ALIGNMENT_METHOD, SugiyamaLayouter.DEFAULT_ALIGNMENT_PREFERENCE);
+    }
+}
@@ -0,0 +1,37 @@
+package de.uniwue.informatik.praline.benchmarks;
+
+import de.uniwue.informatik.praline.datastructure.graphs.Graph;
+import de.uniwue.informatik.praline.datastructure.utils.Serialization;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationBenchmark {
+
+    private File file;
+
+    @Setup(Level.Trial)
+    public void setUp(GraphParameters parameters) throws IOException {
+        file = File.createTempFile("praline-benchmark", ".json");
+        Files.writeString(file.toPath(), Serialization.write(parameters.createGraph()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public Graph read() throws IOException {
+        return Serialization.read(file, Graph.class);
+    }
+}
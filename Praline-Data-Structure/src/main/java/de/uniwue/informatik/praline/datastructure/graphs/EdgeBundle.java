@@ -8,11 +8,10 @@ import de.uniwue.informatik.praline.datastructure.labels.LabelManager;
 import de.uniwue.informatik.praline.datastructure.labels.LabeledObject;
 import de.uniwue.informatik.praline.datastructure.styles.LabelStyle;
 import de.uniwue.informatik.praline.datastructure.utils.EqualLabeling;
+import de.uniwue.informatik.praline.datastructure.utils.IndexedArrayList;
 
 import java.util.*;
 
-import static de.uniwue.informatik.praline.datastructure.utils.GraphUtils.newArrayListNullSafe;
-
 /**
  * Via an {@link EdgeBundle} you may group {@link Edge}s and further {@link EdgeBundle}s together.
  * {@link EdgeBundle}s should build a tree-structure (and not something more complicated).
@@ -89,11 +88,11 @@ public class EdgeBundle implements LabeledObject, ReferenceObject, PropertyObjec
     public EdgeBundle(Collection<Edge> containedEdges, Collection<EdgeBundle> containedEdgeBundles,
                       Collection<Label<? extends LabelStyle>> labels, Label<? extends LabelStyle> mainlabel,
                       Map<String, String> properties) {
-        this.containedEdges = newArrayListNullSafe(containedEdges);
+        this.containedEdges = new IndexedArrayList<>(containedEdges);
         for (Edge e : this.containedEdges) {
             e.setEdgeBundle(this);
         }
-        this.containedEdgeBundles = newArrayListNullSafe(containedEdgeBundles);
+        this.containedEdgeBundles = new IndexedArrayList<>(containedEdgeBundles);
         for (EdgeBundle eb : this.containedEdgeBundles) {
             eb.setEdgeBundle(this);
         }
@@ -200,7 +199,7 @@ public class EdgeBundle implements LabeledObject, ReferenceObject, PropertyObjec
      *==========*/
 
     public boolean addEdge(Edge e) {
-        if (this.getAllRecursivelyContainedEdges().contains(e)) {
+        if (containsRecursively(e)) {
             return false;
         }
         containedEdges.add(e);
@@ -238,7 +237,7 @@ public class EdgeBundle implements LabeledObject, ReferenceObject, PropertyObjec
     }
 
     public boolean addEdgeBundle(EdgeBundle eb) {
-        if (this.getAllRecursivelyContainedEdgeBundles().contains(eb)) {
+        if (containsRecursively(eb)) {
             return false;
         }
         containedEdgeBundles.add(eb);
@@ -268,6 +267,35 @@ public class EdgeBundle implements LabeledObject, ReferenceObject, PropertyObjec
     }
 
 
+    /*==========
+     * Internal
+     *==========*/
+
+    private boolean containsRecursively(Edge e) {
+        if (containedEdges.contains(e)) {
+            return true;
+        }
+        for (EdgeBundle containedEdgeBundle : containedEdgeBundles) {
+            if (containedEdgeBundle.containsRecursively(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean containsRecursively(EdgeBundle eb) {
+        if (containedEdgeBundles.contains(eb)) {
+            return true;
+        }
+        for (EdgeBundle containedEdgeBundle : containedEdgeBundles) {
+            if (containedEdgeBundle.containsRecursively(eb)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
     /*==========
      * toString
      *==========*/
@@ -4,14 +4,13 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import de.uniwue.informatik.praline.datastructure.utils.EqualLabeling;
+import de.uniwue.informatik.praline.datastructure.utils.IndexedArrayList;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
-import static de.uniwue.informatik.praline.datastructure.utils.GraphUtils.newArrayListNullSafe;
-
 /**
  * This is the top-level class of the praline data structure containing all elements of a network.
  * The network represented by an instance of {@link Graph} may in practice e. g. be a circuit diagram or a computer
@@ -27,6 +26,9 @@ import static de.uniwue.informatik.praline.datastructure.utils.GraphUtils.newArr
  * Lower-level elements are contained hierarchically in higher-level elements.
  * {@link Port}s are contained in the vertices, {@link PortPairing}s are contained in {@link VertexGroup}s and
  * similar with other elements of the network.
+ *
+ * Each element is contained at most once in these lists (adding it a second time has no effect); they keep the
+ * order in which the elements were added and they allow checking containment and removing elements in O(1) time.
  */
 @JsonIgnoreProperties({ "allRecursivelyContainedVertexGroups", "allRecursivelyContainedEdgeBundles" })
 public class Graph {
@@ -76,10 +78,10 @@ public class Graph {
             @JsonProperty("edges") final Collection<Edge> edges,
             @JsonProperty("edgeBundles") final Collection<EdgeBundle> edgeBundles
     ) {
-        this.vertices = newArrayListNullSafe(vertices);
-        this.vertexGroups = newArrayListNullSafe(vertexGroups);
-        this.edges = newArrayListNullSafe(edges);
-        this.edgeBundles = newArrayListNullSafe(edgeBundles);
+        this.vertices = new IndexedArrayList<>(vertices);
+        this.vertexGroups = new IndexedArrayList<>(vertexGroups);
+        this.edges = new IndexedArrayList<>(edges);
+        this.edgeBundles = new IndexedArrayList<>(edgeBundles);
     }
 
 
@@ -189,16 +189,16 @@ public class PortGroup implements PortComposition, ReferenceObject, PropertyObje
      *==========*/
 
     private static void setVertexRecursivelyToAllPortCompositions(PortComposition pc, Vertex vertex) {
-        //potentially remove from port set of vertex
-        if (vertex == null && pc.getVertex() != null && pc instanceof Port) {
-            pc.getVertex().removePortFromPortSet((Port) pc);
+        //potentially remove from the index of the old vertex
+        if (pc.getVertex() != null && pc.getVertex() != vertex) {
+            pc.getVertex().unregisterPortComposition(pc);
         }
 
         pc.setVertex(vertex);
 
-        //potentially add to port set of vertex
+        //potentially add to the index of the new vertex
         if (vertex != null) {
-            vertex.updatePortsOfVertex(pc);
+            vertex.registerPortComposition(pc);
         }
 
         if (pc instanceof PortGroup) {
@@ -47,6 +47,11 @@ public class Vertex implements ShapedObject, LabeledObject, ReferenceObject, Pro
      */
     private final List<PortComposition> portCompositions;
     private final LinkedHashSet<Port> ports;
+    /**
+     * all {@link PortComposition}s contained on any level (incl. the top level), updated on every change of the
+     * hierarchy, so that we can check containment in O(1)
+     */
+    private final Set<PortComposition> allPortCompositions;
     private VertexGroup vertexGroup;
     protected final LabelManager labelManager;
     protected Shape shape;
@@ -112,6 +117,7 @@ public class Vertex implements ShapedObject, LabeledObject, ReferenceObject, Pro
     public Vertex(Collection<PortComposition> portCompositions, Collection<Label<? extends LabelStyle>> labels,
                   Label<? extends LabelStyle> mainLabel, Shape shape, Map<String, String> properties) {
         this.ports = new LinkedHashSet<>();
+        this.allPortCompositions = Collections.newSetFromMap(new IdentityHashMap<>());
         this.portCompositions = new ArrayList<>();
         if (portCompositions != null) {
             //find top level PortCompositions and lower level ones
@@ -123,7 +129,7 @@ public class Vertex implements ShapedObject, LabeledObject, ReferenceObject, Pro
             //add only the top level ones to our list + reference this vertex at each port composition
             for (PortComposition portComposition : portCompositions) {
                 if (!allLowerLevelPortCompositions.contains(portComposition) &&
-                        !this.portCompositions.contains(portComposition)) {
+                        !this.allPortCompositions.contains(portComposition)) {
                     this.portCompositions.add(portComposition);
                     assignPortCompositionRecursivelyToVertex(portComposition, this);
                 }
@@ -210,16 +216,8 @@ public class Vertex implements ShapedObject, LabeledObject, ReferenceObject, Pro
      * @return
      */
     public boolean addPortComposition(PortComposition pc) {
-        //check if already contained
-        LinkedHashSet<PortComposition> allAlreadyContainedPortCompositions = new LinkedHashSet<>();
-        for (PortComposition currPortComposition : portCompositions) {
-            getContainedPortCompositionsAndAllPorts(allAlreadyContainedPortCompositions, new LinkedHashSet<>(),
-                    currPortComposition);
-            allAlreadyContainedPortCompositions.add(currPortComposition);
-        }
-
         //is already contained -> do nothing
-        if (allAlreadyContainedPortCompositions.contains(pc)) {
+        if (allPortCompositions.contains(pc)) {
             return false;
         }
         //not yet contained -> add it
@@ -231,12 +229,10 @@ public class Vertex implements ShapedObject, LabeledObject, ReferenceObject, Pro
             pc.getVertex().removePortComposition(pc);
         }
 
+        //this also registers the ports of the newly added PortComposition
         portCompositions.add(pc);
         assignPortCompositionRecursivelyToVertex(pc, this);
 
-        //find ports of newly added PortComposition
-        updatePortsOfVertex(pc);
-
         return true;
     }
 
@@ -247,32 +243,20 @@ public class Vertex implements ShapedObject, LabeledObject, ReferenceObject, Pro
      * by removing {@link Port}s contained in the passed {@link PortComposition})
      */
     public boolean removePortComposition(PortComposition pc) {
-        boolean success = false;
-        //check if top-level-composition
-        if (portCompositions.contains(pc)) {
-            success = portCompositions.remove(pc);
+        if (!allPortCompositions.contains(pc)) {
+            return false;
         }
-        //check if lower-level-composition contains it
-        for (PortComposition topLevelPortComposition : portCompositions) {
-            success = success | removeIfContained(pc, topLevelPortComposition);
+        boolean success;
+        if (pc.getPortGroup() != null) {
+            //lower-level-composition; the port group also un-links it (and its ports) from this vertex
+            success = pc.getPortGroup().removePortComposition(pc);
         }
-
-        //remove contained ports if necessary
-        if (success) {
-            //un-link from this vertex
-            assignPortCompositionRecursivelyToVertex(pc, null);
-            //find ports that are now alive after the previous removal
-            LinkedHashSet<Port> currentPorts = new LinkedHashSet<>();
-            for (PortComposition topLevelPortComposition : portCompositions) {
-                getContainedPortCompositionsAndAllPorts(new LinkedHashSet<>(), currentPorts, topLevelPortComposition);
-            }
-            //compare this newly alive ports with the previously alive ports
-            for (Port oldPort : new ArrayList<>(ports)) {
-                if (!currentPorts.contains(oldPort)) {
-                    success = success & removePortCleanly(oldPort);
-                }
-            }
+        else {
+            //top-level-composition
+            success = portCompositions.remove(pc);
         }
+        //un-link from this vertex and remove contained ports
+        assignPortCompositionRecursivelyToVertex(pc, null);
 
         return success;
     }
@@ -282,14 +266,24 @@ public class Vertex implements ShapedObject, LabeledObject, ReferenceObject, Pro
      * Internal
      *==========*/
 
-    protected void updatePortsOfVertex(PortComposition pc) {
-        LinkedHashSet<Port> newPorts = new LinkedHashSet<>();
-        getContainedPortCompositionsAndAllPorts(new LinkedHashSet<>(), newPorts, pc);
-        this.ports.addAll(newPorts);
+    /**
+     * Registers pc (but not its lower level {@link PortComposition}s) as contained in this vertex
+     */
+    protected void registerPortComposition(PortComposition pc) {
+        allPortCompositions.add(pc);
+        if (pc instanceof Port) {
+            ports.add((Port) pc);
+        }
     }
 
-    protected void removePortFromPortSet(Port p) {
-        ports.remove(p);
+    /**
+     * Reverts {@link Vertex#registerPortComposition(PortComposition)}
+     */
+    protected void unregisterPortComposition(PortComposition pc) {
+        allPortCompositions.remove(pc);
+        if (pc instanceof Port) {
+            ports.remove(pc);
+        }
     }
 
     private void getContainedPortCompositionsAndAllPorts(LinkedHashSet<PortComposition> allLowerLevelPortCompositions,
@@ -310,44 +304,15 @@ public class Vertex implements ShapedObject, LabeledObject, ReferenceObject, Pro
         }
     }
 
-    private boolean removeIfContained(PortComposition removeThis, PortComposition fromThis) {
-        if (fromThis instanceof PortGroup) {
-            boolean success = false;
-            //is contained
-            if (((PortGroup) fromThis).getPortCompositions().contains(removeThis)) {
-                return ((PortGroup) fromThis).removePortComposition(removeThis);
-            }
-            //not on this level contained but possibly on a lower level -> go into recursion
-            for (PortComposition portComposition : ((PortGroup) fromThis).getPortCompositions()) {
-                success = success | removeIfContained(removeThis, portComposition);
-            }
-            return success;
-        }
-        return false;
-    }
-
-    private boolean removePortCleanly(Port port) {
-//        //remove it from possibly existing PortPairings
-//        if (this.getVertexGroup() != null) {
-//            for (PortPairing portPairing : new ArrayList<>(this.getVertexGroup().getPortPairings())) {
-//                if (portPairing.getPorts().contains(port)) {
-//                    this.getVertexGroup().removePortPairing(portPairing);
-//                }
-//            }
-//        }
-//
-//        //remove references at edges
-//        for (Edge edge : new ArrayList<>(port.getEdges())) {
-//            edge.removePort(port);
-//        }
-
-        //remove it from the hash set storing the ports for convenience (easier querying)
-        return this.ports.remove(port);
-    }
-
     private static void assignPortCompositionRecursivelyToVertex(PortComposition topLevelPortComposition,
                                                                  Vertex vertex) {
+        if (topLevelPortComposition.getVertex() != null && topLevelPortComposition.getVertex() != vertex) {
+            topLevelPortComposition.getVertex().unregisterPortComposition(topLevelPortComposition);
+        }
         topLevelPortComposition.setVertex(vertex);
+        if (vertex != null) {
+            vertex.registerPortComposition(topLevelPortComposition);
+        }
         if (topLevelPortComposition instanceof PortGroup) {
             for (PortComposition childPortComposition : ((PortGroup) topLevelPortComposition).getPortCompositions()) {
                 assignPortCompositionRecursivelyToVertex(childPortComposition, vertex);
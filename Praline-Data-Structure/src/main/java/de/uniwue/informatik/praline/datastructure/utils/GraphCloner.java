@@ -0,0 +1,294 @@
+package de.uniwue.informatik.praline.datastructure.utils;
+
+import de.uniwue.informatik.praline.datastructure.graphs.*;
+import de.uniwue.informatik.praline.datastructure.labels.*;
+import de.uniwue.informatik.praline.datastructure.oldUnstyledObjects.OldUnstyledTextLabel;
+import de.uniwue.informatik.praline.datastructure.paths.Path;
+import de.uniwue.informatik.praline.datastructure.paths.PolygonalPath;
+import de.uniwue.informatik.praline.datastructure.shapes.Shape;
+import de.uniwue.informatik.praline.datastructure.styles.LabelStyle;
+import de.uniwue.informatik.praline.datastructure.styles.TextLabelStyle;
+
+import java.awt.geom.Point2D;
+import java.util.*;
+
+/**
+ * Creates deep copies of {@link Graph}s without going through JSON, e.g., to lay out the same input graph several
+ * times (a layouter modifies the graph it gets).
+ * <p>
+ * All vertices, ports, port groups, port pairings, touching pairs, vertex groups, edges, edge bundles, labels,
+ * shapes and paths are copied.
+ * An element referenced from several places (e.g. a vertex contained in the vertex list and in a vertex group or a
+ * main label that is also in the list of labels) is copied only once and all these places reference the same copy.
+ * Styles ({@link LabelStyle}, {@link de.uniwue.informatik.praline.datastructure.styles.PathStyle},
+ * {@link de.uniwue.informatik.praline.datastructure.styles.ShapeStyle}) are templates and are shared between the
+ * original and the copy.
+ * <p>
+ * After {@link GraphCloner#copy(Graph)}, {@link GraphCloner#getCopy(Object)} returns the copy of an element of the
+ * original graph.
+ */
+public class GraphCloner {
+
+    private Map<Object, Object> copies = new IdentityHashMap<>();
+
+    /**
+     * Creates a deep copy of a graph in a single call.
+     *
+     * @param graph
+     * @return
+     */
+    public static Graph deepCopy(Graph graph) {
+        return new GraphCloner().copy(graph);
+    }
+
+    /**
+     * @param graph
+     *      elements that are not reachable from the lists of the graph (e.g. an edge at a port of the graph that is
+     *      not in {@link Graph#getEdges()}) are not copied
+     * @return
+     */
+    public Graph copy(Graph graph) {
+        //each vertex and edge comes with about one port and one label
+        copies = new IdentityHashMap<>(4 * (graph.getVertices().size() + graph.getEdges().size()));
+        List<Vertex> vertices = new ArrayList<>(graph.getVertices().size());
+        for (Vertex vertex : graph.getVertices()) {
+            vertices.add(copyVertex(vertex));
+        }
+        List<Edge> edges = new ArrayList<>(graph.getEdges().size());
+        for (Edge edge : graph.getEdges()) {
+            edges.add(copyEdge(edge));
+        }
+        List<VertexGroup> vertexGroups = new ArrayList<>(graph.getVertexGroups().size());
+        for (VertexGroup vertexGroup : graph.getVertexGroups()) {
+            vertexGroups.add(copyVertexGroup(vertexGroup));
+        }
+        List<EdgeBundle> edgeBundles = new ArrayList<>(graph.getEdgeBundles().size());
+        for (EdgeBundle edgeBundle : graph.getEdgeBundles()) {
+            edgeBundles.add(copyEdgeBundle(edgeBundle));
+        }
+        Graph copy = new Graph(vertices, vertexGroups, edges, edgeBundles);
+        copies.put(graph, copy);
+        return copy;
+    }
+
+    /**
+     * @param original
+     *      an element of the graph passed in the last call of {@link GraphCloner#copy(Graph)}
+     * @return
+     *      the copy of original or null if it has not been copied
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getCopy(T original) {
+        return (T) copies.get(original);
+    }
+
+    private Vertex copyVertex(Vertex vertex) {
+        Vertex copy = getCopy(vertex);
+        if (copy != null) {
+            return copy;
+        }
+        List<PortComposition> portCompositions = new ArrayList<>(vertex.getPortCompositions().size());
+        for (PortComposition portComposition : vertex.getPortCompositions()) {
+            portCompositions.add(copyPortComposition(portComposition));
+        }
+        LabelManager labelManager = vertex.getLabelManager();
+        copy = new Vertex(portCompositions, copyLabels(labelManager.getLabels()),
+                copyLabel(labelManager.getMainLabel()), copyShape(vertex.getShape()), vertex.getProperties());
+        copy.setReference(vertex.getReference());
+        copies.put(vertex, copy);
+        return copy;
+    }
+
+    private PortComposition copyPortComposition(PortComposition portComposition) {
+        if (portComposition instanceof Port) {
+            return copyPort((Port) portComposition);
+        }
+        PortGroup portGroup = (PortGroup) portComposition;
+        PortGroup copy = getCopy(portGroup);
+        if (copy != null) {
+            return copy;
+        }
+        List<PortComposition> portCompositions = new ArrayList<>(portGroup.getPortCompositions().size());
+        for (PortComposition member : portGroup.getPortCompositions()) {
+            portCompositions.add(copyPortComposition(member));
+        }
+        copy = new PortGroup(portCompositions, portGroup.isOrdered(), portGroup.getProperties());
+        copy.setReference(portGroup.getReference());
+        copies.put(portGroup, copy);
+        return copy;
+    }
+
+    private Port copyPort(Port port) {
+        Port copy = getCopy(port);
+        if (copy != null) {
+            return copy;
+        }
+        LabelManager labelManager = port.getLabelManager();
+        copy = new Port(null, copyLabels(labelManager.getLabels()), copyLabel(labelManager.getMainLabel()),
+                copyShape(port.getShape()), port.getProperties());
+        copy.setOrientationAtVertex(port.getOrientationAtVertex());
+        copy.setReference(port.getReference());
+        copies.put(port, copy);
+        return copy;
+    }
+
+    private Edge copyEdge(Edge edge) {
+        Edge copy = getCopy(edge);
+        if (copy != null) {
+            return copy;
+        }
+        List<Port> ports = new ArrayList<>(edge.getPorts().size());
+        for (Port port : edge.getPorts()) {
+            ports.add(copyPort(port));
+        }
+        List<Edge.DirAtPort> directedPorts = new ArrayList<>(ports.size());
+        for (Edge.DirAtPort directedPort : edge.getDirectedPorts()) {
+            directedPorts.add(new Edge.DirAtPort(directedPort.direction(), copyPort(directedPort.port())));
+        }
+        EdgeLabelManager labelManager = edge.getLabelManager();
+        Map<Port, List<Label<? extends LabelStyle>>> portLabels = new LinkedHashMap<>();
+        for (EdgeLabelManager.PairPort2Labels pair : labelManager.getAllPortLabels()) {
+            portLabels.put(copyPort(pair.port), copyLabels(pair.labels));
+        }
+        copy = new Edge(ports, directedPorts, copyLabels(labelManager.getInnerLabels()), portLabels,
+                copyLabel(labelManager.getMainLabel()), edge.getPathStyle(), edge.getProperties());
+        for (Path path : edge.getPaths()) {
+            copy.addPath(copyPath(path));
+        }
+        copy.setReference(edge.getReference());
+        copies.put(edge, copy);
+        return copy;
+    }
+
+    private VertexGroup copyVertexGroup(VertexGroup vertexGroup) {
+        VertexGroup copy = getCopy(vertexGroup);
+        if (copy != null) {
+            return copy;
+        }
+        List<Vertex> containedVertices = new ArrayList<>(vertexGroup.getContainedVertices().size());
+        for (Vertex vertex : vertexGroup.getContainedVertices()) {
+            containedVertices.add(copyVertex(vertex));
+        }
+        List<VertexGroup> containedVertexGroups = new ArrayList<>(vertexGroup.getContainedVertexGroups().size());
+        for (VertexGroup containedVertexGroup : vertexGroup.getContainedVertexGroups()) {
+            containedVertexGroups.add(copyVertexGroup(containedVertexGroup));
+        }
+        List<TouchingPair> touchingPairs = new ArrayList<>(vertexGroup.getTouchingPairs().size());
+        for (TouchingPair touchingPair : vertexGroup.getTouchingPairs()) {
+            touchingPairs.add(new TouchingPair(copyVertex(touchingPair.getVertex0()),
+                    touchingPair.getHorizontalPlacementVertex0(), touchingPair.getVerticalPlacementVertex0(),
+                    copyVertex(touchingPair.getVertex1()), touchingPair.getHorizontalPlacementVertex1(),
+                    touchingPair.getVerticalPlacementVertex1()));
+        }
+        List<PortPairing> portPairings = new ArrayList<>(vertexGroup.getPortPairings().size());
+        for (PortPairing portPairing : vertexGroup.getPortPairings()) {
+            PortPairing portPairingCopy = new PortPairing(copyPort(portPairing.getPort0()),
+                    copyPort(portPairing.getPort1()));
+            copies.put(portPairing, portPairingCopy);
+            portPairings.add(portPairingCopy);
+        }
+        LabelManager labelManager = vertexGroup.getLabelManager();
+        copy = new VertexGroup(containedVertices, containedVertexGroups, touchingPairs, portPairings,
+                copyLabels(labelManager.getLabels()), copyLabel(labelManager.getMainLabel()),
+                copyShape(vertexGroup.getShape()), vertexGroup.isDrawnFrame(), vertexGroup.getProperties());
+        copy.setReference(vertexGroup.getReference());
+        copies.put(vertexGroup, copy);
+        return copy;
+    }
+
+    private EdgeBundle copyEdgeBundle(EdgeBundle edgeBundle) {
+        EdgeBundle copy = getCopy(edgeBundle);
+        if (copy != null) {
+            return copy;
+        }
+        List<Edge> containedEdges = new ArrayList<>(edgeBundle.getContainedEdges().size());
+        for (Edge edge : edgeBundle.getContainedEdges()) {
+            containedEdges.add(copyEdge(edge));
+        }
+        List<EdgeBundle> containedEdgeBundles = new ArrayList<>(edgeBundle.getContainedEdgeBundles().size());
+        for (EdgeBundle containedEdgeBundle : edgeBundle.getContainedEdgeBundles()) {
+            containedEdgeBundles.add(copyEdgeBundle(containedEdgeBundle));
+        }
+        LabelManager labelManager = edgeBundle.getLabelManager();
+        copy = new EdgeBundle(containedEdges, containedEdgeBundles, copyLabels(labelManager.getLabels()),
+                copyLabel(labelManager.getMainLabel()), edgeBundle.getProperties());
+        copy.setReference(edgeBundle.getReference());
+        copies.put(edgeBundle, copy);
+        return copy;
+    }
+
+    private List<Label<? extends LabelStyle>> copyLabels(Collection<Label<? extends LabelStyle>> labels) {
+        List<Label<? extends LabelStyle>> copiedLabels = new ArrayList<>(labels.size());
+        for (Label<? extends LabelStyle> label : labels) {
+            copiedLabels.add(copyLabel(label));
+        }
+        return copiedLabels;
+    }
+
+    private Label<? extends LabelStyle> copyLabel(Label<? extends LabelStyle> label) {
+        if (label == null) {
+            return null;
+        }
+        Label<? extends LabelStyle> copy = getCopy(label);
+        if (copy != null) {
+            return copy;
+        }
+        if (label instanceof TextLabel) {
+            TextLabel textLabel = (TextLabel) label;
+            TextLabelStyle style = textLabel.getLabelStyle();
+            TextLabel textLabelCopy = label instanceof OldUnstyledTextLabel ?
+                    new OldUnstyledTextLabel(textLabel.getInputText(), style.getFont(), style.isNoBreak(),
+                            style.getColor(), style.getPlacement(), style.getHorizontalPlacement(),
+                            style.getVerticalPlacement(), style.isShowLabel(), copyShape(textLabel.getShape())) :
+                    new TextLabel(textLabel.getInputText(), style, copyShape(textLabel.getShape()));
+            textLabelCopy.setLabelStyle(style);
+            textLabelCopy.setLayoutText(textLabel.getLayoutText());
+            copy = textLabelCopy;
+        }
+        else if (label instanceof ReferenceIconLabel) {
+            ReferenceIconLabel iconLabel = (ReferenceIconLabel) label;
+            copy = new ReferenceIconLabel(iconLabel.getReference(), iconLabel.getLabelStyle(),
+                    copyShape(iconLabel.getShape()));
+        }
+        else if (label instanceof LeaderedLabel) {
+            LeaderedLabel leaderedLabel = (LeaderedLabel) label;
+            LabelManager labelManager = leaderedLabel.getLabelManager();
+            LeaderedLabel leaderedLabelCopy = new LeaderedLabel(copyShape(leaderedLabel.getArrowHead()),
+                    leaderedLabel.getPathStyle(), leaderedLabel.getLabelStyle(), copyShape(leaderedLabel.getShape()),
+                    copyLabels(labelManager.getLabels()), copyLabel(labelManager.getMainLabel()));
+            leaderedLabelCopy.setPath(copyPath(leaderedLabel.getPath()));
+            copy = leaderedLabelCopy;
+        }
+        else {
+            throw new UnsupportedOperationException("Copying labels of type " + label.getClass().getSimpleName()
+                    + " is not supported.");
+        }
+        copies.put(label, copy);
+        return copy;
+    }
+
+    private static Shape copyShape(Shape shape) {
+        return shape == null ? null : shape.clone();
+    }
+
+    private static Path copyPath(Path path) {
+        if (path == null) {
+            return null;
+        }
+        if (!(path instanceof PolygonalPath)) {
+            throw new UnsupportedOperationException("Copying paths of type " + path.getClass().getSimpleName()
+                    + " is not supported.");
+        }
+        PolygonalPath polygonalPath = (PolygonalPath) path;
+        List<Point2D.Double> bendPoints = new ArrayList<>(polygonalPath.getBendPoints().size());
+        for (Point2D.Double bendPoint : polygonalPath.getBendPoints()) {
+            bendPoints.add(copyPoint(bendPoint));
+        }
+        return new PolygonalPath(copyPoint(polygonalPath.getStartPoint()), copyPoint(polygonalPath.getEndPoint()),
+                bendPoints, polygonalPath.getPathStyle());
+    }
+
+    private static Point2D.Double copyPoint(Point2D.Double point) {
+        return point == null ? null : new Point2D.Double(point.getX(), point.getY());
+    }
+}
@@ -0,0 +1,150 @@
+package de.uniwue.informatik.praline.datastructure.utils;
+
+import java.util.*;
+
+/**
+ * A list without duplicates and without null entries that keeps its insertion order and supports
+ * {@link IndexedArrayList#contains(Object)}, {@link IndexedArrayList#remove(Object)} and
+ * {@link IndexedArrayList#add(Object)} (appending) in O(1) expected time.
+ * <p>
+ * Internally, removed elements leave a gap in the underlying array.
+ * The gaps are closed (in linear time) by the next access via a position, e.g. {@link IndexedArrayList#get(int)} or
+ * iteration, so many removals in a row followed by many accesses by position are cheap, while alternating single
+ * removals and accesses by position are as expensive as for an {@link ArrayList}.
+ * <p>
+ * Adding an element that is already contained does not change the list.
+ * Inserting or replacing elements at a position is not supported.
+ *
+ * @param <E>
+ */
+public class IndexedArrayList<E> extends AbstractList<E> implements RandomAccess {
+
+    private Object[] elements;
+    /**
+     * elements[0] to elements[end - 1] contain all elements and possibly gaps (null)
+     */
+    private int end;
+    private final Map<Object, Integer> positions;
+
+    public IndexedArrayList() {
+        this(null);
+    }
+
+    /**
+     * @param elements
+     *      null entries and duplicates are skipped; if this parameter is null, the list is initially empty
+     */
+    public IndexedArrayList(Collection<? extends E> elements) {
+        int capacity = elements == null ? 10 : Math.max(10, elements.size());
+        this.elements = new Object[capacity];
+        this.positions = new HashMap<>(2 * capacity);
+        if (elements != null) {
+            for (E element : elements) {
+                add(element);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return positions.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return positions.containsKey(o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!positions.containsKey(o)) {
+            return -1;
+        }
+        closeGaps();
+        return positions.get(o);
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size());
+        closeGaps();
+        return (E) elements[index];
+    }
+
+    /**
+     * @param e
+     * @return
+     *      false if e is null or already contained
+     */
+    @Override
+    public boolean add(E e) {
+        if (e == null || positions.containsKey(e)) {
+            return false;
+        }
+        if (end == elements.length) {
+            closeGaps();
+            if (end == elements.length) {
+                elements = Arrays.copyOf(elements, 2 * elements.length);
+            }
+        }
+        positions.put(e, end);
+        elements[end++] = e;
+        ++modCount;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        Integer position = positions.remove(o);
+        if (position == null) {
+            return false;
+        }
+        elements[position] = null;
+        //trailing gaps can be closed immediately
+        while (end > 0 && elements[end - 1] == null) {
+            --end;
+        }
+        ++modCount;
+        return true;
+    }
+
+    @Override
+    public E remove(int index) {
+        E element = get(index);
+        remove(element);
+        return element;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(elements, 0, end, null);
+        end = 0;
+        positions.clear();
+        ++modCount;
+    }
+
+    private void closeGaps() {
+        if (end == positions.size()) {
+            return;
+        }
+        int newEnd = 0;
+        for (int i = 0; i < end; i++) {
+            Object element = elements[i];
+            if (element != null) {
+                if (i != newEnd) {
+                    elements[newEnd] = element;
+                    positions.put(element, newEnd);
+                }
+                ++newEnd;
+            }
+        }
+        Arrays.fill(elements, newEnd, end, null);
+        end = newEnd;
+    }
+}
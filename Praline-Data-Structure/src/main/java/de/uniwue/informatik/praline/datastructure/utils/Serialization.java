@@ -68,6 +68,19 @@ public class Serialization {
         return mapper.writeValueAsString(graph);
     }
 
+    /**
+     * Writes the graph as JSON to a file.
+     * Unlike {@link Serialization#write(Graph)}, the JSON is streamed to the file, so this also works for graphs
+     * whose JSON string would be too large to keep in memory.
+     *
+     * @param graph Diagram to write
+     * @param file JSON file to write diagram to
+     * @throws IOException if writing the file fails
+     */
+    public static void write(Graph graph, File file) throws IOException {
+        mapper.writeValue(file, graph);
+    }
+
     /**
      * Writes the graph to a pretty printed JSON string.
      *
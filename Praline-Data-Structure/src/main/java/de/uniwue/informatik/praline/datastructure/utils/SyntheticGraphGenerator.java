@@ -0,0 +1,315 @@
+package de.uniwue.informatik.praline.datastructure.utils;
+
+import de.uniwue.informatik.praline.datastructure.graphs.*;
+import de.uniwue.informatik.praline.datastructure.labels.TextLabel;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Generates random connected {@link Graph}s in the praline format for scaling and load tests, e.g. with 10^2 to 10^6
+ * vertices.
+ * The same seed and parameters always yield the same graph.
+ * <p>
+ * The graphs contain the elements that occur in real plans:
+ * <ul>
+ *     <li>vertices with several ports; the degrees follow roughly a power law (preferential attachment)</li>
+ *     <li>port groups, some of them containing a nested port group</li>
+ *     <li>vertex groups of two touching vertices with port pairings (like plugs)</li>
+ *     <li>edge bundles of edges starting at the same vertex</li>
+ *     <li>hyperedges with 3 to 5 ports</li>
+ *     <li>labels: each vertex, port, vertex group and edge bundle has a main label, edges only some</li>
+ * </ul>
+ * Use {@link SyntheticGraphGenerator#generate(int, File)} to write a generated graph directly to a JSON file.
+ */
+public class SyntheticGraphGenerator {
+
+    public static final double DEFAULT_EDGES_PER_VERTEX = 1.5;
+    public static final double DEFAULT_HYPEREDGE_RATIO = 0.05;
+    public static final double DEFAULT_PORT_GROUP_RATIO = 0.3;
+    public static final double DEFAULT_NESTED_PORT_GROUP_RATIO = 0.3;
+    public static final double DEFAULT_VERTEX_GROUP_RATIO = 0.1;
+    public static final double DEFAULT_EDGE_BUNDLE_RATIO = 0.1;
+    public static final double DEFAULT_EDGE_LABEL_RATIO = 0.5;
+
+    private final long seed;
+    private double edgesPerVertex = DEFAULT_EDGES_PER_VERTEX;
+    private double hyperedgeRatio = DEFAULT_HYPEREDGE_RATIO;
+    private double portGroupRatio = DEFAULT_PORT_GROUP_RATIO;
+    private double nestedPortGroupRatio = DEFAULT_NESTED_PORT_GROUP_RATIO;
+    private double vertexGroupRatio = DEFAULT_VERTEX_GROUP_RATIO;
+    private double edgeBundleRatio = DEFAULT_EDGE_BUNDLE_RATIO;
+    private double edgeLabelRatio = DEFAULT_EDGE_LABEL_RATIO;
+
+    public SyntheticGraphGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @param numberOfVertices
+     *      the vertices of the graph (at least 2); it also gets additional vertices for vertex groups
+     * @return
+     */
+    public Graph generate(int numberOfVertices) {
+        if (numberOfVertices < 2) {
+            throw new IllegalArgumentException("A synthetic graph needs at least 2 vertices, but "
+                    + numberOfVertices + " were requested.");
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Vertex> vertices = new ArrayList<>(numberOfVertices);
+        for (int i = 0; i < numberOfVertices; i++) {
+            vertices.add(new Vertex(null, new TextLabel("v" + i)));
+        }
+        int[] portCounter = {0};
+
+        //edges: first a spanning tree (so the graph is connected), then further edges; one end vertex is chosen
+        // uniformly at random, the other one proportional to its degree
+        int numberOfEdges = Math.max(numberOfVertices - 1, (int) Math.round(edgesPerVertex * numberOfVertices));
+        int[] endVertices = new int[2 * numberOfEdges];
+        int[] firstVertexOfEdge = new int[numberOfEdges];
+        List<List<Port>> portsOfVertex = new ArrayList<>(numberOfVertices);
+        for (int i = 0; i < numberOfVertices; i++) {
+            portsOfVertex.add(new ArrayList<>(2));
+        }
+        List<Edge> edges = new ArrayList<>(numberOfEdges);
+        List<Integer> verticesOfEdge = new ArrayList<>(5);
+        for (int e = 0; e < numberOfEdges; e++) {
+            int v0;
+            int v1;
+            if (e < numberOfVertices - 1) {
+                v0 = e + 1;
+                v1 = e == 0 || random.nextBoolean() ? random.nextInt(e + 1) : endVertices[random.nextInt(2 * e)];
+            }
+            else {
+                v0 = random.nextInt(numberOfVertices);
+                v1 = endVertices[random.nextInt(2 * e)];
+                if (v0 == v1) {
+                    v1 = (v1 + 1 + random.nextInt(numberOfVertices - 1)) % numberOfVertices;
+                }
+            }
+            endVertices[2 * e] = v0;
+            endVertices[2 * e + 1] = v1;
+            firstVertexOfEdge[e] = v0;
+
+            verticesOfEdge.clear();
+            verticesOfEdge.add(v0);
+            verticesOfEdge.add(v1);
+            if (numberOfVertices > 5 && random.nextDouble() < hyperedgeRatio) {
+                int additionalVertices = 1 + random.nextInt(3);
+                while (verticesOfEdge.size() < 2 + additionalVertices) {
+                    int v = random.nextInt(numberOfVertices);
+                    if (!verticesOfEdge.contains(v)) {
+                        verticesOfEdge.add(v);
+                    }
+                }
+            }
+            List<Port> ports = new ArrayList<>(verticesOfEdge.size());
+            for (int v : verticesOfEdge) {
+                Port port = newPort(portCounter);
+                portsOfVertex.get(v).add(port);
+                ports.add(port);
+            }
+            edges.add(random.nextDouble() < edgeLabelRatio ? new Edge(ports, new TextLabel("e" + e)) :
+                    new Edge(ports));
+        }
+
+        //ports to vertices, partially in (nested) port groups
+        for (int v = 0; v < numberOfVertices; v++) {
+            List<Port> ports = portsOfVertex.get(v);
+            Vertex vertex = vertices.get(v);
+            int groupSize = 0;
+            if (ports.size() >= 2 && random.nextDouble() < portGroupRatio) {
+                groupSize = 2 + random.nextInt(ports.size() - 1);
+                List<PortComposition> groupMembers = new ArrayList<>(ports.subList(0, groupSize));
+                if (groupSize >= 3 && random.nextDouble() < nestedPortGroupRatio) {
+                    PortGroup nestedGroup = new PortGroup(new ArrayList<>(groupMembers.subList(0, 2)),
+                            random.nextBoolean());
+                    groupMembers.subList(0, 2).clear();
+                    groupMembers.add(0, nestedGroup);
+                }
+                vertex.addPortComposition(new PortGroup(groupMembers, random.nextBoolean()));
+            }
+            for (Port port : ports.subList(groupSize, ports.size())) {
+                vertex.addPortComposition(port);
+            }
+        }
+        portsOfVertex = null;
+
+        //vertex groups: a vertex of the graph and a new touching vertex with 1 to 3 port pairings between them; the
+        // paired ports are connected to other vertices of the graph
+        List<VertexGroup> vertexGroups = new ArrayList<>();
+        int numberOfVertexGroups = (int) Math.round(vertexGroupRatio * numberOfVertices);
+        for (int i = 0; i < numberOfVertexGroups; i++) {
+            int v = random.nextInt(numberOfVertices);
+            Vertex vertex0 = vertices.get(v);
+            if (vertex0.getVertexGroup() != null) {
+                continue;
+            }
+            Vertex vertex1 = new Vertex(null, new TextLabel("v" + vertices.size()));
+            vertices.add(vertex1);
+            List<PortPairing> portPairings = new ArrayList<>(3);
+            int numberOfPortPairings = 1 + random.nextInt(3);
+            for (int j = 0; j < numberOfPortPairings; j++) {
+                Port port0 = newPort(portCounter);
+                Port port1 = newPort(portCounter);
+                vertex0.addPortComposition(port0);
+                vertex1.addPortComposition(port1);
+                portPairings.add(new PortPairing(port0, port1));
+                for (Port pairedPort : Arrays.asList(port0, port1)) {
+                    int other = (v + 1 + random.nextInt(numberOfVertices - 1)) % numberOfVertices;
+                    Port otherPort = newPort(portCounter);
+                    vertices.get(other).addPortComposition(otherPort);
+                    edges.add(new Edge(Arrays.asList(pairedPort, otherPort)));
+                }
+            }
+            vertexGroups.add(new VertexGroup(Arrays.asList(vertex0, vertex1), null,
+                    Collections.singleton(new TouchingPair(vertex0, vertex1)), portPairings, null,
+                    new TextLabel("vg" + vertexGroups.size()), null, true));
+        }
+
+        //edge bundles of 2 to 6 edges with the same first end vertex
+        List<EdgeBundle> edgeBundles = new ArrayList<>();
+        int[] edgeStart = new int[numberOfVertices + 1];
+        for (int e = 0; e < numberOfEdges; e++) {
+            ++edgeStart[firstVertexOfEdge[e] + 1];
+        }
+        for (int v = 0; v < numberOfVertices; v++) {
+            edgeStart[v + 1] += edgeStart[v];
+        }
+        int[] edgesByFirstVertex = new int[numberOfEdges];
+        int[] fill = Arrays.copyOf(edgeStart, numberOfVertices);
+        for (int e = 0; e < numberOfEdges; e++) {
+            edgesByFirstVertex[fill[firstVertexOfEdge[e]]++] = e;
+        }
+        for (int v = 0; v < numberOfVertices; v++) {
+            int degree = edgeStart[v + 1] - edgeStart[v];
+            if (degree >= 2 && random.nextDouble() < edgeBundleRatio) {
+                int bundleSize = Math.min(degree, 2 + random.nextInt(5));
+                List<Edge> bundledEdges = new ArrayList<>(bundleSize);
+                for (int j = 0; j < bundleSize; j++) {
+                    bundledEdges.add(edges.get(edgesByFirstVertex[edgeStart[v] + j]));
+                }
+                edgeBundles.add(new EdgeBundle(bundledEdges, new TextLabel("b" + edgeBundles.size())));
+            }
+        }
+
+        Graph graph = new Graph(vertices, edges);
+        graph.addVertexGroups(vertexGroups);
+        graph.addEdgeBundles(edgeBundles);
+        return graph;
+    }
+
+    /**
+     * Generates a graph and writes it as JSON to file (without creating the whole JSON string in memory).
+     *
+     * @param numberOfVertices
+     * @param file
+     * @return
+     *      the generated graph
+     * @throws IOException
+     *      if writing the file fails
+     */
+    public Graph generate(int numberOfVertices, File file) throws IOException {
+        Graph graph = generate(numberOfVertices);
+        Serialization.write(graph, file);
+        return graph;
+    }
+
+    private static Port newPort(int[] portCounter) {
+        return new Port(null, new TextLabel("p" + portCounter[0]++));
+    }
+
+    /*==========
+     * Getters & Setters
+     *==========*/
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public double getEdgesPerVertex() {
+        return edgesPerVertex;
+    }
+
+    /**
+     * @param edgesPerVertex
+     *      average number of edges per vertex; there are at least as many edges as for a spanning tree
+     */
+    public void setEdgesPerVertex(double edgesPerVertex) {
+        this.edgesPerVertex = edgesPerVertex;
+    }
+
+    public double getHyperedgeRatio() {
+        return hyperedgeRatio;
+    }
+
+    /**
+     * @param hyperedgeRatio
+     *      fraction of the edges that get 1 to 3 additional ports
+     */
+    public void setHyperedgeRatio(double hyperedgeRatio) {
+        this.hyperedgeRatio = hyperedgeRatio;
+    }
+
+    public double getPortGroupRatio() {
+        return portGroupRatio;
+    }
+
+    /**
+     * @param portGroupRatio
+     *      fraction of the vertices (with at least 2 ports) that get a port group
+     */
+    public void setPortGroupRatio(double portGroupRatio) {
+        this.portGroupRatio = portGroupRatio;
+    }
+
+    public double getNestedPortGroupRatio() {
+        return nestedPortGroupRatio;
+    }
+
+    /**
+     * @param nestedPortGroupRatio
+     *      fraction of the port groups (with at least 3 ports) that contain a nested port group
+     */
+    public void setNestedPortGroupRatio(double nestedPortGroupRatio) {
+        this.nestedPortGroupRatio = nestedPortGroupRatio;
+    }
+
+    public double getVertexGroupRatio() {
+        return vertexGroupRatio;
+    }
+
+    /**
+     * @param vertexGroupRatio
+     *      number of vertex groups relative to the number of vertices (a bit fewer are created because no vertex is
+     *      in two vertex groups)
+     */
+    public void setVertexGroupRatio(double vertexGroupRatio) {
+        this.vertexGroupRatio = vertexGroupRatio;
+    }
+
+    public double getEdgeBundleRatio() {
+        return edgeBundleRatio;
+    }
+
+    /**
+     * @param edgeBundleRatio
+     *      fraction of the vertices (with at least 2 edges starting there) where an edge bundle starts
+     */
+    public void setEdgeBundleRatio(double edgeBundleRatio) {
+        this.edgeBundleRatio = edgeBundleRatio;
+    }
+
+    public double getEdgeLabelRatio() {
+        return edgeLabelRatio;
+    }
+
+    /**
+     * @param edgeLabelRatio
+     *      fraction of the edges that get a main label
+     */
+    public void setEdgeLabelRatio(double edgeLabelRatio) {
+        this.edgeLabelRatio = edgeLabelRatio;
+    }
+}
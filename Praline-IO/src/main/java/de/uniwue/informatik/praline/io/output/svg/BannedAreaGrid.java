@@ -0,0 +1,152 @@
+package de.uniwue.informatik.praline.io.output.svg;
+
+import de.uniwue.informatik.praline.datastructure.graphs.Vertex;
+
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.*;
+
+/**
+ * The corners of the bounding boxes of all vertices (the areas a curved edge should not run through), stored in a
+ * uniform grid so that we can find the vertices having a corner in a triangle by looking only at the grid cells
+ * intersecting the bounding box of the triangle instead of at all vertices.
+ * The grid has about as many cells as there are vertices.
+ */
+public class BannedAreaGrid {
+
+    private final List<Vertex> vertices;
+    private final Map<Vertex, List<Point2D>> corners;
+    private final double[] cornerX;
+    private final double[] cornerY;
+    private final double minX;
+    private final double minY;
+    private final double cellWidth;
+    private final double cellHeight;
+    private final int columns;
+    private final int rows;
+    /**
+     * the corners in cell c are cellCorners[cellStart[c]] to cellCorners[cellStart[c + 1] - 1], where corner i
+     * belongs to vertex i / 4
+     */
+    private final int[] cellStart;
+    private final int[] cellCorners;
+    private final int[] stamp;
+    private int currentStamp;
+
+    public BannedAreaGrid(Collection<Vertex> vertices) {
+        this.vertices = new ArrayList<>(vertices);
+        int n = this.vertices.size();
+        this.corners = new HashMap<>(2 * n);
+        this.cornerX = new double[4 * n];
+        this.cornerY = new double[4 * n];
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        for (int v = 0; v < n; v++) {
+            Rectangle2D box = this.vertices.get(v).getShape().getBoundingBox();
+            List<Point2D> cornersOfV = Arrays.asList(
+                    new Point2D.Double(box.getX(), box.getY()),
+                    new Point2D.Double(box.getX() + box.getWidth(), box.getY()),
+                    new Point2D.Double(box.getX(), box.getY() + box.getHeight()),
+                    new Point2D.Double(box.getX() + box.getWidth(), box.getY() + box.getHeight()));
+            corners.put(this.vertices.get(v), Collections.unmodifiableList(cornersOfV));
+            for (int j = 0; j < 4; j++) {
+                double x = cornersOfV.get(j).getX();
+                double y = cornersOfV.get(j).getY();
+                cornerX[4 * v + j] = x;
+                cornerY[4 * v + j] = y;
+                minX = Math.min(minX, x);
+                minY = Math.min(minY, y);
+                maxX = Math.max(maxX, x);
+                maxY = Math.max(maxY, y);
+            }
+        }
+        int side = Math.max(1, (int) Math.sqrt(n));
+        this.columns = side;
+        this.rows = side;
+        this.minX = n == 0 ? 0 : minX;
+        this.minY = n == 0 ? 0 : minY;
+        this.cellWidth = n == 0 || maxX == minX ? 1 : (maxX - minX) / columns;
+        this.cellHeight = n == 0 || maxY == minY ? 1 : (maxY - minY) / rows;
+
+        //sort the corners into the cells (counting sort)
+        this.cellStart = new int[columns * rows + 1];
+        int[] cellOfCorner = new int[4 * n];
+        for (int i = 0; i < 4 * n; i++) {
+            cellOfCorner[i] = column(cornerX[i]) * rows + row(cornerY[i]);
+            ++cellStart[cellOfCorner[i] + 1];
+        }
+        for (int c = 0; c < columns * rows; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        this.cellCorners = new int[4 * n];
+        int[] fill = Arrays.copyOf(cellStart, columns * rows);
+        for (int i = 0; i < 4 * n; i++) {
+            cellCorners[fill[cellOfCorner[i]]++] = i;
+        }
+        this.stamp = new int[n];
+    }
+
+    /**
+     * @param vertex
+     * @return
+     *      the 4 corners of the bounding box of vertex (top left, top right, bottom left, bottom right)
+     */
+    public List<Point2D> getCorners(Vertex vertex) {
+        return corners.get(vertex);
+    }
+
+    /**
+     * @return
+     *      all vertices having a corner in the triangle p0, p1, p2 (including its boundary) in the order in which
+     *      they were passed to the constructor
+     */
+    public List<Vertex> getVerticesWithCornerInTriangle(Point2D p0, Point2D p1, Point2D p2) {
+        double area = triangleInnerArea(p0.getX(), p0.getY(), p1.getX(), p1.getY(), p2.getX(), p2.getY());
+        int firstColumn = column(Math.min(p0.getX(), Math.min(p1.getX(), p2.getX())));
+        int lastColumn = column(Math.max(p0.getX(), Math.max(p1.getX(), p2.getX())));
+        int firstRow = row(Math.min(p0.getY(), Math.min(p1.getY(), p2.getY())));
+        int lastRow = row(Math.max(p0.getY(), Math.max(p1.getY(), p2.getY())));
+
+        ++currentStamp;
+        List<Integer> found = new ArrayList<>();
+        for (int c = firstColumn; c <= lastColumn; c++) {
+            for (int r = firstRow; r <= lastRow; r++) {
+                int cell = c * rows + r;
+                for (int j = cellStart[cell]; j < cellStart[cell + 1]; j++) {
+                    int corner = cellCorners[j];
+                    int v = corner / 4;
+                    if (stamp[v] != currentStamp && isInTriangle(cornerX[corner], cornerY[corner], p0, p1, p2, area)) {
+                        stamp[v] = currentStamp;
+                        found.add(v);
+                    }
+                }
+            }
+        }
+        Collections.sort(found);
+        List<Vertex> verticesInTriangle = new ArrayList<>(found.size());
+        for (int v : found) {
+            verticesInTriangle.add(vertices.get(v));
+        }
+        return verticesInTriangle;
+    }
+
+    private int column(double x) {
+        return Math.min(columns - 1, Math.max(0, (int) Math.floor((x - minX) / cellWidth)));
+    }
+
+    private int row(double y) {
+        return Math.min(rows - 1, Math.max(0, (int) Math.floor((y - minY) / cellHeight)));
+    }
+
+    private static boolean isInTriangle(double x, double y, Point2D p0, Point2D p1, Point2D p2, double area) {
+        return triangleInnerArea(p0.getX(), p0.getY(), p1.getX(), p1.getY(), x, y)
+                + triangleInnerArea(p0.getX(), p0.getY(), p2.getX(), p2.getY(), x, y)
+                + triangleInnerArea(p1.getX(), p1.getY(), p2.getX(), p2.getY(), x, y) <= area;
+    }
+
+    private static double triangleInnerArea(double x1, double y1, double x2, double y2, double x3, double y3) {
+        return .5 * Math.abs(x1 * (y2 - y3) + x2 * (y3 - y1) + x3 * (y1 - y2));
+    }
+}
@@ -172,8 +172,8 @@ public class SVGDrawer {
                     drawEdgeDirection(g2d, edge);
             }
         } else {
+            BannedAreaGrid banned = calcNodeBannedArea();
             for (Edge edge : graph.getEdges()) {
-                Map<Vertex, List<Point2D>> banned = calcNodeBannedArea();
                 if (drawInfo.getLineShape().equals(SVGLineShape.BEZIER2D))
                     drawBezier2dEdge(g2d, edge, banned);
                 else if (drawInfo.getLineShape().equals(SVGLineShape.BEZIER3D))
@@ -304,24 +304,11 @@ public class SVGDrawer {
         }
     }
 
-    Map<Vertex, List<Point2D>> calcNodeBannedArea() {
-
-        Map<Vertex, List<Point2D>> nodeBannedArea = new HashMap<>();
-        for (Vertex node : graph.getVertices()) {
-
-            List<Point2D> banned = new ArrayList<>();
-            nodeBannedArea.put(node, banned);
-            Rectangle2D box = node.getShape().getBoundingBox();
-
-            banned.add(new Point2D.Double(box.getX(), box.getY()));
-            banned.add(new Point2D.Double(box.getX() + box.getWidth(), box.getY()));
-            banned.add(new Point2D.Double(box.getX(), box.getY() + box.getHeight()));
-            banned.add(new Point2D.Double(box.getX() + box.getWidth(), box.getY() + box.getHeight()));
-        }
-        return nodeBannedArea;
+    BannedAreaGrid calcNodeBannedArea() {
+        return new BannedAreaGrid(graph.getVertices());
     }
 
-    public void drawBezier2dEdge(SVGGraphics2D g2d, Edge edge, Map<Vertex, List<Point2D>> nodeBannedArea) {
+    public void drawBezier2dEdge(SVGGraphics2D g2d, Edge edge, BannedAreaGrid nodeBannedArea) {
 
         List<List<Point2D>> edgeSegments = new ArrayList<>();
         Path2D bezierPath = new Path2D.Double();
@@ -424,28 +411,18 @@ public class SVGDrawer {
                         while (controlPointsNeedAdjustments && iteration < maxAdjustmentIterations) {
                             iteration += 1;
 
-                            List<Vertex> verticesInTriangle = new ArrayList<>();
-                            for (Vertex node : nodeBannedArea.keySet()) {
-                                if (!node.equals(edge.getPorts().get(0).getVertex())
-                                        && !node.equals(edge.getPorts().get(1).getVertex())) {
-                                    List<Point2D> corners = nodeBannedArea.get(node);
-                                    for (Point2D corner : corners) {
-                                        if (!verticesInTriangle.contains(node)
-                                                && triangleInnerArea(p0, p1, corner) + triangleInnerArea(p0, p2, corner)
-                                                + triangleInnerArea(p1, p2, corner) <= triangleInnerArea(p0, p1, p2)) {
-                                            verticesInTriangle.add(node);
-                                        }
-                                    }
-                                }
-                            }
+                            List<Vertex> verticesInTriangle =
+                                    nodeBannedArea.getVerticesWithCornerInTriangle(p0, p1, p2);
+                            verticesInTriangle.remove(edge.getPorts().get(0).getVertex());
+                            verticesInTriangle.remove(edge.getPorts().get(1).getVertex());
 
                             // if vertices lie inside the triangle
                             if (!verticesInTriangle.isEmpty()) {
                                 // find the next vertex that lies at P1 and determine the next bend point
-                                Point2D nearest = nodeBannedArea.get(verticesInTriangle.get(0)).get(0);
+                                Point2D nearest = nodeBannedArea.getCorners(verticesInTriangle.get(0)).get(0);
                                 double nearestDistance = distance(p1, nearest);
                                 for (Vertex vertex : verticesInTriangle) {
-                                    for (Point2D point : nodeBannedArea.get(vertex)) {
+                                    for (Point2D point : nodeBannedArea.getCorners(vertex)) {
                                         if (distance(p1, point) < nearestDistance) {
                                             nearest = point;
                                             nearestDistance = distance(p1, point);
@@ -583,7 +560,7 @@ public class SVGDrawer {
                 + p3.getX() * (p1.getY() - p2.getY()));
     }
 
-    public void drawBezier3dEdge(SVGGraphics2D g2d, Edge edge, Map<Vertex, List<Point2D>> nodeBannedArea) {
+    public void drawBezier3dEdge(SVGGraphics2D g2d, Edge edge, BannedAreaGrid nodeBannedArea) {
 
         List<List<Point2D>> edgeSegments = new ArrayList<>();
         //graph.addSegment(edgeSegments);
@@ -692,24 +669,8 @@ public class SVGDrawer {
 
                         // find all points of the triangle from P0, P1, P2 and P1, P2, P3
                         Map<Integer, List<Vertex>> verticesInTriangle = new HashMap<>();
-                        verticesInTriangle.put(0, new ArrayList<>());
-                        verticesInTriangle.put(1, new ArrayList<>());
-
-                        for (Vertex node : nodeBannedArea.keySet()) {
-                            List<Point2D> corners = nodeBannedArea.get(node);
-                            for (Point2D corner : corners) {
-                                if (!verticesInTriangle.get(0).contains(node)
-                                        && triangleInnerArea(p0, p1, corner) + triangleInnerArea(p0, p2, corner)
-                                        + triangleInnerArea(p1, p2, corner) <= triangleInnerArea(p0, p1, p2)) {
-                                    verticesInTriangle.get(0).add(node);
-                                }
-                                if (!verticesInTriangle.get(1).contains(node)
-                                        && triangleInnerArea(p1, p2, corner) + triangleInnerArea(p1, p3, corner)
-                                        + triangleInnerArea(p2, p3, corner) <= triangleInnerArea(p1, p2, p3)) {
-                                    verticesInTriangle.get(1).add(node);
-                                }
-                            }
-                        }
+                        verticesInTriangle.put(0, nodeBannedArea.getVerticesWithCornerInTriangle(p0, p1, p2));
+                        verticesInTriangle.put(1, nodeBannedArea.getVerticesWithCornerInTriangle(p1, p2, p3));
 
                         boolean pointsInAnyTriangle = false;
 
@@ -724,10 +685,11 @@ public class SVGDrawer {
                                 pointsInAnyTriangle = true;
 
                                 // find the next vertex that lies at the control point and determine the next bend
-                                Point2D nearest = nodeBannedArea.get(verticesInTriangle.get(triangleIndex).get(0)).get(0);
+                                Point2D nearest =
+                                        nodeBannedArea.getCorners(verticesInTriangle.get(triangleIndex).get(0)).get(0);
                                 double nearestDistance = distance(control, nearest);
                                 for (Vertex vertex : verticesInTriangle.get(triangleIndex)) {
-                                    for (Point2D point : nodeBannedArea.get(vertex)) {
+                                    for (Point2D point : nodeBannedArea.getCorners(vertex)) {
                                         if (distance(control, point) < nearestDistance) {
                                             nearest = point;
                                             nearestDistance = distance(control, point);
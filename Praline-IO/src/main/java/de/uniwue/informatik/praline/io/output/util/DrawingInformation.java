@@ -203,17 +203,23 @@ public class DrawingInformation {
     private double getMinLabelWidth(Collection<Label<? extends LabelStyle>> labels) {
         double minWidth = 0;
         for (Label<? extends LabelStyle> label : labels) {
-            if (label instanceof TextLabel) {
-                g2d.setFont(FontManager.fontOf((TextLabel) label));
-                if (((TextLabel) label).getLayoutText() != null) {
-                    minWidth = Math.max(minWidth,
-                            g2d.getFontMetrics().getStringBounds(((TextLabel) label).getLayoutText(), g2d).getWidth());
-                }
+            if (label instanceof TextLabel && ((TextLabel) label).getLayoutText() != null) {
+                minWidth = Math.max(minWidth, getStringBounds((TextLabel) label).getWidth());
             }
         }
         return minWidth;
     }
 
+    /**
+     * g2d is shared by all threads, so setting the font and measuring must not be interleaved with other threads
+     */
+    private static Rectangle2D getStringBounds(TextLabel label) {
+        synchronized (g2d) {
+            g2d.setFont(FontManager.fontOf(label));
+            return g2d.getFontMetrics().getStringBounds(label.getLayoutText(), g2d);
+        }
+    }
+
     public double computeMinVertexHeight(Vertex vertex) {
         double labelHeight = getMinLabelHeight(vertex.getLabelManager().getLabels());
 
@@ -231,12 +237,8 @@ public class DrawingInformation {
     private double getMinLabelHeight(Collection<Label<? extends LabelStyle>> labels) {
         double minHeight = vertexHeight;
         for (Label<? extends LabelStyle> label : labels) {
-            if (label instanceof TextLabel) {
-                g2d.setFont(FontManager.fontOf((TextLabel) label));
-                if (((TextLabel) label).getLayoutText() != null) {
-                    minHeight = Math.max(minHeight,
-                            g2d.getFontMetrics().getStringBounds(((TextLabel) label).getLayoutText(), g2d).getHeight());
-                }
+            if (label instanceof TextLabel && ((TextLabel) label).getLayoutText() != null) {
+                minHeight = Math.max(minHeight, getStringBounds((TextLabel) label).getHeight());
             }
         }
         return minHeight;
@@ -23,10 +23,22 @@ import de.uniwue.informatik.praline.layouting.layered.algorithm.preprocessing.Co
 import de.uniwue.informatik.praline.layouting.layered.algorithm.preprocessing.DummyCreationResult;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.preprocessing.DummyNodeCreation;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.preprocessing.GraphPreprocessor;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.util.Constants;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.util.CrossingCounter;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.util.SortingOrder;
+import de.uniwue.informatik.praline.layouting.observation.LayoutCounter;
+import de.uniwue.informatik.praline.layouting.observation.LayoutObserver;
+import de.uniwue.informatik.praline.layouting.observation.LayoutPhase;
+import de.uniwue.informatik.praline.layouting.observation.PhaseMeasurement;
 
 import java.awt.geom.Rectangle2D;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 public class SugiyamaLayouter implements PralineLayouter {
 
@@ -54,6 +66,11 @@ public class SugiyamaLayouter implements PralineLayouter {
     //if it has multiple components use these substructures
     /////////
     private List<SugiyamaLayouter> componentLayouters;
+    private ExecutorService componentExecutor;
+    private ForkJoinPool restartPool;
+    private LayoutObserver layoutObserver;
+    private final SplittableRandom randomSource; //only used by the thread executing this layouter
+    private final Random random;
     private Graph combinedGraph;
 
     /////////
@@ -108,12 +125,26 @@ public class SugiyamaLayouter implements PralineLayouter {
     }
 
     public SugiyamaLayouter(Graph graph, DrawingInformation drawInfo) {
-        this(graph, drawInfo, false);
+        this(graph, drawInfo, Constants.SEED);
     }
 
-    private SugiyamaLayouter(Graph graph, DrawingInformation drawInfo, boolean isSingleComponent) {
+    /**
+     * @param graph
+     * @param drawInfo
+     * @param seed
+     *      all random decisions of this layouter are derived from this seed, so the same graph with the same seed
+     *      yields the same layout -- independent of other layouters running in the same JVM (or in other threads)
+     */
+    public SugiyamaLayouter(Graph graph, DrawingInformation drawInfo, long seed) {
+        this(graph, drawInfo, false, new SplittableRandom(seed));
+    }
+
+    private SugiyamaLayouter(Graph graph, DrawingInformation drawInfo, boolean isSingleComponent,
+                             SplittableRandom randomSource) {
         this.graph = graph;
         this.drawInfo = drawInfo;
+        this.randomSource = randomSource;
+        this.random = new Random(randomSource.nextLong());
 
         //find components
         List<Graph> components = null;
@@ -135,8 +166,10 @@ public class SugiyamaLayouter implements PralineLayouter {
 
             componentLayouters = new ArrayList<>(components.size());
 
+            //each component gets its own random source (split off in a fixed order) so that the result does not depend
+            // on the order in which the components are laid out
             for (Graph component : components) {
-                componentLayouters.add(new SugiyamaLayouter(component, drawInfo, true));
+                componentLayouters.add(new SugiyamaLayouter(component, drawInfo, true, randomSource.split()));
             }
         }
 
@@ -209,6 +242,7 @@ public class SugiyamaLayouter implements PralineLayouter {
 
     public void construct() {
         if (isSingleComponent) {
+            PhaseMeasurement measurement = startMeasurement();
             //register pre-set node sizes
             for (Vertex vertex : graph.getVertices()) {
                 Shape shape = vertex.getShape();
@@ -228,11 +262,12 @@ public class SugiyamaLayouter implements PralineLayouter {
             //do preprocessing
             GraphPreprocessor graphPreprocessor = new GraphPreprocessor(this);
             graphPreprocessor.construct();
+            reportPhase(LayoutPhase.CONSTRUCT, 0, measurement);
+            reportCounter(LayoutCounter.VERTICES, graph.getVertices().size());
+            reportCounter(LayoutCounter.EDGES, graph.getEdges().size());
         }
         else {
-            for (SugiyamaLayouter componentLayouter : componentLayouters) {
-                componentLayouter.construct();
-            }
+            forEachComponent(SugiyamaLayouter::construct);
         }
     }
 
@@ -241,9 +276,8 @@ public class SugiyamaLayouter implements PralineLayouter {
             assignDirections(cycleBreakingMethod, directionMethod, 1);
         }
         else {
-            for (SugiyamaLayouter componentLayouter : componentLayouters) {
-                componentLayouter.assignDirections(cycleBreakingMethod, directionMethod);
-            }
+            forEachComponent(componentLayouter -> componentLayouter.assignDirections(cycleBreakingMethod,
+                    directionMethod));
         }
     }
 
@@ -258,6 +292,7 @@ public class SugiyamaLayouter implements PralineLayouter {
      */
     public void assignDirections(CycleBreakingMethod cycleBreakingMethod, DirectionMethod method, int numberOfIterationsForForceDirected) {
         if (isSingleComponent) {
+            PhaseMeasurement measurement = startMeasurement();
             da = new DirectionAssignment();
             cb = new CycleBreaker();
             if (cycleBreakingMethod.equals(CycleBreakingMethod.IGNORE)) {
@@ -285,11 +320,11 @@ public class SugiyamaLayouter implements PralineLayouter {
                         break;
                 }
             }
+            reportPhase(LayoutPhase.ASSIGN_DIRECTIONS, 0, measurement);
         }
         else {
-            for (SugiyamaLayouter componentLayouter : componentLayouters) {
-                componentLayouter.assignDirections(cycleBreakingMethod, method, numberOfIterationsForForceDirected);
-            }
+            forEachComponent(componentLayouter -> componentLayouter.assignDirections(cycleBreakingMethod, method,
+                    numberOfIterationsForForceDirected));
         }
     }
 
@@ -321,6 +356,7 @@ public class SugiyamaLayouter implements PralineLayouter {
 
     public void assignLayers(LayerAssignmentMethod layerAssignmentMethod, DirectionMethod directionMethod) {
         if (isSingleComponent) {
+            PhaseMeasurement measurement = startMeasurement();
             LayerAssignment la = null;
             useFDLayoutForInitialNodeOrder = layerAssignmentMethod != LayerAssignmentMethod.OLD_NETWORK_SIMPLEX
                     && directionMethod == DirectionMethod.FORCE;
@@ -338,11 +374,12 @@ public class SugiyamaLayouter implements PralineLayouter {
             pa.assignPortsToVertexSides();
             createRankToNodes();
             hasAssignedLayers = true;
+            reportPhase(LayoutPhase.ASSIGN_LAYERS, 0, measurement);
+            reportCounter(LayoutCounter.LAYERS, rankToNodes.size());
         }
         else {
-            for (SugiyamaLayouter componentLayouter : componentLayouters) {
-                componentLayouter.assignLayers(layerAssignmentMethod, directionMethod);
-            }
+            forEachComponent(componentLayouter -> componentLayouter.assignLayers(layerAssignmentMethod,
+                    directionMethod));
         }
     }
 
@@ -368,9 +405,8 @@ public class SugiyamaLayouter implements PralineLayouter {
                     CrossingMinimization.DEFAULT_HANDLING_DEAD_ENDS, numberOfIterations);
         }
         else {
-            for (SugiyamaLayouter componentLayouter : componentLayouters) {
-                componentLayouter.createDummyNodesAndDoCrossingMinimization(cmMethod, numberOfIterations);
-            }
+            forEachComponent(componentLayouter -> componentLayouter.createDummyNodesAndDoCrossingMinimization(cmMethod,
+                    numberOfIterations));
         }
     }
 
@@ -381,26 +417,51 @@ public class SugiyamaLayouter implements PralineLayouter {
                                                           int numberOfIterations) {
         if (isSingleComponent) {
             //first crossing minimization phase with all ports on the side of its edge direction
+            PhaseMeasurement measurement = startMeasurement();
             DummyNodeCreation dnc = new DummyNodeCreation(this);
             dnc.assignWrongSidePortsTemporaryToOtherSide();
             dnc.createDummyNodesForEdges();
-            CrossingMinimization cm1 = new CrossingMinimization(this);
+            reportPhase(LayoutPhase.CREATE_DUMMY_NODES, 0, measurement);
+            measurement = startMeasurement();
+            List<Random> randomsForRestarts = createRandomsForRestarts(numberOfIterations);
+            CrossingMinimization cm1 = new CrossingMinimization(this, randomsForRestarts.get(0));
             SortingOrder result = cm1.layerSweepWithBarycenterHeuristic(cmMethod, orders,
                     !useFDLayoutForInitialNodeOrder, movePortsAdjToTurningDummiesToTheOutside,
                     placeTurningDummiesNextToTheirVertex, false, handlingDeadEnds);
-            orders = result;
-            int crossings = countCrossings(result);
+            //all further restarts are independent of each other; they start from a random permutation of the first
+            // result
+            SortingOrder[] resultsOfRestarts = new SortingOrder[numberOfIterations];
+            int[] crossingsOfRestarts = new int[numberOfIterations];
+            resultsOfRestarts[0] = result;
+            crossingsOfRestarts[0] = countCrossings(result);
+            reportPhase(LayoutPhase.CROSSING_MINIMIZATION_RESTART, 0, measurement);
+            List<Runnable> restarts = new ArrayList<>(numberOfIterations - 1);
             for (int i = 1; i < numberOfIterations; i++) {
-                result = cm1.layerSweepWithBarycenterHeuristic(cmMethod, orders, true,
-                        movePortsAdjToTurningDummiesToTheOutside, placeTurningDummiesNextToTheirVertex, false,
-                        handlingDeadEnds);
-                int crossingsNew = countCrossings(result);
-                if (crossingsNew < crossings) {
-                    crossings = crossingsNew;
-                    orders = result;
+                int restart = i;
+                restarts.add(() -> {
+                    PhaseMeasurement restartMeasurement = startMeasurement();
+                    CrossingMinimization cm = new CrossingMinimization(this, randomsForRestarts.get(restart));
+                    resultsOfRestarts[restart] = cm.layerSweepWithBarycenterHeuristic(cmMethod, result, true,
+                            movePortsAdjToTurningDummiesToTheOutside, placeTurningDummiesNextToTheirVertex, false,
+                            handlingDeadEnds);
+                    crossingsOfRestarts[restart] = countCrossings(resultsOfRestarts[restart]);
+                    reportPhase(LayoutPhase.CROSSING_MINIMIZATION_RESTART, restart, restartMeasurement);
+                });
+            }
+            runRestarts(restarts);
+            //take the one with the fewest crossings; on ties the one of the lowest restart index
+            orders = resultsOfRestarts[0];
+            int crossings = crossingsOfRestarts[0];
+            for (int i = 1; i < numberOfIterations; i++) {
+                if (crossingsOfRestarts[i] < crossings) {
+                    crossings = crossingsOfRestarts[i];
+                    orders = resultsOfRestarts[i];
                 }
             }
+            reportCounter(LayoutCounter.CROSSING_MINIMIZATION_RESTARTS, numberOfIterations);
+            reportCounter(LayoutCounter.CROSSINGS_OF_BEST_RESTART, crossings);
             //second crossing minimization phase with all ports on their "real" side
+            measurement = startMeasurement();
             dnc.undoAssigningPortsTemporaryToOtherSide();
             DummyCreationResult dummyNodeData = dnc.createAllDummyNodes();
             this.dummyNodesLongEdges = dummyNodeData.getDummyNodesLongEdges();
@@ -412,31 +473,36 @@ public class SugiyamaLayouter implements PralineLayouter {
             for (Edge edge : dummyNodeData.getDummyEdge2RealEdge().keySet()) {
                 this.dummyEdge2RealEdge.put(edge, dummyNodeData.getDummyEdge2RealEdge().get(edge));
             }
+            reportPhase(LayoutPhase.CREATE_DUMMY_NODES, 1, measurement);
+            if (layoutObserver != null) {
+                reportCounter(LayoutCounter.DUMMY_VERTICES, countDummyVertices());
+            }
+            measurement = startMeasurement();
             CrossingMinimization cm2 = new CrossingMinimization(this);
             orders = cm2.layerSweepWithBarycenterHeuristic(cmMethod, orders, false,
                     movePortsAdjToTurningDummiesToTheOutside, placeTurningDummiesNextToTheirVertex, true,
                     handlingDeadEnds);
+            reportPhase(LayoutPhase.CROSSING_MINIMIZATION_FINAL, 0, measurement);
         }
         else {
-            for (SugiyamaLayouter componentLayouter : componentLayouters) {
-                componentLayouter.createDummyNodesAndDoCrossingMinimization(cmMethod,
-                        movePortsAdjToTurningDummiesToTheOutside, placeTurningDummiesNextToTheirVertex,
-                        handlingDeadEnds, numberOfIterations);
-            }
+            forEachComponent(componentLayouter -> componentLayouter.createDummyNodesAndDoCrossingMinimization(cmMethod,
+                    movePortsAdjToTurningDummiesToTheOutside, placeTurningDummiesNextToTheirVertex, handlingDeadEnds,
+                    numberOfIterations));
         }
     }
 
     public void nodePositioning(AlignmentParameters.Method alignmentMethod,
                                 AlignmentParameters.Preference alignmentPreference) {
         if (isSingleComponent) {
+            PhaseMeasurement measurement = startMeasurement();
             NodePlacement np = new NodePlacement(this, orders, drawInfo);
             dummyPortsForLabelPadding = np.placeNodes(DEFAULT_DETERMINE_SIDE_LENGTHS_OF_NODES, alignmentMethod,
                     alignmentPreference);
+            reportPhase(LayoutPhase.NODE_POSITIONING, 0, measurement);
         }
         else {
-            for (SugiyamaLayouter componentLayouter : componentLayouters) {
-                componentLayouter.nodePositioning(alignmentMethod, alignmentPreference);
-            }
+            forEachComponent(componentLayouter -> componentLayouter.nodePositioning(alignmentMethod,
+                    alignmentPreference));
         }
     }
 
@@ -446,40 +512,40 @@ public class SugiyamaLayouter implements PralineLayouter {
      */
     public void nodePadding() {
         if (isSingleComponent) {
+            PhaseMeasurement measurement = startMeasurement();
             NodePlacement np = new NodePlacement(this, orders, drawInfo);
             np.initialize();
             np.initializeStructure();
             dummyPortsForLabelPadding = np.dummyPortsForWidth(true);
             np.reTransformStructure(false);
+            reportPhase(LayoutPhase.NODE_PADDING, 0, measurement);
         }
         else {
-            for (SugiyamaLayouter componentLayouter : componentLayouters) {
-                componentLayouter.nodePadding();
-            }
+            forEachComponent(SugiyamaLayouter::nodePadding);
         }
     }
 
     public void edgeRouting() {
         if (isSingleComponent) {
+            PhaseMeasurement measurement = startMeasurement();
             EdgeRouting er = new EdgeRouting(this, orders, drawInfo);
             er.routeEdges();
+            reportPhase(LayoutPhase.EDGE_ROUTING, 0, measurement);
         }
         else {
-            for (SugiyamaLayouter componentLayouter : componentLayouters) {
-                componentLayouter.edgeRouting();
-            }
+            forEachComponent(SugiyamaLayouter::edgeRouting);
         }
     }
 
     public void prepareDrawing() {
         if (isSingleComponent) {
+            PhaseMeasurement measurement = startMeasurement();
             DrawingPreparation dp = new DrawingPreparation(this);
             dp.prepareDrawing(drawInfo, orders, dummyPortsForLabelPadding, dummyPortsForNodesWithoutPort);
+            reportPhase(LayoutPhase.PREPARE_DRAWING, 0, measurement);
         }
         else {
-            for (SugiyamaLayouter componentLayouter : componentLayouters) {
-                componentLayouter.prepareDrawing();
-            }
+            forEachComponent(SugiyamaLayouter::prepareDrawing);
 
             //combine drawings of separate layouters
             unifyDrawings();
@@ -496,18 +562,81 @@ public class SugiyamaLayouter implements PralineLayouter {
      */
     public void restoreOriginalElements() {
         if (isSingleComponent) {
+            PhaseMeasurement measurement = startMeasurement();
             DrawingPreparation dp = new DrawingPreparation(this);
             dp.initialize(drawInfo, orders, dummyPortsForLabelPadding, dummyPortsForNodesWithoutPort);
             dp.restoreOriginalElements(true);
             dp.tightenNodes();
+            reportPhase(LayoutPhase.RESTORE_ORIGINAL_ELEMENTS, 0, measurement);
         }
         else {
+            forEachComponent(SugiyamaLayouter::restoreOriginalElements);
+        }
+    }
+
+    /**
+     * If an executor is set, the connected components of the graph are laid out concurrently on this executor in
+     * each phase (the phases themselves stay sequential).
+     * The result is identical to the sequential mode since each component has its own data structures and its own
+     * random source.
+     * The executor must not be the one running the calling thread if it may run out of free threads, otherwise this
+     * can deadlock.
+     *
+     * @param componentExecutor
+     *      null for laying out the components one after another (default)
+     */
+    public void setComponentExecutor(ExecutorService componentExecutor) {
+        this.componentExecutor = componentExecutor;
+    }
+
+    public ExecutorService getComponentExecutor() {
+        return componentExecutor;
+    }
+
+    /**
+     * If a pool is set, independent random restarts (e.g. of the crossing minimization) are run concurrently in this
+     * pool.
+     * The result is the same as without a pool: each restart has its own random source and the best restart is
+     * chosen deterministically (fewest crossings, then lowest restart index).
+     * If the graph has several connected components, the pool is also used for each component.
+     *
+     * @param restartPool
+     *      null for running the restarts one after another (default)
+     */
+    public void setRestartPool(ForkJoinPool restartPool) {
+        this.restartPool = restartPool;
+        if (!isSingleComponent) {
+            for (SugiyamaLayouter componentLayouter : componentLayouters) {
+                componentLayouter.setRestartPool(restartPool);
+            }
+        }
+    }
+
+    public ForkJoinPool getRestartPool() {
+        return restartPool;
+    }
+
+    /**
+     * If an observer is set, each phase (for each connected component) is measured and reported to it together with
+     * some size counters, see {@link LayoutObserver}.
+     * Phases that have already been executed are not reported.
+     *
+     * @param layoutObserver
+     *      null for not measuring anything (default)
+     */
+    public void setLayoutObserver(LayoutObserver layoutObserver) {
+        this.layoutObserver = layoutObserver;
+        if (!isSingleComponent) {
             for (SugiyamaLayouter componentLayouter : componentLayouters) {
-                componentLayouter.restoreOriginalElements();
+                componentLayouter.setLayoutObserver(layoutObserver);
             }
         }
     }
 
+    public LayoutObserver getLayoutObserver() {
+        return layoutObserver;
+    }
+
     public void drawResult(String path) {
         SVGDrawer dr = new SVGDrawer(this.getGraph());
         dr.draw(path, drawInfo);
@@ -549,6 +678,105 @@ public class SugiyamaLayouter implements PralineLayouter {
 
     // other steps //
 
+    /**
+     * Executes phase on all component layouters -- sequentially or, if a component executor is set, concurrently.
+     * If a phase fails, the exception of the first failing component (in the order of the components) is re-thrown.
+     */
+    private void forEachComponent(Consumer<SugiyamaLayouter> phase) {
+        if (componentExecutor == null || componentLayouters.size() < 2) {
+            for (SugiyamaLayouter componentLayouter : componentLayouters) {
+                phase.accept(componentLayouter);
+            }
+            return;
+        }
+
+        List<Future<?>> futures = new ArrayList<>(componentLayouters.size());
+        for (SugiyamaLayouter componentLayouter : componentLayouters) {
+            futures.add(componentExecutor.submit(() -> phase.accept(componentLayouter)));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            }
+            catch (InterruptedException e) {
+                for (Future<?> otherFuture : futures) {
+                    otherFuture.cancel(true);
+                }
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while laying out the connected components", e);
+            }
+            catch (ExecutionException e) {
+                for (Future<?> otherFuture : futures) {
+                    otherFuture.cancel(true);
+                }
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Runs independent restarts -- sequentially or, if a restart pool is set, concurrently.
+     * If a restart fails, the exception of the first failing restart (in the order of the restarts) is re-thrown.
+     *
+     * @param restarts
+     *      they must not share any mutable state; for random decisions use
+     *      {@link SugiyamaLayouter#createRandomsForRestarts(int)}
+     */
+    public void runRestarts(List<Runnable> restarts) {
+        if (restartPool == null || restarts.size() < 2) {
+            for (Runnable restart : restarts) {
+                restart.run();
+            }
+            return;
+        }
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(restarts.size());
+        for (Runnable restart : restarts) {
+            tasks.add(restartPool.submit(restart));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+
+    /**
+     * @return
+     *      null if there is no observer, so a phase costs nothing extra without an observer
+     */
+    private PhaseMeasurement startMeasurement() {
+        return layoutObserver == null ? null : PhaseMeasurement.start();
+    }
+
+    private void reportPhase(LayoutPhase phase, int index, PhaseMeasurement measurement) {
+        LayoutObserver observer = layoutObserver;
+        if (measurement != null && observer != null) {
+            observer.phaseFinished(this, phase, index, measurement.stop());
+        }
+    }
+
+    private void reportCounter(LayoutCounter counter, long value) {
+        LayoutObserver observer = layoutObserver;
+        if (observer != null) {
+            observer.counterReported(this, counter, value);
+        }
+    }
+
+    private int countDummyVertices() {
+        int count = 0;
+        for (Vertex vertex : graph.getVertices()) {
+            if (isDummy(vertex)) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
     private void unifyDrawings() {
         double xOffset = 0;
         for (SugiyamaLayouter componentLayouter : componentLayouters) {
@@ -572,47 +800,54 @@ public class SugiyamaLayouter implements PralineLayouter {
             rankToNodes.get(key).add(node);
         }
     }
+    /**
+     * Counts the crossings between each pair of consecutive layers via {@link CrossingCounter}.
+     * Crossings between edges sharing a port are not counted.
+     *
+     * @param sortingOrder
+     * @return
+     *      number of crossings in the drawing induced by sortingOrder
+     */
     public int countCrossings(SortingOrder sortingOrder) {
-        // create Port lists
-        List<List<Port>> topPorts = new ArrayList<>();
-        List<List<Port>> bottomPorts = new ArrayList<>();
-        Map<Port, Integer> positions = new LinkedHashMap<>();
-        for (int layer = 0; layer < sortingOrder.getNodeOrder().size(); layer++) {
-            topPorts.add(new ArrayList<>());
-            bottomPorts.add(new ArrayList<>());
+        // assign positions to bottom ports (per layer)
+        List<List<Vertex>> nodeOrder = sortingOrder.getNodeOrder();
+        Map<Port, Integer> positions = new HashMap<>();
+        int maxBottomPortsPerLayer = 0;
+        for (List<Vertex> layer : nodeOrder) {
             int position = 0;
-            for (Vertex node : sortingOrder.getNodeOrder().get(layer)) {
-                for (Port topPort : sortingOrder.getTopPortOrder().get(node)) {
-                    topPorts.get(layer).add(topPort);
-                }
+            for (Vertex node : layer) {
                 for (Port bottomPort : sortingOrder.getBottomPortOrder().get(node)) {
-                    bottomPorts.get(layer).add(bottomPort);
                     positions.put(bottomPort, position++);
                 }
             }
+            maxBottomPortsPerLayer = Math.max(maxBottomPortsPerLayer, position);
         }
         // count crossings
+        CrossingCounter crossingCounter = new CrossingCounter();
+        int[] northPositions = new int[0];
+        int[] southPositions = new int[0];
         int crossings = 0;
-        for (int layer = 0; layer < (sortingOrder.getNodeOrder().size() - 1); layer++) {
-            for (int topPortPosition = 0; topPortPosition < topPorts.get(layer).size(); topPortPosition++) {
-                Port topPort = topPorts.get(layer).get(topPortPosition);
-                for (Edge edge : topPort.getEdges()) {
-                    Port bottomPort = edge.getPorts().get(0);
-                    if (topPort.equals(bottomPort)) bottomPort = edge.getPorts().get(1);
-                    int bottomPortPosition = 0;
-                    bottomPortPosition = positions.get(bottomPort);
-                    for (int topPosition = (topPortPosition + 1); topPosition < topPorts.get(layer).size();
-                         topPosition++) {
-                        Port crossingTopPort = topPorts.get(layer).get(topPosition);
-                        for (Edge crossingEdge : crossingTopPort.getEdges()) {
-                            Port crossingBottomPort = crossingEdge.getPorts().get(0);
-                            if (crossingTopPort.equals(crossingBottomPort))
-                                crossingBottomPort = crossingEdge.getPorts().get(1);
-                            if (positions.get(crossingBottomPort) < bottomPortPosition) crossings++;
+        for (int layer = 0; layer < (nodeOrder.size() - 1); layer++) {
+            int topPortPosition = 0;
+            int numberOfEdges = 0;
+            for (Vertex node : nodeOrder.get(layer)) {
+                for (Port topPort : sortingOrder.getTopPortOrder().get(node)) {
+                    for (Edge edge : topPort.getEdges()) {
+                        Port bottomPort = edge.getPorts().get(0);
+                        if (topPort.equals(bottomPort)) bottomPort = edge.getPorts().get(1);
+                        if (numberOfEdges == northPositions.length) {
+                            northPositions = Arrays.copyOf(northPositions, 2 * numberOfEdges + 16);
+                            southPositions = Arrays.copyOf(southPositions, 2 * numberOfEdges + 16);
                         }
+                        northPositions[numberOfEdges] = topPortPosition;
+                        southPositions[numberOfEdges] = positions.get(bottomPort);
+                        ++numberOfEdges;
                     }
+                    ++topPortPosition;
                 }
             }
+            crossings += crossingCounter.countCrossings(northPositions, southPositions, numberOfEdges,
+                    topPortPosition, maxBottomPortsPerLayer);
         }
         return crossings;
     }
@@ -621,6 +856,34 @@ public class SugiyamaLayouter implements PralineLayouter {
     //////////////////////////////////////////
     // public methods (getter, setter etc.) //
     //////////////////////////////////////////
+    /**
+     * @return
+     *      the random source of this layouter. All phases should use this one (and not a global one) so that the
+     *      components of a graph can be laid out independently of each other.
+     *      It must only be used by the thread currently executing this layouter.
+     */
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Use this for phases with several independent random restarts: restart i should only use the i-th random source
+     * returned.
+     * They are split off from the random source of this layouter in a fixed order, so each restart is reproducible
+     * and the restarts do not share any state, i.e., they can also be run concurrently.
+     *
+     * @param numberOfRestarts
+     * @return
+     *      one new random source per restart
+     */
+    public List<Random> createRandomsForRestarts(int numberOfRestarts) {
+        List<Random> randoms = new ArrayList<>(numberOfRestarts);
+        for (int i = 0; i < numberOfRestarts; i++) {
+            randoms.add(new Random(randomSource.split().nextLong()));
+        }
+        return randoms;
+    }
+
     public Port getPairedPort(Port port) {
         if (isSingleComponent) {
             return keptPortPairings.get(port);
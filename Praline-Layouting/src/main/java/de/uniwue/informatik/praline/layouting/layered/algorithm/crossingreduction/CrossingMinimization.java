@@ -7,7 +7,7 @@ import de.uniwue.informatik.praline.datastructure.utils.PortUtils;
 import de.uniwue.informatik.praline.io.output.svg.SVGRectangleDrawer;
 import de.uniwue.informatik.praline.io.output.util.DrawingInformation;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.SugiyamaLayouter;
-import de.uniwue.informatik.praline.layouting.layered.algorithm.util.Constants;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.util.IndexedGraph;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.util.SortingOrder;
 import org.eclipse.elk.core.util.Pair;
 
@@ -36,6 +36,7 @@ public class CrossingMinimization {
     public static final HandlingDeadEnds DEFAULT_HANDLING_DEAD_ENDS = HandlingDeadEnds.PREV_RELATIVE_POSITIONS;
 
     private SugiyamaLayouter sugy;
+    private Random random;
     private List<List<SortingNode>> layers; //for CrossingMinimizationMethod VERTICES: one per layer, otherwise: one for
     // bottom, one for top layer
     private Set<Vertex> adjacentToDummyTurningPoints;
@@ -45,9 +46,28 @@ public class CrossingMinimization {
     private boolean movePortsAdjToTurningDummiesToTheOutside;
     private boolean placeTurningDummiesNextToTheirVertex;
     private SortingOrder originalOrders;
+    private IndexedGraph indexedGraph; //snapshot of the graph of sugy, the arrays below are indexed by its ids
+    private SortingNode[] sortingNodeOfPort; //only filled while the adjacencies between two layers are determined
+    private SortingNode[] sortingNodeOfVertex; //only filled while the adjacencies between two layers are determined
+    private int[] positionOfVertex; //position in its layer; only valid within orderPortsFinally()
+    private int[] positionInBottomPortOrder; //-1 if not on the bottom side; only valid within orderPortsFinally()
+    private int[] positionInTopPortOrder; //-1 if not on the top side; only valid within orderPortsFinally()
+    private int[] sizeOfBottomPortOrder; //only valid within orderPortsFinally()
+    private int[] sizeOfTopPortOrder; //only valid within orderPortsFinally()
 
     public CrossingMinimization(SugiyamaLayouter sugy) {
+        this(sugy, sugy.getRandom());
+    }
+
+    /**
+     * @param sugy
+     * @param random
+     *      random source for the random start permutation and further random decisions; use a separate one for each
+     *      restart, see {@link SugiyamaLayouter#createRandomsForRestarts(int)}
+     */
+    public CrossingMinimization(SugiyamaLayouter sugy, Random random) {
         this.sugy = sugy;
+        this.random = random;
     }
 
     public SortingOrder layerSweepWithBarycenterHeuristic(CrossingMinimizationMethod method, SortingOrder orders,
@@ -128,11 +148,11 @@ public class CrossingMinimization {
         if (randomStartPermutation) {
             //compute random start position for each layer
             for (List<Vertex> layer : orders.getNodeOrder()) {
-                Collections.shuffle(layer, Constants.random);
+                Collections.shuffle(layer, random);
             }
 
             //shuffle ports
-            orders.shufflePorts();
+            orders.shufflePorts(random);
         }
         //place dummy turning points close to their vertices
         if (this.placeTurningDummiesNextToTheirVertex) {
@@ -145,6 +165,9 @@ public class CrossingMinimization {
 
     private void initSortingNodes(SortingOrder orders, boolean ignorePorts) {
         this.layers.clear();
+        this.indexedGraph = IndexedGraph.fromLayouter(sugy);
+        this.sortingNodeOfPort = new SortingNode[indexedGraph.getNumberOfPorts()];
+        this.sortingNodeOfVertex = new SortingNode[indexedGraph.getNumberOfVertices()];
         for (int rank = 0; rank < orders.getNodeOrder().size(); rank++) {
             List<Vertex> baseLayer = orders.getNodeOrder().get(rank);
 
@@ -221,58 +244,75 @@ public class CrossingMinimization {
     }
 
     private void findEdgesBetweenLayers(List<SortingNode> lowerTopLayer, List<SortingNode> upperBottomLayer) {
+        //the upper end of an edge is never in the lower layer, so we only look up the other end of each edge
+        setSortingNodesOfIds(lowerTopLayer, true);
+        int[] portStart = indexedGraph.getPortStart();
+        int[] portIncidenceStart = indexedGraph.getPortIncidenceStart();
+        int[] portIncidentEdges = indexedGraph.getPortIncidentEdges();
         for (SortingNode upperNode : upperBottomLayer) {
-            Collection<Edge> edgesUpperNode = getIncidentEdges(upperNode);
-
-            for (Edge edge : edgesUpperNode) {
-                Port port0 = edge.getPorts().get(0);
-                Port port1 = edge.getPorts().get(1);
-                Vertex vertex0 = port0.getVertex();
-                Vertex vertex1 = port1.getVertex();
-                for (SortingNode lowerNode : lowerTopLayer) {
-                    if (lowerNode.representsPort()) {
-                        if (lowerNode.getPort().equals(port0) || lowerNode.getPort().equals(port1)) {
-                            upperNode.getNeighborsBelow().add(lowerNode);
-                            lowerNode.getNeighborsAbove().add(upperNode);
-                        }
-                    }
-                    else {
-                        if (lowerNode.getVertex().equals(vertex0) || lowerNode.getVertex().equals(vertex1)) {
-                            upperNode.getNeighborsBelow().add(lowerNode);
-                            lowerNode.getNeighborsAbove().add(upperNode);
-                        }
+            int firstPort;
+            int endPorts;
+            if (upperNode.representsPort()) {
+                firstPort = indexedGraph.getId(upperNode.getPort());
+                endPorts = firstPort + 1;
+            }
+            else {
+                int vertex = indexedGraph.getId(upperNode.getVertex());
+                firstPort = portStart[vertex];
+                endPorts = portStart[vertex + 1];
+            }
+
+            for (int port = firstPort; port < endPorts; port++) {
+                for (int i = portIncidenceStart[port]; i < portIncidenceStart[port + 1]; i++) {
+                    SortingNode lowerNode =
+                            getSortingNodeOfPortOrItsVertex(indexedGraph.getOtherPort(portIncidentEdges[i], port));
+                    if (lowerNode != null) {
+                        upperNode.getNeighborsBelow().add(lowerNode);
+                        lowerNode.getNeighborsAbove().add(upperNode);
                     }
                 }
             }
         }
+        setSortingNodesOfIds(lowerTopLayer, false);
     }
 
     private void findPortPairingsBetweenLayers(List<SortingNode> bottomLayer, List<SortingNode> topLayer) {
+        setSortingNodesOfIds(topLayer, true);
+        int[] pairedPort = indexedGraph.getPairedPort();
         for (SortingNode bottomNode : bottomLayer) {
             if (bottomNode.representsPort()) {
-                Port bottomPort = bottomNode.getPort();
-                Port topPort = sugy.isPaired(bottomPort) ? sugy.getPairedPort(bottomPort) : null;
-                if (topPort != null) {
-                    for (SortingNode topNode : topLayer) {
-                        if (topNode.representsPort() && topNode.getPort().equals(topPort)) {
-                            topNode.setPairedPortSortingNode(bottomNode);
-                            bottomNode.setPairedPortSortingNode(topNode);
-                        }
-                    }
+                int topPort = pairedPort[indexedGraph.getId(bottomNode.getPort())];
+                SortingNode topNode = topPort < 0 ? null : sortingNodeOfPort[topPort];
+                if (topNode != null) {
+                    topNode.setPairedPortSortingNode(bottomNode);
+                    bottomNode.setPairedPortSortingNode(topNode);
                 }
             }
         }
+        setSortingNodesOfIds(topLayer, false);
     }
 
-    private Collection<Edge> getIncidentEdges(SortingNode sortingNode) {
-        Collection<Edge> edges = null;
-        if (sortingNode.representsPort()) {
-            edges = sortingNode.getPort().getEdges();
-        }
-        else {
-            edges = PortUtils.getEdges(sortingNode.getVertex());
+    /**
+     * Registers (set == true) or unregisters (set == false) the sorting nodes of layer in
+     * {@link CrossingMinimization#sortingNodeOfPort} and {@link CrossingMinimization#sortingNodeOfVertex}.
+     *
+     * @param layer
+     * @param set
+     */
+    private void setSortingNodesOfIds(List<SortingNode> layer, boolean set) {
+        for (SortingNode node : layer) {
+            if (node.representsPort()) {
+                sortingNodeOfPort[indexedGraph.getId(node.getPort())] = set ? node : null;
+            }
+            else {
+                sortingNodeOfVertex[indexedGraph.getId(node.getVertex())] = set ? node : null;
+            }
         }
-        return edges;
+    }
+
+    private SortingNode getSortingNodeOfPortOrItsVertex(int port) {
+        SortingNode sortingNode = sortingNodeOfPort[port];
+        return sortingNode != null ? sortingNode : sortingNodeOfVertex[indexedGraph.getVertexOfPort()[port]];
     }
 
     private void doSweeping(boolean handlePortPairings, boolean allowPortPermuting, HandlingDeadEnds handlingDeadEnds,
@@ -577,7 +617,7 @@ public class CrossingMinimization {
                 }
             }
             //re-insert them in random order close to their corresponding vertex
-            Collections.shuffle(turningDummiesOnLayer, Constants.random);
+            Collections.shuffle(turningDummiesOnLayer, random);
             for (Vertex turningDummy : turningDummiesOnLayer) {
                 Vertex vertex = sugy.getVertexOfTurningDummy(turningDummy);
                 List<Vertex> adjacentLayer = orders.getNodeOrder().get(sugy.getRank(vertex));
@@ -1045,6 +1085,7 @@ public class CrossingMinimization {
                                    boolean upwards, boolean isFinalSorting,
                                    boolean handlePortPairings, boolean ignoreNodesWithPairings) {
         List<Map<Vertex, List<Port>>> portOrdersToBeSorted = Arrays.asList(currentBPortOrder, currentTPortOrder);
+        initPositions(orders);
 
         List<List<Vertex>> nodeOrder = new ArrayList<>(orders.getNodeOrder());
         if (!upwards) {
@@ -1061,10 +1102,11 @@ public class CrossingMinimization {
                 }
                 for (Map<Vertex, List<Port>> currentPortOrderMap : portOrdersToBeSorted) {
                     List<Port> portsOfThisNodeSide = new ArrayList<>(currentPortOrderMap.get(node));
-                    orderPorts(portsOfThisNodeSide, orders);
+                    orderPorts(portsOfThisNodeSide);
                     portsOfThisNodeSide = orderPortsConstraintToPortGroups(portsOfThisNodeSide,
                             node.getPortCompositions(), true);
                     currentPortOrderMap.replace(node, portsOfThisNodeSide);
+                    updatePortPositions(node, orders);
                 }
                 if (handlePortPairings) {
                     boolean allPortPairingsSeparated = false;
@@ -1080,6 +1122,7 @@ public class CrossingMinimization {
                         }
                     }
                     while (isFinalSorting && !allPortPairingsSeparated && tries++ < maxTries);
+                    updatePortPositions(node, orders);
 
                     if (isFinalSorting) {
                         //check port pairings
@@ -1620,11 +1663,11 @@ public class CrossingMinimization {
         }
     }
 
-    private void orderPorts(List<Port> ports, SortingOrder orders) {
+    private void orderPorts(List<Port> ports) {
         //find the barycenter for each port, we don't care about port groups in this method
         LinkedHashMap<Port, Double> port2barycenter = new LinkedHashMap<>();
         for (Port port : ports) {
-            port2barycenter.put(port, getBarycenter(port, orders));
+            port2barycenter.put(port, getBarycenter(port));
         }
         ports.sort((Comparator.comparingDouble(port2barycenter::get)));
     }
@@ -1689,23 +1732,84 @@ public class CrossingMinimization {
         return resultingList;
     }
 
-    private double getBarycenter(Port port, SortingOrder orders) {
+    /**
+     * Positions are taken from the arrays filled by {@link CrossingMinimization#initPositions(SortingOrder)}.
+     *
+     * @param port
+     * @return
+     */
+    private double getBarycenter(Port port) {
         double sumBarycenter = 0;
         int countRelevantAdjacencies = 0;
-        for (Edge edge : port.getEdges()) {
-            Port otherPort = PortUtils.getOtherEndPoint(edge, port);
-            Vertex otherVertex = otherPort.getVertex();
+        int portId = indexedGraph.getId(port);
+        int[] vertexOfPort = indexedGraph.getVertexOfPort();
+        int[] portIncidenceStart = indexedGraph.getPortIncidenceStart();
+        int[] portIncidentEdges = indexedGraph.getPortIncidentEdges();
+        for (int i = portIncidenceStart[portId]; i < portIncidenceStart[portId + 1]; i++) {
+            int otherPort = indexedGraph.getOtherPort(portIncidentEdges[i], portId);
+            int otherVertex = vertexOfPort[otherPort];
             sumBarycenter +=
-                    (double) orders.getNodeOrder().get(sugy.getRank(otherVertex)).indexOf(otherVertex)
-                            + Math.max((double) orders.getBottomPortOrder().get(otherVertex).indexOf(otherPort) /
-                                    (double) orders.getBottomPortOrder().get(otherVertex).size(),
-                            (double) orders.getTopPortOrder().get(otherVertex).indexOf(otherPort) /
-                                    (double) orders.getTopPortOrder().get(otherVertex).size());
+                    (double) positionOfVertex[otherVertex]
+                            + Math.max((double) positionInBottomPortOrder[otherPort] /
+                                    (double) sizeOfBottomPortOrder[otherVertex],
+                            (double) positionInTopPortOrder[otherPort] /
+                                    (double) sizeOfTopPortOrder[otherVertex]);
             ++countRelevantAdjacencies;
         }
         return sumBarycenter / (double) countRelevantAdjacencies;
     }
 
+    /**
+     * Stores the positions of all vertices and ports in orders by the ids of {@link CrossingMinimization#indexedGraph}
+     * so that {@link CrossingMinimization#getBarycenter(Port)} does not need to search the lists of orders.
+     *
+     * @param orders
+     */
+    private void initPositions(SortingOrder orders) {
+        int numberOfVertices = indexedGraph.getNumberOfVertices();
+        int numberOfPorts = indexedGraph.getNumberOfPorts();
+        positionOfVertex = new int[numberOfVertices];
+        Arrays.fill(positionOfVertex, -1);
+        positionInBottomPortOrder = new int[numberOfPorts];
+        positionInTopPortOrder = new int[numberOfPorts];
+        sizeOfBottomPortOrder = new int[numberOfVertices];
+        sizeOfTopPortOrder = new int[numberOfVertices];
+        for (List<Vertex> layer : orders.getNodeOrder()) {
+            for (int i = 0; i < layer.size(); i++) {
+                positionOfVertex[indexedGraph.getId(layer.get(i))] = i;
+                updatePortPositions(layer.get(i), orders);
+            }
+        }
+    }
+
+    /**
+     * Call this whenever the port orders of vertex in orders have changed.
+     *
+     * @param vertex
+     * @param orders
+     */
+    private void updatePortPositions(Vertex vertex, SortingOrder orders) {
+        int vertexId = indexedGraph.getId(vertex);
+        int[] portStart = indexedGraph.getPortStart();
+        Arrays.fill(positionInBottomPortOrder, portStart[vertexId], portStart[vertexId + 1], -1);
+        Arrays.fill(positionInTopPortOrder, portStart[vertexId], portStart[vertexId + 1], -1);
+        sizeOfBottomPortOrder[vertexId] = fillPortPositions(orders.getBottomPortOrder().get(vertex),
+                positionInBottomPortOrder);
+        sizeOfTopPortOrder[vertexId] = fillPortPositions(orders.getTopPortOrder().get(vertex),
+                positionInTopPortOrder);
+    }
+
+    private int fillPortPositions(List<Port> portOrder, int[] positionInPortOrder) {
+        //backwards so that the first occurrence counts like in List#indexOf()
+        for (int i = portOrder.size() - 1; i >= 0; i--) {
+            int portId = indexedGraph.getId(portOrder.get(i));
+            if (portId >= 0) {
+                positionInPortOrder[portId] = i;
+            }
+        }
+        return portOrder.size();
+    }
+
     private double getBarycenter(SortingNode node, boolean sweepUpwards) {
         double sumBarycenter = 0;
         int countRelevantAdjacencies = 0;
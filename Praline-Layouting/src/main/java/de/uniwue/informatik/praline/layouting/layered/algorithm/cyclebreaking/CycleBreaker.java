@@ -4,49 +4,33 @@ import de.uniwue.informatik.praline.datastructure.graphs.Edge;
 import de.uniwue.informatik.praline.datastructure.graphs.Port;
 import de.uniwue.informatik.praline.datastructure.graphs.Vertex;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.SugiyamaLayouter;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.util.IndexedGraph;
 
 import java.util.*;
 
 public class CycleBreaker {
 
+    /**
+     * Greedy heuristic of
+     * P. Eades, X. Lin, W. F. Smyth: "A fast and effective heuristic for the feedback arc set problem" (1993).
+     * It runs in O(|V| + |E|) time.
+     */
     public void greedyFas(SugiyamaLayouter sugy) {
-        List<Vertex> vertices = new LinkedList<>(sugy.getGraph().getVertices());
-        List<Edge> edges = new LinkedList<>(sugy.getGraph().getEdges());
-        linearArrange(vertices, edges);
-        assignEdgeDirectionsWithoutCycles(sugy, vertices, edges);
+        IndexedGraph graph = IndexedGraph.fromGraph(sugy.getGraph());
+        int[] order = linearArrange(graph);
+        assignEdgeDirectionsWithoutCycles(sugy, toVertexList(graph, order), sugy.getGraph().getEdges());
     }
 
+    /**
+     * SortFAS of
+     * F. J. Brandenburg, K. Hanauer: "Sorting heuristics for the feedback arc set problem" (2011),
+     * started from the order of {@link CycleBreaker#greedyFas(SugiyamaLayouter)}.
+     * It runs in O(|V|^2 + |E|) time.
+     */
     public void sortFas(SugiyamaLayouter sugy) {
-
-        List<Vertex> vertices = new ArrayList<>(sugy.getGraph().getVertices());
-        LinkedList<Vertex> verticesOrdered = new LinkedList<>();
-        List<Edge> edges = new LinkedList<>(sugy.getGraph().getEdges());
-        Map<Vertex, List<Vertex>> outgoingEdges = new HashMap<>();
-
-        for (Vertex vertex : vertices)
-            outgoingEdges.put(vertex, new ArrayList<>());
-        for (Edge edge : edges)
-            outgoingEdges.get(edge.getStartPort().getVertex()).add(edge.getEndPort().getVertex());
-        linearArrange(vertices, edges);
-
-        for (int i = 0; i < vertices.size(); i++) {
-            int val = 0, min = 0, loc = i;
-            for (int j = i - 1; j >= 0; j--) {
-                if (outgoingEdges.get(vertices.get(i)).contains(vertices.get(j))) { val -= 1; }
-                if (outgoingEdges.get(vertices.get(j)).contains(vertices.get(i))) { val += 1; }
-                if (val <= min) {
-                    min = val;
-                    loc = j;
-                }
-            }
-            // Insert vertex i at position loc
-            verticesOrdered.add(loc, vertices.get(i));
-        }
-        if (vertices.size() != verticesOrdered.size()) {
-            System.out.println("Size doesn't fit");
-        }
-        vertices = verticesOrdered;
-        assignEdgeDirectionsWithoutCycles(sugy, vertices, edges);
+        IndexedGraph graph = IndexedGraph.fromGraph(sugy.getGraph());
+        int[] order = sortArrangement(graph, linearArrange(graph));
+        assignEdgeDirectionsWithoutCycles(sugy, toVertexList(graph, order), sugy.getGraph().getEdges());
     }
 
     public void pageRankFas(SugiyamaLayouter sugy) {
@@ -239,11 +223,15 @@ public class CycleBreaker {
 
 
     public void assignEdgeDirectionsWithoutCycles(SugiyamaLayouter sugy, List<Vertex> vertices, List<Edge> edges) {
+        Map<Vertex, Integer> positions = new HashMap<>(2 * vertices.size());
+        for (int i = 0; i < vertices.size(); i++) {
+            positions.put(vertices.get(i), i);
+        }
         // Weise den Kanten die richtigen Richtungen zu
         for (Edge edge : edges) {
             Vertex node0 = edge.getStartPort().getVertex();
             Vertex node1 = edge.getEndPort().getVertex();
-            if (vertices.indexOf(node0) < vertices.indexOf(node1)) {
+            if (positions.get(node0) < positions.get(node1)) {
                 sugy.assignDirection(edge, node0, node1);
             } else {
                 sugy.assignDirection(edge, node1, node0);
@@ -251,95 +239,214 @@ public class CycleBreaker {
         }
     }
 
-    public void linearArrange(List<Vertex> vertices, List<Edge> edges) {
+    /**
+     * Eades-Lin-Smyth with bucket queues: repeatedly, sinks are put to the end, sources to the beginning, and if
+     * there are none, the vertex with maximum out-degree minus in-degree is put to the beginning.
+     * Vertices without any edges count as sources.
+     * Each vertex is in exactly one bucket (sinks, sources, or the bucket of its out-degree minus in-degree), each
+     * bucket is a doubly linked list, and vertices are taken from the front of a bucket.
+     *
+     * @return
+     *      all vertex ids in the order of the arrangement
+     */
+    private static int[] linearArrange(IndexedGraph graph) {
+        int n = graph.getNumberOfVertices();
+        int[] outStart = graph.getOutStart();
+        int[] outEdges = graph.getOutEdges();
+        int[] inStart = graph.getInStart();
+        int[] inEdges = graph.getInEdges();
+        int[] edgeSource = graph.getEdgeSource();
+        int[] edgeTarget = graph.getEdgeTarget();
+
+        int[] outDeg = new int[n];
+        int[] inDeg = new int[n];
+        int maxDelta = 0;
+        for (int v = 0; v < n; v++) {
+            outDeg[v] = outStart[v + 1] - outStart[v];
+            inDeg[v] = inStart[v + 1] - inStart[v];
+            maxDelta = Math.max(maxDelta, Math.max(outDeg[v], inDeg[v]));
+        }
 
-        List<Edge> edgesToRemove = new ArrayList<>();
-        List<Edge> removedEdges = new ArrayList<>();
-        LinkedList<Vertex> s1 = new LinkedList<>();
-        LinkedList<Vertex> s2 = new LinkedList<>();
-        LinkedList<Vertex> s3 = new LinkedList<>();
-        boolean sinksPresent = true;
-        boolean sourcesPresent = true;
+        //buckets: 0 = sinks, 1 = sources, 2 + maxDelta + delta = others with out-degree minus in-degree delta
+        int numberOfBuckets = 2 * maxDelta + 3;
+        int[] first = new int[numberOfBuckets];
+        int[] last = new int[numberOfBuckets];
+        Arrays.fill(first, -1);
+        Arrays.fill(last, -1);
+        int[] next = new int[n];
+        int[] prev = new int[n];
+        int[] bucketOf = new int[n];
+        boolean[] removed = new boolean[n];
+        int highestBucket = 2;
+        for (int v = 0; v < n; v++) {
+            bucketOf[v] = bucket(outDeg[v], inDeg[v], maxDelta);
+            append(v, bucketOf[v], first, last, next, prev);
+            if (bucketOf[v] > 1) {
+                highestBucket = Math.max(highestBucket, bucketOf[v]);
+            }
+        }
 
-        // check for sinks in the graph
-        while (sinksPresent) {
-            Optional<Vertex> sink = findSinkSourceOrMaxDegVertex(vertices, edges, CycleBreakingNodeType.SINK);
-            if (sink.isPresent()) {
-                Vertex presentSink = sink.get();
-                s3.addFirst(presentSink);
-                vertices.remove(presentSink);
-
-                // for the found sink, remove all incoming edges
-                for (Edge edge : edges) {
-                    if (edge.getEndPort().getVertex() == presentSink) {
-                        edgesToRemove.add(edge);
-                    }
+        int[] order = new int[n];
+        int front = 0;
+        int back = n - 1;
+        while (front <= back) {
+            int v;
+            if (first[0] >= 0) {
+                v = first[0];
+                order[back--] = v;
+            }
+            else if (first[1] >= 0) {
+                v = first[1];
+                order[front++] = v;
+            }
+            else {
+                while (first[highestBucket] < 0) {
+                    --highestBucket;
                 }
-                for (Edge edge : edgesToRemove) {
-                    edges.remove(edge);
-                    removedEdges.add(edge);
+                v = first[highestBucket];
+                order[front++] = v;
+            }
+            unlink(v, bucketOf[v], first, last, next, prev);
+            removed[v] = true;
+
+            //remove the edges of v and update the buckets of its neighbors
+            for (int i = outStart[v]; i < outStart[v + 1]; i++) {
+                int u = edgeTarget[outEdges[i]];
+                if (!removed[u]) {
+                    --inDeg[u];
+                    highestBucket = Math.max(highestBucket,
+                            moveToBucket(u, bucket(outDeg[u], inDeg[u], maxDelta), bucketOf, first, last, next, prev));
+                }
+            }
+            for (int i = inStart[v]; i < inStart[v + 1]; i++) {
+                int u = edgeSource[inEdges[i]];
+                if (!removed[u]) {
+                    --outDeg[u];
+                    moveToBucket(u, bucket(outDeg[u], inDeg[u], maxDelta), bucketOf, first, last, next, prev);
                 }
-                edgesToRemove.clear();
-            } else {
-                sinksPresent = false;
             }
         }
+        return order;
+    }
+
+    private static int bucket(int outDeg, int inDeg, int maxDelta) {
+        if (inDeg == 0) {
+            return 1;
+        }
+        if (outDeg == 0) {
+            return 0;
+        }
+        return 2 + maxDelta + outDeg - inDeg;
+    }
 
-        // Prüfe, ob der Graph sources hat
-        while (sourcesPresent) {
-            Optional<Vertex> source = findSinkSourceOrMaxDegVertex(vertices, edges, CycleBreakingNodeType.SOURCE);
-            if (source.isPresent()) {
-                Vertex presentSource = source.get();
-                s1.add(presentSource);
-                vertices.remove(presentSource);
-
-                // Entferne alle ausgehenden Kanten der Quelle
-                for (Edge edge : edges) {
-                    if (edge.getStartPort().getVertex() == presentSource) {
-                        edgesToRemove.add(edge);
-                    }
+    /**
+     * @return
+     *      the new bucket if it is a bucket of non-sinks and non-sources, otherwise 2 (the lowest of these buckets)
+     */
+    private static int moveToBucket(int v, int newBucket, int[] bucketOf, int[] first, int[] last, int[] next,
+                                    int[] prev) {
+        if (bucketOf[v] != newBucket) {
+            unlink(v, bucketOf[v], first, last, next, prev);
+            bucketOf[v] = newBucket;
+            append(v, newBucket, first, last, next, prev);
+        }
+        return Math.max(newBucket, 2);
+    }
+
+    private static void append(int v, int bucket, int[] first, int[] last, int[] next, int[] prev) {
+        prev[v] = last[bucket];
+        next[v] = -1;
+        if (last[bucket] >= 0) {
+            next[last[bucket]] = v;
+        }
+        else {
+            first[bucket] = v;
+        }
+        last[bucket] = v;
+    }
+
+    private static void unlink(int v, int bucket, int[] first, int[] last, int[] next, int[] prev) {
+        if (prev[v] >= 0) {
+            next[prev[v]] = next[v];
+        }
+        else {
+            first[bucket] = next[v];
+        }
+        if (next[v] >= 0) {
+            prev[next[v]] = prev[v];
+        }
+        else {
+            last[bucket] = prev[v];
+        }
+    }
+
+    /**
+     * SortFAS: inserts the vertices one after another (in the order of initialOrder) into a new order at the position
+     * where the number of backward edges (parallel edges counted with their multiplicity) to the already inserted
+     * vertices is minimal; on ties the leftmost such position is taken.
+     * Adjacency to the current vertex is marked in arrays, so each position is evaluated in O(1).
+     *
+     * @return
+     *      all vertex ids in the order of the arrangement
+     */
+    private static int[] sortArrangement(IndexedGraph graph, int[] initialOrder) {
+        int n = graph.getNumberOfVertices();
+        int[] outStart = graph.getOutStart();
+        int[] outEdges = graph.getOutEdges();
+        int[] inStart = graph.getInStart();
+        int[] inEdges = graph.getInEdges();
+        int[] edgeSource = graph.getEdgeSource();
+        int[] edgeTarget = graph.getEdgeTarget();
+
+        //gain[u] is the change of backward edges when moving the i-th vertex in front of u; it is only valid if
+        // stamp[u] == i + 1, so we need not reset it for every vertex (parallel edges count multiple times)
+        int[] gain = new int[n];
+        int[] stamp = new int[n];
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            int v = initialOrder[i];
+            for (int j = outStart[v]; j < outStart[v + 1]; j++) {
+                int u = edgeTarget[outEdges[j]];
+                if (stamp[u] != i + 1) {
+                    stamp[u] = i + 1;
+                    gain[u] = 0;
                 }
-                for (Edge edge : edgesToRemove) {
-                    edges.remove(edge);
-                    removedEdges.add(edge);
+                --gain[u];
+            }
+            for (int j = inStart[v]; j < inStart[v + 1]; j++) {
+                int u = edgeSource[inEdges[j]];
+                if (stamp[u] != i + 1) {
+                    stamp[u] = i + 1;
+                    gain[u] = 0;
                 }
-                edgesToRemove.clear();
-            } else {
-                sourcesPresent = false;
+                ++gain[u];
             }
-        }
-
-        while (!vertices.isEmpty()) {
-            // find the vertex where the difference between indeg and outdeg is highest
-            Optional<Vertex> maxDegVertex = findSinkSourceOrMaxDegVertex(vertices, edges, CycleBreakingNodeType.OTHER);
-            if (maxDegVertex.isPresent()) {
-                Vertex presentMaxDegVertex = maxDegVertex.get();
-                s2.add(presentMaxDegVertex);
-                vertices.remove(presentMaxDegVertex);
-
-                // for this vertex, remove all adjacend edges
-                for (Edge edge : edges) {
-                    if (edge.getStartPort().getVertex() == presentMaxDegVertex
-                            || edge.getEndPort().getVertex() == presentMaxDegVertex) {
-                        edgesToRemove.add(edge);
-                    }
+            //value is the change of backward edges when moving v from the right end to in front of position j
+            int value = 0;
+            int min = 0;
+            int location = i;
+            for (int j = i - 1; j >= 0; j--) {
+                int u = order[j];
+                if (stamp[u] == i + 1) {
+                    value += gain[u];
                 }
-                for (Edge edge : edgesToRemove) {
-                    edges.remove(edge);
-                    removedEdges.add(edge);
+                if (value <= min) {
+                    min = value;
+                    location = j;
                 }
-                edgesToRemove.clear();
             }
+            System.arraycopy(order, location, order, location + 1, i - location);
+            order[location] = v;
         }
+        return order;
+    }
 
-        // Hänge die beiden geordneten Listen von Knoten aneinander
-        //List<Vertex> verticesOrdered = new ArrayList<>();
-        vertices.addAll(s1);
-        vertices.addAll(s2);
-        vertices.addAll(s3);
-
-        //vertices = verticesOrdered;
-        edges.addAll(removedEdges);
+    private static List<Vertex> toVertexList(IndexedGraph graph, int[] order) {
+        List<Vertex> vertices = new ArrayList<>(order.length);
+        for (int v : order) {
+            vertices.add(graph.getVertex(v));
+        }
+        return vertices;
     }
 
     public Optional<Vertex> findSinkSourceOrMaxDegVertex(List<Vertex> vertices, List<Edge> edges, CycleBreakingNodeType type) {
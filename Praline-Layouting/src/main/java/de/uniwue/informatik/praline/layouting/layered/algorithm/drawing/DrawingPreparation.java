@@ -26,6 +26,14 @@ public class DrawingPreparation {
     private double delta;
     private Map<Integer, Double> layer2shiftForUnionNodes;
     private boolean diableShifting = false;
+    /**
+     * shifts noted but not yet applied, see {@link DrawingPreparation#applyPendingShifts()}
+     */
+    private double[] pendingNodeShiftFromRank;
+    private double[] pendingEdgeShiftFromRank;
+    private double[] pendingNodeShiftAtRank;
+    private double[] pendingEdgeShiftAtRank;
+    private boolean hasPendingShifts = false;
 
     public DrawingPreparation (SugiyamaLayouter sugy) {
         this.sugy = sugy;
@@ -262,57 +270,99 @@ public class DrawingPreparation {
         return tightenedRectangle;
     }
 
-    private void shiftAllUpToRank(int rank, double shiftValue) {
-        shiftAllUpToRank(rank, shiftValue, shiftValue);
-    }
-
+    // shift all nodes of rank rank and above with their ports and all edgePaths between them (lazily, see
+    // applyPendingShifts())
     private void shiftAllUpToRank(int rank, double shiftValue, double shiftValueEdges) {
-        Set<Edge> edgesAlreadyShifted = new LinkedHashSet<>();
-        for (int i = sugy.getMaxRank(); i >= rank; i--) {
-            shift(i, shiftValue, shiftValueEdges, edgesAlreadyShifted);
+        if (diableShifting || rank >= pendingNodeShiftFromRank.length) {
+            return;
         }
+        pendingNodeShiftFromRank[rank] += shiftValue;
+        pendingEdgeShiftFromRank[rank] += shiftValueEdges;
+        hasPendingShifts = true;
     }
 
-    // shift all nodes of rank rank with their ports and all edgePaths to nodes below
-    private void shift(int rank, double shiftValue, Set<Edge> edgesAlreadyShifted) {
-        shift(rank, shiftValue, shiftValue, edgesAlreadyShifted);
+    // shift all nodes of rank rank with their ports and all edgePaths to nodes below (lazily, see
+    // applyPendingShifts())
+    private void shift(int rank, double shiftValue, double shiftValueEdges) {
+        if (diableShifting) {
+            return;
+        }
+        pendingNodeShiftAtRank[rank] += shiftValue;
+        pendingEdgeShiftAtRank[rank] += shiftValueEdges;
+        hasPendingShifts = true;
     }
 
-    // shift all nodes of rank rank with their ports and all edgePaths to nodes below
-    private void shift(int rank, double shiftValue, double shiftValueEdges, Set<Edge> edgesAlreadyShifted) {
-        if (diableShifting) {
+    /**
+     * Shifting everything above a rank immediately costs time linear in the size of the drawing, so doing it once
+     * per rank or vertex group would be quadratic. Instead, {@link DrawingPreparation#shiftAllUpToRank} and
+     * {@link DrawingPreparation#shift} only note the shift per rank and all noted shifts are applied here in one
+     * pass (via prefix sums over the ranks).
+     * Until then, positions of different ranks are not comparable, so call this before anything reads positions
+     * across ranks. Relative changes within a rank (e.g. when restoring a vertex group) may be done before.
+     */
+    private void applyPendingShifts() {
+        if (!hasPendingShifts) {
             return;
         }
+        int numberOfRanks = pendingNodeShiftFromRank.length;
+        double[] nodeShift = new double[numberOfRanks];
+        double[] edgeShift = new double[numberOfRanks];
+        double nodeShiftFromBelow = 0;
+        double edgeShiftFromBelow = 0;
+        for (int rank = 0; rank < numberOfRanks; rank++) {
+            nodeShiftFromBelow += pendingNodeShiftFromRank[rank];
+            edgeShiftFromBelow += pendingEdgeShiftFromRank[rank];
+            nodeShift[rank] = nodeShiftFromBelow + pendingNodeShiftAtRank[rank];
+            edgeShift[rank] = edgeShiftFromBelow + pendingEdgeShiftAtRank[rank];
+        }
+        Arrays.fill(pendingNodeShiftFromRank, 0);
+        Arrays.fill(pendingEdgeShiftFromRank, 0);
+        Arrays.fill(pendingNodeShiftAtRank, 0);
+        Arrays.fill(pendingEdgeShiftAtRank, 0);
+        hasPendingShifts = false;
+
+        // as when shifting rank by rank from the top, each edge is shifted by the value of the highest rank where
+        // it is found
+        Set<Edge> edgesAlreadyShifted = new LinkedHashSet<>();
+        for (int rank = numberOfRanks - 1; rank >= 0; rank--) {
+            applyShift(rank, nodeShift[rank], edgeShift[rank], edgesAlreadyShifted);
+        }
+    }
+
+    // shift all nodes of rank rank with their ports and all edgePaths to nodes below
+    private void applyShift(int rank, double shiftValue, double shiftValueEdges, Set<Edge> edgesAlreadyShifted) {
         for (Vertex node : sortingOrder.getNodeOrder().get(rank)) {
-            Rectangle currentShape = (Rectangle) node.getShape();
-            currentShape.y = currentShape.getY() + shiftValue;
-            //shift top or bottom side first, such that no new overlaps occur
-            List<List<Port>> portsToBeShifted = shiftValue > 0 ?
-                    Arrays.asList(sortingOrder.getTopPortOrder().get(node), sortingOrder.getBottomPortOrder().get(node)) :
-                    Arrays.asList(sortingOrder.getBottomPortOrder().get(node), sortingOrder.getTopPortOrder().get(node));
-            for (List<Port> ports : portsToBeShifted) {
-                for (Port port : ports) {
-                    shiftPort(port, shiftValue);
+            if (shiftValue != 0) {
+                Rectangle currentShape = (Rectangle) node.getShape();
+                currentShape.y = currentShape.getY() + shiftValue;
+                //shift top or bottom side first, such that no new overlaps occur
+                List<List<Port>> portsToBeShifted = shiftValue > 0 ?
+                        Arrays.asList(sortingOrder.getTopPortOrder().get(node),
+                                sortingOrder.getBottomPortOrder().get(node)) :
+                        Arrays.asList(sortingOrder.getBottomPortOrder().get(node),
+                                sortingOrder.getTopPortOrder().get(node));
+                for (List<Port> ports : portsToBeShifted) {
+                    for (Port port : ports) {
+                        shiftPort(port, shiftValue);
+                    }
                 }
             }
             // shift edgePaths on the top side ports
             for (Port topPort : sortingOrder.getTopPortOrder().get(node)) {
                 for (Edge edge : topPort.getEdges()) {
-                    if (!edgesAlreadyShifted.contains(edge)) {
+                    if (edgesAlreadyShifted.add(edge)) {
                         shiftInnerPartOfEdge(edge, shiftValueEdges);
-                        edgesAlreadyShifted.add(edge);
                     }
                 }
             }
         }
         // shift also edgePaths on the bottom sides one layer above if it has not been shifted
-        if (rank < sugy.getMaxRank()) {
+        if (rank + 1 < sortingOrder.getNodeOrder().size()) {
             for (Vertex node : sortingOrder.getNodeOrder().get(rank + 1)) {
                 for (Port bottomPort : sortingOrder.getBottomPortOrder().get(node)) {
                     for (Edge edge : bottomPort.getEdges()) {
-                        if (!edgesAlreadyShifted.contains(edge)) {
+                        if (edgesAlreadyShifted.add(edge)) {
                             shiftInnerPartOfEdge(edge, shiftValueEdges);
-                            edgesAlreadyShifted.add(edge);
                         }
                     }
                 }
@@ -321,7 +371,7 @@ public class DrawingPreparation {
     }
 
     private void shiftInnerPartOfEdge(Edge edge, double shiftValue) {
-        if (diableShifting) {
+        if (diableShifting || shiftValue == 0) {
             return;
         }
         for (Path path : edge.getPaths()) {
@@ -365,6 +415,11 @@ public class DrawingPreparation {
 
     public void restoreOriginalElements(boolean disableShifting) {
         this.diableShifting = disableShifting;
+        int numberOfRanks = sortingOrder.getNodeOrder().size();
+        this.pendingNodeShiftFromRank = new double[numberOfRanks];
+        this.pendingEdgeShiftFromRank = new double[numberOfRanks];
+        this.pendingNodeShiftAtRank = new double[numberOfRanks];
+        this.pendingEdgeShiftAtRank = new double[numberOfRanks];
 
 
 
@@ -388,6 +443,7 @@ public class DrawingPreparation {
                 restoreVertexGroup(vertex, vertexGroup);
             }
         }
+        applyPendingShifts();
 
 
         //move ports towards vertices
@@ -400,6 +456,7 @@ public class DrawingPreparation {
         //do extra shifts at nodes with ports with multiple edges, to redraw them -> they should go as skewed edges
         // to that port
         makeSpaceForSkewEdgesAtPortsWithMultipleEdges();
+        applyPendingShifts();
 
         //</shifting involved>
 
@@ -538,7 +595,7 @@ public class DrawingPreparation {
                 layerAlreadyShifted.add(rankOfLayer);
                 //for the current layer shift the edges, but shift the nodes only if we have to make space for the
                 // bottom side
-                shift(rankOfLayer, topPort ? 0 : shiftValue, shiftValue, new LinkedHashSet<>());
+                shift(rankOfLayer, topPort ? 0 : shiftValue, shiftValue);
             }
         }
     }
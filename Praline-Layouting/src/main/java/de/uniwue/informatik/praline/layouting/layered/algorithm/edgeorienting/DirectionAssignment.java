@@ -5,7 +5,6 @@ import de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms.ws
 import de.uniwue.informatik.jung.layouting.forcedirectedwspd.main.qualityMeasurement.QualityTesterForLayout;
 import de.uniwue.informatik.praline.datastructure.graphs.*;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.SugiyamaLayouter;
-import de.uniwue.informatik.praline.layouting.layered.algorithm.util.Constants;
 import edu.uci.ics.jung.algorithms.layout.AbstractLayout;
 import edu.uci.ics.jung.graph.UndirectedSparseGraph;
 
@@ -21,7 +20,7 @@ public class DirectionAssignment {
     public void randomDirected(SugiyamaLayouter sugy) {
         Map<Vertex, Integer> values = new LinkedHashMap<>();
         List<Vertex> vertices = new LinkedList<>(sugy.getGraph().getVertices());
-        Collections.shuffle(vertices, Constants.random);
+        Collections.shuffle(vertices, sugy.getRandom());
         for (int i = 0; i < vertices.size(); i++) {
             values.put(vertices.get(i), i);
         }
@@ -49,56 +48,76 @@ public class DirectionAssignment {
      *      runs so many times with different random start positions and takes the layout producing the fewest crossings
      */
     public void forceDirected(SugiyamaLayouter sugy, int numberOfIterations) {
-        //find the drawing with the fewest crossings
-        int fewestCrossings = Integer.MAX_VALUE;
+        // create Jung graph; it is only read by the layouts, so all restarts share it
+        UndirectedSparseGraph<Long, Long> junggraph = new UndirectedSparseGraph<>();
+        Map<Vertex, Long> nodeToLong = new LinkedHashMap<>();
+        long counter = 0;
+        // add vertices and edges from original graph to the Jung graph
+        for (Vertex node : sugy.getGraph().getVertices()) {
+            junggraph.addVertex(counter);
+            nodeToLong.put(node, counter);
+            counter++;
+        }
+        for (Edge edge : sugy.getGraph().getEdges()) {
+            junggraph.addEdge(
+                    counter,
+                    nodeToLong.get(edge.getStartPort().getVertex()),
+                    nodeToLong.get(edge.getEndPort().getVertex())
+            );
+            counter++;
+        }
+        // calculate height and width so that each node has 6237 pixel space and the drawing space is proportional in size to DIN A4
+        int height = ((int) Math.round(Math.sqrt((junggraph.getVertexCount() * 6237.0) / 0.707)));
+        int width = ((int) Math.round((junggraph.getVertexCount() * 6237.0) / height));
+        Dimension dimension = new Dimension(width, height);
 
+        // compute one layout per restart; the restarts are independent and may run concurrently, see
+        // SugiyamaLayouter#setRestartPool(): each layout gets a seed from the random source of its restart and makes all
+        // its random decisions (start positions, multilevel coarsening and placement) only with randoms of this seed.
+        // So the crossings of each restart and hence the chosen best restart do not depend on the scheduling
+        List<Random> randomsForRestarts = sugy.createRandomsForRestarts(numberOfIterations);
+        List<AbstractLayout<Long, Long>> layouts = new ArrayList<>(Collections.nCopies(numberOfIterations, null));
+        int[] crossings = new int[numberOfIterations];
+        List<Runnable> restarts = new ArrayList<>(numberOfIterations);
         for (int i = 0; i < numberOfIterations; i++) {
-            // create new Jung graph
-            UndirectedSparseGraph<Long, Long> junggraph = new UndirectedSparseGraph<>();
-            Map<Vertex, Long> nodeToLong = new LinkedHashMap<>();
-            long counter = 0;
-            // add vertices and edges from original graph to the Jung graph
-            for (Vertex node : sugy.getGraph().getVertices()) {
-                junggraph.addVertex(counter);
-                nodeToLong.put(node, counter);
-                counter++;
-            }
-            for (Edge edge : sugy.getGraph().getEdges()) {
-                junggraph.addEdge(
-                        counter,
-                        nodeToLong.get(edge.getStartPort().getVertex()),
-                        nodeToLong.get(edge.getEndPort().getVertex())
-                );
-                counter++;
-            }
-            // calculate height and width so that each node has 6237 pixel space and the drawing space is proportional in size to DIN A4
-            int height = ((int) Math.round(Math.sqrt((junggraph.getVertexCount() * 6237.0) / 0.707)));
-            int width = ((int) Math.round((junggraph.getVertexCount() * 6237.0) / height));
-            Dimension dimension = new Dimension(width, height);
-            // create new force directed layout
-            FRWSPDb_bMultiLevel<Long, Long> layout = new FRWSPDb_bMultiLevel<>(junggraph, 1.0, dimension,
-                    Constants.random.nextLong());
-            layout.setRecomputationOfSplitTreeAndWSPDFunction(new RecomputationOfSplitTreeAndWSPDFunction());
-//            layout.setMaxIterations(2000);
-//            layout.setAttractionMultiplier(0.75); //higher value equals weaker force
-//            layout.setRepulsionMultiplier(0.75); //lower value equals weaker force
-//            layout.setInitializer(new RandomLocationTransformer<>(dimension, Constants.random.nextLong()));
-            layout.initialize();
-            // calculate layout
-            while (!layout.done()) {
-                layout.step();
-            }
+            int restart = i;
+            restarts.add(() -> {
+                // create new force directed layout
+                FRWSPDb_bMultiLevel<Long, Long> layout = new FRWSPDb_bMultiLevel<>(junggraph, 1.0, dimension,
+                        randomsForRestarts.get(restart).nextLong());
+                layout.setRecomputationOfSplitTreeAndWSPDFunction(new RecomputationOfSplitTreeAndWSPDFunction());
+                // the forces within one restart may be computed concurrently, too; the result does not change
+                layout.setForcePool(sugy.getRestartPool());
+//                layout.setMaxIterations(2000);
+//                layout.setAttractionMultiplier(0.75); //higher value equals weaker force
+//                layout.setRepulsionMultiplier(0.75); //lower value equals weaker force
+//                layout.setInitializer(new RandomLocationTransformer<>(dimension,
+//                        randomsForRestarts.get(restart).nextLong()));
+                layout.initialize();
+                // calculate layout
+                while (!layout.done()) {
+                    layout.step();
+                }
+                layouts.set(restart, layout);
+                // with a single restart there is nothing to compare
+                if (numberOfIterations > 1) {
+                    QualityTesterForLayout<Long, Long> crossingCounter = new QualityTesterForLayout<>(layout);
+                    crossingCounter.calculateNumberOfEdgeCrossings();
+                    crossings[restart] = crossingCounter.getNumberOfCrossings();
+                }
+            });
+        }
+        sugy.runRestarts(restarts);
 
-            //check if we have a new best layout (fewest crossings) and if so save it
-            QualityTesterForLayout<Long, Long> crossingCounter = new QualityTesterForLayout<>(layout);
-            crossingCounter.calculateNumberOfEdgeCrossings();
-            int crossings = crossingCounter.getNumberOfCrossings();
-            if (crossings < fewestCrossings) {
-                fewestCrossings = crossings;
-                bestFDLayout = layout;
-                nodeToLongBestFDLayout = nodeToLong;
+        //find the layout with the fewest crossings; on ties the one of the lowest restart index
+        int bestRestart = 0;
+        for (int i = 1; i < numberOfIterations; i++) {
+            if (crossings[i] < crossings[bestRestart]) {
+                bestRestart = i;
             }
         }
+        bestFDLayout = layouts.get(bestRestart);
+        nodeToLongBestFDLayout = nodeToLong;
 
         // assign directions to edges acc. to the best layout (the layout with the fewest crossings)
         for (Edge edge : sugy.getGraph().getEdges()) {
@@ -126,7 +145,7 @@ public class DirectionAssignment {
         Set<Vertex> doneVertices = new LinkedHashSet<>();
         LinkedList<Vertex> queue = new LinkedList<>();
         // use start node by random
-        int random = (int) Math.floor(Constants.random.nextDouble() * sugy.getGraph().getVertices().size());
+        int random = (int) Math.floor(sugy.getRandom().nextDouble() * sugy.getGraph().getVertices().size());
         queue.add(sugy.getGraph().getVertices().get(random));
         while (!queue.isEmpty()) {
             Vertex currentNode = queue.removeFirst();
@@ -0,0 +1,106 @@
+package de.uniwue.informatik.praline.layouting.layered.algorithm.edgerouting;
+
+import java.util.List;
+
+/**
+ * Static copy of an outline contour (a list of {@link ContourPoint}s sorted by their x-positions) with a segment tree
+ * over the levels of its points, so that the maximum level of the contour points in an x-range can be found in
+ * O(log n) time instead of walking through all contour points of the range.
+ */
+public class ContourLevelTree {
+
+    private final double[] xPositions;
+    private final int[] levels;
+    private final boolean sorted;
+    /**
+     * tree[size + i] = levels[i], tree[j] = max(tree[2j], tree[2j + 1])
+     */
+    private final int[] tree;
+    private final int size;
+
+    public ContourLevelTree(List<ContourPoint> outlineContour) {
+        int n = outlineContour.size();
+        xPositions = new double[n];
+        levels = new int[n];
+        boolean isSorted = true;
+        int i = 0;
+        for (ContourPoint contourPoint : outlineContour) {
+            xPositions[i] = contourPoint.getxPosition();
+            levels[i] = contourPoint.getLevel();
+            if (i > 0 && xPositions[i] < xPositions[i - 1]) {
+                isSorted = false;
+            }
+            ++i;
+        }
+        sorted = isSorted;
+
+        size = Math.max(1, n);
+        tree = new int[2 * size];
+        for (int j = 0; j < n; j++) {
+            tree[size + j] = levels[j];
+        }
+        for (int j = size - 1; j > 0; j--) {
+            tree[j] = Math.max(tree[2 * j], tree[2 * j + 1]);
+        }
+    }
+
+    /**
+     * Returns the lowest free level an edge from left to right could be placed at without interfering with this
+     * contour, i.e., one more than the maximum level of the contour point being active at left and of all contour
+     * points strictly between left and right.
+     * The search starts at the contour point position[0], which is advanced to the contour point active at left
+     * (so later queries should not have a smaller left).
+     *
+     * @param left
+     * @param right
+     * @param position
+     * @return
+     */
+    public int findMinLevel(double left, double right, int[] position) {
+        if (!sorted) {
+            //we cannot use binary search -> walk through the contour
+            while (xPositions[position[0] + 1] < left) {
+                position[0]++;
+            }
+            int minLevel = levels[position[0]];
+            for (int i = (position[0] + 1); xPositions[i] < right; i++) {
+                minLevel = Math.max(minLevel, levels[i]);
+            }
+            return (minLevel + 1);
+        }
+        position[0] = Math.max(position[0], firstIndexNotLessThan(left) - 1);
+        int last = Math.max(position[0], firstIndexNotLessThan(right) - 1);
+        return (maxLevel(position[0], last) + 1);
+    }
+
+    private int firstIndexNotLessThan(double x) {
+        int low = 0;
+        int high = xPositions.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (xPositions[middle] < x) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * maximum level of the contour points from index first to index last (both inclusive)
+     */
+    private int maxLevel(int first, int last) {
+        int max = Integer.MIN_VALUE;
+        for (int l = first + size, r = last + size + 1; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                max = Math.max(max, tree[l++]);
+            }
+            if ((r & 1) == 1) {
+                max = Math.max(max, tree[--r]);
+            }
+        }
+        return max;
+    }
+}
@@ -75,7 +75,7 @@ public class EdgeRouting {
                 outlineContourTT.add(new ContourPoint(-1, Double.POSITIVE_INFINITY));
             }
 
-            List<ContourPoint> outlineContourTop = new LinkedList<>();
+            List<ContourPoint> outlineContourTop = new ArrayList<>();
             Map<Edge, Edge> conflicts = new LinkedHashMap<>();
 
             // handle edges from bottom left to top right
@@ -83,7 +83,7 @@ public class EdgeRouting {
             mergeContour(outlineContourTop, outlineContourTT);
 
             // do the same with edges from bottom right to top left
-            List<ContourPoint> outlineContourBottom = new LinkedList<>();
+            List<ContourPoint> outlineContourBottom = new ArrayList<>();
 
             handleRLEdges(rank, edgeToLevel, outlineContourBottom, outlineContourBB);
             mergeContour(outlineContourBottom, outlineContourBB);
@@ -140,7 +140,7 @@ public class EdgeRouting {
 
     private void handleDummyLayer(List<Vertex> layer, boolean top, Map<Edge, Integer> edgeToLayer, List<ContourPoint> outlineContour) {
         outlineContour.add(new ContourPoint(-1,Double.NEGATIVE_INFINITY));
-        List<ContourPoint> lastPositions = new LinkedList<>();
+        List<ContourPoint> lastPositions = new ArrayList<>();
         lastPositions.add(new ContourPoint(-1, Double.POSITIVE_INFINITY));
         lastPositions.add(new ContourPoint(-1, Double.POSITIVE_INFINITY));
         // search for turning dummies which are routed through the active edge layer and handle them
@@ -337,12 +337,13 @@ public class EdgeRouting {
         int maxLRLevel = 0;
         Map<Double, Edge> conflictCandidates = new LinkedHashMap<>();
         List<Double> activeCandidates = new ArrayList<>();
-        List<ContourPoint> lastPositions = new LinkedList<>();
+        List<ContourPoint> lastPositions = new ArrayList<>();
 
         lastPositions.add(new ContourPoint(-1, Double.POSITIVE_INFINITY));
         lastPositions.add(new ContourPoint(-1, Double.POSITIVE_INFINITY));
         outlineContourLR.add(new ContourPoint(-1, Double.NEGATIVE_INFINITY));
 
+        ContourLevelTree contourTD = new ContourLevelTree(outlineContourTD);
         int[] position = {0};
 
         // for all nodes
@@ -367,7 +368,7 @@ public class EdgeRouting {
                                 if (bottomPort.getShape().getXPosition() < topPort.getShape().getXPosition()) {
                                     // place edge at new level
                                     int newContourPointCase = 1;
-                                    int minLevel = findMinLevel(bottomPort.getShape().getXPosition(), topPort.getShape().getXPosition(), outlineContourTD, position);
+                                    int minLevel = contourTD.findMinLevel(bottomPort.getShape().getXPosition(), topPort.getShape().getXPosition(), position);
                                     while (activeCandidates.size() < minLevel) activeCandidates.add(Double.NEGATIVE_INFINITY);
                                     int level = activeCandidates.size();
                                     // find new level
@@ -433,58 +434,48 @@ public class EdgeRouting {
         return maxLRLevel;
     }
 
-    // returns the lowest free level the edge could be placed at without interfering with outlineContourTD
-    private int findMinLevel (double left, double right, List<ContourPoint> outlineContourTD, int[] position) {
-        // could maybe be sped up by pre computing and storing
-        while (outlineContourTD.get(position[0] + 1).getxPosition() < left) {
-            position[0]++;
-        }
-        int minLevel = outlineContourTD.get(position[0]).getLevel();
-        for (int i = (position[0] + 1); outlineContourTD.get(i).getxPosition() < right; i++) {
-            minLevel = Math.max(minLevel, outlineContourTD.get(i).getLevel());
-        }
-        return (minLevel + 1);
-    }
-
     // merges both contourlines into the outlineContourBase
     private void mergeContour (List<ContourPoint> outlineContourBase, List<ContourPoint> outlineContourAdditional) {
-        LinkedList<ContourPoint> contourB = new LinkedList<>(outlineContourBase);
-        LinkedList<ContourPoint> contourA = new LinkedList<>(outlineContourAdditional);
+        ContourPoint[] contourB = outlineContourBase.toArray(new ContourPoint[0]);
+        ContourPoint[] contourA = outlineContourAdditional.toArray(new ContourPoint[0]);
         outlineContourBase.clear();
-        ContourPoint lastBasePoint = contourB.removeFirst();
-        ContourPoint lastAddPoint = contourA.removeFirst();
+        int b = 0;
+        int a = 0;
+        ContourPoint lastBasePoint = contourB[b++];
+        ContourPoint lastAddPoint = contourA[a++];
         outlineContourBase.add(lastBasePoint);
-        while (!(contourA.isEmpty() || contourB.isEmpty())) {
-            if (contourB.getFirst().getxPosition() > contourA.getFirst().getxPosition()) {
-                if (lastBasePoint.getLevel() < contourA.getFirst().getLevel()) {
-                    outlineContourBase.add(contourA.getFirst());
+        while (a < contourA.length && b < contourB.length) {
+            if (contourB[b].getxPosition() > contourA[a].getxPosition()) {
+                if (lastBasePoint.getLevel() < contourA[a].getLevel()) {
+                    outlineContourBase.add(contourA[a]);
                 }
-                lastAddPoint = contourA.removeFirst();
-            } else if (contourB.getFirst().getxPosition() == contourA.getFirst().getxPosition()) {
-                if (lastBasePoint.getLevel() < contourA.getFirst().getLevel()) {
-                    outlineContourBase.add(contourA.getFirst());
+                lastAddPoint = contourA[a++];
+            } else if (contourB[b].getxPosition() == contourA[a].getxPosition()) {
+                if (lastBasePoint.getLevel() < contourA[a].getLevel()) {
+                    outlineContourBase.add(contourA[a]);
                 } else {
-                    outlineContourBase.add(contourB.getFirst());
+                    outlineContourBase.add(contourB[b]);
                 }
-                lastAddPoint = contourA.removeFirst();
-                lastBasePoint = contourB.removeFirst();
+                lastAddPoint = contourA[a++];
+                lastBasePoint = contourB[b++];
             } else {
-                if (lastAddPoint.getLevel() < contourB.getFirst().getLevel()) {
-                    outlineContourBase.add(contourB.getFirst());
+                if (lastAddPoint.getLevel() < contourB[b].getLevel()) {
+                    outlineContourBase.add(contourB[b]);
                 }
-                lastBasePoint = contourB.removeFirst();
+                lastBasePoint = contourB[b++];
             }
         }
     }
 
     private void handleRLEdges(int rank, Map<Edge, Integer> edgeToLevel, List<ContourPoint> outlineContourRL, List<ContourPoint> outlineContourTD) {
-        LinkedList<Double> activeCandidates = new LinkedList<>();
-        List<ContourPoint> lastPositions = new LinkedList<>();
+        List<Double> activeCandidates = new ArrayList<>();
+        List<ContourPoint> lastPositions = new ArrayList<>();
 
         lastPositions.add(new ContourPoint(-1, Double.POSITIVE_INFINITY));
         lastPositions.add(new ContourPoint(-1, Double.POSITIVE_INFINITY));
         outlineContourRL.add(new ContourPoint(-1, Double.NEGATIVE_INFINITY));
 
+        ContourLevelTree contourTD = new ContourLevelTree(outlineContourTD);
         int[] position = {0};
         // for all nodes
         if (0 <= rank && rank < sugy.getMaxRank()) {
@@ -505,7 +496,7 @@ public class EdgeRouting {
                                 if (topPort.getShape().getXPosition() < bottomPort.getShape().getXPosition()) {
                                     // place edge at new level
                                     int newContourPointCase = 1;
-                                    int minLevel = findMinLevel(topPort.getShape().getXPosition(), bottomPort.getShape().getXPosition(), outlineContourTD, position);
+                                    int minLevel = contourTD.findMinLevel(topPort.getShape().getXPosition(), bottomPort.getShape().getXPosition(), position);
                                     while (activeCandidates.size() < minLevel) activeCandidates.add(Double.NEGATIVE_INFINITY);
                                     int level = activeCandidates.size();
                                     // find new level
@@ -563,23 +554,24 @@ public class EdgeRouting {
     }
 
     private int placeEdgesFinally(Map<Edge, Integer> edgeToLayerLR, List<ContourPoint> outlineContourLR, int maxLRLevel, Map<Edge, Integer> edgeToLayer, List<ContourPoint> outlineContourRL) {
-        ContourPoint lr = outlineContourLR.remove(0);
-        outlineContourRL.remove(0);
+        int lrIndex = 0;
+        int rlIndex = 1; //skip the first point of the rl contour
+        ContourPoint lr = outlineContourLR.get(lrIndex++);
         int rlLevel = -1;
         int lrLevel = -1;
-        ContourPoint rl = outlineContourRL.remove(0);
+        ContourPoint rl = outlineContourRL.get(rlIndex++);
         int maxLevelEquals = 0;
         int maxLevel = 0;
         // find closest point
-        while (!(outlineContourLR.isEmpty() && outlineContourRL.isEmpty())) {
+        while (!(lrIndex == outlineContourLR.size() && rlIndex == outlineContourRL.size())) {
             // update
             if (lr.getxPosition() > rl.getxPosition()) {
                 rlLevel = rl.getLevel();
-                rl = outlineContourRL.remove(0);
+                rl = outlineContourRL.get(rlIndex++);
                 maxLevel = Math.max(maxLevel, rlLevel);
             } else {
                 lrLevel = lr.getLevel();
-                lr = outlineContourLR.remove(0);
+                lr = outlineContourLR.get(lrIndex++);
             }
             maxLevelEquals = Math.max(maxLevelEquals, ((rlLevel + 1) - (maxLRLevel - lrLevel)));
         }
@@ -1,23 +1,66 @@
 package de.uniwue.informatik.praline.layouting.layered.algorithm.layerassignment;
 
 import de.uniwue.informatik.praline.datastructure.graphs.Edge;
-import de.uniwue.informatik.praline.datastructure.graphs.Port;
 import de.uniwue.informatik.praline.datastructure.graphs.Vertex;
-import de.uniwue.informatik.praline.datastructure.utils.PortUtils;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.SugiyamaLayouter;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.edgeorienting.DirectionAssignment;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.util.IndexedGraph;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.util.SortingOrder;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
+/**
+ * Network simplex for layer assignment as described by
+ * Gansner, Koutsofios, North, Vo: "A technique for drawing directed graphs"
+ * https://ieeexplore.ieee.org/document/221135
+ *
+ * All vertices and edges are mapped to int indices and the solver works on int arrays only.
+ * The spanning tree is labeled by postorder low/lim numbers, so that subtree membership is an O(1) check and
+ * the subtree of a vertex is a contiguous range in postorder.
+ * After each pivot, only the cut values on the tree path between the end points of the entering edge are updated
+ * and only the subtree of the lowest common ancestor of this path is re-labeled.
+ */
 public class LayerAssignmentNetworkSimplex implements LayerAssignment {
 
+    /**
+     * When looking for a tree edge with negative cut value, we take the one with the most negative cut value among
+     * the first so many candidates found (as in graphviz).
+     */
+    private static final int SEARCH_SIZE = 30;
+
     private final DirectionAssignment fdBaseDirectionAssignment;
     private final SugiyamaLayouter sugy;
     private SortingOrder orders;
     private final Map<Vertex, Integer> ranks = new LinkedHashMap<>();
-    private Map<Edge, Integer> tree2cutValue;
+
+    //graph as int arrays
+    private List<Vertex> vertices;
+    private int n;
+    private int m;
+    private int[] tail; //start vertex of each edge (lower rank)
+    private int[] head; //end vertex of each edge (higher rank)
+    private int[] incidenceStart; //for vertex v, its incident edges are incidentEdges[incidenceStart[v]] to
+    // incidentEdges[incidenceStart[v + 1] - 1]
+    private int[] incidentEdges;
+    private int[] rank;
+    private int[] topologicalOrder;
+
+    //spanning tree
+    private boolean[] isTreeEdge;
+    private int[] treeEdges; //all n - 1 tree edges
+    private int[] positionInTreeEdges; //for a tree edge: its index in treeEdges
+    private int[] cutValue; //for tree edges
+    private int[] parentEdge; //for each vertex: tree edge to its parent or -1 for the root
+    private int[] low;
+    private int[] lim; //postorder number in the tree
+    private int[] vertexAtLim; //inverse of lim
+    private boolean[] isOnCyclePath; //vertices whose subtree changes when exchanging tree edges; see update()
+    private int[] cyclePath; //the vertices marked in isOnCyclePath
+    private int cyclePathLength;
+    private int searchIndex;
+    //buffers for the iterative dfs in labelSubtree
+    private int[] dfsStack;
+    private int[] dfsNextIncidence;
 
     public LayerAssignmentNetworkSimplex(SugiyamaLayouter sugy, DirectionAssignment fdBaseDirectionAssignment) {
         this.sugy = sugy;
@@ -54,16 +97,17 @@ public class LayerAssignmentNetworkSimplex implements LayerAssignment {
         }
 
         //regular case
-        getTree(); //list of edges of the spanning tree + set cut values
-        LinkedList<Edge> treeEdgesByCutValue = new LinkedList<>(tree2cutValue.keySet());
-        treeEdgesByCutValue.sort(Comparator.comparingInt(tree2cutValue::get));
+        createIndexStructure();
+        initRank();
+        feasibleTree();
+        initCutValues();
 
-        Edge e = leaveEdge(treeEdgesByCutValue);
-        while (e != null) {
-            Edge f = enterEdge(e);
-            exchange(e, f);
+        int e = leaveEdge();
+        while (e >= 0) {
+            int f = enterEdge(e);
+            update(e, f);
 
-            e = leaveEdge(treeEdgesByCutValue);
+            e = leaveEdge();
         }
 
         normalize();
@@ -72,275 +116,380 @@ public class LayerAssignmentNetworkSimplex implements LayerAssignment {
         sortLayers();
     }
 
-    private void normalize() {
-        int minRank = ranks.values().stream().min(Integer::compareTo).get();
-        //subtract minRank from everything -> we start at 0
-        for (Vertex v : ranks.keySet()) {
-            ranks.replace(v, ranks.get(v) - minRank);
-        }
+    private void createIndexStructure() {
+        //edges without direction and loops are not contained; they do not constrain the ranks
+        IndexedGraph indexedGraph = IndexedGraph.fromLayouter(sugy);
+        vertices = sugy.getGraph().getVertices();
+        n = indexedGraph.getNumberOfVertices();
+        m = indexedGraph.getNumberOfEdges();
+        tail = indexedGraph.getEdgeSource();
+        head = indexedGraph.getEdgeTarget();
+        incidenceStart = indexedGraph.getIncidenceStart();
+        incidentEdges = indexedGraph.getIncidentEdges();
     }
 
-    private void exchange(Edge e, Edge f) {
-        //first update the cut values of the neighbors of e. Only its descendants are affected
-        int cutValueE = tree2cutValue.get(e);
-        for (Edge descendant : sugy.getOutgoingEdges(sugy.getEndNode(e))) {
-            if (isTreeEdge(descendant)) {
-                Integer cutValueDescendant = tree2cutValue.get(descendant);
-                tree2cutValue.replace(descendant, cutValueDescendant - cutValueE);
-            }
+    /**
+     * just a longest-path layering
+     */
+    private void initRank() {
+        rank = new int[n];
+        topologicalOrder = new int[n];
+        int[] remainingInDeg = new int[n];
+        for (int e = 0; e < m; e++) {
+            ++remainingInDeg[head[e]];
         }
-        //remove e from the tree
-        tree2cutValue.remove(e);
-        //add f to the tree
-        tree2cutValue.put(f, Integer.MIN_VALUE);
-        //update all cut values that are the cut value of the new edge f and the cut values of the edges in the top tree
-        //which we have to this end made invalid in enterEdge().
-        //the cut values can only increase, hence we don't need to re-sort the list treeEdgesByCutValue TODO: do we
-        // have to compute them then at all?!
-        for (Edge treeEdge : tree2cutValue.keySet()) {
-            if (tree2cutValue.get(treeEdge) == Integer.MIN_VALUE) {
-                assignCutValue(treeEdge);
+
+        //vertices without incoming edges (after removing edges incident to vertices with an assigned rank)
+        int queueEnd = 0;
+        for (int v = 0; v < n; v++) {
+            if (remainingInDeg[v] == 0) {
+                topologicalOrder[queueEnd++] = v;
             }
         }
-    }
-
-    private Edge enterEdge(Edge e) {
-        //first find the partition of vertices by a BFS
-        Set<Vertex> treeBottom = new LinkedHashSet<>();
-        LinkedList<Vertex> queueBottom = new LinkedList<>();
-        Set<Vertex> treeTop = new LinkedHashSet<>();
-        LinkedList<Vertex> queueTop = new LinkedList<>();
-        ArrayList<Edge> candidateInterClusterEdges = new ArrayList<>();
-
-        treeBottom.add(sugy.getStartNode(e));
-        queueBottom.add(sugy.getStartNode(e));
-        treeTop.add(sugy.getEndNode(e));
-        queueTop.add(sugy.getEndNode(e));
-
-        //bfs for bottom tree
-        bfsForSubTree(treeBottom, queueBottom, candidateInterClusterEdges, e);
-        //bfs for top tree
-        Collection<Edge> treeEdgesTopTree = bfsForSubTree(treeTop, queueTop, candidateInterClusterEdges, e);
-
-        //go through all edge candidates and
-        // 1) check if they are really inter-cluster edges (initially we may have added too many)
-        // 2) of them find the one with minimum slack
-        int minSlack = Integer.MAX_VALUE;
-        Edge candidateWithMinSlack = null;
-        for (Edge candidate : candidateInterClusterEdges) {
-            // 1)
-            if (!treeBottom.containsAll(candidate.getPorts().stream().map(Port::getVertex).collect(Collectors.toList()))
-                    && !treeTop.containsAll(candidate.getPorts().stream().map(Port::getVertex).collect(
-                            Collectors.toList()))) {
-                // 2)
-                int slack = getSlack(candidate);
-                if (slack < minSlack) {
-                    minSlack = slack;
-                    candidateWithMinSlack = candidate;
+        for (int queueStart = 0; queueStart < queueEnd; queueStart++) {
+            int v = topologicalOrder[queueStart];
+            //remove outgoing edges; the new rank of a successor is rank + 1 of its uppermost predecessor
+            for (int i = incidenceStart[v]; i < incidenceStart[v + 1]; i++) {
+                int e = incidentEdges[i];
+                if (tail[e] == v) {
+                    int successor = head[e];
+                    rank[successor] = Math.max(rank[successor], rank[v] + 1);
+                    if (--remainingInDeg[successor] == 0) {
+                        topologicalOrder[queueEnd++] = successor;
+                    }
                 }
             }
         }
+    }
 
-        //make all cut values of the vertices in the top tree invalid
-        for (Edge topTreeEdge : treeEdgesTopTree) {
-            tree2cutValue.replace(topTreeEdge, Integer.MIN_VALUE);
-        }
-
-        return candidateWithMinSlack;
+    private int getSlack(int e) {
+        return rank[head[e]] - rank[tail[e]] - 1;
     }
 
-    private Collection<Edge> bfsForSubTree(Set<Vertex> treeVertices, LinkedList<Vertex> vertexQueue,
-                               ArrayList<Edge> candidateInterClusterEdges, Edge removedE) {
-        Set<Edge> treeEdges = new LinkedHashSet<>();
-        while (!vertexQueue.isEmpty()) {
-            Vertex v = vertexQueue.poll();
-            for (Edge e : PortUtils.getEdges(v)) {
-                if (!e.equals(removedE)) {
-                    Vertex otherEndPoint = PortUtils.getOtherEndPoint(e, v).getVertex();
-                    if (isTreeEdge(e) && !treeEdges.contains(e)) {
-                        treeEdges.add(e);
-                        treeVertices.add(otherEndPoint);
-                        vertexQueue.add(otherEndPoint);
-                    } else if (!treeVertices.contains(otherEndPoint)) {
-                        candidateInterClusterEdges.add(e);
-                    }
-                }
+    /**
+     * Finds a spanning tree of tight edges by repeatedly growing a tight tree and shifting it such that the
+     * incident non-tree edge with minimal slack becomes tight.
+     */
+    private void feasibleTree() {
+        isTreeEdge = new boolean[m];
+        treeEdges = new int[n - 1];
+        positionInTreeEdges = new int[m];
+        boolean[] isTreeVertex = new boolean[n];
+        int[] treeVertices = new int[n];
+
+        int startVertex = topologicalOrder[0];
+        isTreeVertex[startVertex] = true;
+        treeVertices[0] = startVertex;
+        int treeSize = tightTree(isTreeVertex, treeVertices, 1, 0);
+        while (treeSize < n) {
+            int e = findNonTreeEdgeWithMinimalSlack(isTreeVertex, treeVertices, treeSize);
+            int delta = isTreeVertex[tail[e]] ? getSlack(e) : -getSlack(e);
+            for (int i = 0; i < treeSize; i++) {
+                rank[treeVertices[i]] += delta;
             }
+            //after shifting, new tight edges may be incident to any tree vertex
+            treeSize = tightTree(isTreeVertex, treeVertices, treeSize, 0);
         }
-        return treeEdges;
     }
 
     /**
-     * If an edge is chosen, it is also removed from treeEdgesByCutValue
+     * BFS over tight edges starting from all tree vertices beginning at index firstToExplore.
      *
-     * @param treeEdgesByCutValue
      * @return
+     *      new number of tree vertices
      */
-    private Edge leaveEdge(LinkedList<Edge> treeEdgesByCutValue) {
-        Edge e = treeEdgesByCutValue.getFirst(); //edge with lowest cut value
-        if (tree2cutValue.get(e) < 0) {
-            treeEdgesByCutValue.removeFirst();
-            return e;
+    private int tightTree(boolean[] isTreeVertex, int[] treeVertices, int treeSize, int firstToExplore) {
+        for (int i = firstToExplore; i < treeSize; i++) {
+            int v = treeVertices[i];
+            for (int j = incidenceStart[v]; j < incidenceStart[v + 1]; j++) {
+                int e = incidentEdges[j];
+                int other = tail[e] == v ? head[e] : tail[e];
+                if (!isTreeVertex[other] && getSlack(e) == 0) {
+                    isTreeVertex[other] = true;
+                    treeVertices[treeSize] = other;
+                    isTreeEdge[e] = true;
+                    treeEdges[treeSize - 1] = e;
+                    positionInTreeEdges[e] = treeSize - 1;
+                    ++treeSize;
+                }
+            }
         }
-        return null;
+        return treeSize;
     }
 
-    private void getTree() {
-        Vertex startVertex = initRank();
-
-        int n = sugy.getGraph().getVertices().size();
-        tree2cutValue = new LinkedHashMap<>();
-        Set<Vertex> treeVertices = new LinkedHashSet<>(n);
-
-        while (tightTree(treeVertices, startVertex) < n) {
-            Edge e = findNonTreeEdgeWithMinimalSlack(treeVertices);
-            int delta = getSlack(e) * (treeVertices.contains(sugy.getStartNode(e)) ? 1 : -1);
-            for (Vertex treeVertex : treeVertices) {
-                ranks.replace(treeVertex, ranks.get(treeVertex) + delta);
+    private int findNonTreeEdgeWithMinimalSlack(boolean[] isTreeVertex, int[] treeVertices, int treeSize) {
+        int bestEdge = -1;
+        int slackBestEdge = Integer.MAX_VALUE;
+        for (int i = 0; i < treeSize; i++) {
+            int v = treeVertices[i];
+            for (int j = incidenceStart[v]; j < incidenceStart[v + 1]; j++) {
+                int e = incidentEdges[j];
+                //one but not both end points are in the tree
+                if (isTreeVertex[tail[e]] != isTreeVertex[head[e]]) {
+                    int slack = getSlack(e);
+                    //special case, since we don't have tight edges any more, 1 is the best we can achieve
+                    if (slack == 1) {
+                        return e;
+                    }
+                    if (slack < slackBestEdge) {
+                        slackBestEdge = slack;
+                        bestEdge = e;
+                    }
+                }
             }
         }
-
-        initCutValues();
+        return bestEdge;
     }
 
     private void initCutValues() {
-        for (Edge treeEdge : tree2cutValue.keySet()) {
-            Integer cutValue = tree2cutValue.get(treeEdge);
-            if (cutValue == Integer.MIN_VALUE) {
-                assignCutValue(treeEdge);
+        parentEdge = new int[n];
+        low = new int[n];
+        lim = new int[n];
+        vertexAtLim = new int[n];
+        cutValue = new int[m];
+        dfsStack = new int[n];
+        dfsNextIncidence = new int[n];
+        isOnCyclePath = new boolean[n];
+        cyclePath = new int[n];
+        //no vertex has a valid parent edge yet, so no subtree is skipped in the initial labeling
+        Arrays.fill(parentEdge, -2);
+        int root = topologicalOrder[0];
+        labelSubtree(root, -1, 0);
+
+        //in postorder, all tree edges below a vertex get their cut value before the tree edge to its parent
+        for (int l = 0; l < n; l++) {
+            int v = vertexAtLim[l];
+            if (parentEdge[v] >= 0) {
+                cutValue[parentEdge[v]] = computeCutValue(parentEdge[v]);
             }
         }
     }
 
-    private void assignCutValue(Edge treeEdge) {
-        Vertex lowerEndpoint = sugy.getStartNode(treeEdge);
-        Collection<Edge> predecessors = sugy.getIncomingEdges(lowerEndpoint);
-        //make sure the predecessors in the tree have their cut value assigned
-        List<Edge> treePredecessors = new ArrayList<>();
-        for (Edge predecessor : predecessors) {
-            if (isTreeEdge(predecessor)) {
-                treePredecessors.add(predecessor);
-                if (tree2cutValue.get(predecessor) == Integer.MIN_VALUE) {
-                    assignCutValue(predecessor);
+    /**
+     * Assigns low, lim and parentEdge to all vertices in the subtree of root (iteratively in postorder).
+     * The lim values of the subtree are lowestLim, lowestLim + 1, ...
+     *
+     * Subtrees of vertices that are not on the cycle path and keep their parent edge and their low value are
+     * unchanged, so they are skipped.
+     */
+    private void labelSubtree(int root, int parentEdgeOfRoot, int lowestLim) {
+        //stack of vertices and for each vertex on the stack the next position in its incidence list
+        int[] stack = dfsStack;
+        int[] nextIncidence = dfsNextIncidence;
+        int stackSize = 0;
+        int nextLim = lowestLim;
+
+        parentEdge[root] = parentEdgeOfRoot;
+        low[root] = nextLim;
+        stack[stackSize] = root;
+        nextIncidence[stackSize] = incidenceStart[root];
+        ++stackSize;
+        while (stackSize > 0) {
+            int v = stack[stackSize - 1];
+            int i = nextIncidence[stackSize - 1];
+            //find next child in the tree
+            while (i < incidenceStart[v + 1] && (!isTreeEdge[incidentEdges[i]] || incidentEdges[i] == parentEdge[v])) {
+                ++i;
+            }
+            if (i < incidenceStart[v + 1]) {
+                nextIncidence[stackSize - 1] = i + 1;
+                int e = incidentEdges[i];
+                int child = tail[e] == v ? head[e] : tail[e];
+                if (!isOnCyclePath[child] && parentEdge[child] == e && low[child] == nextLim) {
+                    nextLim = lim[child] + 1;
+                    continue;
                 }
+                parentEdge[child] = e;
+                low[child] = nextLim;
+                stack[stackSize] = child;
+                nextIncidence[stackSize] = incidenceStart[child];
+                ++stackSize;
+            }
+            else {
+                lim[v] = nextLim;
+                vertexAtLim[nextLim] = v;
+                ++nextLim;
+                --stackSize;
             }
         }
-        //now that all predecessors got a cut value (recursively) we proceed by computing it
-        int cutValue =
-                1 - treePredecessors.size() + treePredecessors.stream().mapToInt(tree2cutValue::get).sum()
-                - (int) sugy.getIncomingEdges(lowerEndpoint).stream().filter(e -> !treePredecessors.contains(e)).count()
-                + (int) sugy.getOutgoingEdges(lowerEndpoint).stream().filter(e -> !treePredecessors.contains(e)).count();
-        tree2cutValue.replace(treeEdge, cutValue);
     }
 
     /**
-     * just a longest-path layering
+     * @return
+     *      true iff v is in the subtree of root
+     */
+    private boolean isInSubtree(int v, int root) {
+        return low[root] <= lim[v] && lim[v] <= lim[root];
+    }
+
+    /**
+     * The cut value of a tree edge is the sum of the weights (all 1) of all edges from the tail component to the head
+     * component minus the sum of the weights of all edges from the head component to the tail component.
+     * It is computed locally from the cut values of the tree edges below (as in graphviz).
      */
-    private Vertex initRank() {
-        Map<Vertex, Integer> incomingEdges = new LinkedHashMap<>(sugy.getGraph().getVertices().size());
-
-        //vertices without incoming edges (after removing edges
-        // incident to vertices with an assigned rank)
-        LinkedList<Vertex> queue = new LinkedList<>();
-
-        for (Vertex vertex : sugy.getGraph().getVertices()) {
-            int inDeg = sugy.getIncomingEdges(vertex).size();
-            if (inDeg == 0) {
-                queue.add(vertex);
-            } else {
-                incomingEdges.put(vertex, inDeg);
+    private int computeCutValue(int treeEdge) {
+        //v is the end point of treeEdge farther away from the root
+        int v = parentEdge[tail[treeEdge]] == treeEdge ? tail[treeEdge] : head[treeEdge];
+        boolean vIsTail = v == tail[treeEdge];
+        int sum = 0;
+        for (int i = incidenceStart[v]; i < incidenceStart[v + 1]; i++) {
+            int e = incidentEdges[i];
+            int other = tail[e] == v ? head[e] : tail[e];
+            boolean otherIsOutside = !isInSubtree(other, v);
+            int value;
+            if (otherIsOutside) {
+                value = 1;
             }
+            else {
+                value = (isTreeEdge[e] ? cutValue[e] : 0) - 1;
+            }
+            //direction of e relative to treeEdge
+            boolean sameDirection = vIsTail ? tail[e] == v : head[e] == v;
+            if (otherIsOutside != sameDirection) {
+                value = -value;
+            }
+            sum += value;
         }
+        return sum;
+    }
 
-        Vertex startVertex = queue.get(0);
-        while (!queue.isEmpty()) {
-            Vertex vertex = queue.poll();
-            int rank = 0;
-            //new rank is rank + 1 of its uppermost predecessor
-            for (Edge incomingEdge : sugy.getIncomingEdges(vertex)) {
-                Vertex predecessor = PortUtils.getOtherEndPoint(incomingEdge, vertex).getVertex();
-                rank = Math.max(rank, ranks.get(predecessor) + 1);
-
-            }
-            ranks.put(vertex, rank);
-
-            //remove outgoing edges
-            for (Edge outgoingEdge : sugy.getOutgoingEdges(vertex)) {
-                Vertex successor = PortUtils.getOtherEndPoint(outgoingEdge, vertex).getVertex();
-                Integer remainingInDegSuccessor = incomingEdges.get(successor);
-                if (remainingInDegSuccessor == 1) {
-                    //now the inDeg will be 0 -> add to queue
-                    queue.add(successor);
-                } else {
-                    //otherwise the inDeg > 0 but is decreased by 1 now
-                    incomingEdges.replace(successor, remainingInDegSuccessor - 1);
+    /**
+     * @return
+     *      a tree edge with negative cut value or -1 if there is none
+     */
+    private int leaveEdge() {
+        int bestEdge = -1;
+        int bestCutValue = 0;
+        int candidates = 0;
+        int i = searchIndex;
+        for (int checked = 0; checked < treeEdges.length; checked++) {
+            int e = treeEdges[i];
+            if (cutValue[e] < 0) {
+                if (bestEdge < 0 || cutValue[e] < bestCutValue) {
+                    bestEdge = e;
+                    bestCutValue = cutValue[e];
+                }
+                if (++candidates >= SEARCH_SIZE) {
+                    break;
                 }
             }
+            i = (i + 1) % treeEdges.length;
         }
-
-        return startVertex;
+        searchIndex = i;
+        return bestEdge;
     }
 
-    private int tightTree(Set<Vertex> treeVertices, Vertex startVertex) {
-
-        if (treeVertices.isEmpty()) {
-            treeVertices.add(startVertex);
+    /**
+     * Removing tree edge e splits the tree into a tail and a head component.
+     * Among all edges going from the head component to the tail component we return one with minimum slack.
+     * Since one of the components is a subtree, which is a contiguous range in postorder, we can just scan it.
+     */
+    private int enterEdge(int e) {
+        //v is the end point of e farther away from the root, i.e., its subtree is one of the components
+        boolean subtreeIsTailComponent = lim[tail[e]] < lim[head[e]];
+        int v = subtreeIsTailComponent ? tail[e] : head[e];
+        int minSlack = Integer.MAX_VALUE;
+        int candidateWithMinSlack = -1;
+        for (int l = low[v]; l <= lim[v] && minSlack > 0; l++) {
+            int u = vertexAtLim[l];
+            for (int i = incidenceStart[u]; i < incidenceStart[u + 1]; i++) {
+                int f = incidentEdges[i];
+                //if the subtree is the tail component, we need edges entering it, otherwise edges leaving it
+                int other = subtreeIsTailComponent ? tail[f] : head[f];
+                if (other != u && !isTreeEdge[f] && !isInSubtree(other, v)) {
+                    int slack = getSlack(f);
+                    if (slack < minSlack) {
+                        minSlack = slack;
+                        candidateWithMinSlack = f;
+                    }
+                }
+            }
         }
+        return candidateWithMinSlack;
+    }
 
-        LinkedList<Vertex> queue = new LinkedList<>(treeVertices);
-        while (!queue.isEmpty()) {
-            Vertex treeVertex = queue.poll();
-            for (Edge edge : PortUtils.getEdges(treeVertex)) {
-                Vertex otherEndPoint = PortUtils.getOtherEndPoint(edge, treeVertex).getVertex();
-                if (!treeVertices.contains(otherEndPoint) && isTight(edge)) {
-                    tree2cutValue.put(edge, Integer.MIN_VALUE);
-                    treeVertices.add(otherEndPoint);
-                    queue.add(otherEndPoint);
+    /**
+     * Exchanges tree edge e by non-tree edge f
+     */
+    private void update(int e, int f) {
+        //make f tight by shifting the smaller of the two components
+        int delta = getSlack(f);
+        if (delta > 0) {
+            boolean subtreeIsTailComponent = lim[tail[e]] < lim[head[e]];
+            int v = subtreeIsTailComponent ? tail[e] : head[e];
+            int subtreeSize = lim[v] - low[v] + 1;
+            //the tail component moves up (to lower ranks) or the head component moves down
+            int shiftSubtree = subtreeIsTailComponent ? -delta : delta;
+            if (2 * subtreeSize <= n) {
+                for (int l = low[v]; l <= lim[v]; l++) {
+                    rank[vertexAtLim[l]] += shiftSubtree;
+                }
+            }
+            else {
+                for (int l = 0; l < n; l++) {
+                    if (l < low[v] || l > lim[v]) {
+                        rank[vertexAtLim[l]] -= shiftSubtree;
+                    }
                 }
             }
         }
 
-        return treeVertices.size();
-    }
-
-    private boolean isTight(Edge edge) {
-        return getSlack(edge) == 0;
+        //update cut values along the tree path between the end points of f
+        int cutValueE = cutValue[e];
+        int lca = updateCutValuesOnPath(tail[f], head[f], cutValueE, true);
+        updateCutValuesOnPath(head[f], tail[f], cutValueE, false);
+        cutValue[f] = -cutValueE;
+        cutValue[e] = 0;
+
+        //exchange tree edges
+        isTreeEdge[e] = false;
+        isTreeEdge[f] = true;
+        treeEdges[positionInTreeEdges[e]] = f;
+        positionInTreeEdges[f] = positionInTreeEdges[e];
+
+        //re-label the subtree of the lowest common ancestor, all other labels stay the same
+        labelSubtree(lca, parentEdge[lca], low[lca]);
+        for (int i = 0; i < cyclePathLength; i++) {
+            isOnCyclePath[cyclePath[i]] = false;
+        }
+        cyclePathLength = 0;
     }
 
-    private int getSlack(Edge edge) {
-        List<Port> ports = edge.getPorts();
-        Integer rank0 = ranks.get(ports.get(0).getVertex());
-        Integer rank1 = ranks.get(ports.get(1).getVertex());
-        return Math.max(rank0, rank1) - Math.min(rank0, rank1) - 1;
+    /**
+     * Goes up in the tree from v until reaching an ancestor of w and changes the cut values of the tree edges passed.
+     * All vertices passed (excluding the ancestor of w) are marked as being on the cycle path.
+     *
+     * @return
+     *      the lowest common ancestor of v and w
+     */
+    private int updateCutValuesOnPath(int v, int w, int cutValueDelta, boolean fromTail) {
+        while (!isInSubtree(w, v)) {
+            isOnCyclePath[v] = true;
+            cyclePath[cyclePathLength++] = v;
+            int e = parentEdge[v];
+            boolean increase = (v == tail[e]) == fromTail;
+            cutValue[e] += increase ? cutValueDelta : -cutValueDelta;
+            v = lim[tail[e]] > lim[head[e]] ? tail[e] : head[e];
+        }
+        return v;
     }
 
-    private Edge findNonTreeEdgeWithMinimalSlack(Set<Vertex> treeVertices) {
-        Edge bestEdge = null;
-        int slackBestEdge = Integer.MAX_VALUE;
-
-        for (Edge edge : sugy.getGraph().getEdges()) {
-            //one but not both end points are in the tree
-            if (!treeVertices.containsAll(PortUtils.getIncidentVertices(edge)) &&
-                    (treeVertices.contains(sugy.getStartNode(edge)) || treeVertices.contains(sugy.getEndNode(edge)))) {
-                int slack = getSlack(edge);
-
-                //special case, since we don't have tight edges any more, 1 is the best we can achieve
-                if (slack == 1) {
-                    return edge;
-                }
-
-                if (slack < slackBestEdge) {
-                    slackBestEdge = slack;
-                    bestEdge = edge;
-                }
-            }
+    private void normalize() {
+        int minRank = Integer.MAX_VALUE;
+        for (int v = 0; v < n; v++) {
+            minRank = Math.min(minRank, rank[v]);
+        }
+        //subtract minRank from everything -> we start at 0
+        //vertices are inserted in the order they are visited by the longest-path layering
+        for (int v : topologicalOrder) {
+            ranks.put(vertices.get(v), rank[v] - minRank);
         }
-
-        return bestEdge;
     }
 
-    private boolean isTreeEdge(Edge e) {
-        return tree2cutValue.containsKey(e);
+    private int getSlack(Edge edge) {
+        int rankStart = ranks.get(sugy.getStartNode(edge));
+        int rankEnd = ranks.get(sugy.getEndNode(edge));
+        return Math.max(rankStart, rankEnd) - Math.min(rankStart, rankEnd) - 1;
     }
 
     private void computeInitialOrder() {
@@ -395,4 +544,4 @@ public class LayerAssignmentNetworkSimplex implements LayerAssignment {
             }
         }
     }
-}
\ No newline at end of file
+}
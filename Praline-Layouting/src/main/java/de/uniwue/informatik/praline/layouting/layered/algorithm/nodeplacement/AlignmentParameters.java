@@ -13,6 +13,16 @@ public class AlignmentParameters {
             public String toString() {
                 return "mis";
             }
+        },
+        /**
+         * Same result as {@link Method#MINIMUM_INDEPENDENT_SET}, but computed as heaviest non-crossing subsequence
+         * with a Fenwick tree in O(n log n) time per pair of layers
+         */
+        MAX_WEIGHT_NON_CROSSING {
+            @Override
+            public String toString() {
+                return "maxWeightNonCrossing";
+            }
         };
 
         public static Method string2Enum(String methodName) {
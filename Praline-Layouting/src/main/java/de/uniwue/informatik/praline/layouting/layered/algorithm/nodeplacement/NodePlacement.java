@@ -566,9 +566,17 @@ public class NodePlacement {
         List<LinkedList<Pair<PortValues>>> stacksOfAlignments = new ArrayList<>(structure.size() - 1);
 
         for (int layer = 0; layer < (structure.size() - 1); layer++) {
-            LinkedList<Pair<PortValues>> layerAlignments = alignmentMethod == AlignmentParameters.Method.FIRST_COMES ?
-                    findLayerAlignmentsClassically(layer, lengthOfLongEdge) :
-                    findLayerAlignmentsByMIS(layer, lengthOfLongEdge);
+            LinkedList<Pair<PortValues>> layerAlignments;
+            switch (alignmentMethod) {
+                case MINIMUM_INDEPENDENT_SET:
+                    layerAlignments = findLayerAlignmentsByMIS(layer, lengthOfLongEdge);
+                    break;
+                case MAX_WEIGHT_NON_CROSSING:
+                    layerAlignments = findLayerAlignmentsByFenwickTree(layer, lengthOfLongEdge);
+                    break;
+                default:
+                    layerAlignments = findLayerAlignmentsClassically(layer, lengthOfLongEdge);
+            }
             stacksOfAlignments.add(layerAlignments);
         }
         return stacksOfAlignments;
@@ -604,6 +612,22 @@ public class NodePlacement {
                 }
             }
         }
+        return findNonCrossingAlignmentsByMIS(ccorder, ccorderEdgeWeights);
+    }
+
+    /**
+     * Maximum weight independent set of the permutation graph of the alignments, where two alignments are adjacent
+     * if they cross or share a port (see {@link NodePlacement#doCross(Pair, Pair)}).
+     *
+     * @param ccorder
+     *          alignments (top port, bottom port) ordered by the positions of their top ports
+     * @param ccorderEdgeWeights
+     *          weight of each alignment
+     * @return
+     *          the alignments of a maximum weight independent set, from the last one in ccorder to the first one
+     */
+    public static LinkedList<Pair<PortValues>> findNonCrossingAlignmentsByMIS(List<Pair<PortValues>> ccorder,
+                                                                              List<Integer> ccorderEdgeWeights) {
         //special case if there are no vertices or edges -> return empty list
         if (ccorder.isEmpty()) {
             return new LinkedList<>();
@@ -642,7 +666,132 @@ public class NodePlacement {
         // there is the independent set (the 1st entry there is the weight)
     }
 
-    private void insert(LinkedList<org.eclipse.elk.core.util.Pair<Integer, LinkedList<Pair<PortValues>>>> tau,
+    /**
+     * Computes the same alignments as {@link NodePlacement#findLayerAlignmentsByMIS(int, Map)} (which we keep as
+     * reference implementation), but in O(n log n) time and O(n) space; see
+     * {@link NodePlacement#findNonCrossingAlignmentsByFenwickTree(List, List)}.
+     *
+     * @param layer
+     * @param edgeWeights
+     *          can be null then the weight of each edge is considered to be 1
+     * @return
+     */
+    private LinkedList<Pair<PortValues>> findLayerAlignmentsByFenwickTree(int layer, Map<Edge, Integer> edgeWeights) {
+        //first find all relevant edges in the order of their top ports
+        List<PortValues> topLayer = structure.get(layer);
+        List<Pair<PortValues>> alignments = new ArrayList<>(topLayer.size());
+        List<Integer> alignmentWeights = new ArrayList<>(topLayer.size());
+        for (PortValues port0 : topLayer) {
+            for (Edge edge : port0.getPort().getEdges()) {
+                PortValues port1 = port2portValues.get(PortUtils.getOtherEndPoint(edge, port0.getPort()));
+                if (port1.getLayer() == (layer + 1)) {
+                    alignments.add(new Pair<>(port0, port1));
+                    alignmentWeights.add(edgeWeights == null ? 1 :
+                            edgeWeights.getOrDefault(sugy.getOriginalEdgeExceptForHyperE(edge), 1));
+                }
+            }
+        }
+        return findNonCrossingAlignmentsByFenwickTree(alignments, alignmentWeights);
+    }
+
+    /**
+     * Computes the same alignments as {@link NodePlacement#findNonCrossingAlignmentsByMIS(List, List)}.
+     * The alignments are ordered by their top ports, so a set of pairwise non-crossing alignments without common
+     * ports is a subsequence that is strictly increasing in the positions of both the top and the bottom ports. We
+     * find a heaviest such subsequence via a Fenwick tree over the (ranks of the) bottom positions that stores the
+     * best predecessor (prefix maximum) and we reconstruct it via parent pointers.
+     * All alignments of the same top port are queried before any of them is inserted into the Fenwick tree, so at
+     * most one of them is chosen.
+     * Ties are broken as in findNonCrossingAlignmentsByMIS: among equally heavy candidates, the one with the smallest
+     * index is taken.
+     *
+     * @param alignments
+     *          alignments (top port, bottom port) ordered by the positions of their top ports
+     * @param alignmentWeights
+     *          weight of each alignment
+     * @return
+     *          the alignments of a heaviest non-crossing subsequence, from the last one in alignments to the first one
+     */
+    public static LinkedList<Pair<PortValues>> findNonCrossingAlignmentsByFenwickTree(
+            List<Pair<PortValues>> alignments, List<Integer> alignmentWeights) {
+        int n = alignments.size();
+        if (n == 0) {
+            return new LinkedList<>();
+        }
+
+        //rank of the bottom positions (1-based for the Fenwick tree; equal positions get equal ranks)
+        Integer[] byBottomPosition = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            byBottomPosition[i] = i;
+        }
+        Arrays.sort(byBottomPosition, Comparator.comparingInt(i -> alignments.get(i).getSecond().getPosition()));
+        int[] bottomRank = new int[n];
+        int rank = 0;
+        int previousPosition = 0;
+        for (int k = 0; k < n; k++) {
+            int position = alignments.get(byBottomPosition[k]).getSecond().getPosition();
+            if (k == 0 || position != previousPosition) {
+                ++rank;
+                previousPosition = position;
+            }
+            bottomRank[byBottomPosition[k]] = rank;
+        }
+
+        //fenwick[r] holds the index of the best subsequence ending in a rank of the range covered by r (or -1)
+        int[] fenwick = new int[rank + 1];
+        Arrays.fill(fenwick, -1);
+        long[] weightOfBest = new long[n];
+        int[] parent = new int[n];
+        int best = -1;
+        int startOfBatch = 0;
+        while (startOfBatch < n) {
+            //batch of the alignments with the same top port
+            int endOfBatch = startOfBatch + 1;
+            while (endOfBatch < n && alignments.get(endOfBatch).getFirst().getPosition() ==
+                    alignments.get(startOfBatch).getFirst().getPosition()) {
+                ++endOfBatch;
+            }
+            for (int i = startOfBatch; i < endOfBatch; i++) {
+                //best predecessor among the alignments with a smaller top and a smaller bottom position
+                int predecessor = -1;
+                for (int r = bottomRank[i] - 1; r > 0; r -= r & -r) {
+                    predecessor = better(fenwick[r], predecessor, weightOfBest);
+                }
+                parent[i] = predecessor;
+                weightOfBest[i] = alignmentWeights.get(i) + (predecessor < 0 ? 0 : weightOfBest[predecessor]);
+            }
+            for (int i = startOfBatch; i < endOfBatch; i++) {
+                for (int r = bottomRank[i]; r <= rank; r += r & -r) {
+                    fenwick[r] = better(fenwick[r], i, weightOfBest);
+                }
+                best = better(best, i, weightOfBest);
+            }
+            startOfBatch = endOfBatch;
+        }
+
+        //same order as in findLayerAlignmentsByMIS: from the last alignment back to the first one
+        LinkedList<Pair<PortValues>> nonCrossingAlignments = new LinkedList<>();
+        for (int i = best; i >= 0; i = parent[i]) {
+            nonCrossingAlignments.add(alignments.get(i));
+        }
+        return nonCrossingAlignments;
+    }
+
+    /**
+     * @return
+     *      the index with the larger weight or, if both are equal, the smaller index (-1 stands for nothing)
+     */
+    private static int better(int index0, int index1, long[] weights) {
+        if (index0 < 0 || index1 < 0) {
+            return Math.max(index0, index1);
+        }
+        if (weights[index0] != weights[index1]) {
+            return weights[index0] > weights[index1] ? index0 : index1;
+        }
+        return Math.min(index0, index1);
+    }
+
+    private static void insert(LinkedList<org.eclipse.elk.core.util.Pair<Integer, LinkedList<Pair<PortValues>>>> tau,
                         LinkedList<Pair<PortValues>> si, int wsi) {
         //remember that tau has inverse order, the it stars with largest indpendent sets and then they become smaller
         ListIterator<org.eclipse.elk.core.util.Pair<Integer, LinkedList<Pair<PortValues>>>> tauIterator =
@@ -659,7 +808,15 @@ public class NodePlacement {
         tauIterator.add(new org.eclipse.elk.core.util.Pair<>(wsi, si));
     }
 
-    private boolean doCross(Pair<PortValues> alignment0, Pair<PortValues> alignment1) {
+    /**
+     * @return
+     *      true if the two alignments cross or share a port (a port can only be aligned to one other port)
+     */
+    private static boolean doCross(Pair<PortValues> alignment0, Pair<PortValues> alignment1) {
+        if (alignment0.getFirst().getPosition() == alignment1.getFirst().getPosition()
+                || alignment0.getSecond().getPosition() == alignment1.getSecond().getPosition()) {
+            return true;
+        }
         boolean top0First = alignment0.getFirst().getPosition() < alignment1.getFirst().getPosition();
         boolean bottom0First = alignment0.getSecond().getPosition() < alignment1.getSecond().getPosition();
         return top0First != bottom0First;
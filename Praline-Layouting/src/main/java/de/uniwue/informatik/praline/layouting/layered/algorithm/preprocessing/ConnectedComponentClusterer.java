@@ -8,6 +8,9 @@ import java.util.*;
 public class ConnectedComponentClusterer {
 
     private Graph graph;
+    private Map<Vertex, List<TouchingPair>> touchingPairsOfVertex;
+    private Map<TouchingPair, VertexGroup> vertexGroupOfTouchingPair;
+    private Map<Vertex, Integer> positionInVertexGroup;
 
     public ConnectedComponentClusterer(Graph graph) {
         this.graph = graph;
@@ -25,12 +28,14 @@ public class ConnectedComponentClusterer {
      *      A new graph object for each component in a list which is sorted by the number of vertices in ascending order
      */
     public List<Graph> getConnectedComponentsBySize() {
-        Set<Set<Vertex>> componentVertices = getConnectedComponents();
+        List<Set<Vertex>> componentVertices = getConnectedComponents();
 
         List<Graph> componentGraphs = new ArrayList<>(componentVertices.size());
 
+        //each edge is in exactly one component, so we collect the edges of all components in one pass
+        Set<Edge> assignedEdges = new HashSet<>(2 * graph.getEdges().size());
         for (Set<Vertex> componentVertexSet : componentVertices) {
-            componentGraphs.add(getComponentGraph(componentVertexSet));
+            componentGraphs.add(getComponentGraph(componentVertexSet, assignedEdges));
         }
 
         //special case: so far we have only found graphs by vertices;
@@ -51,75 +56,137 @@ public class ConnectedComponentClusterer {
         }
     }
 
-    private Graph getComponentGraph(Set<Vertex> componentVertexSet) {
+    private Graph getComponentGraph(Set<Vertex> componentVertexSet, Set<Edge> assignedEdges) {
         Set<Edge> componentEdgeSet = new LinkedHashSet<>();
         Set<VertexGroup> componentVertexGroupSet = new LinkedHashSet<>();
         Set<EdgeBundle> componentEdgeBundleSet = new LinkedHashSet<>();
 
         for (Vertex vertex : componentVertexSet) {
-            componentEdgeSet.addAll(PortUtils.getEdges(vertex));
+            for (Port port : vertex.getPorts()) {
+                for (Edge edge : port.getEdges()) {
+                    if (assignedEdges.add(edge)) {
+                        componentEdgeSet.add(edge);
+                        componentEdgeBundleSet.add(PortUtils.getTopLevelEdgeBundle(edge));
+                    }
+                }
+            }
             componentVertexGroupSet.add(PortUtils.getTopLevelVertexGroup(vertex));
         }
 
-        for (Edge edge : componentEdgeSet) {
-            componentEdgeBundleSet.add(PortUtils.getTopLevelEdgeBundle(edge));
-        }
-
         return new Graph(componentVertexSet, componentVertexGroupSet, componentEdgeSet, componentEdgeBundleSet);
     }
 
-    private Set<Set<Vertex>> getConnectedComponents() {
-        Set<Set<Vertex>> allConnectedComponents = new LinkedHashSet<>();
-        Set<Vertex> vertices = new LinkedHashSet<>(getGraph().getVertices());
+    /**
+     * Depth-first search with an explicit stack (a recursive one overflows the stack on long paths).
+     * The vertices of each component are in the order in which they are found.
+     */
+    private List<Set<Vertex>> getConnectedComponents() {
+        buildTouchingPairIndex();
+
+        List<Set<Vertex>> allConnectedComponents = new ArrayList<>();
+        Set<Vertex> visited = new HashSet<>(2 * getGraph().getVertices().size());
+        Deque<Iterator<Vertex>> stack = new ArrayDeque<>();
 
-        while (!vertices.isEmpty()) {
+        for (Vertex startNode : getGraph().getVertices()) {
+            if (!visited.add(startNode)) {
+                continue;
+            }
             // find next connected component
-            Vertex node = vertices.iterator().next();
             Set<Vertex> connectedComponent = new LinkedHashSet<>();
-            computeConnectedComponentRecursively(node, connectedComponent);
-            for (Vertex v : connectedComponent) {
-                vertices.remove(v);
+            connectedComponent.add(startNode);
+            stack.push(getNeighbors(startNode).iterator());
+            while (!stack.isEmpty()) {
+                Iterator<Vertex> neighbors = stack.peek();
+                if (!neighbors.hasNext()) {
+                    stack.pop();
+                    continue;
+                }
+                Vertex neighbor = neighbors.next();
+                if (visited.add(neighbor)) {
+                    connectedComponent.add(neighbor);
+                    stack.push(getNeighbors(neighbor).iterator());
+                }
             }
             allConnectedComponents.add(connectedComponent);
         }
         return allConnectedComponents;
     }
 
-    private void computeConnectedComponentRecursively(Vertex node, Set<Vertex> connectedComponent) {
-        if (!connectedComponent.contains(node)) {
-            connectedComponent.add(node);
-            //find adjacent vertices via edges at ports
-            for (PortComposition portComposition : node.getPortCompositions()) {
-                computeConnectedComponentRecursively(portComposition, connectedComponent);
+    /**
+     * Adjacent vertices of node (possibly with repetitions), first via edges at its ports, then via touching pairs
+     * in its vertex groups (going all levels up).
+     */
+    private List<Vertex> getNeighbors(Vertex node) {
+        List<Vertex> neighbors = new ArrayList<>();
+        //find adjacent vertices via edges at ports
+        for (Port port : PortUtils.getPortsRecursively(node.getPortCompositions())) {
+            for (Edge edge : port.getEdges()) {
+                for (Port otherPort : edge.getPorts()) {
+                    neighbors.add(otherPort.getVertex());
+                }
             }
-            //find adjacent vertices via vertex groups (go all levels up)
-            VertexGroup currentVertexGroup = node.getVertexGroup();
-            while (currentVertexGroup != null) {
-                for (Vertex nodeInTheSameGroup : currentVertexGroup.getContainedVertices()) {
-                    //only if they are in a touching pair
-                    if (PortUtils.containsTouchingPair(currentVertexGroup, node, nodeInTheSameGroup)) {
-                        computeConnectedComponentRecursively(nodeInTheSameGroup, connectedComponent);
-                    }
+        }
+        //find adjacent vertices via vertex groups (go all levels up)
+        List<TouchingPair> touchingPairsOfNode = touchingPairsOfVertex.get(node);
+        if (touchingPairsOfNode == null) {
+            return neighbors;
+        }
+        VertexGroup currentVertexGroup = node.getVertexGroup();
+        while (currentVertexGroup != null) {
+            //only vertices directly in this group that are in a touching pair with node (in this group or below)
+            List<Vertex> touchingVerticesInTheSameGroup = new ArrayList<>();
+            for (TouchingPair touchingPair : touchingPairsOfNode) {
+                Vertex other = touchingPair.getVertex0().equals(node) ? touchingPair.getVertex1() :
+                        touchingPair.getVertex0();
+                if (other.getVertexGroup() == currentVertexGroup
+                        && isContainedIn(vertexGroupOfTouchingPair.get(touchingPair), currentVertexGroup)) {
+                    touchingVerticesInTheSameGroup.add(other);
                 }
-
-                currentVertexGroup = currentVertexGroup.getVertexGroup();
             }
+            touchingVerticesInTheSameGroup.sort(Comparator.comparingInt(v -> positionInVertexGroup.get(v)));
+            neighbors.addAll(touchingVerticesInTheSameGroup);
+
+            currentVertexGroup = currentVertexGroup.getVertexGroup();
         }
+        return neighbors;
     }
 
-    private void computeConnectedComponentRecursively(PortComposition portComposition, Set<Vertex> connectedComponent) {
-        if (portComposition instanceof PortGroup) {
-            for (PortComposition groupMember : ((PortGroup) portComposition).getPortCompositions()) {
-                computeConnectedComponentRecursively(groupMember, connectedComponent);
+    private void buildTouchingPairIndex() {
+        touchingPairsOfVertex = new HashMap<>();
+        vertexGroupOfTouchingPair = new HashMap<>();
+        positionInVertexGroup = new HashMap<>();
+
+        Set<VertexGroup> allVertexGroups = new LinkedHashSet<>();
+        for (Vertex vertex : getGraph().getVertices()) {
+            VertexGroup topLevelVertexGroup = PortUtils.getTopLevelVertexGroup(vertex);
+            if (topLevelVertexGroup != null && allVertexGroups.add(topLevelVertexGroup)) {
+                allVertexGroups.addAll(topLevelVertexGroup.getAllRecursivelyContainedVertexGroups());
             }
-        } else if (portComposition instanceof Port) {
-            for (Edge edge : ((Port) portComposition).getEdges()) {
-                for (Port port : edge.getPorts()) {
-                    if (!connectedComponent.contains(port.getVertex())) {
-                        computeConnectedComponentRecursively(port.getVertex(), connectedComponent);
-                    }
+        }
+        for (VertexGroup vertexGroup : allVertexGroups) {
+            List<Vertex> containedVertices = vertexGroup.getContainedVertices();
+            for (int i = 0; i < containedVertices.size(); i++) {
+                positionInVertexGroup.put(containedVertices.get(i), i);
+            }
+            for (TouchingPair touchingPair : vertexGroup.getTouchingPairs()) {
+                vertexGroupOfTouchingPair.put(touchingPair, vertexGroup);
+                touchingPairsOfVertex.computeIfAbsent(touchingPair.getVertex0(), k -> new ArrayList<>())
+                        .add(touchingPair);
+                if (!touchingPair.getVertex1().equals(touchingPair.getVertex0())) {
+                    touchingPairsOfVertex.computeIfAbsent(touchingPair.getVertex1(), k -> new ArrayList<>())
+                            .add(touchingPair);
                 }
             }
         }
     }
+
+    private static boolean isContainedIn(VertexGroup vertexGroup, VertexGroup potentialAncestor) {
+        while (vertexGroup != null) {
+            if (vertexGroup == potentialAncestor) {
+                return true;
+            }
+            vertexGroup = vertexGroup.getVertexGroup();
+        }
+        return false;
+    }
 }
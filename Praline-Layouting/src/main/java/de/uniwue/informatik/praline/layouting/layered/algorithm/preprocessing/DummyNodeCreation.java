@@ -8,7 +8,6 @@ import de.uniwue.informatik.praline.datastructure.styles.TextLabelStyle;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.SugiyamaLayouter;
 import de.uniwue.informatik.praline.datastructure.utils.PortUtils;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.layerassignment.PortSideAssignment;
-import de.uniwue.informatik.praline.layouting.layered.algorithm.util.Constants;
 import org.eclipse.elk.core.util.Pair;
 
 import java.util.*;
@@ -789,7 +788,7 @@ public class DummyNodeCreation {
                     //todo: this edge has been taken out before. so we don't know and return sth random. you may do
                     // sth more clever in the future, e.g. return if the adjacent node is to the left or the right of
                     // the base node and its turning dummy
-                    return Constants.random.nextBoolean();
+                    return sugy.getRandom().nextBoolean();
                 }
             }
         }
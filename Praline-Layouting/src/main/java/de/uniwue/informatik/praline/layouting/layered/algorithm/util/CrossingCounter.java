@@ -0,0 +1,128 @@
+package de.uniwue.informatik.praline.layouting.layered.algorithm.util;
+
+import java.util.Arrays;
+
+/**
+ * Counts the number of crossings between two adjacent layers in O(|E| log |V|) time via an accumulator tree as
+ * described in
+ * W. Barth, M. Juenger, P. Mutzel: "Simple and Efficient Bilayer Cross Counting" (GD 2002).
+ *
+ * The edges between the two layers are given as two parallel arrays of positions, one on the upper (north) and
+ * one on the lower (south) layer.
+ * Two edges (n1, s1) and (n2, s2) are counted as crossing iff n1 < n2 and s2 < s1 (or vice versa), i.e.,
+ * edges sharing an end position are never counted as crossing.
+ *
+ * An object of this class keeps its internal buffers between calls, so re-use one object for several layer pairs.
+ * It is not thread-safe.
+ */
+public class CrossingCounter {
+
+    private int[] bucketCounts = new int[0];
+    private int[] sortedByLower = new int[0];
+    private int[] southSequence = new int[0];
+    private int[] accumulatorTree = new int[0];
+
+    /**
+     * @param northPositions
+     *      position of each edge on the upper layer; all values must be in [0, numberOfNorthPositions)
+     * @param southPositions
+     *      position of each edge on the lower layer; all values must be in [0, numberOfSouthPositions)
+     * @param numberOfEdges
+     *      only the first so many entries of the two position arrays are considered
+     * @param numberOfNorthPositions
+     * @param numberOfSouthPositions
+     * @return
+     *      number of pairs of edges crossing each other
+     */
+    public int countCrossings(int[] northPositions, int[] southPositions, int numberOfEdges,
+                              int numberOfNorthPositions, int numberOfSouthPositions) {
+        if (numberOfEdges < 2) {
+            return 0;
+        }
+        ensureCapacity(numberOfEdges, Math.max(numberOfNorthPositions, numberOfSouthPositions));
+
+        //radix sort the edges lexicographically by (north, south): first by south, then stable by north
+        countingSort(southPositions, null, sortedByLower, numberOfEdges, numberOfSouthPositions);
+        countingSort(northPositions, sortedByLower, southSequence, numberOfEdges, numberOfNorthPositions);
+        for (int i = 0; i < numberOfEdges; i++) {
+            southSequence[i] = southPositions[southSequence[i]];
+        }
+
+        return countInversions(southSequence, numberOfEdges, numberOfSouthPositions);
+    }
+
+    /**
+     * Convenience method if the south positions are already sorted lexicographically by (north, south) position.
+     * Then the number of crossings equals the number of strict inversions in this sequence.
+     *
+     * @param southSequence
+     * @param numberOfEdges
+     * @param numberOfSouthPositions
+     * @return
+     *      number of pairs i < j with southSequence[i] > southSequence[j]
+     */
+    public int countInversions(int[] southSequence, int numberOfEdges, int numberOfSouthPositions) {
+        //build accumulator tree
+        int firstIndex = 1;
+        while (firstIndex < numberOfSouthPositions) {
+            firstIndex *= 2;
+        }
+        int treeSize = 2 * firstIndex - 1;
+        firstIndex -= 1;
+        if (accumulatorTree.length < treeSize) {
+            accumulatorTree = new int[treeSize];
+        }
+        else {
+            Arrays.fill(accumulatorTree, 0, treeSize, 0);
+        }
+
+        //count crossings: insert south positions one after another and sum up all entries right of the current one
+        int crossings = 0;
+        for (int k = 0; k < numberOfEdges; k++) {
+            int index = southSequence[k] + firstIndex;
+            ++accumulatorTree[index];
+            while (index > 0) {
+                if (index % 2 == 1) {
+                    crossings += accumulatorTree[index + 1];
+                }
+                index = (index - 1) / 2;
+                ++accumulatorTree[index];
+            }
+        }
+        return crossings;
+    }
+
+    /**
+     * Stable counting sort of edge indices by key.
+     *
+     * @param keys
+     * @param inputOrder
+     *      order of edge indices to be sorted; null means 0, 1, ..., numberOfEdges - 1
+     * @param output
+     * @param numberOfEdges
+     * @param numberOfKeys
+     */
+    private void countingSort(int[] keys, int[] inputOrder, int[] output, int numberOfEdges, int numberOfKeys) {
+        Arrays.fill(bucketCounts, 0, numberOfKeys + 1, 0);
+        for (int i = 0; i < numberOfEdges; i++) {
+            ++bucketCounts[keys[i] + 1];
+        }
+        for (int b = 1; b <= numberOfKeys; b++) {
+            bucketCounts[b] += bucketCounts[b - 1];
+        }
+        for (int i = 0; i < numberOfEdges; i++) {
+            int edge = inputOrder == null ? i : inputOrder[i];
+            output[bucketCounts[keys[edge]]++] = edge;
+        }
+    }
+
+    private void ensureCapacity(int numberOfEdges, int numberOfKeys) {
+        if (sortedByLower.length < numberOfEdges) {
+            sortedByLower = new int[numberOfEdges];
+            southSequence = new int[numberOfEdges];
+        }
+        if (bucketCounts.length < numberOfKeys + 1) {
+            bucketCounts = new int[numberOfKeys + 1];
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package de.uniwue.informatik.praline.layouting.layered.algorithm.util;
+
+import de.uniwue.informatik.praline.datastructure.graphs.Edge;
+import de.uniwue.informatik.praline.datastructure.graphs.Graph;
+import de.uniwue.informatik.praline.datastructure.graphs.Port;
+import de.uniwue.informatik.praline.datastructure.graphs.Vertex;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.SugiyamaLayouter;
+
+import java.util.*;
+
+/**
+ * Frozen snapshot of a directed graph with dense int ids for vertices, ports and edges.
+ * Adjacencies are stored in compressed sparse row (CSR) format: e.g. the outgoing edges of vertex v are
+ * getOutEdges()[getOutStart()[v]] to getOutEdges()[getOutStart()[v + 1] - 1].
+ * So algorithms can work on primitive arrays only and map back to the objects at the end.
+ *
+ * Vertex ids are the indices in {@link Graph#getVertices()}.
+ * Port ids are assigned vertex by vertex, so the ports of vertex v have the ids getPortStart()[v] to
+ * getPortStart()[v + 1] - 1.
+ * Edge ids are the indices of the kept edges in {@link Graph#getEdges()}; only edges with exactly two ports at two
+ * different vertices of the graph (and with a direction, see the factory methods) are kept.
+ * The incident edges of each port are also stored in CSR format, in the order of {@link Port#getEdges()}.
+ *
+ * The snapshot does not change when the graph changes afterwards.
+ * The returned arrays are not copied, so do not modify them.
+ */
+public class IndexedGraph {
+
+    private final List<Vertex> vertices;
+    private final Map<Vertex, Integer> vertexIds;
+    private final List<Port> ports;
+    private final Map<Port, Integer> portIds;
+    private final int[] portStart;
+    private final int[] vertexOfPort;
+    private final List<Edge> edges;
+    private final int[] edgeSource;
+    private final int[] edgeTarget;
+    private final int[] edgeSourcePort;
+    private final int[] edgeTargetPort;
+    private final int[] outStart;
+    private final int[] outEdges;
+    private final int[] inStart;
+    private final int[] inEdges;
+    private final int[] incidenceStart;
+    private final int[] incidentEdges;
+    private final int[] portIncidenceStart;
+    private final int[] portIncidentEdges;
+    private final int[] ranks;
+    private final int[] pairedPort;
+
+    /**
+     * Edges are directed as given by {@link Edge#getStartPort()} and {@link Edge#getEndPort()}.
+     * There are no ranks (all -1).
+     *
+     * @param graph
+     * @return
+     */
+    public static IndexedGraph fromGraph(Graph graph) {
+        return new IndexedGraph(graph, null);
+    }
+
+    /**
+     * Edges are directed as assigned by sugy ({@link SugiyamaLayouter#getStartNode(Edge)}); edges without direction
+     * are omitted.
+     * If sugy has assigned layers, also the ranks are taken over, otherwise all ranks are -1.
+     * The port pairings of sugy ({@link SugiyamaLayouter#getPairedPort(Port)}) are taken over as well.
+     *
+     * @param sugy
+     * @return
+     */
+    public static IndexedGraph fromLayouter(SugiyamaLayouter sugy) {
+        return new IndexedGraph(sugy.getGraph(), sugy);
+    }
+
+    private IndexedGraph(Graph graph, SugiyamaLayouter sugy) {
+        //vertices and ports
+        vertices = new ArrayList<>(graph.getVertices());
+        int n = vertices.size();
+        vertexIds = new HashMap<>(2 * n);
+        ports = new ArrayList<>();
+        portIds = new HashMap<>();
+        portStart = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            Vertex vertex = vertices.get(v);
+            vertexIds.put(vertex, v);
+            for (Port port : vertex.getPorts()) {
+                portIds.put(port, ports.size());
+                ports.add(port);
+            }
+            portStart[v + 1] = ports.size();
+        }
+        vertexOfPort = new int[ports.size()];
+        for (int v = 0; v < n; v++) {
+            Arrays.fill(vertexOfPort, portStart[v], portStart[v + 1], v);
+        }
+
+        //edges
+        List<Edge> allEdges = graph.getEdges();
+        edges = new ArrayList<>(allEdges.size());
+        int[] source = new int[allEdges.size()];
+        int[] target = new int[allEdges.size()];
+        int[] sourcePort = new int[allEdges.size()];
+        int[] targetPort = new int[allEdges.size()];
+        Map<Edge, Integer> edgeIds = new HashMap<>(2 * allEdges.size());
+        for (Edge edge : allEdges) {
+            if (edge.getPorts().size() != 2) {
+                continue;
+            }
+            Port port0 = edge.getPorts().get(0);
+            Port port1 = edge.getPorts().get(1);
+            Vertex start;
+            if (sugy == null) {
+                start = edge.getStartPort().getVertex();
+            }
+            else {
+                start = sugy.getStartNode(edge);
+                if (start == null) {
+                    continue;
+                }
+            }
+            Port startPort = port0.getVertex() == start ? port0 : port1;
+            Port endPort = startPort == port0 ? port1 : port0;
+            Integer startPortId = portIds.get(startPort);
+            Integer endPortId = portIds.get(endPort);
+            if (startPortId == null || endPortId == null
+                    || vertexOfPort[startPortId] == vertexOfPort[endPortId]) {
+                continue;
+            }
+            int e = edges.size();
+            edges.add(edge);
+            edgeIds.put(edge, e);
+            sourcePort[e] = startPortId;
+            targetPort[e] = endPortId;
+            source[e] = vertexOfPort[startPortId];
+            target[e] = vertexOfPort[endPortId];
+        }
+        int m = edges.size();
+        edgeSource = Arrays.copyOf(source, m);
+        edgeTarget = Arrays.copyOf(target, m);
+        edgeSourcePort = Arrays.copyOf(sourcePort, m);
+        edgeTargetPort = Arrays.copyOf(targetPort, m);
+
+        //adjacencies
+        outStart = new int[n + 1];
+        outEdges = new int[m];
+        fillAdjacency(edgeSource, null, n, outStart, outEdges);
+        inStart = new int[n + 1];
+        inEdges = new int[m];
+        fillAdjacency(edgeTarget, null, n, inStart, inEdges);
+        incidenceStart = new int[n + 1];
+        incidentEdges = new int[2 * m];
+        fillAdjacency(edgeSource, edgeTarget, n, incidenceStart, incidentEdges);
+        //the incidences of the ports keep the order of Port#getEdges()
+        portIncidenceStart = new int[ports.size() + 1];
+        portIncidentEdges = new int[2 * m];
+        for (int p = 0; p < ports.size(); p++) {
+            int fill = portIncidenceStart[p];
+            for (Edge edge : ports.get(p).getEdges()) {
+                Integer e = edgeIds.get(edge);
+                if (e != null) {
+                    portIncidentEdges[fill++] = e;
+                }
+            }
+            portIncidenceStart[p + 1] = fill;
+        }
+
+        //ranks
+        ranks = new int[n];
+        Arrays.fill(ranks, -1);
+        if (sugy != null && sugy.hasAssignedLayers()) {
+            for (int v = 0; v < n; v++) {
+                ranks[v] = sugy.getRank(vertices.get(v));
+            }
+        }
+
+        //port pairings
+        pairedPort = new int[ports.size()];
+        Arrays.fill(pairedPort, -1);
+        if (sugy != null) {
+            for (int p = 0; p < ports.size(); p++) {
+                Port paired = sugy.getPairedPort(ports.get(p));
+                if (paired != null) {
+                    pairedPort[p] = getId(paired);
+                }
+            }
+        }
+    }
+
+    /**
+     * Counting sort of the edges by their end vertex (or vertices) into CSR format.
+     * Within the range of a vertex, the edges keep their order.
+     */
+    private static void fillAdjacency(int[] endVertex, int[] otherEndVertex, int n, int[] start, int[] adjacentEdges) {
+        for (int end : endVertex) {
+            ++start[end + 1];
+        }
+        if (otherEndVertex != null) {
+            for (int end : otherEndVertex) {
+                ++start[end + 1];
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            start[v + 1] += start[v];
+        }
+        int[] fill = Arrays.copyOf(start, n);
+        for (int e = 0; e < endVertex.length; e++) {
+            adjacentEdges[fill[endVertex[e]]++] = e;
+            if (otherEndVertex != null) {
+                adjacentEdges[fill[otherEndVertex[e]]++] = e;
+            }
+        }
+    }
+
+    public int getNumberOfVertices() {
+        return vertices.size();
+    }
+
+    public int getNumberOfPorts() {
+        return ports.size();
+    }
+
+    public int getNumberOfEdges() {
+        return edges.size();
+    }
+
+    public Vertex getVertex(int vertexId) {
+        return vertices.get(vertexId);
+    }
+
+    /**
+     * @param vertex
+     * @return
+     *      id of vertex or -1 if it is not contained
+     */
+    public int getId(Vertex vertex) {
+        Integer id = vertexIds.get(vertex);
+        return id == null ? -1 : id;
+    }
+
+    public Port getPort(int portId) {
+        return ports.get(portId);
+    }
+
+    /**
+     * @param port
+     * @return
+     *      id of port or -1 if it is not contained
+     */
+    public int getId(Port port) {
+        Integer id = portIds.get(port);
+        return id == null ? -1 : id;
+    }
+
+    public Edge getEdge(int edgeId) {
+        return edges.get(edgeId);
+    }
+
+    /**
+     * @return
+     *      the first port id of each vertex; length: number of vertices + 1
+     */
+    public int[] getPortStart() {
+        return portStart;
+    }
+
+    public int[] getVertexOfPort() {
+        return vertexOfPort;
+    }
+
+    public int[] getEdgeSource() {
+        return edgeSource;
+    }
+
+    public int[] getEdgeTarget() {
+        return edgeTarget;
+    }
+
+    public int[] getEdgeSourcePort() {
+        return edgeSourcePort;
+    }
+
+    public int[] getEdgeTargetPort() {
+        return edgeTargetPort;
+    }
+
+    public int[] getOutStart() {
+        return outStart;
+    }
+
+    public int[] getOutEdges() {
+        return outEdges;
+    }
+
+    public int[] getInStart() {
+        return inStart;
+    }
+
+    public int[] getInEdges() {
+        return inEdges;
+    }
+
+    /**
+     * @return
+     *      for vertex v, its incoming and outgoing edges are getIncidentEdges()[getIncidenceStart()[v]] to
+     *      getIncidentEdges()[getIncidenceStart()[v + 1] - 1]
+     */
+    public int[] getIncidenceStart() {
+        return incidenceStart;
+    }
+
+    public int[] getIncidentEdges() {
+        return incidentEdges;
+    }
+
+    /**
+     * @return
+     *      for port p, its incident edges are getPortIncidentEdges()[getPortIncidenceStart()[p]] to
+     *      getPortIncidentEdges()[getPortIncidenceStart()[p + 1] - 1]
+     */
+    public int[] getPortIncidenceStart() {
+        return portIncidenceStart;
+    }
+
+    public int[] getPortIncidentEdges() {
+        return portIncidentEdges;
+    }
+
+    /**
+     * @param edgeId
+     * @param portId
+     *      one of the two ports of the edge
+     * @return
+     *      the other port of the edge
+     */
+    public int getOtherPort(int edgeId, int portId) {
+        return edgeSourcePort[edgeId] == portId ? edgeTargetPort[edgeId] : edgeSourcePort[edgeId];
+    }
+
+    /**
+     * @return
+     *      rank of each vertex or -1 if there are no ranks
+     */
+    public int[] getRanks() {
+        return ranks;
+    }
+
+    /**
+     * @return
+     *      id of the port paired with each port or -1 if it is not paired (or if there are no port pairings)
+     */
+    public int[] getPairedPort() {
+        return pairedPort;
+    }
+}
@@ -13,8 +13,12 @@ import de.uniwue.informatik.praline.layouting.layered.algorithm.crossingreductio
 import de.uniwue.informatik.praline.layouting.layered.algorithm.cyclebreaking.CycleBreakingMethod;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.edgeorienting.DirectionMethod;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.layerassignment.LayerAssignmentMethod;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.util.Constants;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.util.SortingOrder;
 import de.uniwue.informatik.praline.layouting.layered.kieleraccess.util.ElkLayeredWithoutLayerRemoval;
+import de.uniwue.informatik.praline.layouting.observation.LayoutObserver;
+import de.uniwue.informatik.praline.layouting.observation.LayoutPhase;
+import de.uniwue.informatik.praline.layouting.observation.PhaseMeasurement;
 import org.eclipse.elk.alg.layered.graph.LGraph;
 import org.eclipse.elk.alg.layered.graph.LNode;
 import org.eclipse.elk.alg.layered.graph.Layer;
@@ -44,6 +48,7 @@ public class KielerLayouter implements PralineLayouter {
     private LinkedHashMap<Port, ElkPort> ports;
     private LinkedHashMap<Edge, ElkEdge> edges;
     private List<List<LNode>> lGraphLayers;
+    private LayoutObserver layoutObserver;
 
     public KielerLayouter(Graph graph) {
         this(graph, new DrawingInformation());
@@ -61,11 +66,27 @@ public class KielerLayouter implements PralineLayouter {
     public KielerLayouter(Graph graph, DirectionMethod directionMethod,
                           LayerAssignmentMethod layerAssignmentMethod, int numberOfIterationsFD,
                           DrawingInformation drawInfo) {
+        this(graph, directionMethod, layerAssignmentMethod, numberOfIterationsFD, drawInfo, Constants.SEED);
+    }
+
+    public KielerLayouter(Graph graph, DirectionMethod directionMethod, LayerAssignmentMethod layerAssignmentMethod,
+                          int numberOfIterationsFD, long seed) {
+        this(graph, directionMethod, layerAssignmentMethod, numberOfIterationsFD, new DrawingInformation(), seed);
+    }
+
+    /**
+     * @param seed
+     *      all random decisions of the directed graph computed internally are derived from this seed,
+     *      see {@link SugiyamaLayouter#SugiyamaLayouter(Graph, DrawingInformation, long)}
+     */
+    public KielerLayouter(Graph graph, DirectionMethod directionMethod,
+                          LayerAssignmentMethod layerAssignmentMethod, int numberOfIterationsFD,
+                          DrawingInformation drawInfo, long seed) {
 
         this.drawInfo = drawInfo;
 
         //do first steps of the "main" implementation to get a directed graph from an undirected one
-        sugiyForInternalUse = new SugiyamaLayouter(graph);
+        sugiyForInternalUse = new SugiyamaLayouter(graph, new DrawingInformation(), seed);
 
         sugiyForInternalUse.construct();
 
@@ -96,16 +117,39 @@ public class KielerLayouter implements PralineLayouter {
 
     @Override
     public void computeLayout() {
+        PhaseMeasurement measurement = layoutObserver == null ? null : PhaseMeasurement.start();
         computeLayeredDrawing();
 
         Graph pralineGraph = sugiyForInternalUse.getGraphWithPreprocessedVertices();
         writeResultToPralineGraph(pralineGraph);
 
         analyzeOrderings();
+        if (measurement != null) {
+            layoutObserver.phaseFinished(this, LayoutPhase.KIELER_LAYOUT, 0, measurement.stop());
+        }
 
         sugiyForInternalUse.restoreOriginalElements();
     }
 
+    /**
+     * If an observer is set, the layout computed by the Eclipse Layout Kernel and the phases of the internally used
+     * {@link SugiyamaLayouter} executed afterwards are reported to it.
+     * The first phases (construction, direction and layer assignment) run already in the constructor; to observe them
+     * as well, set the observer at a {@link SugiyamaLayouter} and use {@link KielerLayouter#KielerLayouter(
+     * SugiyamaLayouter, DrawingInformation)}.
+     *
+     * @param layoutObserver
+     *      null for not measuring anything (default)
+     */
+    public void setLayoutObserver(LayoutObserver layoutObserver) {
+        this.layoutObserver = layoutObserver;
+        sugiyForInternalUse.setLayoutObserver(layoutObserver);
+    }
+
+    public LayoutObserver getLayoutObserver() {
+        return layoutObserver;
+    }
+
     @Override
     public Graph getGraph() {
         return getStoredPralineGraph();
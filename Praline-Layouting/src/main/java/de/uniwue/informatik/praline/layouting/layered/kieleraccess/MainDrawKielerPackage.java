@@ -6,6 +6,7 @@ import de.uniwue.informatik.praline.layouting.layered.algorithm.SugiyamaLayouter
 import de.uniwue.informatik.praline.layouting.layered.algorithm.crossingreduction.CrossingMinimizationMethod;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.edgeorienting.DirectionMethod;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.layerassignment.LayerAssignmentMethod;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.util.Constants;
 import de.uniwue.informatik.praline.layouting.layered.main.util.CrossingsCounting;
 
 import java.io.File;
@@ -116,7 +117,7 @@ public class MainDrawKielerPackage {
 
             KielerLayouter kielerLayouter =
                     new KielerLayouter(graph, DIRECTION_METHOD, LAYER_ASSIGNMENT_METHOD,
-                            NUMBER_OF_FORCE_DIRECTED_ITERATIONS);
+                            NUMBER_OF_FORCE_DIRECTED_ITERATIONS, Constants.SEED + i);
 
             kielerLayouter.computeLayout();
             Graph resultGraph = kielerLayouter.getGraph();
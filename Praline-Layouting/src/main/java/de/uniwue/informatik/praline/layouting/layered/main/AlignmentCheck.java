@@ -0,0 +1,155 @@
+package de.uniwue.informatik.praline.layouting.layered.main;
+
+import de.uniwue.informatik.praline.datastructure.graphs.Graph;
+import de.uniwue.informatik.praline.datastructure.graphs.Port;
+import de.uniwue.informatik.praline.datastructure.utils.GraphCloner;
+import de.uniwue.informatik.praline.datastructure.utils.Serialization;
+import de.uniwue.informatik.praline.io.output.util.DrawingInformation;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.SugiyamaLayouter;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.crossingreduction.CrossingMinimizationMethod;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.cyclebreaking.CycleBreakingMethod;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.edgeorienting.DirectionMethod;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.layerassignment.LayerAssignmentMethod;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.nodeplacement.AlignmentParameters;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.nodeplacement.NodePlacement;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.nodeplacement.PortValues;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.util.Constants;
+import edu.uci.ics.jung.graph.util.Pair;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Checks that {@link AlignmentParameters.Method#MAX_WEIGHT_NON_CROSSING} computes the same alignments as
+ * {@link AlignmentParameters.Method#MINIMUM_INDEPENDENT_SET}.
+ * <ol>
+ *     <li>Random pairs of layers (where ports may have several edges into the other layer) are given to
+ *     {@link NodePlacement#findNonCrossingAlignmentsByMIS(List, List)} and
+ *     {@link NodePlacement#findNonCrossingAlignmentsByFenwickTree(List, List)}; both must return the same alignments
+ *     and no port may be aligned to two ports.</li>
+ *     <li>The example graphs are drawn with both methods; the drawings must be equal.</li>
+ * </ol>
+ * Throws an {@link IllegalStateException} if some result differs.
+ */
+public class AlignmentCheck {
+
+    private static final String[] PATHS_EXAMPLE_GRAPHS = {
+            "Praline-Layouting/data/example-very-small",
+            "Praline-Layouting/data/example-cgta"
+    };
+
+    private static final int NUMBER_OF_RANDOM_LAYER_PAIRS = 10000;
+
+    private static final int MAXIMAL_NUMBER_OF_PORTS_PER_LAYER = 12;
+
+    private static final int MAXIMAL_WEIGHT = 3;
+
+    private static final int NUMBER_OF_FORCE_DIRECTED_ITERATIONS = 1;
+
+    private static final int NUMBER_OF_CROSSING_REDUCTION_ITERATIONS = 1;
+
+    /**
+     *
+     * @param args
+     *      optional: you may add paths to directories containing praline json files. All the graphs contained there
+     *      will be drawn with both methods instead of the example graphs.
+     */
+    public static void main(String[] args) throws IOException {
+        checkRandomLayerPairs();
+        checkExampleGraphs(args.length > 0 ? args : PATHS_EXAMPLE_GRAPHS);
+        System.out.println("Both alignment methods give the same alignments.");
+    }
+
+    private static void checkRandomLayerPairs() {
+        Random random = new Random(Constants.SEED);
+        for (int k = 0; k < NUMBER_OF_RANDOM_LAYER_PAIRS; k++) {
+            List<PortValues> topLayer = createLayer(0, 1 + random.nextInt(MAXIMAL_NUMBER_OF_PORTS_PER_LAYER));
+            List<PortValues> bottomLayer = createLayer(1, 1 + random.nextInt(MAXIMAL_NUMBER_OF_PORTS_PER_LAYER));
+
+            //ordered by the top ports; each top port gets 0 to 3 edges, so bottom ports may get several edges as well
+            List<Pair<PortValues>> alignments = new ArrayList<>();
+            List<Integer> weights = new ArrayList<>();
+            for (PortValues topPort : topLayer) {
+                int numberOfEdges = random.nextInt(4);
+                for (int e = 0; e < numberOfEdges; e++) {
+                    alignments.add(new Pair<>(topPort, bottomLayer.get(random.nextInt(bottomLayer.size()))));
+                    weights.add(1 + random.nextInt(MAXIMAL_WEIGHT));
+                }
+            }
+
+            LinkedList<Pair<PortValues>> byMIS = NodePlacement.findNonCrossingAlignmentsByMIS(alignments, weights);
+            LinkedList<Pair<PortValues>> byFenwickTree =
+                    NodePlacement.findNonCrossingAlignmentsByFenwickTree(alignments, weights);
+            if (!byMIS.equals(byFenwickTree)) {
+                throw new IllegalStateException("Alignments differ for random layer pair " + k + ": " +
+                        toString(byMIS) + " vs. " + toString(byFenwickTree));
+            }
+            checkNoPortAlignedTwice(byFenwickTree, k);
+        }
+    }
+
+    private static List<PortValues> createLayer(int layer, int numberOfPorts) {
+        List<PortValues> ports = new ArrayList<>(numberOfPorts);
+        for (int i = 0; i < numberOfPorts; i++) {
+            ports.add(new PortValues(new Port(), i > 0 ? ports.get(i - 1) : null, layer, i));
+        }
+        return ports;
+    }
+
+    private static void checkNoPortAlignedTwice(List<Pair<PortValues>> alignments, int k) {
+        for (int i = 0; i < alignments.size(); i++) {
+            for (int j = i + 1; j < alignments.size(); j++) {
+                if (alignments.get(i).getFirst() == alignments.get(j).getFirst()
+                        || alignments.get(i).getSecond() == alignments.get(j).getSecond()) {
+                    throw new IllegalStateException("A port is aligned twice in random layer pair " + k + ": " +
+                            toString(alignments));
+                }
+            }
+        }
+    }
+
+    private static String toString(List<Pair<PortValues>> alignments) {
+        StringBuilder sb = new StringBuilder("[");
+        for (Pair<PortValues> alignment : alignments) {
+            sb.append('(').append(alignment.getFirst().getPosition()).append(',')
+                    .append(alignment.getSecond().getPosition()).append(')');
+        }
+        return sb.append(']').toString();
+    }
+
+    private static void checkExampleGraphs(String[] pathsToGraphs) throws IOException {
+        for (String pathToGraphs : pathsToGraphs) {
+            File[] directoryListing = new File(pathToGraphs).listFiles();
+            if (directoryListing == null) {
+                throw new IllegalStateException("No directory " + pathToGraphs);
+            }
+            for (File file : directoryListing) {
+                if (!file.getName().endsWith(".json")) {
+                    continue;
+                }
+                Graph inputGraph = Serialization.read(file, Graph.class);
+                String drawingByMIS =
+                        computeDrawing(inputGraph, AlignmentParameters.Method.MINIMUM_INDEPENDENT_SET);
+                String drawingByFenwickTree =
+                        computeDrawing(inputGraph, AlignmentParameters.Method.MAX_WEIGHT_NON_CROSSING);
+                if (!drawingByMIS.equals(drawingByFenwickTree)) {
+                    throw new IllegalStateException("Drawings of " + file + " differ.");
+                }
+            }
+        }
+    }
+
+    private static String computeDrawing(Graph inputGraph, AlignmentParameters.Method alignmentMethod)
+            throws IOException {
+        Graph graph = GraphCloner.deepCopy(inputGraph);
+        SugiyamaLayouter sugy = new SugiyamaLayouter(graph, new DrawingInformation(), Constants.SEED);
+        sugy.computeLayout(CycleBreakingMethod.IGNORE, DirectionMethod.FORCE, LayerAssignmentMethod.NETWORK_SIMPLEX,
+                NUMBER_OF_FORCE_DIRECTED_ITERATIONS, CrossingMinimizationMethod.PORTS,
+                NUMBER_OF_CROSSING_REDUCTION_ITERATIONS, alignmentMethod, AlignmentParameters.Preference.LONG_EDGE);
+        return Serialization.write(graph);
+    }
+}
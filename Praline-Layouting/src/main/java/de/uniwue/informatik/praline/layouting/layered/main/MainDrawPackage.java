@@ -1,13 +1,16 @@
 package de.uniwue.informatik.praline.layouting.layered.main;
 
 import de.uniwue.informatik.praline.datastructure.graphs.Graph;
+import de.uniwue.informatik.praline.datastructure.utils.GraphCloner;
 import de.uniwue.informatik.praline.datastructure.utils.Serialization;
+import de.uniwue.informatik.praline.io.output.util.DrawingInformation;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.SugiyamaLayouter;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.crossingreduction.CrossingMinimizationMethod;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.cyclebreaking.CycleBreakingMethod;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.edgeorienting.DirectionMethod;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.layerassignment.LayerAssignmentMethod;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.nodeplacement.AlignmentParameters;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.util.Constants;
 import de.uniwue.informatik.praline.layouting.layered.main.util.CrossingsCounting;
 
 import java.io.File;
@@ -122,9 +125,11 @@ public class MainDrawPackage {
         int numberOfVertices = -1;
         int bestNumberOfCrossings = Integer.MAX_VALUE;
         SugiyamaLayouter bestRunSugy = null;
+        //parse only once; each repetition lays out its own copy because the layouter modifies the graph
+        Graph inputGraph = Serialization.read(file, Graph.class);
 
         for (int i = 0; i < NUMBER_OF_REPETITIONS_PER_GRAPH; i++) {
-            Graph graph = Serialization.read(file, Graph.class);
+            Graph graph = GraphCloner.deepCopy(inputGraph);
 
             //ProcessDataConverter converter = new ProcessDataConverter(EdgeLabelStyle.FREQUENCY, 1.0);
             //ProcessDataConverter converter = new ProcessDataConverter();
@@ -132,7 +137,7 @@ public class MainDrawPackage {
 
             numberOfVertices = graph.getVertices().size();
 
-            SugiyamaLayouter sugy = new SugiyamaLayouter(graph);
+            SugiyamaLayouter sugy = new SugiyamaLayouter(graph, new DrawingInformation(), Constants.SEED + i);
 
             /*
             sugy.getDrawingInformation().setLineShape(SVGLineShape.BEZIER2D);
@@ -152,13 +157,8 @@ public class MainDrawPackage {
         }
 
         if (CHECK_COMPLETENESS_OF_GRAPH) {
-            Graph sameGraphReloaded = null;
-            try {
-                sameGraphReloaded = Serialization.read(file, Graph.class);
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-            if (!bestRunSugy.getGraph().equalLabeling(sameGraphReloaded)) {
+            //the input graph itself has not been laid out, so it is still in its original state
+            if (!bestRunSugy.getGraph().equalLabeling(inputGraph)) {
                 System.out.println("Warning! Drawn graph and input graph differ.");
             }
         }
@@ -5,12 +5,14 @@ import de.uniwue.informatik.praline.datastructure.labels.TextLabel;
 import de.uniwue.informatik.praline.datastructure.utils.Serialization;
 import de.uniwue.informatik.praline.io.input.processdata.EdgeLabelStyle;
 import de.uniwue.informatik.praline.io.input.processdata.ProcessDataConverter;
+import de.uniwue.informatik.praline.io.output.util.DrawingInformation;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.SugiyamaLayouter;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.crossingreduction.CrossingMinimizationMethod;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.cyclebreaking.CycleBreakingMethod;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.edgeorienting.DirectionMethod;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.layerassignment.LayerAssignmentMethod;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.nodeplacement.AlignmentParameters;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.util.Constants;
 import de.uniwue.informatik.praline.layouting.layered.main.util.BendsCounting;
 import de.uniwue.informatik.praline.layouting.layered.main.util.CrossingsCounting;
 
@@ -87,7 +89,7 @@ public class MainDrawSinglePlan {
                 System.out.println("Used minimal running example for journal article instead.");
             }
 
-            SugiyamaLayouter sugy = new SugiyamaLayouter(graph);
+            SugiyamaLayouter sugy = new SugiyamaLayouter(graph, new DrawingInformation(), Constants.SEED + i);
 
             /*
             sugy.getDrawingInformation().setLineShape(SVGLineShape.BEZIER2D);
@@ -0,0 +1,169 @@
+package de.uniwue.informatik.praline.layouting.layered.main;
+
+import de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms.multilevel.FRWSPDb_bMultiLevel;
+import de.uniwue.informatik.jung.layouting.forcedirectedwspd.layoutAlgorithms.wspd.RecomputationOfSplitTreeAndWSPDFunction;
+import de.uniwue.informatik.praline.datastructure.graphs.Graph;
+import de.uniwue.informatik.praline.datastructure.utils.Serialization;
+import de.uniwue.informatik.praline.datastructure.utils.SyntheticGraphGenerator;
+import de.uniwue.informatik.praline.io.output.util.DrawingInformation;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.SugiyamaLayouter;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.crossingreduction.CrossingMinimizationMethod;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.cyclebreaking.CycleBreakingMethod;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.edgeorienting.DirectionMethod;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.layerassignment.LayerAssignmentMethod;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.nodeplacement.AlignmentParameters;
+import de.uniwue.informatik.praline.layouting.layered.algorithm.util.Constants;
+import edu.uci.ics.jung.graph.UndirectedSparseGraph;
+
+import java.awt.*;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+
+/**
+ * Checks that laying out a graph with several connected components gives exactly the same result sequentially and
+ * concurrently (see {@link SugiyamaLayouter#setComponentExecutor(ExecutorService)} and
+ * {@link SugiyamaLayouter#setRestartPool(ForkJoinPool)}).
+ * <ol>
+ *     <li>The force-directed layouts used for {@link DirectionMethod#FORCE} are computed for several seeds one after
+ *     another and then all at the same time; the locations of all vertices must be equal.</li>
+ *     <li>The whole drawing of the {@link SugiyamaLayouter} must be equal with and without executor and pool.</li>
+ * </ol>
+ * Throws an {@link IllegalStateException} if some result differs.
+ */
+public class ParallelLayoutCheck {
+
+    private static final int NUMBER_OF_COMPONENTS = 6;
+
+    private static final int NUMBER_OF_THREADS = 4;
+
+    private static final int NUMBER_OF_FORCE_DIRECTED_ITERATIONS = 3;
+
+    private static final int NUMBER_OF_CROSSING_REDUCTION_ITERATIONS = 3;
+
+    public static void main(String[] args) throws Exception {
+        checkForceDirectedLayouts();
+        checkSugiyamaLayouter();
+        System.out.println("Sequential and concurrent layouts are equal.");
+    }
+
+    private static void checkForceDirectedLayouts() throws InterruptedException, ExecutionException {
+        UndirectedSparseGraph<Long, Long> junggraph = createJungGraph();
+        List<Long> seeds = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_THREADS; i++) {
+            seeds.add(Constants.SEED + i);
+        }
+
+        List<String> sequentialLayouts = new ArrayList<>();
+        for (long seed : seeds) {
+            sequentialLayouts.add(computeForceDirectedLayout(junggraph, seed, null));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(NUMBER_OF_THREADS);
+        try {
+            List<Future<String>> concurrentLayouts = new ArrayList<>();
+            for (long seed : seeds) {
+                concurrentLayouts.add(pool.submit(() -> computeForceDirectedLayout(junggraph, seed, pool)));
+            }
+            for (int i = 0; i < seeds.size(); i++) {
+                if (!sequentialLayouts.get(i).equals(concurrentLayouts.get(i).get())) {
+                    throw new IllegalStateException("Force-directed layout with seed " + seeds.get(i) +
+                            " differs when computed concurrently.");
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static String computeForceDirectedLayout(UndirectedSparseGraph<Long, Long> junggraph, long seed,
+                                                     ForkJoinPool forcePool) {
+        FRWSPDb_bMultiLevel<Long, Long> layout =
+                new FRWSPDb_bMultiLevel<>(junggraph, 1.0, new Dimension(1000, 1000), seed);
+        layout.setRecomputationOfSplitTreeAndWSPDFunction(new RecomputationOfSplitTreeAndWSPDFunction());
+        layout.setForcePool(forcePool);
+        layout.initialize();
+        while (!layout.done()) {
+            layout.step();
+        }
+        StringBuilder locations = new StringBuilder();
+        for (long v = 0; v < junggraph.getVertexCount(); v++) {
+            locations.append(layout.getX(v)).append(',').append(layout.getY(v)).append(';');
+        }
+        return locations.toString();
+    }
+
+    /**
+     * Several random trees plus some additional edges within each tree
+     */
+    private static UndirectedSparseGraph<Long, Long> createJungGraph() {
+        Random random = new Random(Constants.SEED);
+        UndirectedSparseGraph<Long, Long> junggraph = new UndirectedSparseGraph<>();
+        long vertexCounter = 0;
+        long edgeCounter = 0;
+        for (int c = 0; c < NUMBER_OF_COMPONENTS; c++) {
+            long firstVertex = vertexCounter;
+            int size = 20 + 40 * c;
+            for (int i = 0; i < size; i++) {
+                junggraph.addVertex(vertexCounter);
+                if (i > 0) {
+                    junggraph.addEdge(edgeCounter++, firstVertex + random.nextInt(i), vertexCounter);
+                }
+                ++vertexCounter;
+            }
+            for (int i = 0; i < size / 2; i++) {
+                long v0 = firstVertex + random.nextInt(size);
+                long v1 = firstVertex + random.nextInt(size);
+                if (v0 != v1 && junggraph.findEdge(v0, v1) == null) {
+                    junggraph.addEdge(edgeCounter++, v0, v1);
+                }
+            }
+        }
+        return junggraph;
+    }
+
+    private static void checkSugiyamaLayouter() throws IOException {
+        String sequentialDrawing = computeDrawing(null, null);
+
+        ExecutorService componentExecutor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+        ForkJoinPool restartPool = new ForkJoinPool(NUMBER_OF_THREADS);
+        try {
+            if (!sequentialDrawing.equals(computeDrawing(componentExecutor, restartPool))) {
+                throw new IllegalStateException("Drawing differs when the components are laid out concurrently.");
+            }
+        } finally {
+            componentExecutor.shutdown();
+            restartPool.shutdown();
+        }
+    }
+
+    private static String computeDrawing(ExecutorService componentExecutor, ForkJoinPool restartPool)
+            throws IOException {
+        Graph graph = createPralineGraph();
+        SugiyamaLayouter sugy = new SugiyamaLayouter(graph, new DrawingInformation(), Constants.SEED);
+        sugy.setComponentExecutor(componentExecutor);
+        sugy.setRestartPool(restartPool);
+        sugy.computeLayout(CycleBreakingMethod.GREEDY, DirectionMethod.FORCE, LayerAssignmentMethod.NETWORK_SIMPLEX,
+                NUMBER_OF_FORCE_DIRECTED_ITERATIONS, CrossingMinimizationMethod.PORTS,
+                NUMBER_OF_CROSSING_REDUCTION_ITERATIONS, AlignmentParameters.Method.FIRST_COMES,
+                AlignmentParameters.Preference.LONG_EDGE);
+        return Serialization.write(graph);
+    }
+
+    /**
+     * Union of several generated (connected) graphs
+     */
+    private static Graph createPralineGraph() {
+        Graph graph = new Graph();
+        for (int c = 0; c < NUMBER_OF_COMPONENTS; c++) {
+            Graph component = new SyntheticGraphGenerator(Constants.SEED + c).generate(20 + 20 * c);
+            graph.addVertices(component.getVertices());
+            graph.addVertexGroups(component.getVertexGroups());
+            graph.addEdges(component.getEdges());
+            graph.addEdgeBundles(component.getEdgeBundles());
+        }
+        return graph;
+    }
+}
@@ -4,6 +4,7 @@ import de.uniwue.informatik.praline.datastructure.graphs.Graph;
 import de.uniwue.informatik.praline.datastructure.graphs.Vertex;
 import de.uniwue.informatik.praline.datastructure.shapes.Rectangle;
 import de.uniwue.informatik.praline.datastructure.utils.Serialization;
+import de.uniwue.informatik.praline.io.output.util.DrawingInformation;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.SugiyamaLayouter;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.crossingreduction.CrossingMinimizationMethod;
 import de.uniwue.informatik.praline.layouting.layered.algorithm.crossingreduction.HandlingDeadEnds;
@@ -293,7 +294,7 @@ public class AllTests {
 //                ThreadMXBean mxBean = ManagementFactory.getThreadMXBean();
                 long startTime = mxBean.getThreadCpuTime(Thread.currentThread().getId());
 
-                SugiyamaLayouter sugiy = new SugiyamaLayouter(graph);
+                SugiyamaLayouter sugiy = new SugiyamaLayouter(graph, new DrawingInformation(), Constants.SEED + i);
 
                 sugiy.construct();
 
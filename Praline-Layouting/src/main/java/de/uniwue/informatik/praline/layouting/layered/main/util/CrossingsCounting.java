@@ -62,29 +62,26 @@ public class CrossingsCounting {
             }
         }
 
-        //now count crossings
-        //TODO currently this is done naively in quadratic time. if necessary make it O(n log n) later
-        int counter = 0;
-        for (int i = 0; i < allSegments.size() - 1; i++) {
-            for (int j = i + 1; j < allSegments.size(); j++) {
-                Line2D.Double segment0 = allSegments.get(i);
-                Line2D.Double segment1 = allSegments.get(j);
-                if (!adjacentSegments.containsKey(segment0) || !adjacentSegments.get(segment0).contains(segment1)) {
-                    if (!segment2Port.containsKey(segment0) || !segment2Port.containsKey(segment1) ||
-                            !haveCommonPort(segment2Port.get(segment0), segment2Port.get(segment1))) {
-                        if (segment2Edge.get(segment0) != segment2Edge.get(segment1) ||
-                                !containsEndingPoint(segment0, segment1, pathEndingSegment2EndPoints)) {
-                            if (segment0.intersectsLine(segment1)) {
-                                ++counter;
-                            }
+        //now count crossings; the sweep reports all pairs of touching or intersecting segments and we filter them
+        int[] counter = {0};
+        SegmentIntersectionSweep.findIntersectingPairs(allSegments, (i, j) -> {
+            Line2D.Double segment0 = allSegments.get(i);
+            Line2D.Double segment1 = allSegments.get(j);
+            if (!adjacentSegments.containsKey(segment0) || !adjacentSegments.get(segment0).contains(segment1)) {
+                if (!segment2Port.containsKey(segment0) || !segment2Port.containsKey(segment1) ||
+                        !haveCommonPort(segment2Port.get(segment0), segment2Port.get(segment1))) {
+                    if (segment2Edge.get(segment0) != segment2Edge.get(segment1) ||
+                            !containsEndingPoint(segment0, segment1, pathEndingSegment2EndPoints)) {
+                        if (segment0.intersectsLine(segment1)) {
+                            ++counter[0];
                         }
                     }
                 }
             }
-        }
+        });
 
 
-        return counter;
+        return counter[0];
     }
 
     private static boolean haveCommonPort(List<Port> ports0, List<Port> ports1) {
@@ -0,0 +1,171 @@
+package de.uniwue.informatik.praline.layouting.layered.main.util;
+
+import java.awt.geom.Line2D;
+import java.util.*;
+
+/**
+ * Finds all pairs of intersecting (or touching) segments of a list of segments.
+ * It is specialized to orthogonal drawings:
+ * pairs of a horizontal and a vertical segment are found by a sweep line in x-direction over the horizontal segments,
+ * pairs of collinear horizontal (vertical) segments are found by sorting all horizontal (vertical) segments having
+ * the same y-coordinate (x-coordinate) by their left (bottom) end.
+ * Segments that are neither horizontal nor vertical are compared to all other segments.
+ *
+ * Hence, for orthogonal drawings the running time is O((n + k) log n), where n is the number of segments and k is
+ * the number of reported pairs.
+ * Note that {@link Line2D#intersectsLine(Line2D)} considers any two segments of length 0 as intersecting, even if
+ * they are at different points; we do the same here, so all pairs of segments of length 0 are reported.
+ *
+ * Every reported pair (i, j) satisfies i < j, where i and j are the indices in the input list, and every pair is
+ * reported at most once.
+ * Two segments are considered as intersecting in the same way as {@link Line2D#intersectsLine(Line2D)} does it
+ * (so touching at end points and overlapping counts as intersecting), but the caller should still check each
+ * reported pair for intersection if it needs exactly the same result under floating point imprecision.
+ */
+public class SegmentIntersectionSweep {
+
+    public interface PairConsumer {
+        void accept(int i, int j);
+    }
+
+    private static final int HORIZONTAL = 0;
+    private static final int VERTICAL = 1;
+    private static final int OTHER = 2;
+
+    //event types in the order they are processed if they have the same x-coordinate
+    private static final int INSERT = 0;
+    private static final int QUERY = 1;
+    private static final int REMOVE = 2;
+
+    public static void findIntersectingPairs(List<Line2D.Double> segments, PairConsumer consumer) {
+        int n = segments.size();
+        int[] type = new int[n];
+        double[] minX = new double[n];
+        double[] maxX = new double[n];
+        double[] minY = new double[n];
+        double[] maxY = new double[n];
+        List<Integer> others = new ArrayList<>();
+        List<Integer> points = new ArrayList<>();
+        Map<Double, List<Integer>> horizontalsPerY = new LinkedHashMap<>();
+        Map<Double, List<Integer>> verticalsPerX = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            Line2D.Double segment = segments.get(i);
+            //adding 0.0 maps -0.0 to 0.0 (otherwise they would be different keys)
+            minX[i] = Math.min(segment.x1, segment.x2) + 0.0;
+            maxX[i] = Math.max(segment.x1, segment.x2) + 0.0;
+            minY[i] = Math.min(segment.y1, segment.y2) + 0.0;
+            maxY[i] = Math.max(segment.y1, segment.y2) + 0.0;
+            //a single point is treated as horizontal segment
+            if (minY[i] == maxY[i]) {
+                type[i] = HORIZONTAL;
+                if (minX[i] == maxX[i]) {
+                    points.add(i);
+                }
+                horizontalsPerY.computeIfAbsent(minY[i], k -> new ArrayList<>()).add(i);
+            }
+            else if (minX[i] == maxX[i]) {
+                type[i] = VERTICAL;
+                verticalsPerX.computeIfAbsent(minX[i], k -> new ArrayList<>()).add(i);
+            }
+            else {
+                type[i] = OTHER;
+                others.add(i);
+            }
+        }
+
+        //pairs of segments of length 0
+        for (int i = 0; i < points.size(); i++) {
+            for (int j = i + 1; j < points.size(); j++) {
+                consumer.accept(points.get(i), points.get(j));
+            }
+        }
+
+        //collinear pairs (excluding pairs of segments of length 0, which we already have)
+        for (List<Integer> horizontals : horizontalsPerY.values()) {
+            findOverlappingIntervals(horizontals, minX, maxX, !points.isEmpty(), consumer);
+        }
+        for (List<Integer> verticals : verticalsPerX.values()) {
+            findOverlappingIntervals(verticals, minY, maxY, false, consumer);
+        }
+
+        //pairs of a horizontal and a vertical segment
+        findHorizontalVerticalPairs(n, type, minX, maxX, minY, maxY, consumer);
+
+        //segments in general position; compare them with everything
+        for (int other : others) {
+            for (int i = 0; i < n; i++) {
+                if (i != other && (type[i] != OTHER || i > other)
+                        && segments.get(other).intersectsLine(segments.get(i))) {
+                    consumer.accept(Math.min(i, other), Math.max(i, other));
+                }
+            }
+        }
+    }
+
+    private static void findOverlappingIntervals(List<Integer> segmentIds, double[] lower, double[] upper,
+                                                 boolean skipPairsOfPoints, PairConsumer consumer) {
+        if (segmentIds.size() < 2) {
+            return;
+        }
+        List<Integer> sorted = new ArrayList<>(segmentIds);
+        sorted.sort(Comparator.comparingDouble(i -> lower[i]));
+        //active intervals ordered by their upper end
+        PriorityQueue<Integer> active = new PriorityQueue<>(Comparator.comparingDouble(i -> upper[i]));
+        for (int current : sorted) {
+            while (!active.isEmpty() && upper[active.peek()] < lower[current]) {
+                active.poll();
+            }
+            for (int other : active) {
+                if (!skipPairsOfPoints || lower[current] != upper[current] || lower[other] != upper[other]) {
+                    consumer.accept(Math.min(current, other), Math.max(current, other));
+                }
+            }
+            active.add(current);
+        }
+    }
+
+    private static void findHorizontalVerticalPairs(int n, int[] type, double[] minX, double[] maxX, double[] minY,
+                                                    double[] maxY, PairConsumer consumer) {
+        //events are encoded as (segment id, event type)
+        List<long[]> events = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (type[i] == HORIZONTAL) {
+                events.add(new long[]{i, INSERT});
+                events.add(new long[]{i, REMOVE});
+            }
+            else if (type[i] == VERTICAL) {
+                events.add(new long[]{i, QUERY});
+            }
+        }
+        events.sort((e0, e1) -> {
+            double x0 = e0[1] == REMOVE ? maxX[(int) e0[0]] : minX[(int) e0[0]];
+            double x1 = e1[1] == REMOVE ? maxX[(int) e1[0]] : minX[(int) e1[0]];
+            int compare = Double.compare(x0, x1);
+            return compare != 0 ? compare : Long.compare(e0[1], e1[1]);
+        });
+
+        //horizontal segments currently intersected by the sweep line, sorted by y-coordinate
+        TreeMap<Double, Set<Integer>> activeHorizontals = new TreeMap<>();
+        for (long[] event : events) {
+            int segmentId = (int) event[0];
+            if (event[1] == INSERT) {
+                activeHorizontals.computeIfAbsent(minY[segmentId], k -> new LinkedHashSet<>()).add(segmentId);
+            }
+            else if (event[1] == REMOVE) {
+                Set<Integer> horizontalsOnThisY = activeHorizontals.get(minY[segmentId]);
+                horizontalsOnThisY.remove(segmentId);
+                if (horizontalsOnThisY.isEmpty()) {
+                    activeHorizontals.remove(minY[segmentId]);
+                }
+            }
+            else {
+                for (Set<Integer> horizontals :
+                        activeHorizontals.subMap(minY[segmentId], true, maxY[segmentId], true).values()) {
+                    for (int horizontal : horizontals) {
+                        consumer.accept(Math.min(segmentId, horizontal), Math.max(segmentId, horizontal));
+                    }
+                }
+            }
+        }
+    }
+}
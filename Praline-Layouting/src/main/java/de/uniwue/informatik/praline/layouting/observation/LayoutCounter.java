@@ -0,0 +1,26 @@
+package de.uniwue.informatik.praline.layouting.observation;
+
+/**
+ * Size counters of a layouter reported to a {@link LayoutObserver}.
+ */
+public enum LayoutCounter {
+
+    /**
+     * vertices after constructing the internal graph (vertex groups replaced by a single vertex etc.)
+     */
+    VERTICES,
+    /**
+     * edges after constructing the internal graph (hyperedges split etc.)
+     */
+    EDGES,
+    LAYERS,
+    /**
+     * dummy vertices after creating all dummy nodes (long edges, self loops, turning points)
+     */
+    DUMMY_VERTICES,
+    CROSSING_MINIMIZATION_RESTARTS,
+    /**
+     * crossings of the best restart of the first crossing minimization phase
+     */
+    CROSSINGS_OF_BEST_RESTART
+}
@@ -0,0 +1,34 @@
+package de.uniwue.informatik.praline.layouting.observation;
+
+import de.uniwue.informatik.praline.layouting.PralineLayouter;
+
+/**
+ * Receives measurements of the phases of a layouter, e.g., to find out where the time goes for a graph.
+ * If no observer is set, a layouter does not measure anything.
+ * <p>
+ * If the graph has several connected components, each phase is reported per component with the layouter of this
+ * component.
+ * If components or restarts are laid out concurrently (see the executors of the SugiyamaLayouter), the methods of an
+ * observer are called from several threads at the same time, so implementations must be thread-safe then.
+ */
+public interface LayoutObserver {
+
+    /**
+     * @param layouter
+     * @param phase
+     * @param index
+     *      distinguishes repeated phases (e.g. the number of the restart), otherwise 0
+     * @param measurement
+     */
+    default void phaseFinished(PralineLayouter layouter, LayoutPhase phase, int index,
+                               PhaseMeasurement measurement) {
+    }
+
+    /**
+     * @param layouter
+     * @param counter
+     * @param value
+     */
+    default void counterReported(PralineLayouter layouter, LayoutCounter counter, long value) {
+    }
+}
@@ -0,0 +1,94 @@
+package de.uniwue.informatik.praline.layouting.observation;
+
+/**
+ * Phases of a layouter reported to a {@link LayoutObserver}.
+ * The short names (toString) are the ones used in the logs of the tests for the paper.
+ */
+public enum LayoutPhase {
+
+    CONSTRUCT {
+        @Override
+        public String toString() {
+            return "cons";
+        }
+    },
+    ASSIGN_DIRECTIONS {
+        @Override
+        public String toString() {
+            return "da";
+        }
+    },
+    ASSIGN_LAYERS {
+        @Override
+        public String toString() {
+            return "al";
+        }
+    },
+    /**
+     * index 0: dummy nodes for the first crossing minimization phase (all ports on the side of their edge direction),
+     * index 1: all dummy nodes for the second crossing minimization phase
+     */
+    CREATE_DUMMY_NODES {
+        @Override
+        public String toString() {
+            return "cd";
+        }
+    },
+    /**
+     * one random restart of the first crossing minimization phase; the index is the number of the restart
+     */
+    CROSSING_MINIMIZATION_RESTART {
+        @Override
+        public String toString() {
+            return "cm";
+        }
+    },
+    /**
+     * second crossing minimization phase with all ports on their real side
+     */
+    CROSSING_MINIMIZATION_FINAL {
+        @Override
+        public String toString() {
+            return "cm2";
+        }
+    },
+    NODE_POSITIONING {
+        @Override
+        public String toString() {
+            return "np";
+        }
+    },
+    NODE_PADDING {
+        @Override
+        public String toString() {
+            return "npad";
+        }
+    },
+    EDGE_ROUTING {
+        @Override
+        public String toString() {
+            return "er";
+        }
+    },
+    PREPARE_DRAWING {
+        @Override
+        public String toString() {
+            return "pd";
+        }
+    },
+    RESTORE_ORIGINAL_ELEMENTS {
+        @Override
+        public String toString() {
+            return "restore";
+        }
+    },
+    /**
+     * the layered drawing computed by the Eclipse Layout Kernel including writing it back to the praline graph
+     */
+    KIELER_LAYOUT {
+        @Override
+        public String toString() {
+            return "kieler_draw";
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package de.uniwue.informatik.praline.layouting.observation;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Wall time, CPU time and allocated bytes of the current thread between {@link PhaseMeasurement#start()} and
+ * {@link PhaseMeasurement#stop()}.
+ * A measurement must be started and stopped by the same thread.
+ */
+public class PhaseMeasurement {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private long wallTimeNs;
+    private long cpuTimeNs;
+    private long allocatedBytes;
+
+    private PhaseMeasurement() {
+        this.wallTimeNs = System.nanoTime();
+        this.cpuTimeNs = currentThreadCpuTime();
+        this.allocatedBytes = currentThreadAllocatedBytes();
+    }
+
+    public static PhaseMeasurement start() {
+        return new PhaseMeasurement();
+    }
+
+    /**
+     * @return
+     *      this measurement, now holding the differences to the values at the start
+     */
+    public PhaseMeasurement stop() {
+        this.wallTimeNs = System.nanoTime() - wallTimeNs;
+        this.cpuTimeNs = cpuTimeNs < 0 ? -1 : currentThreadCpuTime() - cpuTimeNs;
+        this.allocatedBytes = allocatedBytes < 0 ? -1 : currentThreadAllocatedBytes() - allocatedBytes;
+        return this;
+    }
+
+    public long getWallTimeNs() {
+        return wallTimeNs;
+    }
+
+    /**
+     * @return
+     *      -1 if the JVM does not support measuring the CPU time of a thread
+     */
+    public long getCpuTimeNs() {
+        return cpuTimeNs;
+    }
+
+    /**
+     * @return
+     *      -1 if the JVM does not support measuring the allocated memory of a thread
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "wall: " + wallTimeNs / 1000000.0 + " ms, cpu: " + cpuTimeNs / 1000000.0 + " ms, allocated: "
+                + allocatedBytes + " bytes";
+    }
+
+    private static long currentThreadCpuTime() {
+        if (!THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() || !THREAD_MX_BEAN.isThreadCpuTimeEnabled()) {
+            return -1;
+        }
+        return THREAD_MX_BEAN.getCurrentThreadCpuTime();
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        if (!(THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+        if (!threadMXBean.isThreadAllocatedMemorySupported() || !threadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}